@@ -0,0 +1,88 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditRecordFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatage d'une entrée d'audit: ancien formatage par chaînes
+ * ({@code StringBuilder}, {@code LocalDateTime.now().format}, {@code String.format})
+ * contre l'{@link AuditRecordFormatter} dans un tampon réutilisable.
+ * Avec {@code -prof gc}, {@code gc.alloc.rate.norm} doit être proche de 0 pour {@code formatter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class AuditFormatBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private AuditRecordFormatter formatter;
+    private Transaction deposit;
+    private Transaction transfer;
+
+    @Setup
+    public void setUp() {
+        formatter = new AuditRecordFormatter();
+        User owner = new User("USR-BENCH", "bench", "password", "bench@example.com");
+        Account source = new Account("ACC-BENCH-1", owner, 1e12);
+        Account destination = new Account("ACC-BENCH-2", owner, 1e12);
+        deposit = new Transaction("TX-BENCH-1", Transaction.TransactionType.DEPOSIT, 1234.56, source, "Bench");
+        transfer = new Transaction("TX-BENCH-2", Transaction.TransactionType.TRANSFER, 78.9,
+                source, destination, "Bench");
+    }
+
+    @Benchmark
+    public String legacyDeposit() {
+        return legacy(deposit);
+    }
+
+    @Benchmark
+    public String legacyTransfer() {
+        return legacy(transfer);
+    }
+
+    @Benchmark
+    public int formatterDeposit() {
+        return formatter.format(deposit);
+    }
+
+    @Benchmark
+    public int formatterTransfer() {
+        return formatter.format(transfer);
+    }
+
+    // Formatage d'origine de AuditLogger
+    private static String legacy(Transaction transaction) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[").append(LocalDateTime.now().format(FORMATTER)).append("] ");
+        sb.append("TX_ID: ").append(transaction.getId()).append(" | ");
+        sb.append("TYPE: ").append(transaction.getType().getLabel()).append(" | ");
+        sb.append("MONTANT: ").append(String.format("%.2f€", transaction.getAmount())).append(" | ");
+        if (transaction.isTransfer()) {
+            sb.append("DE: ").append(transaction.getFromAccount().getId()).append(" | ");
+            sb.append("VERS: ").append(transaction.getToAccount().getId());
+        } else {
+            sb.append("COMPTE: ").append(transaction.getFromAccount().getId());
+        }
+        return sb.toString();
+    }
+}
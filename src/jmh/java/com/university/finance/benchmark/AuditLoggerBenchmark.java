@@ -0,0 +1,72 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.audit.AuditFormat;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût complet de {@link AuditLogger#onTransaction(Transaction)} avec écriture dans un
+ * fichier texte ou binaire (historique en mémoire et console désactivés, sans quoi
+ * le tas grossit à chaque entrée). Avec {@code -prof gc}, {@code gc.alloc.rate.norm}
+ * doit être proche de 0.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class AuditLoggerBenchmark {
+
+    @Param({"TEXT", "BINARY"})
+    public String format;
+
+    private Path file;
+    private AuditLogger logger;
+    private Transaction transfer;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("audit-bench", ".log");
+        logger = new AuditLogger(file.toString(), AuditFormat.valueOf(format));
+        logger.setConsoleEnabled(false);
+        logger.setKeepHistory(false);
+        User owner = new User("USR-BENCH", "bench", "password", "bench@example.com");
+        Account source = new Account("ACC-BENCH-1", owner, 1e12);
+        Account destination = new Account("ACC-BENCH-2", owner, 1e12);
+        transfer = new Transaction("TX-BENCH-1", Transaction.TransactionType.TRANSFER, 78.9,
+                source, destination, "Bench");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        logger.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int onTransaction() {
+        logger.onTransaction(transfer);
+        return logger.getLogCount();
+    }
+}
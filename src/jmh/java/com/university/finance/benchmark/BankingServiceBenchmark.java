@@ -0,0 +1,83 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de {@link BankingService#transfer(String, String, double)}, recherche des
+ * deux comptes et contrôle de la limite compris, comparé au transfert direct du
+ * {@link TransactionService} sur les mêmes comptes déjà résolus.
+ * Les transferts parcourent les comptes en rotation pour ne pas toujours toucher
+ * les mêmes entrées de la table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class BankingServiceBenchmark {
+
+    // Dépôt initial maximal accepté par le service; les transferts en anneau conservent les soldes
+    private static final double INITIAL_BALANCE = 1_000_000.0;
+
+    @Param({"1000"})
+    public int accountCount;
+
+    private BankingService bankingService;
+    private TransactionService transactionService;
+    private String[] accountIds;
+    private Account[] accounts;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Pas d'observers console: seul le chemin de transfert est mesuré
+        bankingService = new BankingService(null, null);
+        transactionService = bankingService.getTransactionService();
+        accountIds = new String[accountCount];
+        accounts = new Account[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = bankingService.createUserWithAccount("bench" + i, "password" + i,
+                    "bench" + i + "@example.com", INITIAL_BALANCE);
+            accountIds[i] = accounts[i].getId();
+        }
+        next = 0;
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == accountCount ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    public Transaction transferById() {
+        int from = nextIndex();
+        int to = from + 1 == accountCount ? 0 : from + 1;
+        return bankingService.transfer(accountIds[from], accountIds[to], 1.0);
+    }
+
+    @Benchmark
+    public Transaction transferResolved() {
+        int from = nextIndex();
+        int to = from + 1 == accountCount ? 0 : from + 1;
+        return transactionService.transfer(accounts[from], accounts[to], 1.0);
+    }
+}
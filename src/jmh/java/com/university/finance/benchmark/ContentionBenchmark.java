@@ -0,0 +1,153 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.load.ZipfGenerator;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transferts concurrents sur un même {@link BankingService}, selon trois
+ * répartitions des comptes: uniforme, asymétrique (Zipf) et un seul compte chaud
+ * impliqué dans chaque transfert.
+ *
+ * Après chaque itération, la somme des soldes est comparée à la somme initiale:
+ * un transfert perdu ou dupliqué fait échouer le benchmark, pour qu'un mode plus
+ * rapide mais incorrect ne passe pas inaperçu.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ContentionBenchmark {
+
+    private static final double INITIAL_BALANCE = 1000.0;
+    private static final double AMOUNT = 1.0;
+
+    /**
+     * Répartition des comptes sollicités.
+     */
+    public enum Distribution {
+        UNIFORM, ZIPF, HOT
+    }
+
+    /**
+     * Banque partagée par les threads d'un groupe.
+     */
+    @State(Scope.Group)
+    public static class Bank {
+
+        @Param({"UNIFORM", "ZIPF", "HOT"})
+        public Distribution distribution;
+
+        @Param({"100"})
+        public int accountCount;
+
+        BankingService service;
+        String[] accountIds;
+        ZipfGenerator zipf;
+        double expectedTotal;
+        final AtomicInteger seeds = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            // Pas d'observers console: seule la contention sur les comptes est mesurée
+            service = new BankingService(null, null);
+            accountIds = new String[accountCount];
+            for (int i = 0; i < accountCount; i++) {
+                accountIds[i] = service.createUserWithAccount("contention" + i, "password" + i,
+                        "contention" + i + "@example.com", INITIAL_BALANCE).getId();
+            }
+            zipf = new ZipfGenerator(accountCount, distribution == Distribution.ZIPF ? 1.1 : 0.0);
+            expectedTotal = accountCount * INITIAL_BALANCE;
+        }
+
+        @TearDown(Level.Iteration)
+        public void verifyConservation() {
+            double total = 0.0;
+            for (Account account : service.getAllAccounts()) {
+                total += account.getBalance();
+            }
+            if (Math.abs(total - expectedTotal) > 1e-6) {
+                throw new IllegalStateException("Argent non conservé: " + total + " au lieu de " + expectedTotal);
+            }
+        }
+    }
+
+    /**
+     * Tirage des comptes propre à chaque thread.
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+
+        Random random;
+
+        @Setup(Level.Iteration)
+        public void setUp(Bank bank) {
+            random = new Random(bank.seeds.incrementAndGet());
+        }
+
+        int next(Bank bank) {
+            return bank.zipf.next(random);
+        }
+    }
+
+    private static Transaction transfer(Bank bank, Picker picker) {
+        int from;
+        int to;
+        if (bank.distribution == Distribution.HOT) {
+            // Le compte 0 est la source ou la destination de chaque transfert
+            int other = 1 + picker.random.nextInt(bank.accountCount - 1);
+            boolean outgoing = picker.random.nextBoolean();
+            from = outgoing ? 0 : other;
+            to = outgoing ? other : 0;
+        } else {
+            from = picker.next(bank);
+            to = picker.next(bank);
+            if (to == from) {
+                to = (from + 1) % bank.accountCount;
+            }
+        }
+        return bank.service.transfer(bank.accountIds[from], bank.accountIds[to], AMOUNT);
+    }
+
+    @Benchmark
+    @Group("transfers")
+    @GroupThreads(4)
+    public Transaction transfersOnly(Bank bank, Picker picker) {
+        return transfer(bank, picker);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Transaction mixedTransfer(Bank bank, Picker picker) {
+        return transfer(bank, picker);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public double mixedBalanceRead(Bank bank, Picker picker) {
+        return bank.service.getBalance(bank.accountIds[picker.next(bank)]);
+    }
+}
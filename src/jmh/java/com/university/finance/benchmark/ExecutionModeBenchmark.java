@@ -0,0 +1,105 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.concurrent.AsyncBankingService;
+import com.university.finance.concurrent.ExecutionMode;
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compare l'exécution des requêtes bancaires sur threads virtuels et sur un
+ * pool de threads plateforme, avec un observer qui attend (E/S d'audit simulée).
+ * Le mode VIRTUAL nécessite Java 21: {@code JAVA_HOME=<jdk21> mvn -Pbench,jdk21 ...}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    // Taille du pool en mode PLATFORM
+    @Param({"64"})
+    public int platformThreads;
+
+    // Attente simulée de chaque livraison à l'observer
+    @Param({"100"})
+    public long observerWaitMicros;
+
+    private AsyncBankingService asyncService;
+    private String accountId;
+    private CompletableFuture<?>[] futures;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ConfigurationManager.resetInstance();
+        BankingService bankingService = new BankingService(null, null);
+        bankingService.getTransactionService().addObserver(new WaitingObserver(observerWaitMicros));
+        Account account = bankingService.createUserWithAccount("bench", "password", "bench@example.com", 0.0);
+        accountId = account.getId();
+        asyncService = new AsyncBankingService(bankingService, mode, platformThreads);
+        futures = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        asyncService.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void concurrentDeposits() {
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures[i] = asyncService.deposit(accountId, 1.0);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * Observer simulant une E/S bloquante.
+     */
+    private static final class WaitingObserver implements TransactionObserver {
+
+        private final long waitNanos;
+
+        WaitingObserver(long waitMicros) {
+            this.waitNanos = TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        }
+
+        @Override
+        public void onTransaction(Transaction transaction) {
+            LockSupport.parkNanos(waitNanos);
+        }
+
+        @Override
+        public String getName() {
+            return "WaitingObserver";
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.replication.ReplicationFollower;
+import com.university.finance.replication.ReplicationMode;
+import com.university.finance.replication.ReplicationPrimary;
+import com.university.finance.service.BankingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence de validation d'un dépôt répliqué vers un réplica local, en mode
+ * asynchrone et en quorum, comparée à un service non répliqué.
+ * Le retard de réplication (entrées non acquittées, latence d'acquittement)
+ * est affiché à la fin de chaque itération.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ReplicationBenchmark {
+
+    @Param({"ASYNC", "QUORUM"})
+    public ReplicationMode mode;
+
+    private BankingService unreplicated;
+    private Account unreplicatedAccount;
+    private BankingService service;
+    private ReplicationPrimary primary;
+    private ReplicationFollower follower;
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, InterruptedException {
+        unreplicated = new BankingService(null, null);
+        unreplicatedAccount = unreplicated.createUserWithAccount("local", "password", "local@example.com", 0.0);
+
+        service = new BankingService(null, null);
+        primary = new ReplicationPrimary(service, new InetSocketAddress("127.0.0.1", 0),
+                mode, 1, ReplicationPrimary.DEFAULT_ACK_TIMEOUT_MILLIS);
+        follower = new ReplicationFollower(new BankingService(null, null),
+                new InetSocketAddress("127.0.0.1", primary.getPort()));
+        while (primary.getFollowerCount() == 0) {
+            Thread.sleep(1);
+        }
+        account = primary.createUserWithAccount("bench", "password", "bench@example.com", 0.0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        long lagAtEnd = primary.getReplicationLag();
+        follower.awaitSequence(primary.getLastSequence(), 10_000);
+        System.out.printf("%n[%s] retard en fin d'itération: %d entrées, latence de réplication moyenne %d µs, "
+                        + "max %d µs, délais de quorum dépassés: %d%n",
+                mode, lagAtEnd,
+                TimeUnit.NANOSECONDS.toMicros(primary.getAverageReplicationNanos()),
+                TimeUnit.NANOSECONDS.toMicros(primary.getMaxReplicationNanos()),
+                primary.getAckTimeoutCount());
+        follower.close();
+        primary.close();
+    }
+
+    @Benchmark
+    public Transaction unreplicatedDeposit() {
+        return unreplicated.deposit(unreplicatedAccount.getId(), 1.0);
+    }
+
+    @Benchmark
+    public Transaction replicatedDeposit() {
+        return service.deposit(account.getId(), 1.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.TransactionService;
+import com.university.finance.service.sequencer.SequencedTransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le chemin synchrone du {@link TransactionService} au mode séquenceur.
+ * Le débit (Throughput) et la distribution des latences (SampleTime) sont mesurés
+ * pour une opération attendue une à une, et pour un lot pipeliné de commandes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SequencerBenchmark {
+
+    private static final int PIPELINE_DEPTH = 64;
+
+    @Param({"false", "true"})
+    public boolean journaled;
+
+    private TransactionService transactionService;
+    private SequencedTransactionService sequencer;
+    private Path journal;
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        transactionService = new TransactionService();
+        User owner = new User("USR-BENCH", "bench", "password", "bench@example.com");
+        // Nouveau compte à chaque itération: l'historique grossit à chaque opération
+        account = new Account("ACC-BENCH", owner, 0.0);
+        journal = journaled ? Files.createTempFile("sequencer", ".journal") : null;
+        sequencer = new SequencedTransactionService(transactionService, 1024, journal);
+        sequencer.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        sequencer.close();
+        if (journal != null) {
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    @Benchmark
+    public Transaction synchronousDeposit() {
+        return transactionService.deposit(account, 1.0);
+    }
+
+    @Benchmark
+    public Transaction sequencedDeposit() {
+        return sequencer.deposit(account, 1.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public Transaction sequencedDepositPipelined() {
+        CompletableFuture<Transaction> last = null;
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            last = sequencer.submitDeposit(account, 1.0);
+        }
+        return last.join();
+    }
+}
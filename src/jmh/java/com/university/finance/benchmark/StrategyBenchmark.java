@@ -0,0 +1,68 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.strategy.DepositStrategy;
+import com.university.finance.pattern.strategy.TransferStrategy;
+import com.university.finance.pattern.strategy.WithdrawStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût unitaire des stratégies de transaction (sans observers ni recherche de compte).
+ * À lancer avec le profileur {@code gc} (actif par défaut dans le profil {@code bench})
+ * pour suivre les octets alloués par opération ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class StrategyBenchmark {
+
+    // Solde assez élevé pour qu'aucun retrait ne soit refusé pendant une itération
+    private static final double INITIAL_BALANCE = 1e12;
+
+    private final DepositStrategy depositStrategy = new DepositStrategy();
+    private final WithdrawStrategy withdrawStrategy = new WithdrawStrategy();
+    private final TransferStrategy transferStrategy = new TransferStrategy();
+
+    private Account source;
+    private Account destination;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        User owner = new User("USR-BENCH", "bench", "password", "bench@example.com");
+        // Nouveaux comptes à chaque itération: l'historique grossit à chaque opération
+        source = new Account("ACC-BENCH-1", owner, INITIAL_BALANCE);
+        destination = new Account("ACC-BENCH-2", owner, INITIAL_BALANCE);
+    }
+
+    @Benchmark
+    public Transaction deposit() {
+        return depositStrategy.execute(source, 1.0);
+    }
+
+    @Benchmark
+    public Transaction withdraw() {
+        return withdrawStrategy.execute(source, 1.0);
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        return transferStrategy.execute(source, destination, 1.0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du {@link TransactionService} selon les observers inscrits:
+ * aucun, un observer vide (coût de la diffusion seule) ou l'{@link AuditLogger}
+ * (formatage et historique d'audit; la sortie console est redirigée vers un flux vide).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class TransactionServiceBenchmark {
+
+    private static final double INITIAL_BALANCE = 1e12;
+
+    @Param({"NONE", "NOOP", "AUDIT"})
+    public String observers;
+
+    private TransactionService transactionService;
+    private Account source;
+    private Account destination;
+    private PrintStream originalOut;
+    private long notified;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        transactionService = new TransactionService();
+        if ("NOOP".equals(observers)) {
+            transactionService.addObserver(new TransactionObserver() {
+                @Override
+                public void onTransaction(Transaction transaction) {
+                    notified++;
+                }
+
+                @Override
+                public String getName() {
+                    return "NoopObserver";
+                }
+            });
+        } else if ("AUDIT".equals(observers)) {
+            originalOut = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            transactionService.addObserver(new AuditLogger());
+        }
+        User owner = new User("USR-BENCH", "bench", "password", "bench@example.com");
+        source = new Account("ACC-BENCH-1", owner, INITIAL_BALANCE);
+        destination = new Account("ACC-BENCH-2", owner, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (originalOut != null) {
+            System.setOut(originalOut);
+            originalOut = null;
+        }
+    }
+
+    @Benchmark
+    public Transaction deposit() {
+        return transactionService.deposit(source, 1.0);
+    }
+
+    @Benchmark
+    public Transaction withdraw() {
+        return transactionService.withdraw(source, 1.0);
+    }
+
+    @Benchmark
+    public Transaction transfer() {
+        return transactionService.transfer(source, destination, 1.0);
+    }
+}
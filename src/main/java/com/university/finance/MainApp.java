@@ -1,11 +1,21 @@
 package com.university.finance;
 
+import com.university.finance.batch.BatchReport;
+import com.university.finance.batch.BatchRunner;
 import com.university.finance.config.ConfigurationManager;
+import com.university.finance.config.ConfigurationReloader;
+import com.university.finance.management.BankingServiceMonitor;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.service.BankingService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Scanner;
 
@@ -433,13 +443,43 @@ public class MainApp {
         scanner.close();
     }
 
+    /**
+     * Exécute un fichier de commandes (ou l'entrée standard si la source est "-")
+     * sans menu ni données de démonstration, puis affiche le bilan.
+     *
+     * @param source Chemin du fichier de commandes, ou "-"
+     * @return Code de sortie: 0 si aucune ligne n'est en erreur, 1 sinon
+     * @throws IOException Si la lecture échoue
+     */
+    static int runBatch(String source) throws IOException {
+        // Pas d'observers console: seul le bilan est affiché
+        BatchRunner runner = new BatchRunner(new BankingService(null, null));
+        BatchReport report;
+        try (BufferedReader reader = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            report = runner.run(reader);
+        }
+        report.print(System.out);
+        return report.getFailed() == 0 ? 0 : 1;
+    }
+
     /**
      * Point d'entrée de l'application.
+     * {@code --batch <fichier|->} lance le mode non interactif.
+     * {@code -Dfinance.config=<fichier>} charge ce fichier et le recharge à chaque modification.
      *
      * @param args Arguments de la ligne de commande
+     * @throws IOException Si le fichier de commandes ne peut pas être lu
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "--batch".equals(args[0])) {
+            System.exit(runBatch(args.length > 1 ? args[1] : "-"));
+        }
         MainApp app = new MainApp();
+        BankingServiceMonitor.register(app.bankingService, "console");
+        app.config.addListener(app.bankingService);
+        ConfigurationReloader.watchIfConfigured(app.config);
         app.start();
     }
 }
@@ -0,0 +1,251 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Vérifie un journal d'audit chaîné (voir {@link AuditChainWriter}).
+ *
+ * Les contrôles peu coûteux sont faits dans l'ordre: signature de chaque point de
+ * contrôle, continuité des segments, maillons de chaîne recalculés. Le coût réel,
+ * l'empreinte SHA-256 des octets du journal, est réparti entre plusieurs threads
+ * qui prennent les segments un par un et lisent le fichier par positions.
+ *
+ * Les octets mis en quarantaine à la réouverture du journal (jamais signés, voir
+ * {@link AuditChainWriter#quarantineFile(Path)}) sont signalés à part: ils ne font
+ * pas partie de la chaîne et ne sont pas vérifiés.
+ */
+public class AuditChainVerifier {
+
+    private static final int READ_BUFFER = 1 << 20;
+
+    private final byte[] key;
+    private final int threads;
+
+    /**
+     * Résultat d'une vérification.
+     */
+    public static final class Result {
+        private final long segments;
+        private final long verifiedSegments;
+        private final long verifiedBytes;
+        private final long unsealedBytes;
+        private final long quarantinedBytes;
+        private final long failedSegment;
+        private final String failure;
+
+        Result(long segments, long verifiedSegments, long verifiedBytes, long unsealedBytes,
+               long quarantinedBytes, long failedSegment, String failure) {
+            this.segments = segments;
+            this.verifiedSegments = verifiedSegments;
+            this.verifiedBytes = verifiedBytes;
+            this.unsealedBytes = unsealedBytes;
+            this.quarantinedBytes = quarantinedBytes;
+            this.failedSegment = failedSegment;
+            this.failure = failure;
+        }
+
+        /**
+         * Indique si aucun segment n'a été altéré.
+         *
+         * @return true si tous les segments scellés sont intacts
+         */
+        public boolean isValid() {
+            return failure == null;
+        }
+
+        public long getSegments() {
+            return segments;
+        }
+
+        public long getVerifiedSegments() {
+            return verifiedSegments;
+        }
+
+        public long getVerifiedBytes() {
+            return verifiedBytes;
+        }
+
+        /**
+         * Retourne le nombre d'octets écrits après le dernier point de contrôle
+         * (arrêt avant scellement, ou ajout non signé).
+         *
+         * @return Octets non couverts par la chaîne
+         */
+        public long getUnsealedBytes() {
+            return unsealedBytes;
+        }
+
+        /**
+         * Retourne le nombre d'octets mis en quarantaine (récupérés, non vérifiés).
+         *
+         * @return Octets du fichier de quarantaine, hors en-tête
+         */
+        public long getQuarantinedBytes() {
+            return quarantinedBytes;
+        }
+
+        /**
+         * Retourne le premier segment en échec.
+         *
+         * @return Numéro du segment, ou -1 si le journal est intact
+         */
+        public long getFailedSegment() {
+            return failedSegment;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param key     Clé HMAC des points de contrôle
+     * @param threads Nombre de threads de hachage
+     */
+    public AuditChainVerifier(byte[] key, int threads) {
+        if (key == null || key.length == 0) {
+            throw new IllegalArgumentException("Une clé non vide est requise");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif");
+        }
+        this.key = key.clone();
+        this.threads = threads;
+    }
+
+    /**
+     * Vérifie un journal et son fichier de points de contrôle.
+     *
+     * @param log Fichier d'audit binaire
+     * @return Résultat de la vérification
+     * @throws IOException          Si un fichier ne peut pas être lu
+     * @throws InterruptedException Si l'attente des threads de hachage est interrompue
+     */
+    public Result verify(Path log) throws IOException, InterruptedException {
+        List<AuditCheckpoint> checkpoints = AuditCheckpoint.readAll(AuditCheckpoint.checkpointFile(log));
+        Path quarantine = AuditChainWriter.quarantineFile(log);
+        long quarantined = Files.exists(quarantine)
+                ? Math.max(0, Files.size(quarantine) - AuditRecordEncoder.FILE_HEADER.length) : 0;
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(AuditRecordEncoder.FILE_HEADER.length);
+            channel.read(header, 0);
+            if (!Arrays.equals(header.array(), AuditRecordEncoder.FILE_HEADER)) {
+                return new Result(checkpoints.size(), 0, 0, 0, quarantined, 0, "En-tête du journal invalide");
+            }
+
+            // Contrôles séquentiels: signatures, continuité et maillons
+            int limit = checkpoints.size();
+            String failure = null;
+            byte[] previous = AuditCheckpoint.GENESIS;
+            long expectedStart = AuditRecordEncoder.FILE_HEADER.length;
+            for (int i = 0; i < checkpoints.size(); i++) {
+                AuditCheckpoint checkpoint = checkpoints.get(i);
+                failure = checkStructure(checkpoint, i, expectedStart, size, previous);
+                if (failure != null) {
+                    limit = i;
+                    break;
+                }
+                previous = checkpoint.getChain();
+                expectedStart = checkpoint.getEnd();
+            }
+
+            // Empreintes des segments en parallèle
+            int firstMismatch = hashSegments(channel, checkpoints, limit);
+            if (firstMismatch < limit) {
+                limit = firstMismatch;
+                failure = "Contenu du segment modifié";
+            }
+
+            long verifiedBytes = limit == 0 ? 0
+                    : checkpoints.get(limit - 1).getEnd() - AuditRecordEncoder.FILE_HEADER.length;
+            long unsealed = failure == null ? size - expectedStart : 0;
+            return new Result(checkpoints.size(), limit, verifiedBytes, unsealed, quarantined,
+                    failure == null ? -1 : limit, failure);
+        }
+    }
+
+    private String checkStructure(AuditCheckpoint checkpoint, int index, long expectedStart, long size,
+                                  byte[] previous) {
+        if (!checkpoint.isSignedWith(key)) {
+            return "Signature du point de contrôle invalide";
+        }
+        if (checkpoint.getSegment() != index || checkpoint.getStart() != expectedStart
+                || checkpoint.getEnd() <= checkpoint.getStart()) {
+            return "Segment manquant ou déplacé";
+        }
+        if (checkpoint.getEnd() > size) {
+            return "Journal tronqué";
+        }
+        byte[] chain = AuditCheckpoint.chain(previous, checkpoint.getSegment(), checkpoint.getStart(),
+                checkpoint.getEnd(), checkpoint.getDigest());
+        if (!MessageDigest.isEqual(chain, checkpoint.getChain())) {
+            return "Chaîne rompue";
+        }
+        return null;
+    }
+
+    // Retourne l'indice du premier segment dont l'empreinte diffère (limit si aucun)
+    private int hashSegments(FileChannel channel, List<AuditCheckpoint> checkpoints, int limit)
+            throws IOException, InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger firstMismatch = new AtomicInteger(limit);
+        AtomicReference<IOException> error = new AtomicReference<>();
+        int workers = Math.min(threads, Math.max(1, limit));
+        Thread[] pool = new Thread[workers];
+        for (int t = 0; t < workers; t++) {
+            pool[t] = new Thread(() -> {
+                MessageDigest sha = AuditCheckpoint.newDigest();
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER);
+                int i;
+                while ((i = next.getAndIncrement()) < limit && i < firstMismatch.get() && error.get() == null) {
+                    AuditCheckpoint checkpoint = checkpoints.get(i);
+                    try {
+                        if (!MessageDigest.isEqual(digest(channel, checkpoint, sha, buffer), checkpoint.getDigest())) {
+                            firstMismatch.accumulateAndGet(i, Math::min);
+                        }
+                    } catch (IOException e) {
+                        error.compareAndSet(null, e);
+                    }
+                }
+            }, "audit-verifier-" + (t + 1));
+            pool[t].setDaemon(true);
+            pool[t].start();
+        }
+        for (Thread worker : pool) {
+            worker.join();
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+        return firstMismatch.get();
+    }
+
+    private static byte[] digest(FileChannel channel, AuditCheckpoint checkpoint, MessageDigest sha,
+                                 ByteBuffer buffer) throws IOException {
+        long position = checkpoint.getStart();
+        while (position < checkpoint.getEnd()) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), checkpoint.getEnd() - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Fin inattendue du journal à la position " + position);
+            }
+            sha.update(buffer.array(), 0, read);
+            position += read;
+        }
+        return sha.digest();
+    }
+}
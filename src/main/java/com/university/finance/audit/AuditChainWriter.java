@@ -0,0 +1,469 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Écriture en arrière-plan d'un journal d'audit binaire chaîné et signé.
+ *
+ * Les enregistrements encodés sont copiés dans un tampon d'attente; un thread
+ * "audit-writer" l'échange périodiquement (toutes les {@code checkpointIntervalMillis},
+ * ou dès qu'il atteint 1 Mio) contre un second tampon, écrit le bloc obtenu à la
+ * suite du journal, calcule son empreinte SHA-256 et ajoute un
+ * {@link AuditCheckpoint} signé au fichier {@code <journal>.chk}. Le thread de la
+ * transaction ne fait qu'une copie d'octets: aucun hachage ni écriture disque.
+ * Un producteur n'est bloqué que si 8 Mio attendent déjà l'écriture.
+ *
+ * Sur demande, le même thread met à jour l'index du journal ({@link AuditIndexWriter})
+ * après chaque segment.
+ *
+ * Un segment dont l'écriture échoue reste en attente et est réécrit à la même position
+ * au tour suivant: {@link #flush(long)} ne le compte comme écrit qu'une fois scellé.
+ *
+ * À la réouverture, la chaîne reprend après le dernier point de contrôle (qui doit
+ * être signé avec la même clé). Des octets écrits après lui (arrêt avant le point de
+ * contrôle) n'ont jamais été signés: ils sont déplacés en quarantaine, dans
+ * {@code <journal>.quarantine} (un journal binaire lisible par {@link AuditLogReader}),
+ * et le journal est ramené à la fin du dernier segment. {@link AuditChainVerifier}
+ * signale les octets en quarantaine.
+ */
+public class AuditChainWriter implements AutoCloseable {
+
+    /** Intervalle par défaut entre deux points de contrôle. */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = 100;
+
+    static final int SEGMENT_BYTES = 1 << 20;
+    private static final int MAX_PENDING = 8 << 20;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final Path file;
+    private final Path checkpointFile;
+    private final byte[] key;
+    private final long checkpointIntervalMillis;
+    private final FileChannel log;
+    private final FileChannel checkpoints;
+    private final Thread worker;
+    // Index mis à jour après chaque segment (null si désactivé)
+    private final AuditIndexWriter indexWriter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataReady = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    private final Condition sealed = lock.newCondition();
+    // Protégés par le verrou
+    private byte[] staging = new byte[1 << 16];
+    private int stagingLength;
+    private long appended;
+    private long persisted;
+    private boolean flushRequested;
+    private boolean closed;
+
+    // État du thread d'écriture
+    private byte[] writing = new byte[1 << 16];
+    private final MessageDigest sha = AuditCheckpoint.newDigest();
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(AuditCheckpoint.SIZE);
+    private byte[] previousChain;
+    private long position;
+    private long checkpointPosition;
+    // Octets du dernier segment en échec, en tête de "writing" (réécrits au tour suivant)
+    private int retryLength;
+
+    private volatile long segmentCount;
+    private volatile long failureCount;
+
+    /**
+     * Ouvre (ou crée) un journal chaîné avec l'intervalle de points de contrôle par défaut.
+     *
+     * @param file Fichier d'audit binaire
+     * @param key  Clé HMAC des points de contrôle
+     * @throws IOException Si les fichiers ne peuvent pas être ouverts
+     */
+    public AuditChainWriter(Path file, byte[] key) throws IOException {
+        this(file, key, DEFAULT_CHECKPOINT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Ouvre (ou crée) un journal chaîné.
+     *
+     * @param file                     Fichier d'audit binaire
+     * @param key                      Clé HMAC des points de contrôle
+     * @param checkpointIntervalMillis Délai maximal avant qu'un enregistrement soit scellé
+     * @throws IOException Si les fichiers ne peuvent pas être ouverts ou ne correspondent pas
+     */
+    public AuditChainWriter(Path file, byte[] key, long checkpointIntervalMillis) throws IOException {
+        this(file, key, checkpointIntervalMillis, false);
+    }
+
+    /**
+     * Ouvre (ou crée) un journal chaîné, avec ou sans index.
+     *
+     * @param file                     Fichier d'audit binaire
+     * @param key                      Clé HMAC des points de contrôle
+     * @param checkpointIntervalMillis Délai maximal avant qu'un enregistrement soit scellé
+     * @param indexed                  true pour maintenir {@code <journal>.idx} en arrière-plan
+     * @throws IOException Si les fichiers ne peuvent pas être ouverts ou ne correspondent pas
+     */
+    public AuditChainWriter(Path file, byte[] key, long checkpointIntervalMillis, boolean indexed)
+            throws IOException {
+        if (file == null || key == null || key.length == 0) {
+            throw new IllegalArgumentException("Le fichier et une clé non vide sont requis");
+        }
+        if (checkpointIntervalMillis < 1) {
+            throw new IllegalArgumentException("L'intervalle des points de contrôle doit être positif");
+        }
+        this.file = file;
+        this.checkpointFile = AuditCheckpoint.checkpointFile(file);
+        this.key = key.clone();
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<AuditCheckpoint> existing = AuditCheckpoint.readAll(checkpointFile);
+        this.log = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        FileChannel opened = null;
+        AuditIndexWriter openedIndex = null;
+        try {
+            opened = FileChannel.open(checkpointFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            recover(opened, existing);
+            if (indexed) {
+                openedIndex = new AuditIndexWriter(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            if (opened != null) {
+                opened.close();
+            }
+            throw e;
+        }
+        this.checkpoints = opened;
+        this.indexWriter = openedIndex;
+        this.worker = new Thread(this::drain, "audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Retourne le fichier de quarantaine associé à un journal.
+     *
+     * @param log Fichier d'audit binaire
+     * @return Fichier {@code <journal>.quarantine}
+     */
+    public static Path quarantineFile(Path log) {
+        Path sibling = Paths.get(log.getFileName() + ".quarantine");
+        Path parent = log.getParent();
+        return parent == null ? sibling : parent.resolve(sibling);
+    }
+
+    // Reprend la chaîne après le dernier point de contrôle; la fin non scellée part en quarantaine
+    private void recover(FileChannel checkpointChannel, List<AuditCheckpoint> existing) throws IOException {
+        if (log.size() == 0) {
+            writeFully(log, ByteBuffer.wrap(AuditRecordEncoder.FILE_HEADER), 0);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(AuditRecordEncoder.FILE_HEADER.length);
+            log.read(header, 0);
+            if (!Arrays.equals(header.array(), AuditRecordEncoder.FILE_HEADER)) {
+                throw new IOException("Fichier d'audit binaire invalide: " + file);
+            }
+        }
+        previousChain = AuditCheckpoint.GENESIS;
+        position = AuditRecordEncoder.FILE_HEADER.length;
+        if (!existing.isEmpty()) {
+            AuditCheckpoint last = existing.get(existing.size() - 1);
+            if (!last.isSignedWith(key)) {
+                throw new IllegalArgumentException("La clé ne correspond pas aux points de contrôle de " + file);
+            }
+            if (log.size() < last.getEnd()) {
+                throw new IOException("Journal plus court que son dernier point de contrôle: " + file);
+            }
+            previousChain = last.getChain();
+            position = last.getEnd();
+            segmentCount = last.getSegment() + 1;
+        }
+        checkpointPosition = AuditCheckpoint.FILE_HEADER.length + (long) existing.size() * AuditCheckpoint.SIZE;
+        checkpointChannel.truncate(checkpointPosition);
+        writeFully(checkpointChannel, ByteBuffer.wrap(AuditCheckpoint.FILE_HEADER), 0);
+
+        long tail = log.size() - position;
+        if (tail > 0) {
+            quarantine(tail);
+        }
+    }
+
+    // Copie la fin non scellée dans le fichier de quarantaine (forcé sur disque), puis la retire du journal
+    private void quarantine(long tail) throws IOException {
+        Path quarantine = quarantineFile(file);
+        try (FileChannel out = FileChannel.open(quarantine, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long at = out.size();
+            if (at == 0) {
+                writeFully(out, ByteBuffer.wrap(AuditRecordEncoder.FILE_HEADER), 0);
+                at = AuditRecordEncoder.FILE_HEADER.length;
+            }
+            long copied = 0;
+            while (copied < tail) {
+                copied += log.transferTo(position + copied, tail - copied, out.position(at + copied));
+            }
+            out.force(true);
+        }
+        log.truncate(position);
+        log.force(true);
+        System.err.println("Journal d'audit " + file + ": " + tail
+                + " octet(s) non scellé(s) mis en quarantaine dans " + quarantine);
+    }
+
+    /**
+     * Ajoute un enregistrement encodé (copié: le tableau peut être réutilisé au retour).
+     *
+     * @param record Octets de l'enregistrement
+     * @param offset Début dans le tableau
+     * @param length Nombre d'octets
+     * @throws IllegalStateException si le journal est fermé
+     */
+    public void append(byte[] record, int offset, int length) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal d'audit fermé: " + file);
+            }
+            while (stagingLength > 0 && stagingLength + length > MAX_PENDING) {
+                spaceAvailable.awaitUninterruptibly();
+            }
+            if (stagingLength + length > staging.length) {
+                staging = Arrays.copyOf(staging, Math.max(staging.length * 2, stagingLength + length));
+            }
+            System.arraycopy(record, offset, staging, stagingLength, length);
+            stagingLength += length;
+            appended += length;
+            if (stagingLength >= SEGMENT_BYTES) {
+                dataReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend que tout ce qui a été ajouté avant l'appel soit écrit et scellé.
+     *
+     * @param timeoutMillis Délai maximal
+     * @return true si tout est scellé dans le délai
+     * @throws InterruptedException Si l'attente est interrompue
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            long target = appended;
+            flushRequested = true;
+            dataReady.signal();
+            while (persisted < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.isAlive()) {
+                    return false;
+                }
+                sealed.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            int length;
+            boolean exit;
+            lock.lock();
+            try {
+                // Un segment en échec est retenté sans attendre (l'attente a suivi l'échec)
+                while (!closed && !flushRequested && retryLength == 0 && stagingLength < SEGMENT_BYTES) {
+                    dataReady.await(checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (stagingLength > 0) {
+                        break;
+                    }
+                }
+                if (retryLength > 0) {
+                    // Le segment en échec garde sa place: les nouveaux octets le suivent
+                    if (retryLength + stagingLength > writing.length) {
+                        writing = Arrays.copyOf(writing, Math.max(writing.length * 2, retryLength + stagingLength));
+                    }
+                    System.arraycopy(staging, 0, writing, retryLength, stagingLength);
+                } else {
+                    byte[] swap = writing;
+                    writing = staging;
+                    staging = swap;
+                }
+                length = retryLength + stagingLength;
+                stagingLength = 0;
+                flushRequested = false;
+                exit = closed;
+                spaceAvailable.signalAll();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            boolean written = length == 0 || writeSegment(length);
+            if (written && length > 0) {
+                updateIndex();
+            }
+            retryLength = written ? 0 : length;
+            lock.lock();
+            try {
+                if (written) {
+                    persisted += length;
+                    sealed.signalAll();
+                } else if (!closed) {
+                    // Nouvel essai après l'intervalle, même si un flush est demandé
+                    dataReady.await(checkpointIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (exit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Écrit le bloc, calcule son empreinte puis ajoute le point de contrôle signé.
+     * En cas d'échec, la position et la chaîne restent celles du segment précédent:
+     * le bloc sera réécrit par-dessus une éventuelle écriture partielle.
+     *
+     * @param length Nombre d'octets du bloc
+     * @return true si le segment est scellé
+     */
+    private boolean writeSegment(int length) {
+        try {
+            write(log, ByteBuffer.wrap(writing, 0, length), position);
+            sha.update(writing, 0, length);
+            byte[] digest = sha.digest();
+            long segment = segmentCount;
+            AuditCheckpoint checkpoint = AuditCheckpoint.seal(segment, position, position + length,
+                    digest, previousChain, key);
+            checkpointBuffer.clear();
+            checkpoint.writeTo(checkpointBuffer);
+            checkpointBuffer.flip();
+            write(checkpoints, checkpointBuffer, checkpointPosition);
+            checkpointPosition += AuditCheckpoint.SIZE;
+            position += length;
+            previousChain = checkpoint.getChain();
+            segmentCount = segment + 1;
+            return true;
+        } catch (IOException e) {
+            sha.reset();
+            failureCount++;
+            System.err.println("Erreur d'écriture du journal d'audit " + file + " (nouvel essai): "
+                    + e.getMessage());
+            return false;
+        }
+    }
+
+    // Écriture d'un segment ou d'un point de contrôle (remplacée dans les tests pour simuler un échec)
+    void write(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+        writeFully(channel, buffer, at);
+    }
+
+    private void updateIndex() {
+        if (indexWriter == null) {
+            return;
+        }
+        try {
+            indexWriter.update();
+        } catch (IOException e) {
+            System.err.println("Erreur de mise à jour de l'index d'audit " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+        long offset = at;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Scelle ce qui reste en attente, force l'écriture sur disque et ferme les fichiers.
+     *
+     * @throws IOException Si la fermeture échoue ou si des enregistrements n'ont pas pu être scellés
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            dataReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long lost;
+        lock.lock();
+        try {
+            lost = appended - persisted;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            log.force(false);
+            checkpoints.force(false);
+        } finally {
+            log.close();
+            checkpoints.close();
+            if (indexWriter != null) {
+                indexWriter.close();
+            }
+        }
+        if (lost > 0) {
+            throw new IOException("Journal d'audit " + file + ": " + lost + " octet(s) non scellé(s) à la fermeture");
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * Retourne le nombre de segments scellés dans le journal (y compris avant la réouverture).
+     *
+     * @return Nombre de points de contrôle
+     */
+    public long getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Retourne le nombre d'écritures de segment en échec (chacune est retentée).
+     *
+     * @return Nombre d'échecs
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+}
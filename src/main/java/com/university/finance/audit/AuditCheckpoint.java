@@ -0,0 +1,195 @@
+package com.university.finance.audit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point de contrôle signé d'un segment du journal d'audit chaîné.
+ *
+ * Un segment est une suite d'enregistrements écrits d'un bloc, entre les positions
+ * {@code start} (incluse) et {@code end} (exclue) du fichier d'audit. Le point de
+ * contrôle contient l'empreinte SHA-256 du segment, le maillon de chaîne
+ * {@code SHA-256(maillon précédent | numéro | start | end | empreinte)} et un
+ * HMAC-SHA256 de l'ensemble. Les points de contrôle sont écrits à la suite dans
+ * le fichier {@code <journal>.chk}, après l'en-tête "FCHK" et la version.
+ */
+public final class AuditCheckpoint {
+
+    static final byte[] FILE_HEADER = {'F', 'C', 'H', 'K', 1};
+    static final int HASH_SIZE = 32;
+    static final int SIZE = 3 * Long.BYTES + 3 * HASH_SIZE;
+    // Maillon précédant le premier segment
+    static final byte[] GENESIS = new byte[HASH_SIZE];
+
+    private static final String DIGEST = "SHA-256";
+    private static final String MAC = "HmacSHA256";
+
+    private final long segment;
+    private final long start;
+    private final long end;
+    private final byte[] digest;
+    private final byte[] chain;
+    private final byte[] mac;
+
+    AuditCheckpoint(long segment, long start, long end, byte[] digest, byte[] chain, byte[] mac) {
+        this.segment = segment;
+        this.start = start;
+        this.end = end;
+        this.digest = digest;
+        this.chain = chain;
+        this.mac = mac;
+    }
+
+    /**
+     * Crée le point de contrôle d'un segment et le signe.
+     *
+     * @param segment  Numéro du segment (à partir de 0)
+     * @param start    Position de début dans le journal
+     * @param end      Position de fin (exclue)
+     * @param digest   Empreinte SHA-256 des octets du segment
+     * @param previous Maillon du segment précédent ({@link #GENESIS} pour le premier)
+     * @param key      Clé HMAC
+     * @return Point de contrôle signé
+     */
+    static AuditCheckpoint seal(long segment, long start, long end, byte[] digest, byte[] previous, byte[] key) {
+        byte[] chain = chain(previous, segment, start, end, digest);
+        return new AuditCheckpoint(segment, start, end, digest, chain,
+                mac(key, segment, start, end, digest, chain));
+    }
+
+    static byte[] chain(byte[] previous, long segment, long start, long end, byte[] digest) {
+        MessageDigest sha = newDigest();
+        sha.update(previous);
+        sha.update(longs(segment, start, end));
+        sha.update(digest);
+        return sha.digest();
+    }
+
+    static byte[] mac(byte[] key, long segment, long start, long end, byte[] digest, byte[] chain) {
+        try {
+            Mac hmac = Mac.getInstance(MAC);
+            hmac.init(new SecretKeySpec(key, MAC));
+            hmac.update(longs(segment, start, end));
+            hmac.update(digest);
+            hmac.update(chain);
+            return hmac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static byte[] longs(long a, long b, long c) {
+        return ByteBuffer.allocate(3 * Long.BYTES).putLong(a).putLong(b).putLong(c).array();
+    }
+
+    /**
+     * Vérifie la signature du point de contrôle.
+     *
+     * @param key Clé HMAC
+     * @return true si la signature correspond
+     */
+    boolean isSignedWith(byte[] key) {
+        return MessageDigest.isEqual(mac, mac(key, segment, start, end, digest, chain));
+    }
+
+    void writeTo(ByteBuffer out) {
+        out.putLong(segment).putLong(start).putLong(end).put(digest).put(chain).put(mac);
+    }
+
+    static AuditCheckpoint readFrom(ByteBuffer in) {
+        long segment = in.getLong();
+        long start = in.getLong();
+        long end = in.getLong();
+        byte[] digest = new byte[HASH_SIZE];
+        byte[] chain = new byte[HASH_SIZE];
+        byte[] mac = new byte[HASH_SIZE];
+        in.get(digest).get(chain).get(mac);
+        return new AuditCheckpoint(segment, start, end, digest, chain, mac);
+    }
+
+    /**
+     * Retourne le fichier des points de contrôle associé à un journal.
+     *
+     * @param log Fichier d'audit binaire
+     * @return Fichier {@code <journal>.chk}
+     */
+    public static Path checkpointFile(Path log) {
+        Path name = log.getFileName();
+        Path sibling = Paths.get(name + ".chk");
+        Path parent = log.getParent();
+        return parent == null ? sibling : parent.resolve(sibling);
+    }
+
+    /**
+     * Lit tous les points de contrôle complets d'un fichier (une fin tronquée est ignorée).
+     *
+     * @param file Fichier des points de contrôle
+     * @return Points de contrôle dans l'ordre d'écriture (vide si le fichier n'existe pas)
+     * @throws IOException Si le fichier ne peut pas être lu ou n'a pas le bon en-tête
+     */
+    static List<AuditCheckpoint> readAll(Path file) throws IOException {
+        List<AuditCheckpoint> checkpoints = new ArrayList<>();
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return checkpoints;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lecture complète
+            }
+            buffer.flip();
+            byte[] header = new byte[FILE_HEADER.length];
+            if (buffer.remaining() < header.length) {
+                throw new IOException("Fichier de points de contrôle tronqué: " + file);
+            }
+            buffer.get(header);
+            if (!Arrays.equals(header, FILE_HEADER)) {
+                throw new IOException("Fichier de points de contrôle invalide: " + file);
+            }
+            while (buffer.remaining() >= SIZE) {
+                checkpoints.add(readFrom(buffer));
+            }
+        }
+        return checkpoints;
+    }
+
+    public long getSegment() {
+        return segment;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    byte[] getDigest() {
+        return digest;
+    }
+
+    byte[] getChain() {
+        return chain;
+    }
+}
@@ -0,0 +1,28 @@
+package com.university.finance.audit;
+
+/**
+ * Format du fichier d'audit écrit par
+ * {@link com.university.finance.pattern.observer.AuditLogger}.
+ */
+public enum AuditFormat {
+    /** Une ligne lisible par transaction (format historique). */
+    TEXT,
+    /** Enregistrements binaires compacts (voir {@link AuditRecordEncoder}). */
+    BINARY;
+
+    /**
+     * Retrouve un format par son nom, sans tenir compte de la casse.
+     *
+     * @param name Nom du format ("text" ou "binary")
+     * @return Format correspondant
+     * @throws IllegalArgumentException si le nom est inconnu
+     */
+    public static AuditFormat fromName(String name) {
+        for (AuditFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Format d'audit inconnu: " + name);
+    }
+}
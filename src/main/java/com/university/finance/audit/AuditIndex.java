@@ -0,0 +1,254 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recherche dans un journal d'audit binaire à l'aide de son index
+ * ({@link AuditIndexWriter}).
+ *
+ * Seuls les en-têtes de blocs sont lus à l'ouverture; le fichier d'index est
+ * projeté en mémoire d'un seul tenant (par régions de 1 Gio au plus) et les tables
+ * de chaque bloc y sont parcourues par dichotomie. Les enregistrements
+ * trouvés sont relus directement à leur position dans le journal (une empreinte
+ * identique pour deux identifiants est écartée à la relecture). Les
+ * enregistrements au-delà de la fin de l'index ne sont pas vus: appeler
+ * {@link AuditIndexWriter#update()} avant d'ouvrir l'index.
+ */
+public class AuditIndex implements AutoCloseable {
+
+    // Taille maximale d'une projection (un bloc ne la dépasse jamais)
+    private static final long MAX_REGION = 1L << 30;
+
+    private final Path log;
+    private final List<Block> blocks = new ArrayList<>();
+    private final AuditLogReader reader;
+    private final long indexedEnd;
+
+    /**
+     * Ouvre l'index d'un journal.
+     *
+     * @param log Fichier d'audit binaire
+     * @throws IOException Si le journal ou l'index ne peut pas être lu
+     */
+    public AuditIndex(Path log) throws IOException {
+        this.log = log;
+        long end = AuditRecordEncoder.FILE_HEADER.length;
+        try (FileChannel channel = FileChannel.open(AuditIndexWriter.indexFile(log), StandardOpenOption.READ)) {
+            if (!AuditIndexWriter.hasHeader(channel)) {
+                throw new IOException("Index d'audit invalide pour " + log);
+            }
+            List<AuditIndexWriter.BlockRef> live = new ArrayList<>();
+            long size = AuditIndexWriter.scan(channel, Long.MAX_VALUE, live);
+            MappedByteBuffer region = null;
+            long regionStart = 0;
+            for (AuditIndexWriter.BlockRef ref : live) {
+                if (region == null || ref.position + ref.size > regionStart + region.capacity()) {
+                    regionStart = ref.position;
+                    region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                            Math.min(size - regionStart, Math.max(MAX_REGION, ref.size)));
+                }
+                int offset = (int) (ref.position - regionStart);
+                ByteBuffer data = region.duplicate();
+                data.position(offset).limit(offset + (int) ref.size);
+                Block block = new Block(data.slice());
+                blocks.add(block);
+                end = block.end;
+            }
+        }
+        this.indexedEnd = end;
+        this.reader = new AuditLogReader(log);
+    }
+
+    /**
+     * Retrouve l'enregistrement d'une transaction.
+     *
+     * @param transactionId Identifiant de la transaction
+     * @return Enregistrements correspondants (vide si aucun)
+     * @throws IOException Si le journal ne peut pas être lu
+     */
+    public List<AuditRecord> findByTransaction(String transactionId) throws IOException {
+        long hash = AuditIndexWriter.hash(transactionId);
+        List<AuditRecord> found = new ArrayList<>();
+        for (Block block : blocks) {
+            for (long offset : block.lookup(block.transactionTable, block.transactionCount, hash)) {
+                AuditRecord record = readAt(offset);
+                if (transactionId.equals(record.getTransactionId())) {
+                    found.add(record);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retrouve les enregistrements d'un compte (source ou destination), dans l'ordre du journal.
+     *
+     * @param accountId Identifiant du compte
+     * @return Enregistrements correspondants
+     * @throws IOException Si le journal ne peut pas être lu
+     */
+    public List<AuditRecord> findByAccount(String accountId) throws IOException {
+        long hash = AuditIndexWriter.hash(accountId);
+        List<AuditRecord> found = new ArrayList<>();
+        for (Block block : blocks) {
+            long previous = -1;
+            for (long offset : block.lookup(block.accountTable, block.accountCount, hash)) {
+                // Un transfert d'un compte vers lui-même apparaît deux fois dans la table
+                if (offset == previous) {
+                    continue;
+                }
+                previous = offset;
+                AuditRecord record = readAt(offset);
+                if (record.involves(accountId)) {
+                    found.add(record);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retrouve les enregistrements journalisés dans un intervalle de temps.
+     *
+     * @param sinceMillis Début (inclus), en millisecondes depuis l'époque
+     * @param untilMillis Fin (exclue)
+     * @return Enregistrements correspondants, dans l'ordre du journal
+     * @throws IOException Si le journal ne peut pas être lu
+     */
+    public List<AuditRecord> findBetween(long sinceMillis, long untilMillis) throws IOException {
+        List<AuditRecord> found = new ArrayList<>();
+        for (Block block : blocks) {
+            if (block.maxTime < sinceMillis || block.minTime >= untilMillis) {
+                continue;
+            }
+            reader.seek(block.monotonic ? block.start + block.timeSeek(sinceMillis) : block.start);
+            while (reader.position() < block.end) {
+                AuditRecord record = reader.next();
+                if (record == null) {
+                    break;
+                }
+                long time = record.getTimestampMillis();
+                if (block.monotonic && time >= untilMillis) {
+                    break;
+                }
+                if (time >= sinceMillis && time < untilMillis) {
+                    found.add(record);
+                }
+            }
+        }
+        return found;
+    }
+
+    private AuditRecord readAt(long offset) throws IOException {
+        reader.seek(offset);
+        AuditRecord record = reader.next();
+        if (record == null) {
+            throw new IOException("Enregistrement introuvable à la position " + offset + " de " + log);
+        }
+        return record;
+    }
+
+    /**
+     * Retourne la position du journal jusqu'à laquelle l'index est à jour.
+     *
+     * @return Position en octets
+     */
+    public long getIndexedEnd() {
+        return indexedEnd;
+    }
+
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Bloc de l'index projeté en mémoire.
+     */
+    private static final class Block {
+        final ByteBuffer data;
+        final long start;
+        final long end;
+        final long minTime;
+        final long maxTime;
+        final boolean monotonic;
+        final int transactionCount;
+        final int accountCount;
+        final int timeCount;
+        final int transactionTable;
+        final int accountTable;
+        final int timeTable;
+
+        Block(ByteBuffer data) {
+            this.data = data;
+            this.start = data.getLong(0);
+            this.end = data.getLong(8);
+            this.minTime = data.getLong(20);
+            this.maxTime = data.getLong(28);
+            this.monotonic = data.get(36) != 0;
+            this.transactionCount = data.getInt(37);
+            this.accountCount = data.getInt(41);
+            this.timeCount = data.getInt(45);
+            this.transactionTable = AuditIndexWriter.BLOCK_HEADER;
+            this.accountTable = transactionTable + transactionCount * AuditIndexWriter.ENTRY;
+            this.timeTable = accountTable + accountCount * AuditIndexWriter.ENTRY;
+        }
+
+        private long key(int table, int i) {
+            return data.getLong(table + i * AuditIndexWriter.ENTRY);
+        }
+
+        private int offset(int table, int i) {
+            return data.getInt(table + i * AuditIndexWriter.ENTRY + Long.BYTES);
+        }
+
+        // Positions absolues des entrées dont la clé vaut hash (table triée par clé puis position)
+        long[] lookup(int table, int count, long hash) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key(table, mid) < hash) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            int last = low;
+            while (last < count && key(table, last) == hash) {
+                last++;
+            }
+            long[] offsets = new long[last - low];
+            for (int i = low; i < last; i++) {
+                offsets[i - low] = start + offset(table, i);
+            }
+            return offsets;
+        }
+
+        // Position relative de la dernière entrée de la table des dates antérieure à since
+        int timeSeek(long since) {
+            int low = 0;
+            int high = timeCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (key(timeTable, mid) < since) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low == 0 ? 0 : offset(timeTable, low - 1);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.university.finance.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Construction incrémentale de l'index d'un journal d'audit binaire ({@code <journal>.idx}).
+ *
+ * Chaque appel à {@link #update()} relit les enregistrements ajoutés depuis le
+ * précédent et les indexe par blocs d'au plus 65 536 enregistrements. Un bloc
+ * couvre une plage contiguë du journal et contient:
+ * <ul>
+ *   <li>un en-tête: positions de début et de fin, nombre d'enregistrements, dates
+ *       minimale et maximale, indicateur de dates croissantes, tailles des tables;</li>
+ *   <li>la table des transactions: (empreinte 64 bits de l'id, position relative),
+ *       triée par empreinte;</li>
+ *   <li>la table des comptes (source et destination), triée de la même façon;</li>
+ *   <li>une table des dates: (date, position relative) tous les 64 enregistrements.</li>
+ * </ul>
+ * Les recherches se font par dichotomie dans chaque bloc (voir {@link AuditIndex}).
+ * Seuls des enregistrements complets sont indexés: la fin d'un journal en cours
+ * d'écriture est reprise au prochain appel.
+ *
+ * Des mises à jour fréquentes (une par segment du journal chaîné) produiraient une
+ * multitude de petits blocs. Un nouveau bloc absorbe donc les derniers blocs de
+ * l'index qui ne sont pas plus gros que lui (dans la limite d'un bloc complet): il
+ * est ajouté à la fin du fichier et remplace ceux dont il reprend le début. L'index
+ * ne garde ainsi que des blocs complets et quelques blocs de tailles décroissantes,
+ * chaque enregistrement n'étant réindexé qu'un nombre logarithmique de fois. Quand
+ * les blocs remplacés occupent plus de place que les blocs vivants, le fichier est
+ * réécrit à côté puis renommé: un {@link AuditIndex} déjà ouvert garde l'ancien.
+ */
+public class AuditIndexWriter implements AutoCloseable {
+
+    static final byte[] FILE_HEADER = {'F', 'I', 'D', 'X', 1};
+    static final int BLOCK_HEADER = 2 * Long.BYTES + Integer.BYTES + 2 * Long.BYTES + 1 + 3 * Integer.BYTES;
+    static final int ENTRY = Long.BYTES + Integer.BYTES;
+    static final int MAX_BLOCK_RECORDS = 1 << 16;
+    static final int TIME_STRIDE = 64;
+    // Les positions relatives d'un bloc tiennent dans un int
+    private static final long MAX_BLOCK_BYTES = 1L << 30;
+    // En deçà, les blocs remplacés ne justifient pas de réécrire l'index
+    private static final long MIN_COMPACT_BYTES = 64 * 1024;
+
+    private final Path log;
+    private final Path indexFile;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Protégés par le verrou
+    private FileChannel index;
+    private final List<BlockRef> blocks = new ArrayList<>();
+    private long indexedEnd;
+    private long indexPosition;
+    private long replacedBytes;
+
+    /**
+     * Ouvre (ou crée) l'index d'un journal. Un index plus long que le journal
+     * (journal remplacé) est reconstruit depuis le début.
+     *
+     * @param log Fichier d'audit binaire
+     * @throws IOException Si l'index ne peut pas être ouvert
+     */
+    public AuditIndexWriter(Path log) throws IOException {
+        if (log == null) {
+            throw new IllegalArgumentException("Le journal est requis");
+        }
+        this.log = log;
+        this.indexFile = indexFile(log);
+        this.index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            recover();
+        } catch (IOException e) {
+            index.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retourne le fichier d'index associé à un journal.
+     *
+     * @param log Fichier d'audit binaire
+     * @return Fichier {@code <journal>.idx}
+     */
+    public static Path indexFile(Path log) {
+        Path sibling = Paths.get(log.getFileName() + ".idx");
+        Path parent = log.getParent();
+        return parent == null ? sibling : parent.resolve(sibling);
+    }
+
+    // Reprend les blocs vivants; un bloc incomplet ou au-delà du journal est abandonné
+    private void recover() throws IOException {
+        long logSize = Files.exists(log) ? Files.size(log) : 0;
+        indexPosition = FILE_HEADER.length;
+        indexedEnd = AuditRecordEncoder.FILE_HEADER.length;
+        if (index.size() >= FILE_HEADER.length && hasHeader(index)) {
+            indexPosition = scan(index, logSize, blocks);
+        }
+        long live = 0;
+        for (BlockRef block : blocks) {
+            live += block.size;
+        }
+        if (!blocks.isEmpty()) {
+            indexedEnd = blocks.get(blocks.size() - 1).end;
+        }
+        replacedBytes = indexPosition - FILE_HEADER.length - live;
+        index.truncate(indexPosition);
+        index.write(ByteBuffer.wrap(FILE_HEADER), 0);
+    }
+
+    static boolean hasHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER.length);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                return false;
+            }
+        }
+        return Arrays.equals(header.array(), FILE_HEADER);
+    }
+
+    /**
+     * Parcourt les en-têtes de blocs d'un index et retient les blocs vivants: un bloc
+     * qui reprend le début d'un bloc vivant remplace celui-ci et tous les suivants.
+     * Le parcours s'arrête au premier bloc incomplet, discontinu ou au-delà du journal.
+     *
+     * @param channel Index, en-tête de fichier déjà vérifié
+     * @param logSize Taille du journal
+     * @param blocks  Reçoit les blocs vivants, dans l'ordre du journal
+     * @return Position de fin du dernier bloc valide dans l'index
+     * @throws IOException Si l'index ne peut pas être lu
+     */
+    static long scan(FileChannel channel, long logSize, List<BlockRef> blocks) throws IOException {
+        long size = channel.size();
+        long position = FILE_HEADER.length;
+        long end = AuditRecordEncoder.FILE_HEADER.length;
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER);
+        while (position + BLOCK_HEADER <= size) {
+            header.clear();
+            while (header.hasRemaining()) {
+                if (channel.read(header, position + header.position()) < 0) {
+                    return position;
+                }
+            }
+            BlockRef block = new BlockRef(position, blockSize(header), header.getLong(0), header.getLong(8),
+                    header.getInt(16));
+            if (block.end <= block.start || block.end > logSize || position + block.size > size) {
+                break;
+            }
+            if (block.start != end) {
+                int replaced = blocks.size() - 1;
+                while (replaced >= 0 && blocks.get(replaced).start > block.start) {
+                    replaced--;
+                }
+                if (replaced < 0 || blocks.get(replaced).start != block.start || block.end < end) {
+                    break;
+                }
+                blocks.subList(replaced, blocks.size()).clear();
+            }
+            blocks.add(block);
+            end = block.end;
+            position += block.size;
+        }
+        return position;
+    }
+
+    static long blockSize(ByteBuffer header) {
+        int base = 2 * Long.BYTES + Integer.BYTES + 2 * Long.BYTES + 1;
+        long entries = (long) header.getInt(base) + header.getInt(base + 4) + header.getInt(base + 8);
+        return BLOCK_HEADER + entries * ENTRY;
+    }
+
+    /**
+     * Indexe les enregistrements ajoutés au journal depuis le dernier appel.
+     *
+     * @return Nombre d'enregistrements indexés
+     * @throws IOException Si le journal ou l'index ne peut pas être lu ou écrit
+     */
+    public long update() throws IOException {
+        lock.lock();
+        try {
+            if (!Files.exists(log) || Files.size(log) <= indexedEnd) {
+                return 0;
+            }
+            long indexed = 0;
+            try (AuditLogReader reader = new AuditLogReader(log)) {
+                reader.seek(indexedEnd);
+                Block block;
+                while ((block = readBlock(reader, Long.MAX_VALUE)) != null) {
+                    indexed += block.records;
+                    writeBlock(mergeTail(reader, block));
+                }
+            }
+            if (replacedBytes >= MIN_COMPACT_BYTES && replacedBytes > indexPosition - FILE_HEADER.length - replacedBytes) {
+                compact();
+            }
+            return indexed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Block readBlock(AuditLogReader reader, long limit) throws IOException {
+        Block block = new Block(reader.position());
+        AuditRecord record;
+        while (block.records < MAX_BLOCK_RECORDS && reader.position() - block.start < MAX_BLOCK_BYTES
+                && reader.position() < limit && (record = reader.next()) != null) {
+            block.add(record);
+        }
+        block.end = reader.position();
+        return block.records == 0 ? null : block;
+    }
+
+    // Réindexe avec le nouveau bloc les derniers blocs qui ne sont pas plus gros que lui
+    private Block mergeTail(AuditLogReader reader, Block block) throws IOException {
+        int first = blocks.size();
+        long records = block.records;
+        while (first > 0) {
+            BlockRef last = blocks.get(first - 1);
+            if (last.records > records || last.records + records > MAX_BLOCK_RECORDS
+                    || block.end - last.start > MAX_BLOCK_BYTES) {
+                break;
+            }
+            records += last.records;
+            first--;
+        }
+        if (first == blocks.size()) {
+            return block;
+        }
+        reader.seek(blocks.get(first).start);
+        Block merged = readBlock(reader, block.end);
+        if (merged == null || merged.end != block.end) {
+            throw new IOException("Journal modifié pendant l'indexation: " + log);
+        }
+        List<BlockRef> replaced = blocks.subList(first, blocks.size());
+        for (BlockRef old : replaced) {
+            replacedBytes += old.size;
+        }
+        replaced.clear();
+        return merged;
+    }
+
+    // Réécrit les seuls blocs vivants dans un fichier voisin, puis le substitue à l'index
+    private void compact() throws IOException {
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        long[] positions = new long[blocks.size()];
+        long position = FILE_HEADER.length;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            out.write(ByteBuffer.wrap(FILE_HEADER), 0);
+            for (int i = 0; i < positions.length; i++) {
+                BlockRef block = blocks.get(i);
+                positions[i] = position;
+                long copied = 0;
+                while (copied < block.size) {
+                    copied += index.transferTo(block.position + copied, block.size - copied,
+                            out.position(position + copied));
+                }
+                position += block.size;
+            }
+            out.force(true);
+        }
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        index.close();
+        index = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        for (int i = 0; i < positions.length; i++) {
+            blocks.get(i).position = positions[i];
+        }
+        indexPosition = position;
+        replacedBytes = 0;
+    }
+
+    private void writeBlock(Block block) throws IOException {
+        Collections.sort(block.transactions);
+        Collections.sort(block.accounts);
+        int entries = block.transactions.size() + block.accounts.size() + block.times.size();
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER + entries * ENTRY);
+        buffer.putLong(block.start).putLong(block.end).putInt(block.records)
+                .putLong(block.minTime).putLong(block.maxTime).put((byte) (block.monotonic ? 1 : 0))
+                .putInt(block.transactions.size()).putInt(block.accounts.size()).putInt(block.times.size());
+        for (Entry entry : block.transactions) {
+            buffer.putLong(entry.key).putInt(entry.offset);
+        }
+        for (Entry entry : block.accounts) {
+            buffer.putLong(entry.key).putInt(entry.offset);
+        }
+        for (Entry entry : block.times) {
+            buffer.putLong(entry.key).putInt(entry.offset);
+        }
+        buffer.flip();
+        long position = indexPosition;
+        while (buffer.hasRemaining()) {
+            position += index.write(buffer, position);
+        }
+        blocks.add(new BlockRef(indexPosition, position - indexPosition, block.start, block.end, block.records));
+        indexPosition = position;
+        indexedEnd = block.end;
+    }
+
+    /**
+     * Empreinte 64 bits (FNV-1a) d'un identifiant, stable d'une JVM à l'autre.
+     *
+     * @param id Identifiant
+     * @return Empreinte
+     */
+    static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Retourne la position du journal jusqu'à laquelle l'index est à jour.
+     *
+     * @return Position en octets
+     */
+    public long getIndexedEnd() {
+        lock.lock();
+        try {
+            return indexedEnd;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre de blocs de l'index.
+     *
+     * @return Nombre de blocs
+     */
+    public long getBlockCount() {
+        lock.lock();
+        try {
+            return blocks.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getIndexFile() {
+        return indexFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            index.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bloc écrit dans l'index: position et taille dans l'index, plage du journal couverte.
+     */
+    static final class BlockRef {
+        long position;
+        final long size;
+        final long start;
+        final long end;
+        final int records;
+
+        BlockRef(long position, long size, long start, long end, int records) {
+            this.position = position;
+            this.size = size;
+            this.start = start;
+            this.end = end;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Enregistrements d'un bloc en cours de construction.
+     */
+    private static final class Block {
+        final long start;
+        long end;
+        int records;
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        long lastTime = Long.MIN_VALUE;
+        boolean monotonic = true;
+        final List<Entry> transactions = new ArrayList<>();
+        final List<Entry> accounts = new ArrayList<>();
+        final List<Entry> times = new ArrayList<>();
+
+        Block(long start) {
+            this.start = start;
+        }
+
+        void add(AuditRecord record) {
+            int offset = (int) (record.getOffset() - start);
+            long time = record.getTimestampMillis();
+            transactions.add(new Entry(hash(record.getTransactionId()), offset));
+            accounts.add(new Entry(hash(record.getFromAccountId()), offset));
+            if (record.getToAccountId() != null) {
+                accounts.add(new Entry(hash(record.getToAccountId()), offset));
+            }
+            if (records % TIME_STRIDE == 0) {
+                times.add(new Entry(time, offset));
+            }
+            monotonic &= time >= lastTime;
+            lastTime = time;
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+            records++;
+        }
+    }
+
+    /**
+     * Entrée d'une table: clé (empreinte ou date) et position relative au début du bloc.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        final long key;
+        final int offset;
+
+        Entry(long key, int offset) {
+            this.key = key;
+            this.offset = offset;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = Long.compare(key, other.key);
+            return byKey != 0 ? byKey : Integer.compare(offset, other.offset);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lecteur séquentiel d'un fichier d'audit binaire (voir {@link AuditRecordEncoder}).
+ *
+ * Le fichier est lu par blocs de 1 Mio; une fin d'enregistrement tronquée
+ * (processus arrêté pendant une écriture) termine la lecture sans erreur.
+ * Après un {@link #seek(long)} hors du bloc courant, la première lecture se limite
+ * à 4 Kio (une relecture ponctuelle depuis l'index), puis double à chaque lecture
+ * suivante jusqu'à 1 Mio si le parcours continue.
+ */
+public class AuditLogReader implements AutoCloseable {
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int SEEK_READ = 4 << 10;
+    // Un enregistrement ne contient que quelques identifiants: au-delà, le fichier est corrompu
+    private static final int MAX_RECORD = 1 << 16;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path file;
+    private final FileChannel channel;
+    private ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+    // Position dans le fichier du premier octet du bloc
+    private long blockStart;
+    // Nombre d'octets visé par la prochaine lecture
+    private int readAhead = BLOCK_SIZE;
+
+    /**
+     * Ouvre un fichier d'audit binaire et vérifie son en-tête.
+     *
+     * @param file Fichier à lire
+     * @throws IOException Si le fichier ne peut pas être lu ou n'est pas un fichier d'audit binaire
+     */
+    public AuditLogReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        block.limit(0);
+        try {
+            byte[] header = AuditRecordEncoder.FILE_HEADER;
+            if (!fill(header.length)) {
+                throw new IOException("Fichier d'audit binaire vide ou tronqué: " + file);
+            }
+            for (int i = 0; i < AuditRecordEncoder.MAGIC.length; i++) {
+                if (block.get() != header[i]) {
+                    throw new IOException("Fichier d'audit binaire invalide: " + file);
+                }
+            }
+            byte version = block.get();
+            if (version != AuditRecordEncoder.VERSION) {
+                throw new IOException("Version de fichier d'audit non supportée: " + version);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Lit l'enregistrement suivant.
+     *
+     * @return Enregistrement, ou null à la fin du fichier
+     * @throws IOException Si la lecture échoue ou si un enregistrement est invalide
+     */
+    public AuditRecord next() throws IOException {
+        if (!fill(1)) {
+            return null;
+        }
+        long offset = position();
+        fill(5);
+        int mark = block.position();
+        int bodyLength = readVarint();
+        if (bodyLength < 0) {
+            // Longueur incomplète en fin de fichier: la position reste au début de l'enregistrement
+            block.position(mark);
+            return null;
+        }
+        if (bodyLength > MAX_RECORD) {
+            throw new IOException("Enregistrement d'audit invalide à la position " + offset + " de " + file);
+        }
+        int prefix = block.position() - mark;
+        block.position(mark);
+        if (!fill(prefix + bodyLength)) {
+            // Enregistrement incomplet en fin de fichier
+            return null;
+        }
+        block.position(block.position() + prefix);
+        int end = block.position() + bodyLength;
+        int kind = block.get() & 0xFF;
+        int type = kind & ~AuditRecordEncoder.TRANSFER_FLAG;
+        if (type >= TYPES.length || bodyLength < AuditRecordEncoder.FIXED_HEADER) {
+            throw new IOException("Enregistrement d'audit invalide à la position " + offset + " de " + file);
+        }
+        long timestamp = block.getLong();
+        long cents = block.getLong();
+        String transactionId = readId(end);
+        String from = readId(end);
+        String to = (kind & AuditRecordEncoder.TRANSFER_FLAG) != 0 ? readId(end) : null;
+        if (block.position() != end) {
+            throw new IOException("Enregistrement d'audit invalide à la position " + offset + " de " + file);
+        }
+        return new AuditRecord(offset, timestamp, TYPES[type], cents, transactionId, from, to);
+    }
+
+    /**
+     * Retourne la position dans le fichier du prochain enregistrement.
+     *
+     * @return Position en octets
+     */
+    public long position() {
+        return blockStart + block.position();
+    }
+
+    /**
+     * Reprend la lecture à une position (début d'un enregistrement).
+     *
+     * @param offset Position en octets, au moins la taille de l'en-tête du fichier
+     * @throws IOException Si la position est hors du fichier
+     */
+    public void seek(long offset) throws IOException {
+        if (offset < AuditRecordEncoder.FILE_HEADER.length || offset > channel.size()) {
+            throw new IOException("Position hors du fichier d'audit: " + offset);
+        }
+        if (offset >= blockStart && offset <= blockStart + block.limit()) {
+            block.position((int) (offset - blockStart));
+            return;
+        }
+        blockStart = offset;
+        block.clear().limit(0);
+        readAhead = SEEK_READ;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Garantit au moins n octets lisibles dans le bloc; false si la fin du fichier arrive avant
+    private boolean fill(int n) throws IOException {
+        if (block.remaining() >= n) {
+            return true;
+        }
+        blockStart += block.position();
+        if (n > block.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(n);
+            larger.put(block);
+            block = larger;
+        } else {
+            block.compact();
+            block.limit(Math.max(n, Math.min(block.capacity(), block.position() + readAhead)));
+        }
+        readAhead = Math.min(BLOCK_SIZE, readAhead * 2);
+        while (block.position() < n) {
+            if (channel.read(block, blockStart + block.position()) < 0) {
+                break;
+            }
+        }
+        block.flip();
+        return block.remaining() >= n;
+    }
+
+    // -1 si le varint est incomplet (fin de fichier)
+    private int readVarint() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!block.hasRemaining()) {
+                return -1;
+            }
+            byte b = block.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private String readId(int end) throws IOException {
+        int tag = readVarint();
+        int size = tag == 0 ? 16 : tag - 1;
+        if (tag < 0 || block.position() + size > end) {
+            throw new IOException("Identifiant d'audit invalide dans " + file);
+        }
+        if (tag == 0) {
+            char[] uuid = new char[36];
+            int c = 0;
+            for (int b = 0; b < 16; b++) {
+                if (b == 4 || b == 6 || b == 8 || b == 10) {
+                    uuid[c++] = '-';
+                }
+                int value = block.get() & 0xFF;
+                uuid[c++] = HEX[value >>> 4];
+                uuid[c++] = HEX[value & 0x0F];
+            }
+            return new String(uuid);
+        }
+        String id = new String(block.array(), block.arrayOffset() + block.position(), size, StandardCharsets.UTF_8);
+        block.position(block.position() + size);
+        return id;
+    }
+}
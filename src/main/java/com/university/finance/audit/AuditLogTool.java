@@ -0,0 +1,346 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Outil en ligne de commande pour les fichiers d'audit binaires.
+ *
+ * Usage: {@code AuditLogTool dump <fichier> [--format text|csv] [--tx ID] [--account ID]
+ * [--type DEPOSIT|WITHDRAWAL|TRANSFER] [--since yyyy-MM-ddTHH:mm:ss] [--until ...] [--output fichier]}.
+ * Les enregistrements retenus sont écrits au format texte de l'audit (par défaut) ou en CSV;
+ * le nombre d'enregistrements lus et retenus est affiché sur la sortie d'erreur.
+ *
+ * {@code AuditLogTool query <fichier> [mêmes options]} donne le même résultat en passant par
+ * l'index du journal (mis à jour au préalable): les enregistrements sont lus directement à leur
+ * position, par transaction, par compte ou par intervalle de temps.
+ * {@code AuditLogTool index <fichier>} met seulement l'index à jour.
+ *
+ * {@code AuditLogTool verify <fichier> --key <fichier de clé> [--threads N]} vérifie un
+ * journal chaîné (voir {@link AuditChainVerifier}); le code de sortie vaut 1 s'il a été altéré.
+ */
+public class AuditLogTool {
+
+    private static final int OUTPUT_BUFFER = 1 << 16;
+
+    private final Path file;
+    private boolean csv;
+    private String transactionId;
+    private String accountId;
+    private TransactionType type;
+    private long sinceMillis = Long.MIN_VALUE;
+    private long untilMillis = Long.MAX_VALUE;
+    private String output;
+    private ZoneId zone = ZoneId.systemDefault();
+    private long read;
+
+    /**
+     * Constructeur (aucun filtre, sortie texte).
+     *
+     * @param file Fichier d'audit binaire
+     */
+    public AuditLogTool(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("Le fichier d'audit est requis");
+        }
+        this.file = file;
+    }
+
+    /**
+     * Construit l'outil à partir des arguments de la ligne de commande (après la commande).
+     *
+     * @param args Fichier puis options
+     * @return Outil configuré
+     * @throws IllegalArgumentException si une option est inconnue ou invalide
+     */
+    public static AuditLogTool fromArgs(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Fichier d'audit manquant");
+        }
+        AuditLogTool tool = new AuditLogTool(Paths.get(args[0]));
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--format":
+                    tool.setCsv("csv".equalsIgnoreCase(value));
+                    if (!tool.csv && !"text".equalsIgnoreCase(value)) {
+                        throw new IllegalArgumentException("Format de sortie inconnu: " + value);
+                    }
+                    break;
+                case "--tx":
+                    tool.setTransactionId(value);
+                    break;
+                case "--account":
+                    tool.setAccountId(value);
+                    break;
+                case "--type":
+                    tool.setType(TransactionType.valueOf(value.toUpperCase()));
+                    break;
+                case "--since":
+                    tool.setSince(parseTime(value));
+                    break;
+                case "--until":
+                    tool.setUntil(parseTime(value));
+                    break;
+                case "--output":
+                    tool.output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Option inconnue: " + option);
+            }
+        }
+        return tool;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date invalide (attendu yyyy-MM-ddTHH:mm:ss): " + value);
+        }
+    }
+
+    // ==================== Filtres ====================
+
+    public void setCsv(boolean csv) {
+        this.csv = csv;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    /**
+     * Ne retient que les enregistrements journalisés à partir de cette date (incluse).
+     *
+     * @param since Date locale dans le fuseau de l'outil
+     */
+    public void setSince(LocalDateTime since) {
+        this.sinceMillis = since.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Ne retient que les enregistrements journalisés avant cette date (exclue).
+     *
+     * @param until Date locale dans le fuseau de l'outil
+     */
+    public void setUntil(LocalDateTime until) {
+        this.untilMillis = until.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Change le fuseau utilisé pour les dates (à appeler avant {@link #setSince}/{@link #setUntil}).
+     *
+     * @param zone Fuseau
+     */
+    public void setZone(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Vérifie si un enregistrement passe tous les filtres.
+     *
+     * @param record Enregistrement lu
+     * @return true s'il doit être écrit
+     */
+    public boolean matches(AuditRecord record) {
+        return (transactionId == null || transactionId.equals(record.getTransactionId()))
+                && (accountId == null || record.involves(accountId))
+                && (type == null || type == record.getType())
+                && record.getTimestampMillis() >= sinceMillis
+                && record.getTimestampMillis() < untilMillis;
+    }
+
+    // ==================== Exécution ====================
+
+    /**
+     * Décode le fichier et écrit les enregistrements retenus.
+     *
+     * @param out Destination
+     * @return Nombre d'enregistrements écrits
+     * @throws IOException Si la lecture ou l'écriture échoue
+     */
+    public long run(Writer out) throws IOException {
+        long matched = 0;
+        read = 0;
+        writeHeader(out);
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            AuditRecord record;
+            while ((record = reader.next()) != null) {
+                read++;
+                matched += write(out, record);
+            }
+        }
+        out.flush();
+        return matched;
+    }
+
+    /**
+     * Comme {@link #run(Writer)}, mais en passant par l'index: celui-ci est d'abord mis à
+     * jour, puis seuls les enregistrements désignés par la transaction, le compte ou
+     * l'intervalle de temps sont relus.
+     *
+     * @param out Destination
+     * @return Nombre d'enregistrements écrits
+     * @throws IOException Si le journal ou l'index ne peut pas être lu ou écrit
+     */
+    public long query(Writer out) throws IOException {
+        try (AuditIndexWriter indexWriter = new AuditIndexWriter(file)) {
+            indexWriter.update();
+        }
+        long matched = 0;
+        writeHeader(out);
+        try (AuditIndex index = new AuditIndex(file)) {
+            List<AuditRecord> candidates = transactionId != null ? index.findByTransaction(transactionId)
+                    : accountId != null ? index.findByAccount(accountId)
+                    : index.findBetween(sinceMillis, untilMillis);
+            read = candidates.size();
+            for (AuditRecord record : candidates) {
+                matched += write(out, record);
+            }
+        }
+        out.flush();
+        return matched;
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        if (csv) {
+            out.write(AuditRecord.CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    private int write(Writer out, AuditRecord record) throws IOException {
+        if (!matches(record)) {
+            return 0;
+        }
+        out.write(csv ? record.toCsv(zone) : record.toText(zone));
+        out.write('\n');
+        return 1;
+    }
+
+    /**
+     * Retourne le nombre d'enregistrements lus par le dernier {@link #run(Writer)}
+     * ou {@link #query(Writer)}.
+     *
+     * @return Nombre d'enregistrements lus
+     */
+    public long getRead() {
+        return read;
+    }
+
+    /**
+     * Point d'entrée de l'outil.
+     *
+     * @param args Commande, fichier puis options
+     * @throws IOException          Si le fichier ne peut pas être lu ou la sortie écrite
+     * @throws InterruptedException Si la vérification est interrompue
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String command = args.length < 2 ? "" : args[0];
+        String[] options = new String[Math.max(0, args.length - 1)];
+        System.arraycopy(args, 1, options, 0, options.length);
+        if ("dump".equals(command) || "query".equals(command)) {
+            dump(options, "query".equals(command));
+        } else if ("index".equals(command)) {
+            try (AuditIndexWriter indexWriter = new AuditIndexWriter(Paths.get(options[0]))) {
+                long indexed = indexWriter.update();
+                System.out.println(indexed + " enregistrement(s) indexé(s), " + indexWriter.getBlockCount()
+                        + " bloc(s) dans " + indexWriter.getIndexFile());
+            }
+        } else if ("verify".equals(command)) {
+            System.exit(verify(options) ? 0 : 1);
+        } else {
+            System.err.println("Usage: AuditLogTool dump|query <fichier> [--format text|csv] [--tx ID] [--account ID]"
+                    + " [--type TYPE] [--since yyyy-MM-ddTHH:mm:ss] [--until ...] [--output fichier]");
+            System.err.println("       AuditLogTool index <fichier>");
+            System.err.println("       AuditLogTool verify <fichier> --key <fichier de clé> [--threads N]");
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Vérifie un journal chaîné et affiche le résultat.
+     *
+     * @param args Fichier puis options ({@code --key}, {@code --threads})
+     * @return true si aucun segment n'a été altéré
+     * @throws IOException          Si un fichier ne peut pas être lu
+     * @throws InterruptedException Si la vérification est interrompue
+     */
+    static boolean verify(String[] args) throws IOException, InterruptedException {
+        Path log = Paths.get(args[0]);
+        byte[] key = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour " + option);
+            }
+            String value = args[++i];
+            if ("--key".equals(option)) {
+                key = Files.readAllBytes(Paths.get(value));
+            } else if ("--threads".equals(option)) {
+                threads = Integer.parseInt(value);
+            } else {
+                throw new IllegalArgumentException("Option inconnue: " + option);
+            }
+        }
+        if (key == null) {
+            throw new IllegalArgumentException("--key est requis");
+        }
+        long start = System.nanoTime();
+        AuditChainVerifier.Result result = new AuditChainVerifier(key, threads).verify(log);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(result.getVerifiedSegments() + "/" + result.getSegments() + " segment(s) vérifié(s), "
+                + result.getVerifiedBytes() + " octet(s) en " + millis + " ms (" + threads + " thread(s))");
+        if (result.getUnsealedBytes() > 0) {
+            System.out.println("Attention: " + result.getUnsealedBytes() + " octet(s) après le dernier point de contrôle");
+        }
+        if (result.getQuarantinedBytes() > 0) {
+            System.out.println("Attention: " + result.getQuarantinedBytes() + " octet(s) récupéré(s) non vérifié(s) dans "
+                    + AuditChainWriter.quarantineFile(log));
+        }
+        if (!result.isValid()) {
+            System.out.println("ÉCHEC au segment " + result.getFailedSegment() + ": " + result.getFailure());
+        }
+        return result.isValid();
+    }
+
+    private static void dump(String[] options, boolean indexed) throws IOException {
+        AuditLogTool tool = fromArgs(options);
+        long matched;
+        if (tool.output != null) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(tool.output), StandardCharsets.UTF_8)) {
+                matched = indexed ? tool.query(out) : tool.run(out);
+            }
+        } else {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER);
+            matched = indexed ? tool.query(out) : tool.run(out);
+        }
+        System.err.println(tool.getRead() + " enregistrement(s) lu(s), " + matched + " retenu(s)");
+    }
+}
@@ -0,0 +1,151 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Enregistrement d'audit relu depuis un fichier binaire.
+ */
+public final class AuditRecord {
+
+    /**
+     * Ligne d'en-tête de la sortie CSV.
+     */
+    public static final String CSV_HEADER = "timestamp,transaction_id,type,amount,from_account,to_account";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final long offset;
+    private final long timestampMillis;
+    private final TransactionType type;
+    private final long amountCents;
+    private final String transactionId;
+    private final String fromAccountId;
+    private final String toAccountId;
+
+    AuditRecord(long offset, long timestampMillis, TransactionType type, long amountCents,
+                String transactionId, String fromAccountId, String toAccountId) {
+        this.offset = offset;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.amountCents = amountCents;
+        this.transactionId = transactionId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+    }
+
+    /**
+     * Retourne la position de l'enregistrement dans le fichier.
+     *
+     * @return Position en octets
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public double getAmount() {
+        return amountCents / 100.0;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getFromAccountId() {
+        return fromAccountId;
+    }
+
+    /**
+     * Retourne le compte destination.
+     *
+     * @return Identifiant du compte destination, ou null si ce n'est pas un transfert
+     */
+    public String getToAccountId() {
+        return toAccountId;
+    }
+
+    public boolean isTransfer() {
+        return toAccountId != null;
+    }
+
+    /**
+     * Vérifie si l'enregistrement concerne un compte (source ou destination).
+     *
+     * @param accountId Identifiant du compte
+     * @return true si le compte est concerné
+     */
+    public boolean involves(String accountId) {
+        return accountId.equals(fromAccountId) || accountId.equals(toAccountId);
+    }
+
+    /**
+     * Reproduit la ligne du format texte de l'{@link com.university.finance.pattern.observer.AuditLogger}.
+     *
+     * @param zone Fuseau de l'horodatage
+     * @return Ligne d'audit
+     */
+    public String toText(ZoneId zone) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append('[').append(formatTimestamp(zone)).append("] ");
+        sb.append("TX_ID: ").append(transactionId).append(" | ");
+        sb.append("TYPE: ").append(type.getLabel()).append(" | ");
+        sb.append("MONTANT: ").append(formatCents(amountCents)).append("€ | ");
+        if (isTransfer()) {
+            sb.append("DE: ").append(fromAccountId).append(" | ");
+            sb.append("VERS: ").append(toAccountId);
+        } else {
+            sb.append("COMPTE: ").append(fromAccountId);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formate l'enregistrement en ligne CSV (voir {@link #CSV_HEADER}).
+     *
+     * @param zone Fuseau de l'horodatage
+     * @return Ligne CSV
+     */
+    public String toCsv(ZoneId zone) {
+        return formatTimestamp(zone) + ',' + transactionId + ',' + type.name() + ','
+                + formatCents(amountCents) + ',' + fromAccountId + ',' + (toAccountId == null ? "" : toAccountId);
+    }
+
+    private String formatTimestamp(ZoneId zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), zone).format(FORMATTER);
+    }
+
+    static String formatCents(long cents) {
+        StringBuilder sb = new StringBuilder(16);
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        sb.append(cents / 100).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+
+    @Override
+    public String toString() {
+        return toCsv(ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,203 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodeur des enregistrements d'audit binaires dans un tampon réutilisable.
+ *
+ * Le fichier commence par {@link #FILE_HEADER} ("FAUD" puis la version). Chaque
+ * enregistrement est la longueur du corps (varint) suivie du corps:
+ * <ul>
+ *   <li>en-tête fixe de 17 octets: type (octet, bit 7 positionné pour un transfert
+ *       entre deux comptes), date en millisecondes depuis l'époque (long), montant
+ *       en centimes (long);</li>
+ *   <li>identifiant de la transaction, du compte source puis, pour un transfert,
+ *       du compte destination.</li>
+ * </ul>
+ * Un identifiant commence par un varint: 0 annonce un UUID canonique (minuscules)
+ * stocké sur 16 octets, n &gt; 0 une chaîne UTF-8 de n - 1 octets. Les identifiants
+ * de transaction (UUID) passent ainsi de 36 à 17 octets.
+ *
+ * Non thread-safe: protégé par le verrou de l'appelant.
+ */
+public class AuditRecordEncoder {
+
+    static final byte[] MAGIC = {'F', 'A', 'U', 'D'};
+    static final byte VERSION = 1;
+    static final int FIXED_HEADER = 17;
+    static final int TRANSFER_FLAG = 0x80;
+
+    /**
+     * En-tête à écrire au début d'un fichier d'audit binaire vide.
+     */
+    public static final byte[] FILE_HEADER = {MAGIC[0], MAGIC[1], MAGIC[2], MAGIC[3], VERSION};
+
+    private byte[] buffer = new byte[128];
+    private int length;
+
+    /**
+     * Encode une transaction (remplace l'enregistrement précédent).
+     *
+     * @param transaction     Transaction à journaliser
+     * @param timestampMillis Date de journalisation en millisecondes depuis l'époque
+     * @return Longueur de l'enregistrement en octets (varint de longueur compris)
+     */
+    public int encode(Transaction transaction, long timestampMillis) {
+        boolean transfer = transaction.isTransfer();
+        String id = transaction.getId();
+        String from = idOf(transaction.getFromAccount());
+        String to = transfer ? idOf(transaction.getToAccount()) : null;
+        int body = FIXED_HEADER + idSize(id) + idSize(from) + (transfer ? idSize(to) : 0);
+
+        length = 0;
+        ensureCapacity(5 + body);
+        writeVarint(body);
+        int type = transaction.getType().ordinal();
+        buffer[length++] = (byte) (transfer ? type | TRANSFER_FLAG : type);
+        writeLong(timestampMillis);
+        writeLong(Math.round(transaction.getAmount() * 100.0));
+        writeId(id);
+        writeId(from);
+        if (transfer) {
+            writeId(to);
+        }
+        return length;
+    }
+
+    /**
+     * Retourne le tampon interne; seuls les {@link #length()} premiers octets sont valides.
+     *
+     * @return Tampon de l'enregistrement courant
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Retourne la longueur de l'enregistrement courant.
+     *
+     * @return Nombre d'octets
+     */
+    public int length() {
+        return length;
+    }
+
+    private static String idOf(Account account) {
+        return account == null ? "" : account.getId();
+    }
+
+    private static int idSize(String id) {
+        if (id == null) {
+            return 1;
+        }
+        if (isUuid(id)) {
+            return 1 + 16;
+        }
+        int bytes = utf8Length(id);
+        return varintSize(bytes + 1) + bytes;
+    }
+
+    private void writeId(String id) {
+        if (id == null) {
+            id = "";
+        }
+        if (isUuid(id)) {
+            buffer[length++] = 0;
+            writeUuid(id);
+            return;
+        }
+        int bytes = utf8Length(id);
+        writeVarint(bytes + 1);
+        if (bytes == id.length()) {
+            for (int i = 0; i < bytes; i++) {
+                buffer[length++] = (byte) id.charAt(i);
+            }
+        } else {
+            byte[] encoded = id.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(encoded, 0, buffer, length, encoded.length);
+            length += encoded.length;
+        }
+    }
+
+    // 32 chiffres hexadécimaux, deux par octet, en sautant les tirets
+    private void writeUuid(String id) {
+        int i = 0;
+        for (int b = 0; b < 16; b++) {
+            if (id.charAt(i) == '-') {
+                i++;
+            }
+            buffer[length++] = (byte) ((hex(id.charAt(i)) << 4) | hex(id.charAt(i + 1)));
+            i += 2;
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, needed));
+        }
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static boolean isUuid(String id) {
+        if (id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (hex(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static int utf8Length(String value) {
+        int n = value.length();
+        for (int i = 0; i < n; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return value.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return n;
+    }
+}
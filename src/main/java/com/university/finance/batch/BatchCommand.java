@@ -0,0 +1,54 @@
+package com.university.finance.batch;
+
+/**
+ * Commandes du mode par lot, une par ligne:
+ * <pre>
+ * user     &lt;nom&gt; &lt;mot de passe&gt; &lt;email&gt;
+ * account  &lt;nom&gt; &lt;dépôt initial&gt; [alias]
+ * deposit  &lt;compte&gt; &lt;montant&gt;
+ * withdraw &lt;compte&gt; &lt;montant&gt;
+ * transfer &lt;compte source&gt; &lt;compte destination&gt; &lt;montant&gt;
+ * </pre>
+ * Un compte est désigné par son alias ou par son identifiant;
+ * les lignes vides et celles commençant par {@code #} sont ignorées.
+ */
+public enum BatchCommand {
+
+    USER("user", 3),
+    ACCOUNT("account", 2),
+    DEPOSIT("deposit", 2),
+    WITHDRAW("withdraw", 2),
+    TRANSFER("transfer", 3);
+
+    private final String keyword;
+    private final int minArguments;
+
+    BatchCommand(String keyword, int minArguments) {
+        this.keyword = keyword;
+        this.minArguments = minArguments;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public int getMinArguments() {
+        return minArguments;
+    }
+
+    /**
+     * Retrouve une commande par son mot-clé.
+     *
+     * @param keyword Mot-clé (insensible à la casse)
+     * @return La commande
+     * @throws IllegalArgumentException si la commande est inconnue
+     */
+    public static BatchCommand fromKeyword(String keyword) {
+        for (BatchCommand command : values()) {
+            if (command.keyword.equalsIgnoreCase(keyword)) {
+                return command;
+            }
+        }
+        throw new IllegalArgumentException("Commande inconnue: " + keyword);
+    }
+}
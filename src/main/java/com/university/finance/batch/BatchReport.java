@@ -0,0 +1,149 @@
+package com.university.finance.batch;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bilan d'une exécution en lot: nombre de commandes par type, opérations
+ * refusées (solde insuffisant, montant invalide), erreurs et durée.
+ */
+public class BatchReport {
+
+    // Nombre maximal de messages d'erreur conservés
+    static final int MAX_ERRORS = 20;
+
+    private final Map<BatchCommand, Integer> executed = new EnumMap<>(BatchCommand.class);
+    private final List<String> errors = new ArrayList<>();
+    private int lines;
+    private int refused;
+    private int failed;
+    private long elapsedNanos;
+
+    void lineRead() {
+        lines++;
+    }
+
+    void executed(BatchCommand command) {
+        executed.merge(command, 1, Integer::sum);
+    }
+
+    void refused() {
+        refused++;
+    }
+
+    void failed(int lineNumber, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("ligne " + lineNumber + ": " + message);
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retourne le nombre de lignes lues (commentaires et lignes vides compris).
+     *
+     * @return Nombre de lignes
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Retourne le nombre de commandes exécutées sans erreur.
+     *
+     * @return Nombre de commandes exécutées
+     */
+    public int getExecuted() {
+        int total = 0;
+        for (int count : executed.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le nombre de commandes exécutées d'un type.
+     *
+     * @param command Type de commande
+     * @return Nombre de commandes exécutées
+     */
+    public int getExecuted(BatchCommand command) {
+        return executed.getOrDefault(command, 0);
+    }
+
+    /**
+     * Retourne le nombre d'opérations refusées par le service (transaction null).
+     *
+     * @return Nombre d'opérations refusées
+     */
+    public int getRefused() {
+        return refused;
+    }
+
+    /**
+     * Retourne le nombre de lignes en erreur (syntaxe, compte inconnu...).
+     *
+     * @return Nombre d'erreurs
+     */
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * Retourne les premiers messages d'erreur.
+     *
+     * @return Liste non modifiable des erreurs
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Retourne la durée d'exécution.
+     *
+     * @return Durée en nanosecondes
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Retourne le débit en commandes par seconde.
+     *
+     * @return Débit
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0.0 : (getExecuted() + failed) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Affiche le bilan.
+     *
+     * @param out Flux de sortie
+     */
+    public void print(PrintStream out) {
+        out.println("=== Bilan du traitement par lot ===");
+        out.println("Lignes lues: " + lines);
+        for (Map.Entry<BatchCommand, Integer> entry : executed.entrySet()) {
+            out.println("  " + entry.getKey().getKeyword() + ": " + entry.getValue());
+        }
+        out.println("Opérations refusées: " + refused);
+        out.println("Erreurs: " + failed);
+        for (String error : errors) {
+            out.println("  " + error);
+        }
+        if (failed > errors.size()) {
+            out.println("  ... " + (failed - errors.size()) + " autres erreurs");
+        }
+        out.printf("Durée: %d ms (%.0f commandes/s)%n",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput());
+    }
+}
@@ -0,0 +1,133 @@
+package com.university.finance.batch;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Exécute un flux de commandes (voir {@link BatchCommand}) sur un service bancaire,
+ * sans interaction ni affichage par opération: seul le bilan est produit.
+ * Une ligne en erreur est comptée puis ignorée; le traitement continue.
+ */
+public class BatchRunner {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final BankingService bankingService;
+
+    // Alias de compte déclarés par les commandes "account" -> identifiant du compte
+    private final Map<String, String> aliases = new HashMap<>();
+
+    /**
+     * Constructeur.
+     *
+     * @param bankingService Service bancaire cible
+     */
+    public BatchRunner(BankingService bankingService) {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        this.bankingService = bankingService;
+    }
+
+    /**
+     * Exécute toutes les commandes du flux.
+     *
+     * @param reader Flux de commandes
+     * @return Bilan de l'exécution
+     * @throws IOException Si la lecture échoue
+     */
+    public BatchReport run(BufferedReader reader) throws IOException {
+        BatchReport report = new BatchReport();
+        long start = System.nanoTime();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            report.lineRead();
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            try {
+                execute(WHITESPACE.split(trimmed), report);
+            } catch (IllegalArgumentException e) {
+                report.failed(report.getLines(), e.getMessage());
+            }
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private void execute(String[] tokens, BatchReport report) {
+        BatchCommand command = BatchCommand.fromKeyword(tokens[0]);
+        if (tokens.length - 1 < command.getMinArguments()) {
+            throw new IllegalArgumentException("Arguments manquants pour " + command.getKeyword());
+        }
+        switch (command) {
+            case USER:
+                bankingService.createUser(tokens[1], tokens[2], tokens[3]);
+                break;
+            case ACCOUNT:
+                createAccount(tokens);
+                break;
+            case DEPOSIT:
+                checkResult(bankingService.deposit(resolve(tokens[1]), amount(tokens[2])), report);
+                break;
+            case WITHDRAW:
+                checkResult(bankingService.withdraw(resolve(tokens[1]), amount(tokens[2])), report);
+                break;
+            case TRANSFER:
+                checkResult(bankingService.transfer(resolve(tokens[1]), resolve(tokens[2]),
+                        amount(tokens[3])), report);
+                break;
+            default:
+                throw new IllegalArgumentException("Commande non supportée: " + command);
+        }
+        report.executed(command);
+    }
+
+    private void createAccount(String[] tokens) {
+        User owner = bankingService.findUserByUsername(tokens[1]);
+        if (owner == null) {
+            throw new IllegalArgumentException("Utilisateur non trouvé: " + tokens[1]);
+        }
+        Account account = bankingService.createAccount(owner, amount(tokens[2]));
+        if (tokens.length > 3) {
+            aliases.put(tokens[3], account.getId());
+        }
+    }
+
+    private static void checkResult(Transaction transaction, BatchReport report) {
+        if (transaction == null) {
+            report.refused();
+        }
+    }
+
+    private String resolve(String reference) {
+        return aliases.getOrDefault(reference, reference);
+    }
+
+    private static double amount(String token) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Montant invalide: " + token);
+        }
+    }
+
+    /**
+     * Retourne l'identifiant du compte déclaré sous un alias.
+     *
+     * @param alias Alias du compte
+     * @return Identifiant du compte, ou null si l'alias est inconnu
+     */
+    public String getAccountId(String alias) {
+        return aliases.get(alias);
+    }
+}
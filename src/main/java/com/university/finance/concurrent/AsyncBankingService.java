@@ -0,0 +1,137 @@
+package com.university.finance.concurrent;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Façade asynchrone du {@link BankingService}.
+ * Chaque opération bancaire et chaque livraison à un observer s'exécute comme
+ * une tâche indépendante sur l'exécuteur du mode choisi: en mode VIRTUAL, un
+ * thread virtuel par requête, ce qui permet un très grand nombre de requêtes
+ * simultanées passant l'essentiel de leur temps à attendre (audit, notifications).
+ */
+public class AsyncBankingService implements AutoCloseable {
+
+    // Délai d'attente des tâches en cours à la fermeture
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final BankingService bankingService;
+    private final ExecutionMode mode;
+    private final ExecutorService executor;
+
+    /**
+     * Constructeur avec un pool plateforme dimensionné sur le nombre de processeurs.
+     *
+     * @param bankingService Service bancaire sous-jacent
+     * @param mode           Mode d'exécution
+     */
+    public AsyncBankingService(BankingService bankingService, ExecutionMode mode) {
+        this(bankingService, mode, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur complet.
+     *
+     * @param bankingService  Service bancaire sous-jacent
+     * @param mode            Mode d'exécution
+     * @param platformThreads Taille du pool en mode PLATFORM
+     */
+    public AsyncBankingService(BankingService bankingService, ExecutionMode mode, int platformThreads) {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        this.bankingService = bankingService;
+        this.mode = mode;
+        this.executor = BankingExecutors.newExecutor(mode, platformThreads);
+        bankingService.getTransactionService().setObserverExecutor(executor);
+    }
+
+    /**
+     * Effectue un dépôt de manière asynchrone.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant à déposer
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> deposit(String accountId, double amount) {
+        return CompletableFuture.supplyAsync(() -> bankingService.deposit(accountId, amount), executor);
+    }
+
+    /**
+     * Effectue un retrait de manière asynchrone.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant à retirer
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> withdraw(String accountId, double amount) {
+        return CompletableFuture.supplyAsync(() -> bankingService.withdraw(accountId, amount), executor);
+    }
+
+    /**
+     * Effectue un transfert de manière asynchrone.
+     *
+     * @param fromAccountId ID du compte source
+     * @param toAccountId   ID du compte destination
+     * @param amount        Montant à transférer
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> transfer(String fromAccountId, String toAccountId, double amount) {
+        return CompletableFuture.supplyAsync(
+                () -> bankingService.transfer(fromAccountId, toAccountId, amount), executor);
+    }
+
+    /**
+     * Lit le solde d'un compte de manière asynchrone.
+     *
+     * @param accountId ID du compte
+     * @return Solde futur
+     */
+    public CompletableFuture<Double> getBalance(String accountId) {
+        return CompletableFuture.supplyAsync(() -> bankingService.getBalance(accountId), executor);
+    }
+
+    /**
+     * Retourne le service bancaire sous-jacent.
+     *
+     * @return Service bancaire
+     */
+    public BankingService getBankingService() {
+        return bankingService;
+    }
+
+    /**
+     * Retourne le mode d'exécution.
+     *
+     * @return Mode d'exécution
+     */
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Attend la fin des tâches en cours, arrête l'exécuteur et rétablit
+     * la livraison synchrone des observers.
+     */
+    @Override
+    public void close() {
+        TransactionService transactionService = bankingService.getTransactionService();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (transactionService.getObserverExecutor() == executor) {
+            transactionService.setObserverExecutor(null);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.finance.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabrique des exécuteurs utilisés pour les opérations bancaires.
+ * Les threads virtuels sont obtenus par réflexion afin que le projet reste
+ * compilable en Java 11; ils ne sont disponibles qu'à l'exécution sur Java 21+.
+ */
+public final class BankingExecutors {
+
+    // Executors.newVirtualThreadPerTaskExecutor(), ou null avant Java 21
+    private static final MethodHandle VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    private BankingExecutors() {
+    }
+
+    /**
+     * Crée un exécuteur pour le mode demandé.
+     *
+     * @param mode            Mode d'exécution
+     * @param platformThreads Nombre de threads du pool (mode PLATFORM uniquement)
+     * @return Nouvel exécuteur, à arrêter par l'appelant
+     * @throws UnsupportedOperationException si les threads virtuels ne sont pas disponibles
+     */
+    public static ExecutorService newExecutor(ExecutionMode mode, int platformThreads) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return newVirtualThreadExecutor();
+        }
+        if (platformThreads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif");
+        }
+        return Executors.newFixedThreadPool(platformThreads, new NamedThreadFactory("banking-platform"));
+    }
+
+    /**
+     * Crée un exécuteur démarrant un thread virtuel par tâche.
+     *
+     * @return Nouvel exécuteur
+     * @throws UnsupportedOperationException si la JVM ne supporte pas les threads virtuels
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_EXECUTOR == null) {
+            throw new UnsupportedOperationException(
+                    "Les threads virtuels nécessitent Java 21 ou plus (JVM actuelle: "
+                            + Runtime.version().feature() + ")");
+        }
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Impossible de créer l'exécuteur virtuel", e);
+        }
+    }
+
+    /**
+     * Vérifie si la JVM courante supporte les threads virtuels.
+     *
+     * @return true sur Java 21+
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fabrique de threads plateforme nommés (démons).
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
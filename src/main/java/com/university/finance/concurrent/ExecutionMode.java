@@ -0,0 +1,17 @@
+package com.university.finance.concurrent;
+
+/**
+ * Mode d'exécution des opérations bancaires et des livraisons aux observers.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Pool fixe de threads plateforme.
+     */
+    PLATFORM,
+
+    /**
+     * Un thread virtuel par tâche (Java 21+).
+     */
+    VIRTUAL
+}
@@ -0,0 +1,19 @@
+package com.university.finance.config;
+
+/**
+ * Composant prévenu à chaque publication d'une nouvelle configuration.
+ * Les notifications ont lieu sur le thread qui a modifié la configuration
+ * (par exemple celui du {@link ConfigurationReloader}), jamais sur les threads
+ * qui traitent les requêtes. Elles sont faites sous le verrou d'écriture, dans
+ * l'ordre des publications: une écriture concurrente attend la fin des notifications.
+ */
+public interface ConfigurationListener {
+
+    /**
+     * Appelée après la publication d'un nouvel instantané.
+     *
+     * @param previous Configuration remplacée
+     * @param current  Configuration désormais en vigueur
+     */
+    void onConfigurationChanged(ConfigurationSnapshot previous, ConfigurationSnapshot current);
+}
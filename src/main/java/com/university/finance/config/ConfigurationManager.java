@@ -1,36 +1,61 @@
 package com.university.finance.config;
 
+import com.university.finance.model.Account;
+import com.university.finance.model.TierLimits;
+
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Gestionnaire de configuration singleton.
  * Implémente le pattern Singleton pour centraliser la configuration de l'application.
  * Thread-safe avec initialisation paresseuse (lazy initialization).
+ *
+ * Les lectures passent par un {@link ConfigurationSnapshot} immuable publié dans
+ * un champ volatile: une lecture sur le chemin critique est un simple accès
+ * mémoire, sans analyse de chaîne ni verrou. Les écritures (rares) reconstruisent
+ * et publient un nouvel instantané sous un verrou qui ne bloque pas les lecteurs.
+ *
+ * Les propriétés viennent de trois couches, par priorité croissante: valeurs par
+ * défaut, fichier de configuration (remplacé en entier à chaque chargement, une clé
+ * retirée du fichier disparaît donc) et modifications faites à l'exécution
+ * ({@link #setProperty}, {@link #update}, JMX).
  */
 public class ConfigurationManager {
 
     // Instance unique (volatile pour la visibilité entre threads)
     private static volatile ConfigurationManager instance;
 
-    // Propriétés de configuration
-    private final Properties properties;
+    // Couches source, modifiées uniquement sous writeLock
+    private final Properties defaults = new Properties();
+    private Properties fileLayer = new Properties();
+    private final Properties overrides = new Properties();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Configuration courante, remplacée atomiquement à chaque modification
+    private volatile ConfigurationSnapshot snapshot;
+
+    // Composants prévenus des changements de configuration
+    private final CopyOnWriteArrayList<ConfigurationListener> listeners = new CopyOnWriteArrayList<>();
 
     // Valeurs par défaut
-    private static final String DEFAULT_CURRENCY = "EUR";
-    private static final double DEFAULT_MIN_BALANCE = 0.0;
-    private static final double DEFAULT_MAX_TRANSFER = 10000.0;
-    private static final boolean DEFAULT_NOTIFICATIONS_ENABLED = true;
-    private static final boolean DEFAULT_AUDIT_ENABLED = true;
+    static final String DEFAULT_CURRENCY = "EUR";
+    static final double DEFAULT_MIN_BALANCE = 0.0;
+    static final double DEFAULT_MAX_TRANSFER = 10000.0;
+    static final boolean DEFAULT_NOTIFICATIONS_ENABLED = true;
+    static final boolean DEFAULT_AUDIT_ENABLED = true;
+    static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
     /**
      * Constructeur privé (pattern Singleton).
      */
     private ConfigurationManager() {
-        this.properties = new Properties();
         loadDefaultConfiguration();
+        this.snapshot = ConfigurationSnapshot.of(defaults);
     }
 
     /**
@@ -54,30 +79,30 @@ public class ConfigurationManager {
      * Charge la configuration par défaut.
      */
     private void loadDefaultConfiguration() {
-        properties.setProperty("app.name", "Finance Refactoring App");
-        properties.setProperty("app.version", "1.0.0");
-        properties.setProperty("currency", DEFAULT_CURRENCY);
-        properties.setProperty("min.balance", String.valueOf(DEFAULT_MIN_BALANCE));
-        properties.setProperty("max.transfer", String.valueOf(DEFAULT_MAX_TRANSFER));
-        properties.setProperty("notifications.enabled", String.valueOf(DEFAULT_NOTIFICATIONS_ENABLED));
-        properties.setProperty("audit.enabled", String.valueOf(DEFAULT_AUDIT_ENABLED));
-        properties.setProperty("date.format", "yyyy-MM-dd HH:mm:ss");
+        defaults.setProperty("app.name", "Finance Refactoring App");
+        defaults.setProperty("app.version", "1.0.0");
+        defaults.setProperty("currency", DEFAULT_CURRENCY);
+        defaults.setProperty("min.balance", String.valueOf(DEFAULT_MIN_BALANCE));
+        defaults.setProperty("max.transfer", String.valueOf(DEFAULT_MAX_TRANSFER));
+        defaults.setProperty("notifications.enabled", String.valueOf(DEFAULT_NOTIFICATIONS_ENABLED));
+        defaults.setProperty("audit.enabled", String.valueOf(DEFAULT_AUDIT_ENABLED));
+        defaults.setProperty("date.format", DEFAULT_DATE_FORMAT);
     }
 
     /**
-     * Charge la configuration depuis un fichier.
+     * Charge la configuration depuis un fichier, qui remplace la couche fichier.
      *
      * @param filePath Chemin du fichier de configuration
      * @throws IOException Si le fichier ne peut pas être lu
      */
     public void loadFromFile(String filePath) throws IOException {
         try (InputStream input = new FileInputStream(filePath)) {
-            properties.load(input);
+            load(input);
         }
     }
 
     /**
-     * Charge la configuration depuis le classpath.
+     * Charge la configuration depuis le classpath, qui remplace la couche fichier.
      *
      * @param resourceName Nom de la ressource
      * @throws IOException Si la ressource ne peut pas être lue
@@ -87,8 +112,124 @@ public class ConfigurationManager {
             if (input == null) {
                 throw new IOException("Ressource non trouvée: " + resourceName);
             }
-            properties.load(input);
+            load(input);
+        }
+    }
+
+    /**
+     * Remplace la couche fichier par les propriétés lues dans un flux et publie le
+     * nouvel instantané. Si une valeur est invalide, la configuration courante reste inchangée.
+     *
+     * @param input Flux au format {@link Properties}
+     * @throws IOException Si le flux ne peut pas être lu
+     */
+    private void load(InputStream input) throws IOException {
+        Properties loaded = new Properties();
+        loaded.load(input);
+        writeLock.lock();
+        try {
+            publish(loaded, overrides);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applique des modifications à l'exécution (prioritaires sur le fichier), publie le
+     * nouvel instantané puis prévient les listeners.
+     *
+     * @param changes Propriétés à ajouter ou remplacer
+     * @return Instantané publié
+     * @throws IllegalArgumentException si une valeur est invalide (rien n'est modifié)
+     */
+    public ConfigurationSnapshot update(Properties changes) {
+        writeLock.lock();
+        try {
+            Properties nextOverrides = new Properties();
+            nextOverrides.putAll(overrides);
+            nextOverrides.putAll(changes);
+            return publish(fileLayer, nextOverrides);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Valide et publie l'instantané des couches données, puis prévient les listeners.
+     * Appelé sous writeLock: les notifications suivent l'ordre de publication (un
+     * listener reçoit toujours l'instantané précédemment publié comme « previous »).
+     * Les lecteurs ne prennent jamais ce verrou.
+     */
+    private ConfigurationSnapshot publish(Properties nextFileLayer, Properties nextOverrides) {
+        Properties candidate = new Properties();
+        candidate.putAll(defaults);
+        candidate.putAll(nextFileLayer);
+        candidate.putAll(nextOverrides);
+        ConfigurationSnapshot previous = snapshot;
+        ConfigurationSnapshot next = ConfigurationSnapshot.of(candidate, previous);
+        fileLayer = nextFileLayer;
+        if (nextOverrides != overrides) {
+            overrides.clear();
+            overrides.putAll(nextOverrides);
+        }
+        snapshot = next;
+        previous.invalidateReplaced(next);
+        for (ConfigurationListener listener : listeners) {
+            try {
+                listener.onConfigurationChanged(previous, next);
+            } catch (RuntimeException e) {
+                System.err.println("Erreur lors de la notification d'un changement de configuration: "
+                        + e.getMessage());
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Abonne un composant aux changements de configuration.
+     *
+     * @param listener Composant à prévenir
+     */
+    public void addListener(ConfigurationListener listener) {
+        if (listener != null) {
+            listeners.addIfAbsent(listener);
+        }
+    }
+
+    /**
+     * Désabonne un composant.
+     *
+     * @param listener Composant à retirer
+     */
+    public void removeListener(ConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Retourne la configuration courante.
+     * Un appelant qui lit plusieurs valeurs doit les lire dans le même instantané.
+     *
+     * @return Instantané immuable
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Retourne les limites d'un compte. Les limites mises en cache sur le compte
+     * sont utilisées tant qu'aucune modification ne les a remplacées; sinon elles
+     * sont résolues à nouveau dans l'instantané courant.
+     *
+     * @param account Compte
+     * @return Limites du compte
+     */
+    public TierLimits getLimits(Account account) {
+        TierLimits limits = account.getLimits();
+        if (limits == null || limits.isStale()) {
+            limits = snapshot.getLimits(account.getTier(), account.getId());
+            account.setLimits(limits);
         }
+        return limits;
     }
 
     // Getters pour les propriétés courantes
@@ -99,7 +240,7 @@ public class ConfigurationManager {
      * @return Nom de l'application
      */
     public String getAppName() {
-        return properties.getProperty("app.name");
+        return snapshot.getAppName();
     }
 
     /**
@@ -108,7 +249,7 @@ public class ConfigurationManager {
      * @return Version de l'application
      */
     public String getAppVersion() {
-        return properties.getProperty("app.version");
+        return snapshot.getAppVersion();
     }
 
     /**
@@ -117,7 +258,7 @@ public class ConfigurationManager {
      * @return Code de la devise
      */
     public String getCurrency() {
-        return properties.getProperty("currency", DEFAULT_CURRENCY);
+        return snapshot.getCurrency();
     }
 
     /**
@@ -126,8 +267,7 @@ public class ConfigurationManager {
      * @return Solde minimum
      */
     public double getMinBalance() {
-        return Double.parseDouble(properties.getProperty("min.balance", 
-                String.valueOf(DEFAULT_MIN_BALANCE)));
+        return snapshot.getMinBalance();
     }
 
     /**
@@ -136,8 +276,7 @@ public class ConfigurationManager {
      * @return Montant maximum
      */
     public double getMaxTransfer() {
-        return Double.parseDouble(properties.getProperty("max.transfer", 
-                String.valueOf(DEFAULT_MAX_TRANSFER)));
+        return snapshot.getMaxTransfer();
     }
 
     /**
@@ -146,8 +285,7 @@ public class ConfigurationManager {
      * @return true si les notifications sont activées
      */
     public boolean isNotificationsEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("notifications.enabled", 
-                String.valueOf(DEFAULT_NOTIFICATIONS_ENABLED)));
+        return snapshot.isNotificationsEnabled();
     }
 
     /**
@@ -156,8 +294,7 @@ public class ConfigurationManager {
      * @return true si l'audit est activé
      */
     public boolean isAuditEnabled() {
-        return Boolean.parseBoolean(properties.getProperty("audit.enabled", 
-                String.valueOf(DEFAULT_AUDIT_ENABLED)));
+        return snapshot.isAuditEnabled();
     }
 
     /**
@@ -166,7 +303,7 @@ public class ConfigurationManager {
      * @return Format de date
      */
     public String getDateFormat() {
-        return properties.getProperty("date.format", "yyyy-MM-dd HH:mm:ss");
+        return snapshot.getDateFormat();
     }
 
     // Getters/Setters génériques
@@ -178,7 +315,7 @@ public class ConfigurationManager {
      * @return Valeur de la propriété ou null
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.getProperty(key);
     }
 
     /**
@@ -189,7 +326,8 @@ public class ConfigurationManager {
      * @return Valeur de la propriété ou valeur par défaut
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = snapshot.getProperty(key);
+        return value == null ? defaultValue : value;
     }
 
     /**
@@ -197,9 +335,12 @@ public class ConfigurationManager {
      *
      * @param key   Clé de la propriété
      * @param value Valeur de la propriété
+     * @throws IllegalArgumentException si la valeur est invalide pour une propriété connue
      */
     public void setProperty(String key, String value) {
-        properties.setProperty(key, value);
+        Properties change = new Properties();
+        change.setProperty(key, value);
+        update(change);
     }
 
     /**
@@ -210,7 +351,7 @@ public class ConfigurationManager {
      * @return Valeur entière
      */
     public int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
+        String value = snapshot.getProperty(key);
         if (value == null) {
             return defaultValue;
         }
@@ -229,7 +370,7 @@ public class ConfigurationManager {
      * @return Valeur double
      */
     public double getDoubleProperty(String key, double defaultValue) {
-        String value = properties.getProperty(key);
+        String value = snapshot.getProperty(key);
         if (value == null) {
             return defaultValue;
         }
@@ -248,7 +389,7 @@ public class ConfigurationManager {
      * @return Valeur booléenne
      */
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
+        String value = snapshot.getProperty(key);
         if (value == null) {
             return defaultValue;
         }
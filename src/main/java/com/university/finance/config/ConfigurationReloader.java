@@ -0,0 +1,176 @@
+package com.university.finance.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recharge la configuration quand son fichier change.
+ *
+ * Un thread dédié surveille le répertoire du fichier ({@link WatchService}); à
+ * chaque modification, le fichier est relu, validé et publié d'un bloc par
+ * {@link ConfigurationManager#loadFromFile(String)}: il remplace la couche fichier,
+ * une clé supprimée du fichier reprend sa valeur par défaut. Un fichier invalide est
+ * ignoré et la configuration en vigueur reste inchangée. Les threads de
+ * traitement ne font que lire l'instantané courant: un rechargement ne les
+ * bloque jamais.
+ */
+public class ConfigurationReloader implements AutoCloseable {
+
+    /**
+     * Propriété système désignant le fichier de configuration à surveiller.
+     */
+    public static final String CONFIG_FILE_PROPERTY = "finance.config";
+
+    // Délai laissé à l'éditeur pour finir d'écrire avant la relecture
+    private static final long SETTLE_MILLIS = 50;
+
+    private final ConfigurationManager config;
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread watcher;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile String lastError;
+    private volatile boolean running = true;
+
+    /**
+     * Charge le fichier une première fois et démarre la surveillance.
+     *
+     * @param config Configuration à mettre à jour
+     * @param file   Fichier de propriétés
+     * @throws IOException              Si le fichier ne peut pas être lu ou surveillé
+     * @throws IllegalArgumentException si le fichier contient une valeur invalide
+     */
+    public ConfigurationReloader(ConfigurationManager config, Path file) throws IOException {
+        if (config == null || file == null) {
+            throw new IllegalArgumentException("La configuration et le fichier sont requis");
+        }
+        this.config = config;
+        this.file = file.toAbsolutePath();
+        config.loadFromFile(this.file.toString());
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watcher = new Thread(this::watch, "config-reloader");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Surveille le fichier désigné par la propriété système {@value #CONFIG_FILE_PROPERTY}, si elle est définie.
+     *
+     * @param config Configuration à mettre à jour
+     * @return Rechargeur démarré, ou null si aucun fichier n'est configuré
+     * @throws IOException Si le fichier ne peut pas être lu ou surveillé
+     */
+    public static ConfigurationReloader watchIfConfigured(ConfigurationManager config) throws IOException {
+        String path = System.getProperty(CONFIG_FILE_PROPERTY);
+        return path == null || path.isEmpty() ? null : new ConfigurationReloader(config, Path.of(path));
+    }
+
+    private void watch() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                Object context = event.context();
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || (context instanceof Path && file.getFileName().equals(context))) {
+                    changed = true;
+                }
+            }
+            key.reset();
+            if (changed) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // Les événements arrivés pendant l'attente concernent la même écriture
+                WatchKey pending = watchService.poll();
+                if (pending != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                reloadNow();
+            }
+        }
+    }
+
+    /**
+     * Relit immédiatement le fichier.
+     *
+     * @return true si la nouvelle configuration a été publiée
+     */
+    public boolean reloadNow() {
+        try {
+            config.loadFromFile(file.toString());
+            reloadCount.incrementAndGet();
+            lastError = null;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            failureCount.incrementAndGet();
+            lastError = e.getMessage();
+            System.err.println("Configuration " + file + " ignorée: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retourne le nombre de rechargements réussis (chargement initial exclu).
+     *
+     * @return Nombre de rechargements
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Retourne le nombre de rechargements refusés (fichier illisible ou invalide).
+     *
+     * @return Nombre d'échecs
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Retourne la cause du dernier échec, si le dernier rechargement a échoué.
+     *
+     * @return Message d'erreur, ou null
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Arrête la surveillance.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Surveillance déjà arrêtée
+        }
+        watcher.interrupt();
+    }
+}
@@ -0,0 +1,259 @@
+package com.university.finance.config;
+
+import com.university.finance.model.AccountTier;
+import com.university.finance.model.TierLimits;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Vue immuable et typée de la configuration à un instant donné.
+ *
+ * Les valeurs sont analysées et validées une seule fois, à la création; une
+ * lecture ensuite n'est qu'un accès à un champ final. Le
+ * {@link ConfigurationManager} publie un nouvel instantané à chaque modification,
+ * si bien qu'un appelant qui garde une référence voit un ensemble de valeurs
+ * cohérent, même pendant un rechargement.
+ *
+ * Les limites des comptes sont résolues par couches: valeurs globales
+ * ({@code max.transfer}, {@code min.balance}), surchargées par gamme
+ * ({@code tier.premium.max.transfer}) puis par compte
+ * ({@code account.<id>.max.transfer}). Les {@link TierLimits} dont les valeurs
+ * n'ont pas changé sont reprises de l'instantané précédent, de sorte que seules
+ * les limites modifiées sont invalidées dans les caches des comptes.
+ */
+public final class ConfigurationSnapshot {
+
+    private final Map<String, String> values;
+    private final String appName;
+    private final String appVersion;
+    private final String currency;
+    private final double minBalance;
+    private final double maxTransfer;
+    private final boolean notificationsEnabled;
+    private final boolean auditEnabled;
+    private final String dateFormat;
+    // Limites par gamme, indexées par AccountTier.ordinal()
+    private final TierLimits[] tierLimits;
+    // Limites des comptes ayant une surcharge propre
+    private final Map<String, TierLimits> accountLimits;
+
+    private static final String TIER_PREFIX = "tier.";
+    private static final String ACCOUNT_PREFIX = "account.";
+    private static final String MAX_TRANSFER = "max.transfer";
+    private static final String MIN_BALANCE = "min.balance";
+
+    private ConfigurationSnapshot(Map<String, String> values, ConfigurationSnapshot previous) {
+        this.values = Collections.unmodifiableMap(values);
+        this.appName = values.get("app.name");
+        this.appVersion = values.get("app.version");
+        this.currency = values.getOrDefault("currency", ConfigurationManager.DEFAULT_CURRENCY);
+        this.minBalance = parseDouble(values, "min.balance", ConfigurationManager.DEFAULT_MIN_BALANCE);
+        this.maxTransfer = parseDouble(values, "max.transfer", ConfigurationManager.DEFAULT_MAX_TRANSFER);
+        this.notificationsEnabled = parseBoolean(values, "notifications.enabled",
+                ConfigurationManager.DEFAULT_NOTIFICATIONS_ENABLED);
+        this.auditEnabled = parseBoolean(values, "audit.enabled", ConfigurationManager.DEFAULT_AUDIT_ENABLED);
+        this.dateFormat = values.getOrDefault("date.format", ConfigurationManager.DEFAULT_DATE_FORMAT);
+        if (maxTransfer <= 0) {
+            throw new IllegalArgumentException("max.transfer doit être positif: " + maxTransfer);
+        }
+        this.tierLimits = new TierLimits[AccountTier.values().length];
+        this.accountLimits = new HashMap<>();
+        resolveLimits(previous);
+    }
+
+    private void resolveLimits(ConfigurationSnapshot previous) {
+        AccountTier[] tiers = AccountTier.values();
+        TierLimits[] resolved = new TierLimits[tiers.length];
+        for (AccountTier tier : tiers) {
+            resolved[tier.ordinal()] = resolve(TIER_PREFIX + tier.getKey() + ".", maxTransfer, minBalance);
+        }
+
+        // Un compte qui reçoit une surcharge garde en cache les limites de sa gamme:
+        // celles-ci sont alors recréées pour être invalidées.
+        Set<AccountTier> renewed = EnumSet.noneOf(AccountTier.class);
+        for (String accountId : overriddenAccounts()) {
+            AccountTier tier = AccountTier.fromAccountId(accountId);
+            TierLimits base = resolved[tier.ordinal()];
+            TierLimits limits = resolve(ACCOUNT_PREFIX + accountId + ".", base.getMaxTransfer(), base.getMinBalance());
+            TierLimits before = previous == null ? null : previous.accountLimits.get(accountId);
+            if (previous != null && before == null) {
+                renewed.add(tier);
+            }
+            accountLimits.put(accountId, limits.hasSameValues(before) ? before : limits);
+        }
+
+        for (AccountTier tier : tiers) {
+            TierLimits limits = resolved[tier.ordinal()];
+            TierLimits before = previous == null ? null : previous.tierLimits[tier.ordinal()];
+            tierLimits[tier.ordinal()] = !renewed.contains(tier) && limits.hasSameValues(before) ? before : limits;
+        }
+    }
+
+    private TierLimits resolve(String prefix, double defaultMaxTransfer, double defaultMinBalance) {
+        return new TierLimits(parseDouble(values, prefix + MAX_TRANSFER, defaultMaxTransfer),
+                parseDouble(values, prefix + MIN_BALANCE, defaultMinBalance));
+    }
+
+    private Set<String> overriddenAccounts() {
+        Set<String> accountIds = new HashSet<>();
+        for (String key : values.keySet()) {
+            if (!key.startsWith(ACCOUNT_PREFIX)) {
+                continue;
+            }
+            for (String suffix : new String[]{"." + MAX_TRANSFER, "." + MIN_BALANCE}) {
+                if (key.endsWith(suffix) && key.length() > ACCOUNT_PREFIX.length() + suffix.length()) {
+                    accountIds.add(key.substring(ACCOUNT_PREFIX.length(), key.length() - suffix.length()));
+                }
+            }
+        }
+        return accountIds;
+    }
+
+    /**
+     * Invalide les limites de cet instantané que le suivant n'a pas reprises.
+     *
+     * @param next Instantané qui remplace celui-ci
+     */
+    void invalidateReplaced(ConfigurationSnapshot next) {
+        for (int i = 0; i < tierLimits.length; i++) {
+            if (tierLimits[i] != next.tierLimits[i]) {
+                tierLimits[i].invalidate();
+            }
+        }
+        for (Map.Entry<String, TierLimits> entry : accountLimits.entrySet()) {
+            if (entry.getValue() != next.accountLimits.get(entry.getKey())) {
+                entry.getValue().invalidate();
+            }
+        }
+    }
+
+    /**
+     * Crée un instantané à partir de propriétés.
+     *
+     * @param properties Propriétés source (copiées)
+     * @return Instantané
+     * @throws IllegalArgumentException si une propriété connue est invalide
+     */
+    public static ConfigurationSnapshot of(Properties properties) {
+        return of(properties, null);
+    }
+
+    /**
+     * Crée un instantané qui reprend les limites inchangées de l'instantané précédent.
+     *
+     * @param properties Propriétés source (copiées)
+     * @param previous   Instantané remplacé, ou null
+     * @return Instantané
+     * @throws IllegalArgumentException si une propriété connue est invalide
+     */
+    static ConfigurationSnapshot of(Properties properties, ConfigurationSnapshot previous) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        return new ConfigurationSnapshot(values, previous);
+    }
+
+    private static double parseDouble(Map<String, String> values, String key, double defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valeur numérique invalide pour " + key + ": " + value);
+        }
+    }
+
+    private static boolean parseBoolean(Map<String, String> values, String key, boolean defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        if (!"true".equalsIgnoreCase(trimmed) && !"false".equalsIgnoreCase(trimmed)) {
+            throw new IllegalArgumentException("Valeur booléenne invalide pour " + key + ": " + value);
+        }
+        return Boolean.parseBoolean(trimmed);
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public String getAppVersion() {
+        return appVersion;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public double getMinBalance() {
+        return minBalance;
+    }
+
+    public double getMaxTransfer() {
+        return maxTransfer;
+    }
+
+    public boolean isNotificationsEnabled() {
+        return notificationsEnabled;
+    }
+
+    public boolean isAuditEnabled() {
+        return auditEnabled;
+    }
+
+    public String getDateFormat() {
+        return dateFormat;
+    }
+
+    /**
+     * Retourne les limites d'une gamme.
+     *
+     * @param tier Gamme de produit
+     * @return Limites de la gamme
+     */
+    public TierLimits getTierLimits(AccountTier tier) {
+        return tierLimits[tier.ordinal()];
+    }
+
+    /**
+     * Résout les limites d'un compte: sa surcharge propre, sinon celles de sa gamme.
+     *
+     * @param tier      Gamme du compte
+     * @param accountId Identifiant du compte
+     * @return Limites du compte
+     */
+    public TierLimits getLimits(AccountTier tier, String accountId) {
+        TierLimits limits = accountLimits.isEmpty() ? null : accountLimits.get(accountId);
+        return limits != null ? limits : tierLimits[tier.ordinal()];
+    }
+
+    /**
+     * Retourne une propriété brute.
+     *
+     * @param key Clé de la propriété
+     * @return Valeur, ou null si absente
+     */
+    public String getProperty(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Retourne toutes les propriétés de l'instantané.
+     *
+     * @return Propriétés non modifiables
+     */
+    public Map<String, String> getProperties() {
+        return values;
+    }
+}
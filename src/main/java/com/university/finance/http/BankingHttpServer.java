@@ -0,0 +1,419 @@
+package com.university.finance.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.university.finance.concurrent.BankingExecutors;
+import com.university.finance.concurrent.ExecutionMode;
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.config.ConfigurationReloader;
+import com.university.finance.management.BankingServiceMonitor;
+import com.university.finance.metrics.PrometheusExporter;
+import com.university.finance.metrics.PrometheusWriter;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.IsolationPolicy;
+import com.university.finance.service.BankingService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * API HTTP/JSON du service bancaire, sur le serveur HTTP intégré au JDK.
+ *
+ * <pre>
+ * POST /users                         {"username", "password", "email"}
+ * GET  /users/{id}
+ * POST /accounts                      {"userId", "initialDeposit"}
+ * GET  /accounts/{id}
+ * GET  /accounts/{id}/balance
+ * POST /accounts/{id}/deposit         {"amount"}
+ * POST /accounts/{id}/withdraw        {"amount"}
+ * GET  /accounts/{id}/transactions?offset=0&amp;limit=50
+ * POST /transfers                     {"fromAccountId", "toAccountId", "amount"}
+ * GET  /metrics                       (format texte Prometheus)
+ * </pre>
+ *
+ * Les requêtes sont traitées par l'exécuteur fourni (pool fixe, threads virtuels...).
+ * Codes: 400 données invalides, 404 ressource inconnue, 405 méthode non supportée,
+ * 422 opération refusée (solde insuffisant, montant invalide).
+ */
+public class BankingHttpServer implements AutoCloseable {
+
+    // Taille de page par défaut et maximale de l'historique
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Un encodeur par thread de traitement, réutilisé d'une requête à l'autre
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+
+    private final BankingService bankingService;
+    private final HttpServer server;
+
+    // Collectes Prometheus: un seul tampon de rendu, réutilisé, un rendu à la fois
+    private final PrometheusExporter exporter;
+    private final PrometheusWriter scrapeBuffer = new PrometheusWriter();
+    private final ReentrantLock scrapeLock = new ReentrantLock();
+
+    /**
+     * Crée le serveur (non démarré).
+     *
+     * @param bankingService Service bancaire exposé
+     * @param address        Adresse d'écoute (port 0 = port libre)
+     * @param executor       Exécuteur des requêtes (null = thread du serveur)
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public BankingHttpServer(BankingService bankingService, InetSocketAddress address,
+                             Executor executor) throws IOException {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        this.bankingService = bankingService;
+        this.exporter = new PrometheusExporter(bankingService);
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/users", this::handle);
+        server.createContext("/accounts", this::handle);
+        server.createContext("/transfers", this::handle);
+        server.createContext("/metrics", this::scrape);
+    }
+
+    /**
+     * Démarre le serveur.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Retourne le port d'écoute effectif.
+     *
+     * @return Port TCP
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Arrête le serveur (l'exécuteur reste à la charge de l'appelant).
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // ==================== Routage ====================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        JsonWriter json = WRITERS.get().reset();
+        int status;
+        try {
+            status = route(exchange, exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath().split("/"), json);
+        } catch (HttpError e) {
+            status = e.status;
+            error(json.reset(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            error(json.reset(), e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            error(json.reset(), String.valueOf(e));
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, json.size());
+        try (OutputStream body = exchange.getResponseBody()) {
+            json.writeTo(body);
+        }
+    }
+
+    private void scrape(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            JsonWriter json = WRITERS.get().reset();
+            error(json, "Méthode non supportée: " + exchange.getRequestMethod());
+            exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+            exchange.sendResponseHeaders(405, json.size());
+            try (OutputStream body = exchange.getResponseBody()) {
+                json.writeTo(body);
+            }
+            return;
+        }
+        // Rendu sous le verrou, écriture hors verrou: un client lent ne bloque pas les autres collectes
+        byte[] payload;
+        scrapeLock.lock();
+        try {
+            exporter.render(scrapeBuffer.reset());
+            payload = scrapeBuffer.toByteArray();
+        } finally {
+            scrapeLock.unlock();
+        }
+        exchange.getResponseHeaders().set("Content-Type", PROMETHEUS_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, payload.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(payload);
+        }
+    }
+
+    private int route(HttpExchange exchange, String method, String[] path, JsonWriter json) throws IOException {
+        // path[0] est vide (le chemin commence par '/')
+        String resource = path.length > 1 ? path[1] : "";
+        switch (resource) {
+            case "users":
+                if (path.length == 2) {
+                    requireMethod(method, "POST");
+                    return createUser(readBody(exchange), json);
+                }
+                if (path.length == 3) {
+                    requireMethod(method, "GET");
+                    json.user(requireUser(path[2]));
+                    return 200;
+                }
+                break;
+            case "accounts":
+                if (path.length == 2) {
+                    requireMethod(method, "POST");
+                    return createAccount(readBody(exchange), json);
+                }
+                if (path.length == 3) {
+                    requireMethod(method, "GET");
+                    json.account(requireAccount(path[2]));
+                    return 200;
+                }
+                if (path.length == 4) {
+                    return accountOperation(exchange, method, requireAccount(path[2]), path[3], json);
+                }
+                break;
+            case "transfers":
+                if (path.length == 2) {
+                    requireMethod(method, "POST");
+                    Map<String, Object> body = readBody(exchange);
+                    String fromAccountId = requireString(body, "fromAccountId");
+                    String toAccountId = requireString(body, "toAccountId");
+                    requireAccount(fromAccountId);
+                    requireAccount(toAccountId);
+                    return transactionResult(bankingService.transfer(fromAccountId, toAccountId,
+                            requireNumber(body, "amount")), json);
+                }
+                break;
+            default:
+                break;
+        }
+        throw new HttpError(404, "Ressource inconnue: " + exchange.getRequestURI().getPath());
+    }
+
+    private int accountOperation(HttpExchange exchange, String method, Account account,
+                                 String operation, JsonWriter json) throws IOException {
+        switch (operation) {
+            case "balance":
+                requireMethod(method, "GET");
+                json.beginObject()
+                        .name("accountId").value(account.getId())
+                        .name("balance").amount(account.getBalance())
+                        .endObject();
+                return 200;
+            case "deposit":
+                requireMethod(method, "POST");
+                return transactionResult(bankingService.deposit(account.getId(),
+                        requireNumber(readBody(exchange), "amount")), json);
+            case "withdraw":
+                requireMethod(method, "POST");
+                return transactionResult(bankingService.withdraw(account.getId(),
+                        requireNumber(readBody(exchange), "amount")), json);
+            case "transactions":
+                requireMethod(method, "GET");
+                history(account, exchange.getRequestURI().getRawQuery(), json);
+                return 200;
+            default:
+                throw new HttpError(404, "Opération inconnue: " + operation);
+        }
+    }
+
+    // ==================== Opérations ====================
+
+    private int createUser(Map<String, Object> body, JsonWriter json) {
+        User user = bankingService.createUser(requireString(body, "username"),
+                requireString(body, "password"), requireString(body, "email"));
+        json.user(user);
+        return 201;
+    }
+
+    private int createAccount(Map<String, Object> body, JsonWriter json) {
+        User owner = requireUser(requireString(body, "userId"));
+        Object deposit = body.get("initialDeposit");
+        double initialDeposit = deposit == null ? 0.0 : requireNumber(body, "initialDeposit");
+        json.account(bankingService.createAccount(owner, initialDeposit));
+        return 201;
+    }
+
+    private int transactionResult(Transaction transaction, JsonWriter json) {
+        if (transaction == null) {
+            throw new HttpError(422, "Opération refusée");
+        }
+        json.transaction(transaction);
+        return 200;
+    }
+
+    private void history(Account account, String query, JsonWriter json) {
+        int offset = queryInt(query, "offset", 0);
+        int limit = Math.min(queryInt(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset et limit doivent être positifs");
+        }
+        // Seule la page est copiée; le verrou (réentrant) garde le total cohérent avec la page
+        int total;
+        List<Transaction> page;
+        account.getLock().lock();
+        try {
+            total = account.getTransactionCount();
+            page = account.getTransactions(offset, limit);
+        } finally {
+            account.getLock().unlock();
+        }
+        json.beginObject()
+                .name("accountId").value(account.getId())
+                .name("total").value(total)
+                .name("offset").value(offset)
+                .name("limit").value(limit)
+                .name("items").beginArray();
+        for (Transaction transaction : page) {
+            json.transaction(transaction);
+        }
+        json.endArray().endObject();
+    }
+
+    // ==================== Validation ====================
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new HttpError(405, "Méthode non supportée: " + method);
+        }
+    }
+
+    private User requireUser(String userId) {
+        User user = bankingService.findUserById(userId);
+        if (user == null) {
+            throw new HttpError(404, "Utilisateur non trouvé: " + userId);
+        }
+        return user;
+    }
+
+    private Account requireAccount(String accountId) {
+        Account account = bankingService.findAccountById(accountId);
+        if (account == null) {
+            throw new HttpError(404, "Compte non trouvé: " + accountId);
+        }
+        return account;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return JsonReader.parseObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Champ texte requis: " + field);
+        }
+        return (String) value;
+    }
+
+    private static double requireNumber(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof Double)) {
+            throw new IllegalArgumentException("Champ numérique requis: " + field);
+        }
+        return (Double) value;
+    }
+
+    private static int queryInt(String query, String name, int defaultValue) {
+        if (query == null) {
+            return defaultValue;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                try {
+                    return Integer.parseInt(parameter.substring(separator + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Paramètre entier invalide: " + name);
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void error(JsonWriter json, String message) {
+        json.beginObject().name("error").value(message).endObject();
+    }
+
+    /**
+     * Erreur portant directement son code HTTP.
+     */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Lance l'API HTTP avec un service bancaire vide.
+     * Usage: {@code BankingHttpServer <port> [threads|virtual]}; avec {@code -Dfinance.config=<fichier>},
+     * la configuration est rechargée à chaque modification du fichier.
+     *
+     * @param args Port d'écoute, puis taille du pool ou {@code virtual}
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BankingHttpServer <port> [threads|virtual]");
+            System.exit(1);
+        }
+        String threads = args.length > 1 ? args[1] : String.valueOf(Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = "virtual".equals(threads)
+                ? BankingExecutors.newExecutor(ExecutionMode.VIRTUAL, 0)
+                : BankingExecutors.newExecutor(ExecutionMode.PLATFORM, Integer.parseInt(threads));
+        BankingService bankingService = new BankingService();
+        // Un observer lent ne doit pas ralentir les requêtes. L'audit n'est isolé qu'avec
+        // -Dfinance.spill.dir: son retard déborde alors sur disque au lieu d'être perdu
+        IsolationPolicy isolation = new IsolationPolicy();
+        String spillDirectory = System.getProperty("finance.spill.dir");
+        if (spillDirectory != null) {
+            isolation.setSpillDirectory(Paths.get(spillDirectory));
+        }
+        bankingService.isolateObservers(spillDirectory != null ? isolation : null, isolation);
+        BankingServiceMonitor.register(bankingService, "http");
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.addListener(bankingService);
+        ConfigurationReloader reloader = ConfigurationReloader.watchIfConfigured(config);
+        BankingHttpServer server = new BankingHttpServer(bankingService,
+                new InetSocketAddress(Integer.parseInt(args[0])), executor);
+        server.start();
+        System.out.println("API bancaire à l'écoute sur le port " + server.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            executor.shutdown();
+            if (reloader != null) {
+                reloader.close();
+            }
+        }));
+    }
+}
@@ -0,0 +1,374 @@
+package com.university.finance.http;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Encodeur JSON écrit à la main, directement en UTF-8 dans un tampon réutilisable.
+ * Un écrivain par thread suffit: après {@link #reset()}, l'encodage d'une réponse
+ * n'alloue rien (ni chaînes intermédiaires, ni conversions de nombres).
+ *
+ * Les virgules sont déduites du dernier octet écrit, ce qui évite de tenir une
+ * pile d'état: un nom ou une valeur qui ne suit ni une accolade ou un crochet
+ * ouvrant, ni deux-points, est précédé d'une virgule.
+ */
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Crée un écrivain avec un tampon de 4 Ko.
+     */
+    public JsonWriter() {
+        this(4096);
+    }
+
+    /**
+     * Crée un écrivain.
+     *
+     * @param initialCapacity Capacité initiale du tampon en octets
+     */
+    public JsonWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Vide le tampon pour un nouveau document (la capacité est conservée).
+     *
+     * @return Cet écrivain
+     */
+    public JsonWriter reset() {
+        size = 0;
+        return this;
+    }
+
+    // ==================== Structure ====================
+
+    public JsonWriter beginObject() {
+        separator();
+        return raw('{');
+    }
+
+    public JsonWriter endObject() {
+        return raw('}');
+    }
+
+    public JsonWriter beginArray() {
+        separator();
+        return raw('[');
+    }
+
+    public JsonWriter endArray() {
+        return raw(']');
+    }
+
+    /**
+     * Écrit le nom d'un champ (suivi de {@code :}).
+     *
+     * @param name Nom du champ
+     * @return Cet écrivain
+     */
+    public JsonWriter name(String name) {
+        separator();
+        quoted(name);
+        return raw(':');
+    }
+
+    // ==================== Valeurs ====================
+
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) {
+            return raw(NULL);
+        }
+        quoted(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        digits(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        return raw(value ? TRUE : FALSE);
+    }
+
+    public JsonWriter nullValue() {
+        separator();
+        return raw(NULL);
+    }
+
+    /**
+     * Écrit un montant arrondi au centime, sans passer par {@link Double#toString(double)}.
+     *
+     * @param amount Montant
+     * @return Cet écrivain
+     */
+    public JsonWriter amount(double amount) {
+        separator();
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            return raw(NULL);
+        }
+        long cents = Math.round(amount * 100.0);
+        if (cents < 0) {
+            raw('-');
+            cents = -cents;
+        }
+        digits(cents / 100);
+        raw('.');
+        long fraction = cents % 100;
+        raw((byte) ('0' + fraction / 10));
+        return raw((byte) ('0' + fraction % 10));
+    }
+
+    /**
+     * Écrit un horodatage ISO-8601 ({@code yyyy-MM-ddTHH:mm:ss}).
+     *
+     * @param timestamp Horodatage
+     * @return Cet écrivain
+     */
+    public JsonWriter value(LocalDateTime timestamp) {
+        separator();
+        if (timestamp == null) {
+            return raw(NULL);
+        }
+        raw('"');
+        padded(timestamp.getYear(), 4);
+        raw('-');
+        padded(timestamp.getMonthValue(), 2);
+        raw('-');
+        padded(timestamp.getDayOfMonth(), 2);
+        raw('T');
+        padded(timestamp.getHour(), 2);
+        raw(':');
+        padded(timestamp.getMinute(), 2);
+        raw(':');
+        padded(timestamp.getSecond(), 2);
+        return raw('"');
+    }
+
+    // ==================== Objets du domaine ====================
+
+    /**
+     * Écrit un utilisateur (sans son mot de passe).
+     *
+     * @param user Utilisateur
+     * @return Cet écrivain
+     */
+    public JsonWriter user(User user) {
+        if (user == null) {
+            return nullValue();
+        }
+        return beginObject()
+                .name("id").value(user.getId())
+                .name("username").value(user.getUsername())
+                .name("email").value(user.getEmail())
+                .endObject();
+    }
+
+    /**
+     * Écrit un compte.
+     *
+     * @param account Compte
+     * @return Cet écrivain
+     */
+    public JsonWriter account(Account account) {
+        if (account == null) {
+            return nullValue();
+        }
+        return beginObject()
+                .name("id").value(account.getId())
+                .name("ownerId").value(account.getOwner() == null ? null : account.getOwner().getId())
+                .name("balance").amount(account.getBalance())
+                .endObject();
+    }
+
+    /**
+     * Écrit une transaction.
+     *
+     * @param transaction Transaction
+     * @return Cet écrivain
+     */
+    public JsonWriter transaction(Transaction transaction) {
+        if (transaction == null) {
+            return nullValue();
+        }
+        return beginObject()
+                .name("id").value(transaction.getId())
+                .name("type").value(transaction.getType().name())
+                .name("amount").amount(transaction.getAmount())
+                .name("timestamp").value(transaction.getTimestamp())
+                .name("fromAccount").value(idOf(transaction.getFromAccount()))
+                .name("toAccount").value(idOf(transaction.getToAccount()))
+                .name("description").value(transaction.getDescription())
+                .endObject();
+    }
+
+    private static String idOf(Account account) {
+        return account == null ? null : account.getId();
+    }
+
+    // ==================== Sortie ====================
+
+    /**
+     * Retourne le nombre d'octets écrits.
+     *
+     * @return Taille du document
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Écrit le document dans un flux.
+     *
+     * @param out Flux de sortie
+     * @throws IOException Si l'écriture échoue
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /**
+     * Retourne le document sous forme de chaîne (copie, pour les tests et le débogage).
+     *
+     * @return Document JSON
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Encodage bas niveau ====================
+
+    private void separator() {
+        if (size == 0) {
+            return;
+        }
+        byte last = buffer[size - 1];
+        if (last != '{' && last != '[' && last != ':') {
+            raw(',');
+        }
+    }
+
+    private void quoted(String value) {
+        raw('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                raw('\\');
+                raw((byte) c);
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x80) {
+                raw((byte) c);
+            } else if (c < 0x800) {
+                raw((byte) (0xC0 | (c >> 6)));
+                raw((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                raw((byte) (0xF0 | (codePoint >> 18)));
+                raw((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                raw((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                raw((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                raw((byte) (0xE0 | (c >> 12)));
+                raw((byte) (0x80 | ((c >> 6) & 0x3F)));
+                raw((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        raw('"');
+    }
+
+    private void escapeControl(char c) {
+        raw('\\');
+        switch (c) {
+            case '\n':
+                raw('n');
+                break;
+            case '\r':
+                raw('r');
+                break;
+            case '\t':
+                raw('t');
+                break;
+            default:
+                raw('u');
+                raw('0');
+                raw('0');
+                raw(HEX[c >> 4]);
+                raw(HEX[c & 0xF]);
+        }
+    }
+
+    private void digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            raw(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            raw('-');
+            value = -value;
+        }
+        int length = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            length++;
+        }
+        ensure(length);
+        for (int i = size + length - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += length;
+    }
+
+    private void padded(int value, int width) {
+        ensure(width);
+        for (int i = size + width - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += width;
+    }
+
+    private JsonWriter raw(char c) {
+        return raw((byte) c);
+    }
+
+    private JsonWriter raw(byte b) {
+        ensure(1);
+        buffer[size++] = b;
+        return this;
+    }
+
+    private JsonWriter raw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.university.finance.load;
+
+/**
+ * Paramètres d'une campagne de charge.
+ * Les valeurs par défaut conviennent à un essai rapide sur un poste de développement.
+ */
+public class LoadConfig {
+
+    private int users = 1000;
+    private int threads = 4;
+    private int durationSeconds = 10;
+    private long operations = 0;
+    private int depositPercent = 40;
+    private int withdrawPercent = 30;
+    private int transferPercent = 30;
+    private double zipfExponent = 1.0;
+    private double initialBalance = 1000.0;
+    private double amount = 10.0;
+    private long reportIntervalMillis = 1000;
+    private long seed = 42;
+    private String csvPath;
+    private boolean observers;
+
+    /**
+     * Lit les paramètres de la ligne de commande:
+     * {@code --users N --threads M --duration S --operations K --mix D,W,T --zipf s
+     * --initial-balance X --amount X --interval MS --seed N --csv fichier --observers}.
+     *
+     * @param args Arguments
+     * @return Configuration
+     * @throws IllegalArgumentException si un argument est invalide
+     */
+    public static LoadConfig fromArgs(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if ("--observers".equals(option)) {
+                config.setObservers(true);
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour " + option);
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--users":
+                        config.setUsers(Integer.parseInt(value));
+                        break;
+                    case "--threads":
+                        config.setThreads(Integer.parseInt(value));
+                        break;
+                    case "--duration":
+                        config.setDurationSeconds(Integer.parseInt(value));
+                        break;
+                    case "--operations":
+                        config.setOperations(Long.parseLong(value));
+                        break;
+                    case "--mix":
+                        String[] parts = value.split(",");
+                        if (parts.length != 3) {
+                            throw new IllegalArgumentException("--mix attend dépôt,retrait,transfert");
+                        }
+                        config.setMix(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                                Integer.parseInt(parts[2].trim()));
+                        break;
+                    case "--zipf":
+                        config.setZipfExponent(Double.parseDouble(value));
+                        break;
+                    case "--initial-balance":
+                        config.setInitialBalance(Double.parseDouble(value));
+                        break;
+                    case "--amount":
+                        config.setAmount(Double.parseDouble(value));
+                        break;
+                    case "--interval":
+                        config.setReportIntervalMillis(Long.parseLong(value));
+                        break;
+                    case "--seed":
+                        config.setSeed(Long.parseLong(value));
+                        break;
+                    case "--csv":
+                        config.setCsvPath(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Option inconnue: " + option);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valeur invalide pour " + option + ": " + value);
+            }
+        }
+        return config;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public LoadConfig setUsers(int users) {
+        if (users < 1) {
+            throw new IllegalArgumentException("Au moins un utilisateur est nécessaire");
+        }
+        this.users = users;
+        return this;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public LoadConfig setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Au moins un thread est nécessaire");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public LoadConfig setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+        return this;
+    }
+
+    /**
+     * Retourne le nombre total d'opérations à exécuter (0 = limité par la durée seulement).
+     *
+     * @return Nombre d'opérations
+     */
+    public long getOperations() {
+        return operations;
+    }
+
+    public LoadConfig setOperations(long operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    public int getDepositPercent() {
+        return depositPercent;
+    }
+
+    public int getWithdrawPercent() {
+        return withdrawPercent;
+    }
+
+    public int getTransferPercent() {
+        return transferPercent;
+    }
+
+    /**
+     * Définit la répartition des opérations.
+     *
+     * @param depositPercent  Part des dépôts
+     * @param withdrawPercent Part des retraits
+     * @param transferPercent Part des transferts
+     * @return Cette configuration
+     * @throws IllegalArgumentException si la somme ne fait pas 100
+     */
+    public LoadConfig setMix(int depositPercent, int withdrawPercent, int transferPercent) {
+        if (depositPercent < 0 || withdrawPercent < 0 || transferPercent < 0
+                || depositPercent + withdrawPercent + transferPercent != 100) {
+            throw new IllegalArgumentException("La répartition doit totaliser 100 %");
+        }
+        this.depositPercent = depositPercent;
+        this.withdrawPercent = withdrawPercent;
+        this.transferPercent = transferPercent;
+        return this;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public LoadConfig setZipfExponent(double zipfExponent) {
+        this.zipfExponent = zipfExponent;
+        return this;
+    }
+
+    public double getInitialBalance() {
+        return initialBalance;
+    }
+
+    public LoadConfig setInitialBalance(double initialBalance) {
+        this.initialBalance = initialBalance;
+        return this;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public LoadConfig setAmount(double amount) {
+        this.amount = amount;
+        return this;
+    }
+
+    public long getReportIntervalMillis() {
+        return reportIntervalMillis;
+    }
+
+    public LoadConfig setReportIntervalMillis(long reportIntervalMillis) {
+        if (reportIntervalMillis < 1) {
+            throw new IllegalArgumentException("L'intervalle doit être positif");
+        }
+        this.reportIntervalMillis = reportIntervalMillis;
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LoadConfig setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public String getCsvPath() {
+        return csvPath;
+    }
+
+    public LoadConfig setCsvPath(String csvPath) {
+        this.csvPath = csvPath;
+        return this;
+    }
+
+    /**
+     * Indique si les observers par défaut (audit, notifications) sont actifs pendant la charge.
+     *
+     * @return true si les observers sont actifs
+     */
+    public boolean isObservers() {
+        return observers;
+    }
+
+    public LoadConfig setObservers(boolean observers) {
+        this.observers = observers;
+        return this;
+    }
+}
@@ -0,0 +1,212 @@
+package com.university.finance.load;
+
+import com.university.finance.metrics.LatencyHistogram;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.service.BankingService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Générateur de charge pour le {@link BankingService}.
+ *
+ * Crée N utilisateurs et leurs comptes (via les factories du service), puis
+ * M threads enchaînent dépôts, retraits et transferts selon la répartition
+ * configurée. Les comptes sont choisis selon une loi de Zipf, pour reproduire
+ * des comptes "chauds". Chaque opération est chronométrée dans un histogramme
+ * par type; un histogramme d'intervalle, échangé à chaque période, donne
+ * l'évolution du débit et des latences. Une opération qui lève une exception
+ * (limite de transfert, compte inconnu...) est comptée comme erreur pour son
+ * type et le thread continue.
+ */
+public class LoadGenerator {
+
+    private final BankingService bankingService;
+    private final LoadConfig config;
+    private String[] accountIds;
+
+    /**
+     * Constructeur.
+     *
+     * @param bankingService Service sous charge
+     * @param config         Paramètres de la campagne
+     */
+    public LoadGenerator(BankingService bankingService, LoadConfig config) {
+        if (bankingService == null || config == null) {
+            throw new IllegalArgumentException("Le service et la configuration sont requis");
+        }
+        this.bankingService = bankingService;
+        this.config = config;
+    }
+
+    /**
+     * Crée les utilisateurs et comptes de la campagne.
+     */
+    public void populate() {
+        accountIds = new String[config.getUsers()];
+        for (int i = 0; i < accountIds.length; i++) {
+            Account account = bankingService.createUserWithAccount("load" + i, "password" + i,
+                    "load" + i + "@example.com", config.getInitialBalance());
+            accountIds[i] = account.getId();
+        }
+    }
+
+    /**
+     * Exécute la campagne (crée d'abord la population si nécessaire).
+     *
+     * @return Résultat de la campagne
+     * @throws InterruptedException Si l'attente des threads est interrompue
+     */
+    public LoadReport run() throws InterruptedException {
+        if (accountIds == null) {
+            populate();
+        }
+        if (config.getTransferPercent() > 0 && accountIds.length < 2) {
+            throw new IllegalArgumentException("Les transferts nécessitent au moins deux comptes");
+        }
+        ZipfGenerator zipf = new ZipfGenerator(accountIds.length, config.getZipfExponent());
+        Map<TransactionType, LatencyHistogram> latencies = new EnumMap<>(TransactionType.class);
+        Map<TransactionType, LongAdder> refused = new EnumMap<>(TransactionType.class);
+        Map<TransactionType, LongAdder> errors = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TransactionType.values()) {
+            latencies.put(type, new LatencyHistogram());
+            refused.put(type, new LongAdder());
+            errors.put(type, new LongAdder());
+        }
+        AtomicReference<LatencyHistogram> interval = new AtomicReference<>(new LatencyHistogram());
+        AtomicLong remaining = new AtomicLong(config.getOperations() > 0 ? config.getOperations() : Long.MAX_VALUE);
+        long deadline = config.getOperations() > 0 ? Long.MAX_VALUE
+                : System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+
+        CountDownLatch done = new CountDownLatch(config.getThreads());
+        long start = System.nanoTime();
+        for (int t = 0; t < config.getThreads(); t++) {
+            Random random = new Random(config.getSeed() + t);
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline && remaining.decrementAndGet() >= 0) {
+                        execute(random, zipf, latencies, refused, errors, interval);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        List<LoadReport.Interval> intervals = new ArrayList<>();
+        long intervalStart = start;
+        boolean finished = false;
+        while (!finished) {
+            finished = done.await(config.getReportIntervalMillis(), TimeUnit.MILLISECONDS);
+            long now = System.nanoTime();
+            LatencyHistogram completed = interval.getAndSet(new LatencyHistogram());
+            intervals.add(new LoadReport.Interval(TimeUnit.NANOSECONDS.toMillis(now - start),
+                    now - intervalStart, completed));
+            intervalStart = now;
+        }
+        return new LoadReport(latencies, toCounts(refused), toCounts(errors), intervals, System.nanoTime() - start);
+    }
+
+    // Une exception du service est comptée comme erreur, sans latence: le thread continue
+    private void execute(Random random, ZipfGenerator zipf, Map<TransactionType, LatencyHistogram> latencies,
+                         Map<TransactionType, LongAdder> refused, Map<TransactionType, LongAdder> errors,
+                         AtomicReference<LatencyHistogram> interval) {
+        int roll = random.nextInt(100);
+        TransactionType type = roll < config.getDepositPercent() ? TransactionType.DEPOSIT
+                : roll < config.getDepositPercent() + config.getWithdrawPercent() ? TransactionType.WITHDRAWAL
+                : TransactionType.TRANSFER;
+        int rank = zipf.next(random);
+        String accountId = accountIds[rank];
+        double amount = config.getAmount();
+
+        int other = rank;
+        if (type == TransactionType.TRANSFER) {
+            other = zipf.next(random);
+            if (other == rank) {
+                other = (rank + 1) % accountIds.length;
+            }
+        }
+
+        long begin = System.nanoTime();
+        Transaction transaction;
+        try {
+            switch (type) {
+                case DEPOSIT:
+                    transaction = bankingService.deposit(accountId, amount);
+                    break;
+                case WITHDRAWAL:
+                    transaction = bankingService.withdraw(accountId, amount);
+                    break;
+                default:
+                    transaction = bankingService.transfer(accountId, accountIds[other], amount);
+            }
+        } catch (RuntimeException e) {
+            errors.get(type).increment();
+            return;
+        }
+        long latency = System.nanoTime() - begin;
+
+        latencies.get(type).record(latency);
+        interval.get().record(latency);
+        if (transaction == null) {
+            refused.get(type).increment();
+        }
+    }
+
+    private static Map<TransactionType, Long> toCounts(Map<TransactionType, LongAdder> adders) {
+        Map<TransactionType, Long> counts = new EnumMap<>(TransactionType.class);
+        for (Map.Entry<TransactionType, LongAdder> entry : adders.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Retourne les identifiants des comptes créés, du plus sollicité au moins sollicité.
+     *
+     * @return Identifiants des comptes (null avant {@link #populate()})
+     */
+    public String[] getAccountIds() {
+        return accountIds == null ? null : accountIds.clone();
+    }
+
+    /**
+     * Lance une campagne de charge.
+     * Usage: {@code LoadGenerator [--users N] [--threads M] [--duration S] [--mix D,W,T] [--zipf s] [--csv fichier]}
+     *
+     * @param args Options (voir {@link LoadConfig#fromArgs(String[])})
+     * @throws IOException          Si le fichier CSV ne peut pas être écrit
+     * @throws InterruptedException Si la campagne est interrompue
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = LoadConfig.fromArgs(args);
+        BankingService service = config.isObservers() ? new BankingService() : new BankingService(null, null);
+        LoadGenerator generator = new LoadGenerator(service, config);
+        generator.populate();
+        LoadReport report = generator.run();
+        report.print(System.out);
+        if (config.getCsvPath() != null) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(config.getCsvPath()), StandardCharsets.UTF_8)) {
+                report.writeCsv(out);
+            }
+            System.out.println("Mesures par intervalle écrites dans " + config.getCsvPath());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.university.finance.load;
+
+import com.university.finance.metrics.LatencyHistogram;
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Résultat d'une campagne de charge: latences, refus et erreurs par type
+ * d'opération, et évolution du débit et des latences par intervalle.
+ */
+public class LoadReport {
+
+    private final Map<TransactionType, LatencyHistogram> latencies;
+    private final Map<TransactionType, Long> refused;
+    private final Map<TransactionType, Long> errors;
+    private final List<Interval> intervals;
+    private final long elapsedNanos;
+
+    LoadReport(Map<TransactionType, LatencyHistogram> latencies, Map<TransactionType, Long> refused,
+               Map<TransactionType, Long> errors, List<Interval> intervals, long elapsedNanos) {
+        this.latencies = new EnumMap<>(latencies);
+        this.refused = new EnumMap<>(refused);
+        this.errors = new EnumMap<>(errors);
+        this.intervals = new ArrayList<>(intervals);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Mesures d'un intervalle de la campagne.
+     */
+    public static final class Interval {
+        private final long elapsedMillis;
+        private final long operations;
+        private final double throughput;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Interval(long elapsedMillis, long intervalNanos, LatencyHistogram histogram) {
+            this.elapsedMillis = elapsedMillis;
+            this.operations = histogram.getCount();
+            this.throughput = intervalNanos == 0 ? 0.0 : operations * 1e9 / intervalNanos;
+            this.p50 = histogram.getValueAtPercentile(50);
+            this.p99 = histogram.getValueAtPercentile(99);
+            this.p999 = histogram.getValueAtPercentile(99.9);
+            this.max = histogram.getMax();
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+    }
+
+    // ==================== Accès ====================
+
+    /**
+     * Retourne les latences d'un type d'opération.
+     *
+     * @param type Type d'opération
+     * @return Histogramme des latences
+     */
+    public LatencyHistogram getLatencies(TransactionType type) {
+        return latencies.get(type);
+    }
+
+    /**
+     * Retourne les latences de toutes les opérations.
+     *
+     * @return Histogramme fusionné
+     */
+    public LatencyHistogram getTotalLatencies() {
+        LatencyHistogram total = new LatencyHistogram();
+        for (LatencyHistogram histogram : latencies.values()) {
+            total.add(histogram);
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le nombre total d'opérations exécutées (acceptées ou refusées, hors erreurs).
+     *
+     * @return Nombre d'opérations
+     */
+    public long getOperations() {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le nombre d'opérations d'un type refusées par le service.
+     *
+     * @param type Type d'opération
+     * @return Nombre de refus
+     */
+    public long getRefused(TransactionType type) {
+        return refused.getOrDefault(type, 0L);
+    }
+
+    /**
+     * Retourne le nombre d'opérations d'un type ayant levé une exception.
+     *
+     * @param type Type d'opération
+     * @return Nombre d'erreurs
+     */
+    public long getErrors(TransactionType type) {
+        return errors.getOrDefault(type, 0L);
+    }
+
+    /**
+     * Retourne le nombre total d'opérations ayant levé une exception.
+     *
+     * @return Nombre d'erreurs
+     */
+    public long getTotalErrors() {
+        long total = 0;
+        for (long count : errors.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Retourne les mesures par intervalle.
+     *
+     * @return Liste non modifiable des intervalles
+     */
+    public List<Interval> getIntervals() {
+        return Collections.unmodifiableList(intervals);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Retourne le débit moyen sur la campagne.
+     *
+     * @return Opérations par seconde
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0.0 : getOperations() * 1e9 / elapsedNanos;
+    }
+
+    // ==================== Sorties ====================
+
+    /**
+     * Écrit les mesures par intervalle au format CSV (latences en microsecondes).
+     *
+     * @param out Destination
+     * @throws IOException Si l'écriture échoue
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("elapsed_ms,operations,throughput_ops_s,p50_us,p99_us,p999_us,max_us\n");
+        for (Interval interval : intervals) {
+            out.write(String.format(Locale.ROOT, "%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                    interval.elapsedMillis, interval.operations, interval.throughput,
+                    micros(interval.p50), micros(interval.p99), micros(interval.p999), micros(interval.max)));
+        }
+    }
+
+    /**
+     * Affiche le résumé de la campagne.
+     *
+     * @param out Flux de sortie
+     */
+    public void print(PrintStream out) {
+        out.println("=== Résultat de la campagne de charge ===");
+        out.printf(Locale.ROOT, "Opérations: %d en %.1f s (%.0f ops/s)%n",
+                getOperations(), elapsedNanos / 1e9, getThroughput());
+        out.printf(Locale.ROOT, "%-10s %10s %8s %8s %10s %10s %10s %10s%n",
+                "Type", "Nombre", "Refus", "Erreurs", "p50 µs", "p99 µs", "p999 µs", "max µs");
+        for (Map.Entry<TransactionType, LatencyHistogram> entry : latencies.entrySet()) {
+            printRow(out, entry.getKey().getLabel(), entry.getValue(), getRefused(entry.getKey()),
+                    getErrors(entry.getKey()));
+        }
+        long totalRefused = 0;
+        for (long count : refused.values()) {
+            totalRefused += count;
+        }
+        printRow(out, "Total", getTotalLatencies(), totalRefused, getTotalErrors());
+    }
+
+    private static void printRow(PrintStream out, String label, LatencyHistogram histogram, long refusedCount,
+                                 long errorCount) {
+        out.printf(Locale.ROOT, "%-10s %10d %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                label, histogram.getCount(), refusedCount, errorCount,
+                micros(histogram.getValueAtPercentile(50)), micros(histogram.getValueAtPercentile(99)),
+                micros(histogram.getValueAtPercentile(99.9)), micros(histogram.getMax()));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
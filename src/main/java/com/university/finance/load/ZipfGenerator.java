@@ -0,0 +1,71 @@
+package com.university.finance.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tirage de rangs selon une loi de Zipf: le rang k (0 = le plus fréquent) est
+ * tiré avec une probabilité proportionnelle à 1 / (k + 1)^s.
+ * La fonction de répartition est précalculée; un tirage est une recherche dichotomique.
+ * Immuable: un même générateur peut être partagé entre threads.
+ */
+public class ZipfGenerator {
+
+    private final double[] cumulative;
+
+    /**
+     * Constructeur.
+     *
+     * @param size     Nombre de rangs
+     * @param exponent Exposant s (0 = uniforme; autour de 1 = forte asymétrie)
+     * @throws IllegalArgumentException si les paramètres sont invalides
+     */
+    public ZipfGenerator(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Le nombre de rangs doit être positif");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("L'exposant ne peut pas être négatif");
+        }
+        this.cumulative = new double[size];
+        double total = 0.0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    /**
+     * Tire un rang.
+     *
+     * @param random Source d'aléa (par exemple {@code ThreadLocalRandom.current()})
+     * @return Rang entre 0 et size - 1
+     */
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+
+    /**
+     * Retourne la probabilité d'un rang.
+     *
+     * @param rank Rang
+     * @return Probabilité
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    /**
+     * Retourne le nombre de rangs.
+     *
+     * @return Nombre de rangs
+     */
+    public int size() {
+        return cumulative.length;
+    }
+}
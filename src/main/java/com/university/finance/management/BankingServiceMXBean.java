@@ -0,0 +1,84 @@
+package com.university.finance.management;
+
+import java.util.Map;
+
+/**
+ * Interface JMX du service bancaire: statistiques en lecture et réglages
+ * modifiables à chaud depuis une console JMX (JConsole, VisualVM...).
+ * Les latences sont exprimées en microsecondes.
+ */
+public interface BankingServiceMXBean {
+
+    // ==================== Statistiques ====================
+
+    int getUserCount();
+
+    int getAccountCount();
+
+    long getTransactionCount();
+
+    long getDepositCount();
+
+    long getWithdrawalCount();
+
+    long getTransferCount();
+
+    /**
+     * Nombre d'opérations refusées par les stratégies.
+     */
+    long getFailureCount();
+
+    /**
+     * Débit des transactions (opérations par seconde) depuis la lecture précédente.
+     */
+    double getTransactionRate();
+
+    double getLatencyP50Micros();
+
+    double getLatencyP99Micros();
+
+    double getLatencyP999Micros();
+
+    double getLatencyMaxMicros();
+
+    int getObserverCount();
+
+    /**
+     * Livraisons en attente dans l'exécuteur des observers (0 en livraison synchrone).
+     */
+    int getObserverQueueDepth();
+
+    /**
+     * Livraisons en attente en mémoire, par observer isolé.
+     */
+    Map<String, Integer> getIsolatedQueueSizes();
+
+    /**
+     * Transactions en attente sur disque, par observer isolé.
+     */
+    Map<String, Long> getIsolatedSpillSizes();
+
+    /**
+     * p99 du temps de livraison par observer.
+     */
+    Map<String, Double> getObserverDeliveryP99Micros();
+
+    // ==================== Réglages ====================
+
+    double getMaxTransfer();
+
+    void setMaxTransfer(double maxTransfer);
+
+    boolean isAuditEnabled();
+
+    void setAuditEnabled(boolean enabled);
+
+    boolean isNotificationsEnabled();
+
+    void setNotificationsEnabled(boolean enabled);
+
+    /**
+     * Remet les métriques à zéro (sans interrompre l'enregistrement en cours).
+     */
+    void resetMetrics();
+}
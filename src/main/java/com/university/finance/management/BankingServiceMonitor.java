@@ -0,0 +1,339 @@
+package com.university.finance.management;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.metrics.LatencyHistogram;
+import com.university.finance.metrics.MetricsRegistry;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.service.BankingService;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Expose un {@link BankingService} en JMX.
+ *
+ * Les statistiques sont lues dans le {@link MetricsRegistry} du service de
+ * transactions. Les réglages agissent immédiatement: la limite de transfert est
+ * relue par le service à chaque transfert, et les observers d'audit et de
+ * notification sont retirés ou réinscrits sans redémarrage.
+ */
+public class BankingServiceMonitor implements BankingServiceMXBean, AutoCloseable {
+
+    public static final String DOMAIN = "com.university.finance";
+
+    // Fenêtre minimale entre deux calculs du débit
+    private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Durée de validité de l'histogramme fusionné: un cycle de lecture JMX lit
+    // les quatre percentiles d'affilée sur une seule fusion
+    private static final long LATENCY_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final BankingService bankingService;
+    private final ConfigurationManager config;
+    private final ReentrantLock rateLock = new ReentrantLock();
+    private long lastCount;
+    private long lastSampleNanos;
+    private double lastRate;
+    private final ReentrantLock latencyLock = new ReentrantLock();
+    private final LatencyHistogram mergedLatencies = new LatencyHistogram();
+    private long lastMergeNanos;
+    private boolean mergeStale = true;
+    private MBeanServer server;
+    private ObjectName objectName;
+
+    /**
+     * Constructeur.
+     *
+     * @param bankingService Service à exposer
+     */
+    public BankingServiceMonitor(BankingService bankingService) {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire est requis");
+        }
+        this.bankingService = bankingService;
+        this.config = ConfigurationManager.getInstance();
+        this.lastSampleNanos = System.nanoTime();
+        this.lastCount = getTransactionCount();
+    }
+
+    /**
+     * Crée et enregistre le MBean d'un service sur le serveur de la plateforme.
+     *
+     * @param bankingService Service à exposer
+     * @param name           Nom de l'instance (par exemple "main")
+     * @return MBean enregistré ({@link #close()} le désenregistre)
+     * @throws IllegalStateException si l'enregistrement échoue (nom déjà utilisé...)
+     */
+    public static BankingServiceMonitor register(BankingService bankingService, String name) {
+        BankingServiceMonitor monitor = new BankingServiceMonitor(bankingService);
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=BankingService,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(monitor, objectName);
+            monitor.server = server;
+            monitor.objectName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Impossible d'enregistrer le MBean " + name, e);
+        }
+        return monitor;
+    }
+
+    /**
+     * Retourne le nom JMX du MBean.
+     *
+     * @return Nom, ou null si le MBean n'est pas enregistré
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    // ==================== Statistiques ====================
+
+    @Override
+    public int getUserCount() {
+        return bankingService.getUserCount();
+    }
+
+    @Override
+    public int getAccountCount() {
+        return bankingService.getAccountCount();
+    }
+
+    @Override
+    public long getTransactionCount() {
+        MetricsRegistry metrics = metrics();
+        return metrics == null ? 0 : metrics.getTotalCount();
+    }
+
+    @Override
+    public long getDepositCount() {
+        return count(TransactionType.DEPOSIT);
+    }
+
+    @Override
+    public long getWithdrawalCount() {
+        return count(TransactionType.WITHDRAWAL);
+    }
+
+    @Override
+    public long getTransferCount() {
+        return count(TransactionType.TRANSFER);
+    }
+
+    @Override
+    public long getFailureCount() {
+        MetricsRegistry metrics = metrics();
+        if (metrics == null) {
+            return 0;
+        }
+        long failures = 0;
+        for (TransactionType type : TransactionType.values()) {
+            failures += metrics.getOperation(type).getFailures();
+        }
+        return failures;
+    }
+
+    @Override
+    public double getTransactionRate() {
+        rateLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - lastSampleNanos >= RATE_WINDOW_NANOS) {
+                long count = getTransactionCount();
+                lastRate = Math.max(0, count - lastCount) * 1e9 / (now - lastSampleNanos);
+                lastCount = count;
+                lastSampleNanos = now;
+            }
+            return lastRate;
+        } finally {
+            rateLock.unlock();
+        }
+    }
+
+    @Override
+    public double getLatencyP50Micros() {
+        return latencyMicros(50);
+    }
+
+    @Override
+    public double getLatencyP99Micros() {
+        return latencyMicros(99);
+    }
+
+    @Override
+    public double getLatencyP999Micros() {
+        return latencyMicros(99.9);
+    }
+
+    @Override
+    public double getLatencyMaxMicros() {
+        return latencyMicros(100);
+    }
+
+    @Override
+    public int getObserverCount() {
+        return bankingService.getTransactionService().getObserverCount();
+    }
+
+    @Override
+    public int getObserverQueueDepth() {
+        Executor executor = bankingService.getTransactionService().getObserverExecutor();
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+
+    @Override
+    public Map<String, Integer> getIsolatedQueueSizes() {
+        Map<String, Integer> result = new TreeMap<>();
+        for (IsolatedObserver observer : bankingService.getTransactionService().getIsolatedObservers()) {
+            result.put(observer.getName(), observer.getQueueSize());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getIsolatedSpillSizes() {
+        Map<String, Long> result = new TreeMap<>();
+        for (IsolatedObserver observer : bankingService.getTransactionService().getIsolatedObservers()) {
+            result.put(observer.getName(), observer.getSpillSize());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getObserverDeliveryP99Micros() {
+        MetricsRegistry metrics = metrics();
+        if (metrics == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> result = new TreeMap<>();
+        for (String name : metrics.getObserverNames()) {
+            result.put(name, micros(metrics.getDelivery(name).getLatencies().getValueAtPercentile(99)));
+        }
+        return result;
+    }
+
+    // ==================== Réglages ====================
+
+    @Override
+    public double getMaxTransfer() {
+        return config.getMaxTransfer();
+    }
+
+    @Override
+    public void setMaxTransfer(double maxTransfer) {
+        if (!(maxTransfer > 0)) {
+            throw new IllegalArgumentException("La limite de transfert doit être positive");
+        }
+        config.setProperty("max.transfer", String.valueOf(maxTransfer));
+    }
+
+    @Override
+    public boolean isAuditEnabled() {
+        return bankingService.isAuditEnabled();
+    }
+
+    @Override
+    public void setAuditEnabled(boolean enabled) {
+        bankingService.setAuditEnabled(enabled);
+    }
+
+    @Override
+    public boolean isNotificationsEnabled() {
+        return bankingService.isNotificationsEnabled();
+    }
+
+    @Override
+    public void setNotificationsEnabled(boolean enabled) {
+        bankingService.setNotificationsEnabled(enabled);
+    }
+
+    @Override
+    public void resetMetrics() {
+        MetricsRegistry metrics = metrics();
+        if (metrics != null) {
+            metrics.reset();
+        }
+        rateLock.lock();
+        try {
+            lastCount = 0;
+            lastSampleNanos = System.nanoTime();
+            lastRate = 0.0;
+        } finally {
+            rateLock.unlock();
+        }
+        latencyLock.lock();
+        try {
+            mergeStale = true;
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    // ==================== Utilitaires ====================
+
+    private MetricsRegistry metrics() {
+        return bankingService.getTransactionService().getMetrics();
+    }
+
+    private long count(TransactionType type) {
+        MetricsRegistry metrics = metrics();
+        return metrics == null ? 0 : metrics.getOperation(type).getCount();
+    }
+
+    /**
+     * Lit un percentile des latences tous types confondus. Les histogrammes par type
+     * sont fusionnés dans un histogramme réutilisé, au plus une fois par fenêtre.
+     *
+     * @param percentile Percentile (100 pour le maximum)
+     * @return Latence en microsecondes
+     */
+    private double latencyMicros(double percentile) {
+        latencyLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (mergeStale || now - lastMergeNanos >= LATENCY_WINDOW_NANOS) {
+                mergedLatencies.reset();
+                MetricsRegistry metrics = metrics();
+                if (metrics != null) {
+                    for (TransactionType type : TransactionType.values()) {
+                        mergedLatencies.add(metrics.getOperation(type).getLatencies());
+                    }
+                }
+                lastMergeNanos = now;
+                mergeStale = false;
+            }
+            return micros(percentile >= 100 ? mergedLatencies.getMax() : mergedLatencies.getValueAtPercentile(percentile));
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    /**
+     * Désenregistre le MBean s'il a été enregistré par {@link #register}.
+     */
+    @Override
+    public void close() {
+        if (server != null && objectName != null) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                // Déjà désenregistré: rien à faire
+            }
+            server = null;
+        }
+    }
+}
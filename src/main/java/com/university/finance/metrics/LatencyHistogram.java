@@ -0,0 +1,198 @@
+package com.university.finance.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences à haute résolution, sans verrou.
+ *
+ * Les valeurs (en nanosecondes) sont rangées dans des seaux log-linéaires:
+ * exacts en dessous de 128, puis 64 seaux par puissance de deux, soit une
+ * erreur relative inférieure à 1,6 % sur toute la plage des {@code long} positifs.
+ * L'enregistrement est un simple incrément atomique; plusieurs threads peuvent
+ * enregistrer pendant qu'un autre lit les percentiles.
+ */
+public class LatencyHistogram {
+
+    // Bits de précision: 2^SUB_BUCKET_BITS valeurs exactes, puis 2^(SUB_BUCKET_BITS-1) seaux par octave
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Enregistre une latence.
+     *
+     * @param nanos Latence en nanosecondes (les valeurs négatives comptent pour 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (magnitude - SUB_BUCKET_BITS) * HALF_COUNT + (top - HALF_COUNT);
+    }
+
+    /**
+     * Plus grande valeur rangée dans un seau (borne haute).
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int magnitude = offset / HALF_COUNT + SUB_BUCKET_BITS;
+        long top = offset % HALF_COUNT + HALF_COUNT;
+        int shift = magnitude - (SUB_BUCKET_BITS - 1);
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * Retourne le nombre de valeurs enregistrées.
+     *
+     * @return Nombre de valeurs
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Retourne la plus grande valeur enregistrée (exacte).
+     *
+     * @return Maximum en nanosecondes
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Retourne la moyenne des valeurs enregistrées (exacte).
+     *
+     * @return Moyenne en nanosecondes
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Retourne la somme des valeurs enregistrées.
+     *
+     * @return Somme en nanosecondes
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Calcule en un seul passage le nombre cumulé de valeurs inférieures ou égales
+     * à chaque borne (seaux d'un histogramme Prometheus). Un seau n'est compté
+     * sous une borne que si toutes ses valeurs le sont: l'erreur reste celle des seaux.
+     *
+     * @param bounds     Bornes en nanosecondes, croissantes
+     * @param cumulative Résultat, de même taille que bounds
+     * @return Nombre total de valeurs (seau {@code +Inf})
+     */
+    public long cumulativeCounts(long[] bounds, long[] cumulative) {
+        int bound = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = counts.get(i);
+            if (n == 0) {
+                continue;
+            }
+            long highest = highestValueOf(i);
+            while (bound < bounds.length && highest > bounds[bound]) {
+                cumulative[bound++] = seen;
+            }
+            seen += n;
+        }
+        while (bound < bounds.length) {
+            cumulative[bound++] = seen;
+        }
+        return seen;
+    }
+
+    /**
+     * Retourne la valeur au percentile demandé (borne haute de son seau, plafonnée au maximum).
+     *
+     * @param percentile Percentile entre 0 et 100 (par exemple 99.9)
+     * @return Valeur en nanosecondes, 0 si l'histogramme est vide
+     * @throws IllegalArgumentException si le percentile est hors de [0, 100]
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Le percentile doit être entre 0 et 100");
+        }
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Ajoute les valeurs d'un autre histogramme à celui-ci.
+     *
+     * @param other Histogramme à fusionner
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = other.counts.get(i);
+            if (n != 0) {
+                counts.addAndGet(i, n);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        long otherMax = other.getMax();
+        long current = max.get();
+        while (otherMax > current && !max.compareAndSet(current, otherMax)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Remet l'histogramme à zéro (à n'appeler que sans enregistrement concurrent).
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
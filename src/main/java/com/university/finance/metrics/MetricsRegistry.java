@@ -0,0 +1,286 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.pattern.observer.CircuitBreaker;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registre des métriques du service de transactions, sans dépendance externe.
+ *
+ * Par type de transaction: nombre d'exécutions, échecs (stratégie ayant refusé
+ * l'opération), montant cumulé des opérations réussies et latences d'exécution.
+ * Par observer: nombre de livraisons, erreurs et temps de livraison; pour un
+ * observer isolé, dépassements de délai, refus et changements d'état du disjoncteur.
+ *
+ * Les compteurs sont des {@link LongAdder}/{@link DoubleAdder} (striés, sans
+ * contention entre threads) et les latences des {@link LatencyHistogram} sans
+ * verrou: l'enregistrement peut rester actif sur le chemin critique. La remise à
+ * zéro remplace les statistiques au lieu de les effacer, elle peut donc avoir
+ * lieu pendant l'enregistrement.
+ */
+public class MetricsRegistry {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // Remplacé en bloc par reset(): un enregistrement concurrent va à l'ancien ou au nouveau tableau
+    private volatile OperationStats[] operations = newOperations();
+    private final Map<String, DeliveryStats> deliveries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructeur.
+     */
+    public MetricsRegistry() {
+    }
+
+    private static OperationStats[] newOperations() {
+        OperationStats[] stats = new OperationStats[TYPES.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new OperationStats();
+        }
+        return stats;
+    }
+
+    /**
+     * Statistiques d'un type de transaction.
+     */
+    public static final class OperationStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final DoubleAdder amount = new DoubleAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /**
+         * Retourne le montant cumulé des opérations réussies.
+         *
+         * @return Montant total
+         */
+        public double getAmount() {
+            return amount.sum();
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+    }
+
+    /**
+     * Statistiques de livraison à un observer.
+     */
+    public static final class DeliveryStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder spilled = new LongAdder();
+        private final LongAdder[] transitions = new LongAdder[CircuitBreaker.State.values().length];
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private volatile CircuitBreaker.State circuitState = CircuitBreaker.State.CLOSED;
+
+        DeliveryStats() {
+            for (int i = 0; i < transitions.length; i++) {
+                transitions[i] = new LongAdder();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        /**
+         * Retourne le nombre de transactions non livrées (disjoncteur ouvert ou file pleine).
+         *
+         * @return Nombre de refus
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * Retourne le nombre de transactions écrites dans la file de débordement sur disque.
+         *
+         * @return Nombre de débordements
+         */
+        public long getSpilled() {
+            return spilled.sum();
+        }
+
+        /**
+         * Retourne le nombre de passages du disjoncteur dans un état.
+         *
+         * @param state État atteint
+         * @return Nombre de transitions vers cet état
+         */
+        public long getTransitions(CircuitBreaker.State state) {
+            return transitions[state.ordinal()].sum();
+        }
+
+        public CircuitBreaker.State getCircuitState() {
+            return circuitState;
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+    }
+
+    // ==================== Enregistrement ====================
+
+    /**
+     * Enregistre l'exécution d'une opération.
+     *
+     * @param type    Type de transaction
+     * @param amount  Montant demandé (cumulé seulement si l'opération a réussi)
+     * @param nanos   Durée d'exécution en nanosecondes
+     * @param success false si l'opération a été refusée
+     */
+    public void recordOperation(TransactionType type, double amount, long nanos, boolean success) {
+        OperationStats stats = operations[type.ordinal()];
+        stats.count.increment();
+        if (success) {
+            stats.amount.add(amount);
+        } else {
+            stats.failures.increment();
+        }
+        stats.latencies.record(nanos);
+    }
+
+    /**
+     * Enregistre la livraison d'une transaction à un observer.
+     *
+     * @param observerName Nom de l'observer
+     * @param nanos        Durée de la livraison en nanosecondes
+     * @param error        true si l'observer a levé une exception
+     */
+    public void recordDelivery(String observerName, long nanos, boolean error) {
+        DeliveryStats stats = delivery(observerName);
+        stats.count.increment();
+        if (error) {
+            stats.errors.increment();
+        }
+        stats.latencies.record(nanos);
+    }
+
+    /**
+     * Enregistre une livraison ayant dépassé son budget de temps.
+     *
+     * @param observerName Nom de l'observer
+     */
+    public void recordTimeout(String observerName) {
+        delivery(observerName).timeouts.increment();
+    }
+
+    /**
+     * Enregistre une transaction non livrée à un observer isolé.
+     *
+     * @param observerName Nom de l'observer
+     */
+    public void recordRejection(String observerName) {
+        delivery(observerName).rejected.increment();
+    }
+
+    /**
+     * Enregistre une transaction écrite dans la file de débordement d'un observer.
+     *
+     * @param observerName Nom de l'observer
+     */
+    public void recordSpill(String observerName) {
+        delivery(observerName).spilled.increment();
+    }
+
+    /**
+     * Enregistre un changement d'état du disjoncteur d'un observer.
+     *
+     * @param observerName Nom de l'observer
+     * @param state        Nouvel état
+     */
+    public void recordCircuitState(String observerName, CircuitBreaker.State state) {
+        DeliveryStats stats = delivery(observerName);
+        stats.circuitState = state;
+        stats.transitions[state.ordinal()].increment();
+    }
+
+    private DeliveryStats delivery(String observerName) {
+        DeliveryStats stats = deliveries.get(observerName);
+        if (stats == null) {
+            stats = deliveries.computeIfAbsent(observerName, name -> new DeliveryStats());
+        }
+        return stats;
+    }
+
+    // ==================== Lecture ====================
+
+    /**
+     * Retourne les statistiques d'un type de transaction.
+     *
+     * @param type Type de transaction
+     * @return Statistiques (jamais null)
+     */
+    public OperationStats getOperation(TransactionType type) {
+        return operations[type.ordinal()];
+    }
+
+    /**
+     * Retourne les statistiques de livraison d'un observer.
+     *
+     * @param observerName Nom de l'observer
+     * @return Statistiques, ou null si l'observer n'a encore rien reçu
+     */
+    public DeliveryStats getDelivery(String observerName) {
+        return deliveries.get(observerName);
+    }
+
+    /**
+     * Retourne les noms des observers ayant reçu au moins une livraison.
+     *
+     * @return Noms triés
+     */
+    public Set<String> getObserverNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(deliveries.keySet()));
+    }
+
+    /**
+     * Retourne le nombre total d'opérations exécutées, tous types confondus.
+     *
+     * @return Nombre d'opérations
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (OperationStats stats : operations) {
+            total += stats.getCount();
+        }
+        return total;
+    }
+
+    /**
+     * Remet toutes les métriques à zéro.
+     * Sûr pendant l'enregistrement: une opération concurrente est comptée dans
+     * les anciennes statistiques ou dans les nouvelles, jamais à moitié.
+     */
+    public void reset() {
+        operations = newOperations();
+        deliveries.clear();
+    }
+}
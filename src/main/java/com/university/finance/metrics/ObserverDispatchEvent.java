@@ -0,0 +1,53 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Événement Java Flight Recorder émis pour la livraison d'une transaction à un observer.
+ * Seules les livraisons de plus de 5 ms sont enregistrées par défaut.
+ */
+@Name("com.university.finance.ObserverDispatch")
+@Label("Observer Dispatch")
+@Description("Livraison d'une transaction à un observer")
+@Category({"Banking", "Observers"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class ObserverDispatchEvent extends Event {
+
+    @Label("Observer")
+    String observer;
+
+    @Label("Transaction Id")
+    String transactionId;
+
+    @Label("Transaction Type")
+    String transactionType;
+
+    @Label("Error")
+    boolean error;
+
+    /**
+     * Termine la mesure et enregistre l'événement s'il dépasse le seuil.
+     *
+     * @param observerName Nom de l'observer
+     * @param transaction  Transaction livrée
+     * @param error        true si l'observer a levé une exception
+     */
+    public void finish(String observerName, Transaction transaction, boolean error) {
+        end();
+        if (shouldCommit()) {
+            this.observer = observerName;
+            this.transactionId = transaction.getId();
+            this.transactionType = transaction.getType().name();
+            this.error = error;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.pattern.observer.CircuitBreaker;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Rend les métriques du service bancaire et de la JVM au format Prometheus.
+ *
+ * Compteurs et histogrammes de latence par type de transaction, temps de
+ * livraison et erreurs par observer, file d'attente des observers, nombres
+ * d'utilisateurs et de comptes, tas et ramasse-miettes de la JVM.
+ *
+ * Les tableaux de travail sont réutilisés d'une collecte à l'autre: une instance
+ * ne doit être utilisée que par un thread à la fois.
+ */
+public class PrometheusExporter {
+
+    // Bornes des seaux d'histogramme, de 1 µs à 1 s
+    private static final long[] BOUNDS = {
+            1_000L, 5_000L, 10_000L, 50_000L, 100_000L, 500_000L,
+            1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L, 100_000_000L, 500_000_000L, 1_000_000_000L
+    };
+    private static final byte[][] BOUND_LABELS = new byte[BOUNDS.length][];
+    private static final byte[] INFINITY = "+Inf".getBytes(StandardCharsets.US_ASCII);
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final String[] TYPE_LABELS = new String[TYPES.length];
+    private static final CircuitBreaker.State[] CIRCUIT_STATES = CircuitBreaker.State.values();
+    private static final String[] CIRCUIT_LABELS = new String[CIRCUIT_STATES.length];
+
+    static {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            BOUND_LABELS[i] = BigDecimal.valueOf(BOUNDS[i], 9).stripTrailingZeros().toPlainString()
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+        for (int i = 0; i < TYPES.length; i++) {
+            TYPE_LABELS[i] = TYPES[i].name().toLowerCase(Locale.ROOT);
+        }
+        for (int i = 0; i < CIRCUIT_STATES.length; i++) {
+            CIRCUIT_LABELS[i] = CIRCUIT_STATES[i].name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final BankingService bankingService;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] cumulative = new long[BOUNDS.length];
+
+    /**
+     * Constructeur.
+     *
+     * @param bankingService Service dont les métriques sont exportées
+     */
+    public PrometheusExporter(BankingService bankingService) {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire est requis");
+        }
+        this.bankingService = bankingService;
+    }
+
+    /**
+     * Écrit une collecte complète.
+     *
+     * @param out Écrivain (vidé par l'appelant)
+     */
+    public void render(PrometheusWriter out) {
+        TransactionService transactionService = bankingService.getTransactionService();
+        MetricsRegistry metrics = transactionService.getMetrics();
+        if (metrics != null) {
+            renderTransactions(out, metrics);
+            renderObservers(out, metrics);
+        }
+
+        out.family("banking_observer_queue_depth", "gauge", "Livraisons en attente dans l'exécuteur des observers")
+                .sample("banking_observer_queue_depth").value(queueDepth(transactionService.getObserverExecutor()));
+        renderIsolatedQueues(out, transactionService.getIsolatedObservers());
+        out.family("banking_users", "gauge", "Nombre d'utilisateurs")
+                .sample("banking_users").value(bankingService.getUserCount());
+        out.family("banking_accounts", "gauge", "Nombre de comptes")
+                .sample("banking_accounts").value(bankingService.getAccountCount());
+
+        renderJvm(out);
+    }
+
+    private void renderTransactions(PrometheusWriter out, MetricsRegistry metrics) {
+        out.family("banking_transactions_total", "counter", "Opérations exécutées par type");
+        for (int i = 0; i < TYPES.length; i++) {
+            out.sample("banking_transactions_total").label("type", TYPE_LABELS[i])
+                    .value(metrics.getOperation(TYPES[i]).getCount());
+        }
+        out.family("banking_transaction_failures_total", "counter", "Opérations refusées par type");
+        for (int i = 0; i < TYPES.length; i++) {
+            out.sample("banking_transaction_failures_total").label("type", TYPE_LABELS[i])
+                    .value(metrics.getOperation(TYPES[i]).getFailures());
+        }
+        out.family("banking_transaction_amount_total", "counter", "Montant cumulé des opérations réussies");
+        for (int i = 0; i < TYPES.length; i++) {
+            out.sample("banking_transaction_amount_total").label("type", TYPE_LABELS[i])
+                    .decimal(metrics.getOperation(TYPES[i]).getAmount());
+        }
+        out.family("banking_transaction_duration_seconds", "histogram", "Durée d'exécution des stratégies");
+        for (int i = 0; i < TYPES.length; i++) {
+            histogram(out, "banking_transaction_duration_seconds", "type", TYPE_LABELS[i],
+                    metrics.getOperation(TYPES[i]).getLatencies());
+        }
+    }
+
+    private void renderObservers(PrometheusWriter out, MetricsRegistry metrics) {
+        out.family("banking_observer_delivery_seconds", "histogram", "Durée de livraison aux observers");
+        for (String name : metrics.getObserverNames()) {
+            histogram(out, "banking_observer_delivery_seconds", "observer", name,
+                    metrics.getDelivery(name).getLatencies());
+        }
+        out.family("banking_observer_errors_total", "counter", "Exceptions levées par les observers");
+        for (String name : metrics.getObserverNames()) {
+            out.sample("banking_observer_errors_total").label("observer", name)
+                    .value(metrics.getDelivery(name).getErrors());
+        }
+        out.family("banking_observer_timeouts_total", "counter", "Livraisons ayant dépassé leur budget de temps");
+        for (String name : metrics.getObserverNames()) {
+            out.sample("banking_observer_timeouts_total").label("observer", name)
+                    .value(metrics.getDelivery(name).getTimeouts());
+        }
+        out.family("banking_observer_rejected_total", "counter",
+                "Transactions non livrées (disjoncteur ouvert ou file pleine)");
+        for (String name : metrics.getObserverNames()) {
+            out.sample("banking_observer_rejected_total").label("observer", name)
+                    .value(metrics.getDelivery(name).getRejected());
+        }
+        out.family("banking_observer_spilled_total", "counter",
+                "Transactions écrites dans la file de débordement sur disque");
+        for (String name : metrics.getObserverNames()) {
+            out.sample("banking_observer_spilled_total").label("observer", name)
+                    .value(metrics.getDelivery(name).getSpilled());
+        }
+        out.family("banking_observer_circuit_state", "gauge", "État du disjoncteur (0 fermé, 1 ouvert, 2 semi-ouvert)");
+        for (String name : metrics.getObserverNames()) {
+            out.sample("banking_observer_circuit_state").label("observer", name)
+                    .value(metrics.getDelivery(name).getCircuitState().ordinal());
+        }
+        out.family("banking_observer_circuit_transitions_total", "counter", "Changements d'état du disjoncteur");
+        for (String name : metrics.getObserverNames()) {
+            for (int i = 0; i < CIRCUIT_STATES.length; i++) {
+                out.sample("banking_observer_circuit_transitions_total").label("observer", name)
+                        .label("state", CIRCUIT_LABELS[i])
+                        .value(metrics.getDelivery(name).getTransitions(CIRCUIT_STATES[i]));
+            }
+        }
+    }
+
+    private void renderIsolatedQueues(PrometheusWriter out, Collection<IsolatedObserver> isolated) {
+        out.family("banking_observer_isolated_queue_size", "gauge",
+                "Livraisons en attente en mémoire pour un observer isolé");
+        for (IsolatedObserver observer : isolated) {
+            out.sample("banking_observer_isolated_queue_size").label("observer", observer.getName())
+                    .value(observer.getQueueSize());
+        }
+        out.family("banking_observer_spill_size", "gauge",
+                "Transactions en attente sur disque pour un observer isolé");
+        for (IsolatedObserver observer : isolated) {
+            out.sample("banking_observer_spill_size").label("observer", observer.getName())
+                    .value(observer.getSpillSize());
+        }
+    }
+
+    private void histogram(PrometheusWriter out, String name, String labelKey, String labelValue,
+                           LatencyHistogram histogram) {
+        long total = histogram.cumulativeCounts(BOUNDS, cumulative);
+        for (int i = 0; i < BOUNDS.length; i++) {
+            out.sample(name, "_bucket").label(labelKey, labelValue).label("le", BOUND_LABELS[i])
+                    .value(cumulative[i]);
+        }
+        out.sample(name, "_bucket").label(labelKey, labelValue).label("le", INFINITY).value(total);
+        out.sample(name, "_sum").label(labelKey, labelValue).seconds(histogram.getSum());
+        out.sample(name, "_count").label(labelKey, labelValue).value(total);
+    }
+
+    private void renderJvm(PrometheusWriter out) {
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        out.family("jvm_memory_heap_used_bytes", "gauge", "Tas utilisé")
+                .sample("jvm_memory_heap_used_bytes").value(heap.getUsed());
+        out.family("jvm_memory_heap_committed_bytes", "gauge", "Tas réservé")
+                .sample("jvm_memory_heap_committed_bytes").value(heap.getCommitted());
+        out.family("jvm_memory_heap_max_bytes", "gauge", "Taille maximale du tas (-1 si non définie)")
+                .sample("jvm_memory_heap_max_bytes").value(heap.getMax());
+        out.family("jvm_gc_collections_total", "counter", "Collections par ramasse-miettes");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.sample("jvm_gc_collections_total").label("gc", collector.getName())
+                    .value(Math.max(0, collector.getCollectionCount()));
+        }
+        out.family("jvm_gc_collection_seconds_total", "counter", "Temps passé en collection par ramasse-miettes");
+        for (GarbageCollectorMXBean collector : collectors) {
+            out.sample("jvm_gc_collection_seconds_total").label("gc", collector.getName())
+                    .seconds(Math.max(0, collector.getCollectionTime()) * 1_000_000L);
+        }
+    }
+
+    private static long queueDepth(Executor executor) {
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+}
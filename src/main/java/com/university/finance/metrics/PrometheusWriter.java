@@ -0,0 +1,335 @@
+package com.university.finance.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodeur du format texte d'exposition Prometheus (version 0.0.4), écrit
+ * directement en UTF-8 dans un tampon réutilisable. Après {@link #reset()},
+ * le rendu d'une collecte n'alloue rien: noms, libellés et nombres sont
+ * recopiés octet par octet.
+ *
+ * <pre>
+ * writer.family("banking_accounts", "gauge", "Nombre de comptes")
+ *       .sample("banking_accounts").value(42);
+ * writer.sample("banking_transactions_total").label("type", "deposit").value(7);
+ * </pre>
+ */
+public final class PrometheusWriter {
+
+    private static final byte[] HELP = "# HELP ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TYPE = "# TYPE ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int size;
+    // Vrai entre la première étiquette d'un échantillon et sa valeur
+    private boolean inLabels;
+
+    /**
+     * Crée un écrivain avec un tampon de 16 Ko.
+     */
+    public PrometheusWriter() {
+        this(16 * 1024);
+    }
+
+    /**
+     * Crée un écrivain.
+     *
+     * @param initialCapacity Capacité initiale du tampon en octets
+     */
+    public PrometheusWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Vide le tampon pour une nouvelle collecte (la capacité est conservée).
+     *
+     * @return Cet écrivain
+     */
+    public PrometheusWriter reset() {
+        size = 0;
+        inLabels = false;
+        return this;
+    }
+
+    // ==================== Structure ====================
+
+    /**
+     * Écrit l'en-tête d'une famille de métriques ({@code # HELP} et {@code # TYPE}).
+     *
+     * @param name Nom de la métrique
+     * @param type counter, gauge, histogram ou summary
+     * @param help Description
+     * @return Cet écrivain
+     */
+    public PrometheusWriter family(String name, String type, String help) {
+        raw(HELP);
+        text(name);
+        raw(' ');
+        for (int i = 0; i < help.length(); i++) {
+            char c = help.charAt(i);
+            if (c == '\\') {
+                raw('\\');
+                raw('\\');
+            } else if (c == '\n') {
+                raw('\\');
+                raw('n');
+            } else {
+                utf8(c);
+            }
+        }
+        raw('\n');
+        raw(TYPE);
+        text(name);
+        raw(' ');
+        text(type);
+        return raw('\n');
+    }
+
+    /**
+     * Commence un échantillon.
+     *
+     * @param name Nom de la métrique
+     * @return Cet écrivain
+     */
+    public PrometheusWriter sample(String name) {
+        text(name);
+        return this;
+    }
+
+    /**
+     * Commence un échantillon dont le nom porte un suffixe ({@code _bucket}, {@code _sum}...),
+     * sans concaténer de chaîne.
+     *
+     * @param name   Nom de la métrique
+     * @param suffix Suffixe
+     * @return Cet écrivain
+     */
+    public PrometheusWriter sample(String name, String suffix) {
+        text(name);
+        text(suffix);
+        return this;
+    }
+
+    /**
+     * Ajoute une étiquette à l'échantillon courant.
+     *
+     * @param key   Nom de l'étiquette
+     * @param value Valeur (échappée)
+     * @return Cet écrivain
+     */
+    public PrometheusWriter label(String key, String value) {
+        raw(inLabels ? ',' : '{');
+        inLabels = true;
+        text(key);
+        raw('=');
+        raw('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                raw('\\');
+                raw((byte) c);
+            } else if (c == '\n') {
+                raw('\\');
+                raw('n');
+            } else {
+                utf8(c);
+            }
+        }
+        return raw('"');
+    }
+
+    /**
+     * Ajoute une étiquette déjà encodée (par exemple les bornes {@code le} précalculées).
+     *
+     * @param key   Nom de l'étiquette
+     * @param value Valeur en ASCII, sans caractère à échapper
+     * @return Cet écrivain
+     */
+    public PrometheusWriter label(String key, byte[] value) {
+        raw(inLabels ? ',' : '{');
+        inLabels = true;
+        text(key);
+        raw('=');
+        raw('"');
+        raw(value);
+        return raw('"');
+    }
+
+    // ==================== Valeurs ====================
+
+    /**
+     * Termine l'échantillon avec une valeur entière.
+     *
+     * @param value Valeur
+     * @return Cet écrivain
+     */
+    public PrometheusWriter value(long value) {
+        endLabels();
+        digits(value);
+        return raw('\n');
+    }
+
+    /**
+     * Termine l'échantillon avec une durée en nanosecondes, exprimée en secondes.
+     *
+     * @param nanos Durée en nanosecondes
+     * @return Cet écrivain
+     */
+    public PrometheusWriter seconds(long nanos) {
+        endLabels();
+        if (nanos < 0) {
+            raw('-');
+            nanos = -nanos;
+        }
+        digits(nanos / 1_000_000_000L);
+        raw('.');
+        padded(nanos % 1_000_000_000L, 9);
+        return raw('\n');
+    }
+
+    /**
+     * Termine l'échantillon avec une valeur décimale arrondie au centième (montants).
+     *
+     * @param value Valeur
+     * @return Cet écrivain
+     */
+    public PrometheusWriter decimal(double value) {
+        endLabels();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            raw(NAN);
+            return raw('\n');
+        }
+        long cents = Math.round(value * 100.0);
+        if (cents < 0) {
+            raw('-');
+            cents = -cents;
+        }
+        digits(cents / 100);
+        raw('.');
+        padded(cents % 100, 2);
+        return raw('\n');
+    }
+
+    // ==================== Sortie ====================
+
+    /**
+     * Retourne le nombre d'octets écrits.
+     *
+     * @return Taille de la collecte
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Écrit la collecte dans un flux.
+     *
+     * @param out Flux de sortie
+     * @throws IOException Si l'écriture échoue
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /**
+     * Retourne une copie de la collecte, qui reste valide après {@link #reset()}.
+     *
+     * @return Octets écrits
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Retourne la collecte sous forme de chaîne (copie, pour les tests et le débogage).
+     *
+     * @return Texte au format Prometheus
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Encodage bas niveau ====================
+
+    private void endLabels() {
+        if (inLabels) {
+            raw('}');
+            inLabels = false;
+        }
+        raw(' ');
+    }
+
+    private void text(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            utf8(value.charAt(i));
+        }
+    }
+
+    private void utf8(char c) {
+        if (c < 0x80) {
+            raw((byte) c);
+        } else if (c < 0x800) {
+            raw((byte) (0xC0 | (c >> 6)));
+            raw((byte) (0x80 | (c & 0x3F)));
+        } else {
+            // Les surrogates isolés sont recopiés tels quels: les noms JVM et métier sont en BMP
+            raw((byte) (0xE0 | (c >> 12)));
+            raw((byte) (0x80 | ((c >> 6) & 0x3F)));
+            raw((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    private void digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            raw(MIN_LONG);
+            return;
+        }
+        if (value < 0) {
+            raw('-');
+            value = -value;
+        }
+        int length = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            length++;
+        }
+        padded(value, length);
+    }
+
+    private void padded(long value, int width) {
+        ensure(width);
+        for (int i = size + width - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += width;
+    }
+
+    private PrometheusWriter raw(char c) {
+        return raw((byte) c);
+    }
+
+    private PrometheusWriter raw(byte b) {
+        ensure(1);
+        buffer[size++] = b;
+        return this;
+    }
+
+    private PrometheusWriter raw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    private void ensure(int bytes) {
+        if (size + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Événement Java Flight Recorder émis pour l'exécution d'une stratégie de transaction.
+ *
+ * Seules les exécutions de plus d'une milliseconde sont enregistrées par défaut
+ * (seuil modifiable dans les réglages de l'enregistrement). Hors enregistrement,
+ * {@link #shouldCommit()} est faux et aucun champ n'est renseigné: le coût se
+ * limite à une allocation que le JIT élimine.
+ */
+@Name("com.university.finance.TransactionExecution")
+@Label("Transaction Execution")
+@Description("Exécution d'une stratégie de dépôt, retrait ou transfert")
+@Category({"Banking", "Transactions"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class TransactionExecutionEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Amount Bucket")
+    @Description("Puissance de dix immédiatement supérieure au montant")
+    long amountBucket;
+
+    @Label("Account")
+    String accountId;
+
+    @Label("Target Account")
+    String targetAccountId;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * Termine la mesure et enregistre l'événement s'il dépasse le seuil.
+     *
+     * @param type    Type de transaction
+     * @param amount  Montant demandé
+     * @param account Compte débité ou crédité (source d'un transfert)
+     * @param target  Compte destination d'un transfert, ou null
+     * @param success false si la stratégie a refusé l'opération
+     */
+    public void finish(TransactionType type, double amount, Account account, Account target, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.type = type.name();
+            this.amountBucket = amountBucket(amount);
+            this.accountId = account == null ? null : account.getId();
+            this.targetAccountId = target == null ? null : target.getId();
+            this.success = success;
+            commit();
+        }
+    }
+
+    static long amountBucket(double amount) {
+        long bucket = 1;
+        while (bucket <= amount && bucket < 1_000_000_000_000L) {
+            bucket *= 10;
+        }
+        return bucket;
+    }
+}
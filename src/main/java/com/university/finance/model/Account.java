@@ -4,19 +4,28 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Représente un compte bancaire.
  * Contient le solde et l'historique des transactions.
+ * Thread-safe: les modifications sont protégées par un {@link ReentrantLock}
+ * plutôt que par {@code synchronized}, pour ne pas bloquer les threads porteurs
+ * des threads virtuels.
  */
 public class Account {
     private final String id;
     private final User owner;
-    private double balance;
+    private volatile double balance;
     private final List<Transaction> transactions;
+    private final ReentrantLock lock;
+    private final AccountTier tier;
+    // Limites résolues, en cache tant que la configuration ne les remplace pas
+    private volatile TierLimits limits;
 
     /**
      * Constructeur de Account.
+     * La gamme du compte est déduite de son identifiant (voir {@link AccountTier#fromAccountId(String)}).
      *
      * @param id            Identifiant unique du compte
      * @param owner         Propriétaire du compte
@@ -30,6 +39,8 @@ public class Account {
         this.owner = owner;
         this.balance = initialBalance;
         this.transactions = new ArrayList<>();
+        this.lock = new ReentrantLock();
+        this.tier = AccountTier.fromAccountId(id);
     }
 
     // Getters
@@ -45,8 +56,86 @@ public class Account {
         return balance;
     }
 
+    public AccountTier getTier() {
+        return tier;
+    }
+
+    /**
+     * Retourne les limites mises en cache sur ce compte.
+     *
+     * @return Limites (éventuellement périmées), ou null si elles n'ont jamais été résolues
+     */
+    public TierLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Met en cache les limites résolues pour ce compte.
+     *
+     * @param limits Limites du compte
+     */
+    public void setLimits(TierLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Retourne le verrou du compte, pour garder plusieurs opérations atomiques
+     * (les méthodes du compte le prennent aussi; il est réentrant).
+     *
+     * @return Verrou du compte
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Retourne une copie de l'historique des transactions.
+     *
+     * @return Liste non modifiable des transactions
+     */
     public List<Transaction> getTransactions() {
-        return Collections.unmodifiableList(transactions);
+        lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(transactions));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne une copie d'une page de l'historique: seule la page est copiée.
+     *
+     * @param offset Index de la première transaction
+     * @param limit  Nombre maximal de transactions
+     * @return Liste non modifiable des transactions de la page (vide au-delà de la fin)
+     * @throws IllegalArgumentException si offset ou limit est négatif
+     */
+    public List<Transaction> getTransactions(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset et limit doivent être positifs");
+        }
+        lock.lock();
+        try {
+            int from = Math.min(offset, transactions.size());
+            int to = (int) Math.min((long) from + limit, transactions.size());
+            return Collections.unmodifiableList(new ArrayList<>(transactions.subList(from, to)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre de transactions de l'historique.
+     *
+     * @return Taille de l'historique
+     */
+    public int getTransactionCount() {
+        lock.lock();
+        try {
+            return transactions.size();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -59,22 +148,36 @@ public class Account {
         if (amount <= 0) {
             return false;
         }
-        this.balance += amount;
-        return true;
+        lock.lock();
+        try {
+            this.balance += amount;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Débite le compte du montant spécifié.
+     * Débite le compte du montant spécifié, sans descendre sous le solde minimum
+     * des limites en cache (résolues par le service avant l'opération).
      *
-     * @param amount Montant à débiter (doit être positif et <= solde)
+     * @param amount Montant à débiter (doit être positif et <= solde - solde minimum)
      * @return true si l'opération a réussi
      */
     public boolean debit(double amount) {
-        if (amount <= 0 || amount > this.balance) {
+        if (amount <= 0) {
             return false;
         }
-        this.balance -= amount;
-        return true;
+        lock.lock();
+        try {
+            if (amount > this.balance - balanceFloor()) {
+                return false;
+            }
+            this.balance -= amount;
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -83,17 +186,28 @@ public class Account {
      * @param transaction Transaction à ajouter
      */
     public void addTransaction(Transaction transaction) {
-        this.transactions.add(transaction);
+        lock.lock();
+        try {
+            this.transactions.add(transaction);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Vérifie si le compte a suffisamment de fonds.
+     * Vérifie si le compte a suffisamment de fonds au-dessus du solde minimum.
      *
      * @param amount Montant requis
      * @return true si le solde est suffisant
      */
     public boolean hasSufficientFunds(double amount) {
-        return this.balance >= amount;
+        return this.balance - balanceFloor() >= amount;
+    }
+
+    // min.balance des limites en cache (0 sans limites); un minimum négatif n'ouvre pas de découvert
+    private double balanceFloor() {
+        TierLimits cached = limits;
+        return cached == null ? 0.0 : Math.max(0.0, cached.getMinBalance());
     }
 
     @Override
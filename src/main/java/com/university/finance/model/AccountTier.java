@@ -0,0 +1,43 @@
+package com.university.finance.model;
+
+/**
+ * Gamme de produit d'un compte, qui détermine ses limites
+ * (clés {@code tier.<clé>.*} de la configuration).
+ * La gamme se déduit de l'identifiant: les comptes premium sont préfixés par
+ * {@value #PREMIUM_PREFIX}, ce qui la conserve aussi pour les copies de comptes
+ * reçues d'une partition distante.
+ */
+public enum AccountTier {
+    STANDARD("standard"),
+    PREMIUM("premium");
+
+    /**
+     * Préfixe des identifiants de comptes premium.
+     */
+    public static final String PREMIUM_PREFIX = "PRM-";
+
+    private final String key;
+
+    AccountTier(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Retourne le nom de la gamme dans les clés de configuration.
+     *
+     * @return Clé (par exemple {@code premium})
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Déduit la gamme d'un compte de son identifiant.
+     *
+     * @param accountId Identifiant du compte
+     * @return Gamme du compte
+     */
+    public static AccountTier fromAccountId(String accountId) {
+        return accountId != null && accountId.startsWith(PREMIUM_PREFIX) ? PREMIUM : STANDARD;
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.finance.model;
+
+/**
+ * Limites résolues d'un compte (configuration globale, puis gamme, puis compte).
+ *
+ * Les valeurs sont immuables. Une instance est mise en cache sur le
+ * {@link Account} et reste valable tant que la configuration n'a pas modifié
+ * les limites qu'elle représente; elle est alors marquée périmée et le compte
+ * résout à nouveau ses limites au prochain accès.
+ */
+public final class TierLimits {
+
+    private final double maxTransfer;
+    private final double minBalance;
+    private volatile boolean stale;
+
+    /**
+     * Constructeur.
+     *
+     * @param maxTransfer Montant maximum d'un transfert
+     * @param minBalance  Solde minimum
+     * @throws IllegalArgumentException si le montant maximum n'est pas positif
+     */
+    public TierLimits(double maxTransfer, double minBalance) {
+        if (!(maxTransfer > 0)) {
+            throw new IllegalArgumentException("max.transfer doit être positif: " + maxTransfer);
+        }
+        this.maxTransfer = maxTransfer;
+        this.minBalance = minBalance;
+    }
+
+    public double getMaxTransfer() {
+        return maxTransfer;
+    }
+
+    public double getMinBalance() {
+        return minBalance;
+    }
+
+    /**
+     * Indique si ces limites ont été remplacées par une nouvelle configuration.
+     *
+     * @return true si les limites doivent être résolues à nouveau
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Marque ces limites comme périmées.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Compare les valeurs (et non l'état de validité) de deux limites.
+     *
+     * @param other Autres limites
+     * @return true si les valeurs sont identiques
+     */
+    public boolean hasSameValues(TierLimits other) {
+        return other != null && Double.compare(maxTransfer, other.maxTransfer) == 0
+                && Double.compare(minBalance, other.minBalance) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "TierLimits{maxTransfer=" + maxTransfer + ", minBalance=" + minBalance + '}';
+    }
+}
@@ -62,10 +62,26 @@ public class Transaction {
      */
     public Transaction(String id, TransactionType type, double amount, 
                        Account fromAccount, Account toAccount, String description) {
+        this(id, type, amount, LocalDateTime.now(), fromAccount, toAccount, description);
+    }
+
+    /**
+     * Constructeur d'une transaction déjà horodatée (par exemple reçue d'une autre JVM).
+     *
+     * @param id          Identifiant unique de la transaction
+     * @param type        Type de transaction
+     * @param amount      Montant de la transaction
+     * @param timestamp   Date d'exécution
+     * @param fromAccount Compte source
+     * @param toAccount   Compte destination
+     * @param description Description de la transaction
+     */
+    public Transaction(String id, TransactionType type, double amount, LocalDateTime timestamp,
+                       Account fromAccount, Account toAccount, String description) {
         this.id = id;
         this.type = type;
         this.amount = amount;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.fromAccount = fromAccount;
         this.toAccount = toAccount;
         this.description = description;
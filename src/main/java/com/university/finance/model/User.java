@@ -64,7 +64,7 @@ public class User {
      * @return true si le mot de passe correspond
      */
     public boolean checkPassword(String password) {
-        return this.password.equals(password);
+        return this.password != null && this.password.equals(password);
     }
 
     @Override
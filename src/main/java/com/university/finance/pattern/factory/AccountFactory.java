@@ -1,6 +1,7 @@
 package com.university.finance.pattern.factory;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.AccountTier;
 import com.university.finance.model.User;
 
 import java.util.UUID;
@@ -66,8 +67,8 @@ public class AccountFactory {
     }
 
     /**
-     * Crée un compte premium avec des avantages spéciaux.
-     * (Pour extensions futures)
+     * Crée un compte premium. Son identifiant porte le préfixe {@link AccountTier#PREMIUM_PREFIX},
+     * qui lui donne les limites de la gamme premium ({@code tier.premium.*}).
      *
      * @param owner          Propriétaire du compte
      * @param initialDeposit Dépôt initial (minimum 1000€ pour compte premium)
@@ -83,7 +84,7 @@ public class AccountFactory {
         }
         validateInitialDeposit(initialDeposit);
 
-        String id = "PRM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        String id = AccountTier.PREMIUM_PREFIX + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         return new Account(id, owner, initialDeposit);
     }
 
@@ -123,10 +124,12 @@ public class AccountFactory {
 
     /**
      * Génère un identifiant unique pour le compte.
+     * Public pour permettre de choisir l'emplacement d'un compte (partition)
+     * avant sa création.
      *
      * @return Identifiant unique
      */
-    private String generateAccountId() {
+    public String generateAccountId() {
         return "ACC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 }
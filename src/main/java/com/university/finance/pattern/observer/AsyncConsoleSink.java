@@ -0,0 +1,257 @@
+package com.university.finance.pattern.observer;
+
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Sortie console asynchrone partagée par les observers.
+ *
+ * {@link PrintStream} est synchronisé: appelé depuis les threads de transaction,
+ * {@code System.out.println} les sérialise tous sur la sortie standard. Ici, les
+ * threads déposent leurs lignes dans une file sans verrou et un unique thread
+ * d'écriture les regroupe en écritures de grande taille (jusqu'à
+ * {@value #BATCH_BYTES} octets). Au-delà de la capacité de la file, les lignes
+ * sont abandonnées et comptées plutôt que de ralentir les transactions.
+ */
+public class AsyncConsoleSink implements ConsoleSink, AutoCloseable {
+
+    /**
+     * Nombre maximum de lignes en attente par défaut.
+     */
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    // Taille visée d'une écriture
+    static final int BATCH_BYTES = 64 * 1024;
+
+    private static final byte[] NEWLINE = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int capacity;
+    private final Supplier<PrintStream> target;
+    private final Charset charset = Charset.defaultCharset();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    // Compteurs du thread d'écriture (publiés pour flush() et les statistiques)
+    private volatile long written;
+    private volatile long batches;
+    private volatile boolean parked;
+    private volatile boolean running = true;
+
+    // Tampon réutilisé par le thread d'écriture et nombre de lignes qu'il contient
+    private byte[] buffer = new byte[BATCH_BYTES];
+    private int length;
+    private int bufferedLines;
+
+    /**
+     * Crée une sortie vers {@code System.out} (relu à chaque écriture, pour suivre
+     * une éventuelle redirection).
+     *
+     * @param capacity Nombre maximum de lignes en attente
+     */
+    public AsyncConsoleSink(int capacity) {
+        this(capacity, () -> System.out);
+    }
+
+    /**
+     * Crée une sortie vers un flux choisi.
+     *
+     * @param capacity Nombre maximum de lignes en attente
+     * @param target   Fournit le flux de destination
+     */
+    public AsyncConsoleSink(int capacity, Supplier<PrintStream> target) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        this.capacity = capacity;
+        this.target = target;
+        this.writer = new Thread(this::run, "console-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static final class Holder {
+        static final AsyncConsoleSink SHARED = createShared();
+
+        private static AsyncConsoleSink createShared() {
+            AsyncConsoleSink sink = new AsyncConsoleSink(DEFAULT_CAPACITY);
+            // Les lignes encore en file sont écrites à l'arrêt de la JVM
+            Runtime.getRuntime().addShutdownHook(new Thread(sink::close, "console-writer-shutdown"));
+            return sink;
+        }
+    }
+
+    /**
+     * Retourne la sortie partagée (créée au premier appel).
+     *
+     * @return Sortie console partagée
+     */
+    public static AsyncConsoleSink shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Dépose une ligne sans attendre son écriture.
+     *
+     * @param line Ligne à afficher
+     */
+    @Override
+    public void println(String line) {
+        offer(line);
+    }
+
+    /**
+     * Dépose une ligne sans attendre son écriture.
+     *
+     * @param line Ligne à afficher
+     * @return false si la file est pleine (ligne abandonnée) ou la sortie fermée
+     */
+    public boolean offer(String line) {
+        if (!running || pending.incrementAndGet() > capacity) {
+            if (running) {
+                pending.decrementAndGet();
+            }
+            dropped.increment();
+            return false;
+        }
+        accepted.increment();
+        queue.offer(line);
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void run() {
+        while (true) {
+            String line = queue.poll();
+            if (line != null) {
+                pending.decrementAndGet();
+                append(line);
+                if (length >= BATCH_BYTES) {
+                    writeBatch();
+                }
+                continue;
+            }
+            if (length > 0) {
+                writeBatch();
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            parked = true;
+            if (queue.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+            parked = false;
+        }
+    }
+
+    private void append(String line) {
+        byte[] bytes = line.getBytes(charset);
+        ensure(bytes.length + NEWLINE.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+        System.arraycopy(NEWLINE, 0, buffer, length, NEWLINE.length);
+        length += NEWLINE.length;
+        bufferedLines++;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private void writeBatch() {
+        PrintStream out = target.get();
+        out.write(buffer, 0, length);
+        out.flush();
+        length = 0;
+        written += bufferedLines;
+        bufferedLines = 0;
+        batches++;
+        if (buffer.length > BATCH_BYTES * 4) {
+            // Une ligne exceptionnellement longue ne garde pas un tampon démesuré
+            buffer = new byte[BATCH_BYTES];
+        }
+    }
+
+    /**
+     * Attend que toutes les lignes déposées avant l'appel soient écrites.
+     *
+     * @param timeoutMillis Attente maximale
+     * @return true si tout a été écrit à temps
+     */
+    public boolean flush(long timeoutMillis) {
+        long expected = accepted.sum();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written < expected) {
+            if (System.nanoTime() > deadline || !writer.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Retourne le nombre de lignes abandonnées faute de place.
+     *
+     * @return Nombre de lignes abandonnées
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Retourne le nombre de lignes écrites.
+     *
+     * @return Nombre de lignes écrites
+     */
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * Retourne le nombre d'écritures effectuées sur le flux (chacune regroupe plusieurs lignes).
+     *
+     * @return Nombre d'écritures
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Retourne le nombre de lignes en attente.
+     *
+     * @return Lignes en file
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Écrit les lignes en attente puis arrête le thread d'écriture.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
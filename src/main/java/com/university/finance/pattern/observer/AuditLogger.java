@@ -1,36 +1,65 @@
 package com.university.finance.pattern.observer;
 
+import com.university.finance.audit.AuditChainWriter;
+import com.university.finance.audit.AuditFormat;
+import com.university.finance.audit.AuditRecordEncoder;
 import com.university.finance.model.Transaction;
 
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Observer qui journalise toutes les transactions pour l'audit.
  * Implémente le pattern Observer pour le système de logging.
+ * Peut être notifié depuis plusieurs threads (livraison asynchrone des observers).
+ *
+ * Le fichier reste ouvert entre deux entrées (à fermer par {@link #close()}); en format
+ * binaire, un fichier existant dont l'en-tête n'est pas celui du journal binaire n'est
+ * jamais complété.
+ * L'entrée n'est décodée en chaîne que pour l'historique en mémoire et la console;
+ * sans eux, une entrée n'alloue rien une fois les tampons dimensionnés, et le format
+ * binaire ne passe plus par le formatage texte.
  */
-public class AuditLogger implements TransactionObserver {
+public class AuditLogger implements TransactionObserver, AutoCloseable {
 
     private static final String NAME = "AuditLogger";
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final String CONSOLE_PREFIX = "[AUDIT] ";
 
     private final List<String> auditLog;
     private final String logFilePath;
-    private boolean writeToFile;
+    private final AuditFormat format;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Tampon de formatage réutilisé, protégé par le verrou
+    private final AuditRecordFormatter formatter = new AuditRecordFormatter();
+    // Encodeur du format binaire (null en format texte), protégé par le verrou
+    private final AuditRecordEncoder encoder;
+    // Écriture chaînée et signée en arrière-plan (null sinon)
+    private final AuditChainWriter chainWriter;
+    // Fichier de log ouvert à la première écriture, protégé par le verrou
+    private OutputStream logFile;
+    private int logCount;
+    private volatile boolean writeToFile;
+    private volatile boolean keepHistory = true;
+    private volatile boolean consoleEnabled = true;
+    private volatile ConsoleSink console = AsyncConsoleSink.shared();
 
     /**
      * Constructeur par défaut (log en mémoire uniquement).
      */
     public AuditLogger() {
-        this.auditLog = new ArrayList<>();
-        this.logFilePath = null;
-        this.writeToFile = false;
+        this(null, AuditFormat.TEXT);
     }
 
     /**
@@ -39,22 +68,85 @@ public class AuditLogger implements TransactionObserver {
      * @param logFilePath Chemin du fichier de log
      */
     public AuditLogger(String logFilePath) {
+        this(logFilePath, AuditFormat.TEXT);
+    }
+
+    /**
+     * Constructeur avec chemin et format du fichier de log.
+     * En format binaire, le fichier est lisible avec {@link com.university.finance.audit.AuditLogTool}.
+     *
+     * @param logFilePath Chemin du fichier de log
+     * @param format      Format du fichier
+     */
+    public AuditLogger(String logFilePath, AuditFormat format) {
+        this(logFilePath, format, null);
+    }
+
+    /**
+     * Constructeur d'un journal binaire inviolable: les enregistrements sont remis au
+     * {@link AuditChainWriter}, qui les écrit, les hache et les signe en arrière-plan.
+     * Le writer reste à fermer par l'appelant.
+     *
+     * @param chainWriter Writer du journal chaîné
+     */
+    public AuditLogger(AuditChainWriter chainWriter) {
+        this(chainWriter == null ? null : chainWriter.getFile().toString(), AuditFormat.BINARY, chainWriter);
+        if (chainWriter == null) {
+            throw new IllegalArgumentException("Le writer du journal chaîné ne peut pas être null");
+        }
+    }
+
+    private AuditLogger(String logFilePath, AuditFormat format, AuditChainWriter chainWriter) {
+        if (format == null) {
+            throw new IllegalArgumentException("Le format d'audit ne peut pas être null");
+        }
         this.auditLog = new ArrayList<>();
         this.logFilePath = logFilePath;
+        this.format = format;
+        this.encoder = format == AuditFormat.BINARY ? new AuditRecordEncoder() : null;
+        this.chainWriter = chainWriter;
         this.writeToFile = logFilePath != null && !logFilePath.isEmpty();
     }
 
     @Override
     public void onTransaction(Transaction transaction) {
-        String logEntry = formatLogEntry(transaction);
-        auditLog.add(logEntry);
+        boolean history = keepHistory;
+        boolean toConsole = consoleEnabled;
+        String logEntry = null;
+        lock.lock();
+        try {
+            // Relu sous le verrou: setWriteToFile(false) ferme le fichier sous ce verrou
+            boolean toFile = writeToFile;
+            logCount++;
+            // Le texte n'est formaté que si une sortie texte le demande
+            if (history || toConsole || (toFile && encoder == null)) {
+                formatter.format(transaction);
+                if (history || toConsole) {
+                    logEntry = formatter.toString();
+                }
+                if (history) {
+                    auditLog.add(logEntry);
+                }
+            }
 
-        // Afficher dans la console
-        System.out.println("[AUDIT] " + logEntry);
+            // Écrire dans le fichier si configuré (octets du tampon, sans réencodage)
+            if (toFile) {
+                if (chainWriter != null) {
+                    encoder.encode(transaction, System.currentTimeMillis());
+                    chainWriter.append(encoder.buffer(), 0, encoder.length());
+                } else if (encoder != null) {
+                    writeBinaryRecord(transaction);
+                } else {
+                    writeToLogFile();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
 
-        // Écrire dans le fichier si configuré
-        if (writeToFile) {
-            writeToLogFile(logEntry);
+        // Afficher dans la console (sans bloquer le thread de la transaction)
+        if (toConsole) {
+            console.println(CONSOLE_PREFIX.concat(logEntry));
         }
     }
 
@@ -64,38 +156,104 @@ public class AuditLogger implements TransactionObserver {
     }
 
     /**
-     * Formate une entrée de log pour une transaction.
+     * Écrit l'entrée courante du formateur, suivie d'une fin de ligne, dans le
+     * fichier de log (une seule écriture). Appelée sous le verrou.
+     */
+    private void writeToLogFile() {
+        for (byte b : LINE_SEPARATOR) {
+            formatter.append(b);
+        }
+        try {
+            logFile().write(formatter.buffer(), 0, formatter.length());
+        } catch (IOException e) {
+            System.err.println("Erreur lors de l'écriture dans le fichier de log: " + e.getMessage());
+            closeLogFile();
+        }
+    }
+
+    /**
+     * Retourne le fichier de log, ouvert en ajout au premier appel. En format binaire,
+     * l'en-tête est écrit dans un fichier vide et vérifié dans un fichier existant.
+     * Appelée sous le verrou.
      *
-     * @param transaction Transaction à logger
-     * @return Entrée de log formatée
+     * @return Flux du fichier de log
+     * @throws IOException Si le fichier ne peut pas être ouvert ou n'est pas un journal binaire
      */
-    private String formatLogEntry(Transaction transaction) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[").append(LocalDateTime.now().format(FORMATTER)).append("] ");
-        sb.append("TX_ID: ").append(transaction.getId()).append(" | ");
-        sb.append("TYPE: ").append(transaction.getType().getLabel()).append(" | ");
-        sb.append("MONTANT: ").append(String.format("%.2f€", transaction.getAmount())).append(" | ");
-        
-        if (transaction.isTransfer()) {
-            sb.append("DE: ").append(transaction.getFromAccount().getId()).append(" | ");
-            sb.append("VERS: ").append(transaction.getToAccount().getId());
-        } else {
-            sb.append("COMPTE: ").append(transaction.getFromAccount().getId());
+    private OutputStream logFile() throws IOException {
+        if (logFile == null) {
+            FileOutputStream out = new FileOutputStream(logFilePath, true);
+            try {
+                if (encoder != null) {
+                    checkBinaryHeader(out);
+                }
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+            logFile = out;
         }
+        return logFile;
+    }
 
-        return sb.toString();
+    /**
+     * Écrit l'en-tête binaire dans un fichier vide, ou vérifie celui d'un fichier existant.
+     * Un fichier d'un autre format désactive l'écriture plutôt que d'y mêler des
+     * enregistrements binaires.
+     *
+     * @param out Flux du fichier, ouvert en ajout
+     * @throws IOException Si l'en-tête est absent ou invalide
+     */
+    private void checkBinaryHeader(FileOutputStream out) throws IOException {
+        Path path = Paths.get(logFilePath);
+        if (out.getChannel().size() == 0) {
+            out.write(AuditRecordEncoder.FILE_HEADER);
+            return;
+        }
+        byte[] header = new byte[AuditRecordEncoder.FILE_HEADER.length];
+        int read = 0;
+        try (InputStream in = Files.newInputStream(path)) {
+            while (read < header.length) {
+                int n = in.read(header, read, header.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+        }
+        if (read < header.length || !Arrays.equals(header, AuditRecordEncoder.FILE_HEADER)) {
+            writeToFile = false;
+            throw new IOException("Fichier d'audit binaire invalide, écriture désactivée: " + path);
+        }
     }
 
     /**
-     * Écrit une entrée dans le fichier de log.
+     * Ferme le fichier de log (rouvert à la prochaine écriture). Appelée sous le verrou.
+     */
+    private void closeLogFile() {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            logFile.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture du fichier de log: " + e.getMessage());
+        }
+        logFile = null;
+    }
+
+    /**
+     * Ajoute l'enregistrement binaire d'une transaction au fichier de log.
+     * Appelée sous le verrou.
      *
-     * @param logEntry Entrée à écrire
+     * @param transaction Transaction à journaliser
      */
-    private void writeToLogFile(String logEntry) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFilePath, true))) {
-            writer.println(logEntry);
+    private void writeBinaryRecord(Transaction transaction) {
+        encoder.encode(transaction, System.currentTimeMillis());
+        try {
+            logFile().write(encoder.buffer(), 0, encoder.length());
         } catch (IOException e) {
             System.err.println("Erreur lors de l'écriture dans le fichier de log: " + e.getMessage());
+            closeLogFile();
         }
     }
 
@@ -105,32 +263,113 @@ public class AuditLogger implements TransactionObserver {
      * @return Liste des entrées de log
      */
     public List<String> getAuditLog() {
-        return Collections.unmodifiableList(auditLog);
+        lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(auditLog));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Retourne le nombre de transactions loggées.
+     * Retourne le nombre de transactions loggées (historique en mémoire ou non).
      *
      * @return Nombre de transactions
      */
     public int getLogCount() {
-        return auditLog.size();
+        lock.lock();
+        try {
+            return logCount;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Efface l'historique des logs en mémoire.
      */
     public void clearLog() {
-        auditLog.clear();
+        lock.lock();
+        try {
+            auditLog.clear();
+            logCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remplace la sortie console (par défaut {@link AsyncConsoleSink#shared()}).
+     *
+     * @param console Sortie console
+     */
+    public void setConsole(ConsoleSink console) {
+        if (console == null) {
+            throw new IllegalArgumentException("La sortie console ne peut pas être null");
+        }
+        this.console = console;
+    }
+
+    /**
+     * Active ou désactive l'affichage des entrées dans la console.
+     *
+     * @param consoleEnabled true pour activer
+     */
+    public void setConsoleEnabled(boolean consoleEnabled) {
+        this.consoleEnabled = consoleEnabled;
+    }
+
+    public boolean isConsoleEnabled() {
+        return consoleEnabled;
+    }
+
+    /**
+     * Active ou désactive l'historique des entrées en mémoire ({@link #getAuditLog()}).
+     * Désactivé, seul le nombre d'entrées est conservé.
+     *
+     * @param keepHistory true pour conserver les entrées
+     */
+    public void setKeepHistory(boolean keepHistory) {
+        this.keepHistory = keepHistory;
+    }
+
+    public boolean isKeepHistory() {
+        return keepHistory;
+    }
+
+    public AuditFormat getFormat() {
+        return format;
     }
 
     /**
      * Active ou désactive l'écriture dans le fichier.
+     * La désactivation ferme le fichier, qui sera rouvert à la prochaine écriture.
      *
      * @param writeToFile true pour activer
      */
     public void setWriteToFile(boolean writeToFile) {
         this.writeToFile = writeToFile && logFilePath != null;
+        if (!this.writeToFile) {
+            lock.lock();
+            try {
+                closeLogFile();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Ferme le fichier de log. Le journal chaîné éventuel reste à fermer par l'appelant.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closeLogFile();
+        } finally {
+            lock.unlock();
+        }
     }
 }
 
@@ -0,0 +1,253 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * Formateur des entrées d'audit dans un tampon d'octets réutilisable (UTF-8).
+ *
+ * Produit exactement le texte historique de {@link AuditLogger}:
+ * {@code [yyyy-MM-dd HH:mm:ss] TX_ID: ... | TYPE: ... | MONTANT: 12.50€ | COMPTE: ...}.
+ * L'horodatage est mis en cache sous forme d'octets et recalculé une seule fois
+ * par seconde; les libellés de type sont encodés une fois pour toutes; le montant
+ * est écrit en virgule fixe (centimes) sans passer par {@code String.format}, avec le
+ * même résultat que {@code String.format(locale, "%.2f", montant)}: séparateur décimal
+ * de la locale (par défaut celle du système, "12,50€" sur un hôte français), signe de
+ * -0.00 conservé, et repli sur {@code String.format} pour les montants à moins de
+ * quelques ulps d'une demi-centime (1.005 → 1.01, arrondi de la plus courte écriture
+ * décimale) ou pour une locale aux chiffres non ASCII. Une fois le tampon dimensionné,
+ * formater une entrée n'alloue rien.
+ *
+ * Non thread-safe: une instance par thread, ou protégée par le verrou de l'appelant.
+ */
+public class AuditRecordFormatter {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int INITIAL_CAPACITY = 256;
+    // Au-delà, les centimes ne tiennent plus exactement dans un double: repli sur String.format
+    private static final double MAX_FIXED_POINT = 1e15;
+    // Marge (en ulps des centimes) autour d'une demi-centime où l'arrondi direct peut diverger
+    private static final int HALF_CENT_ULPS = 8;
+
+    private static final byte[] TX_ID = bytes("TX_ID: ");
+    private static final byte[] TYPE = bytes(" | TYPE: ");
+    private static final byte[] AMOUNT = bytes(" | MONTANT: ");
+    private static final byte[] EURO = bytes("€");
+    private static final byte[] FROM = bytes(" | DE: ");
+    private static final byte[] TO = bytes(" | VERS: ");
+    private static final byte[] ACCOUNT = bytes(" | COMPTE: ");
+    private static final byte[][] LABELS = labels();
+
+    private final LongSupplier clock;
+    private final ZoneId zone;
+    private final Locale locale;
+    // Séparateur décimal encodé, null si la locale impose le repli sur String.format
+    private final byte[] decimalSeparator;
+    private final byte[] timestamp = new byte[22];
+    private long timestampSecond = Long.MIN_VALUE;
+    private final byte[] digits = new byte[20];
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    /**
+     * Constructeur (horloge système, fuseau et locale par défaut).
+     */
+    public AuditRecordFormatter() {
+        this(System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructeur avec horloge et fuseau explicites (locale de formatage par défaut).
+     *
+     * @param clock Horloge en millisecondes depuis l'époque
+     * @param zone  Fuseau de l'horodatage
+     */
+    public AuditRecordFormatter(LongSupplier clock, ZoneId zone) {
+        this(clock, zone, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Constructeur avec horloge, fuseau et locale des montants explicites.
+     *
+     * @param clock  Horloge en millisecondes depuis l'époque
+     * @param zone   Fuseau de l'horodatage
+     * @param locale Locale des montants (séparateur décimal)
+     */
+    public AuditRecordFormatter(LongSupplier clock, ZoneId zone, Locale locale) {
+        if (clock == null || zone == null || locale == null) {
+            throw new IllegalArgumentException("L'horloge, le fuseau et la locale sont requis");
+        }
+        this.clock = clock;
+        this.zone = zone;
+        this.locale = locale;
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.decimalSeparator = symbols.getZeroDigit() == '0'
+                ? bytes(String.valueOf(symbols.getDecimalSeparator())) : null;
+    }
+
+    /**
+     * Formate une entrée d'audit dans le tampon (qui remplace l'entrée précédente).
+     *
+     * @param transaction Transaction à journaliser
+     * @return Longueur de l'entrée en octets
+     */
+    public int format(Transaction transaction) {
+        length = 0;
+        append(timestamp(clock.getAsLong()));
+        append(TX_ID);
+        appendAscii(transaction.getId());
+        append(TYPE);
+        append(LABELS[transaction.getType().ordinal()]);
+        append(AMOUNT);
+        appendAmount(transaction.getAmount());
+        append(EURO);
+        if (transaction.isTransfer()) {
+            append(FROM);
+            appendAscii(transaction.getFromAccount().getId());
+            append(TO);
+            appendAscii(transaction.getToAccount().getId());
+        } else {
+            append(ACCOUNT);
+            appendAscii(transaction.getFromAccount().getId());
+        }
+        return length;
+    }
+
+    /**
+     * Ajoute un octet à la fin de l'entrée courante (par exemple un saut de ligne).
+     *
+     * @param b Octet à ajouter
+     */
+    public void append(byte b) {
+        ensureCapacity(1);
+        buffer[length++] = b;
+    }
+
+    /**
+     * Retourne le tampon interne; seuls les {@link #length()} premiers octets sont valides.
+     * Le tableau peut être remplacé lors d'un agrandissement: le relire après chaque format.
+     *
+     * @return Tampon de l'entrée courante
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Retourne la longueur de l'entrée courante.
+     *
+     * @return Nombre d'octets
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Décode l'entrée courante (alloue une chaîne).
+     *
+     * @return Entrée courante
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Préfixe "[yyyy-MM-dd HH:mm:ss] ", recalculé au changement de seconde
+    private byte[] timestamp(long millis) {
+        long second = Math.floorDiv(millis, 1000L);
+        if (second != timestampSecond) {
+            Instant instant = Instant.ofEpochSecond(second);
+            String text = "[" + LocalDateTime.ofInstant(instant, zone).format(FORMATTER) + "] ";
+            byte[] encoded = bytes(text);
+            System.arraycopy(encoded, 0, timestamp, 0, timestamp.length);
+            timestampSecond = second;
+        }
+        return timestamp;
+    }
+
+    // String.format arrondit au demi supérieur la plus courte écriture décimale du double:
+    // l'arrondi direct des centimes ne s'en écarte qu'au voisinage d'une demi-centime
+    private void appendAmount(double amount) {
+        double magnitude = Math.abs(amount);
+        double scaled = magnitude * 100.0;
+        if (decimalSeparator == null || Double.isNaN(amount) || magnitude >= MAX_FIXED_POINT
+                || Math.abs(scaled - Math.floor(scaled) - 0.5) <= HALF_CENT_ULPS * Math.ulp(scaled)) {
+            append(bytes(String.format(locale, "%.2f", amount)));
+            return;
+        }
+        // Bit de signe: -0.001 et -0.0 s'écrivent -0.00 comme avec String.format
+        if (Double.doubleToRawLongBits(amount) < 0) {
+            append((byte) '-');
+        }
+        long cents = Math.round(scaled);
+        appendLong(cents / 100);
+        append(decimalSeparator);
+        long fraction = cents % 100;
+        append((byte) ('0' + fraction / 10));
+        append((byte) ('0' + fraction % 10));
+    }
+
+    private void appendLong(long value) {
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensureCapacity(digits.length - pos);
+        System.arraycopy(digits, pos, buffer, length, digits.length - pos);
+        length += digits.length - pos;
+    }
+
+    // Identifiants: ASCII attendu, les autres caractères sont encodés en UTF-8
+    private void appendAscii(String value) {
+        if (value == null) {
+            append(bytes("null"));
+            return;
+        }
+        int n = value.length();
+        ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                append(bytes(value.substring(i)));
+                return;
+            }
+            buffer[length++] = (byte) c;
+        }
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[][] labels() {
+        TransactionType[] types = TransactionType.values();
+        byte[][] labels = new byte[types.length][];
+        for (TransactionType type : types) {
+            labels[type.ordinal()] = bytes(type.getLabel());
+        }
+        return labels;
+    }
+}
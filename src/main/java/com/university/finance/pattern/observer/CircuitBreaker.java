@@ -0,0 +1,139 @@
+package com.university.finance.pattern.observer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjoncteur d'un observer.
+ *
+ * Fermé, il laisse passer les livraisons. Après un nombre d'échecs consécutifs
+ * (exceptions, dépassements de délai, file pleine), il s'ouvre: l'observer est
+ * détaché et ne reçoit plus rien pendant la durée d'ouverture. Il passe ensuite
+ * en semi-ouvert et laisse passer une seule livraison de test: un succès le
+ * referme, un échec le rouvre pour une nouvelle période.
+ */
+public class CircuitBreaker {
+
+    /**
+     * État du disjoncteur.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final Consumer<State> listener;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Constructeur.
+     *
+     * @param failureThreshold Échecs consécutifs qui ouvrent le disjoncteur
+     * @param openMillis       Durée d'ouverture avant une livraison de test
+     * @param listener         Prévenu de chaque changement d'état (sur le thread qui le provoque), ou null
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, Consumer<State> listener) {
+        this(failureThreshold, openMillis, listener, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, Consumer<State> listener, LongSupplier clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Le seuil d'échecs doit être positif");
+        }
+        if (openMillis < 0) {
+            throw new IllegalArgumentException("La durée d'ouverture ne peut pas être négative");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.listener = listener;
+        this.clock = clock;
+    }
+
+    /**
+     * Indique si une livraison peut avoir lieu. Un disjoncteur ouvert depuis
+     * assez longtemps passe en semi-ouvert et autorise cette seule livraison.
+     *
+     * @return true si la livraison est autorisée
+     */
+    public boolean allowRequest() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.HALF_OPEN) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (state != State.OPEN || clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        } finally {
+            lock.unlock();
+        }
+        notifyListener(State.HALF_OPEN);
+        return true;
+    }
+
+    /**
+     * Enregistre une livraison réussie.
+     */
+    public void onSuccess() {
+        boolean closed = false;
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                closed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (closed) {
+            notifyListener(State.CLOSED);
+        }
+    }
+
+    /**
+     * Enregistre un échec (exception, délai dépassé ou livraison refusée).
+     */
+    public void onFailure() {
+        boolean opened = false;
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                state = State.OPEN;
+                openedAt = clock.getAsLong();
+                opened = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (opened) {
+            notifyListener(State.OPEN);
+        }
+    }
+
+    private void notifyListener(State newState) {
+        if (listener != null) {
+            listener.accept(newState);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+}
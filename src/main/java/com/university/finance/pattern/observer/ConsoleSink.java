@@ -0,0 +1,15 @@
+package com.university.finance.pattern.observer;
+
+/**
+ * Destination des lignes affichées par les observers.
+ */
+@FunctionalInterface
+public interface ConsoleSink {
+
+    /**
+     * Affiche une ligne.
+     *
+     * @param line Ligne, sans fin de ligne
+     */
+    void println(String line);
+}
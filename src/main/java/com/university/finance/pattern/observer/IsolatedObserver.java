@@ -0,0 +1,430 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.metrics.MetricsRegistry;
+import com.university.finance.metrics.ObserverDispatchEvent;
+import com.university.finance.model.Transaction;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Observer isolé: les livraisons à l'observer délégué passent par une file
+ * bornée et un thread qui lui sont propres.
+ *
+ * {@link #onTransaction(Transaction)} ne fait que déposer la transaction dans la
+ * file et ne bloque jamais: un observer lent ou bloqué ne ralentit que son propre
+ * thread. Une livraison qui lève une exception, dépasse le budget de temps ou ne
+ * trouve plus de place dans la file compte comme un échec pour le
+ * {@link CircuitBreaker}; ouvert, celui-ci détache l'observer (les transactions
+ * lui sont refusées) jusqu'à la livraison de test suivante.
+ *
+ * Avec un répertoire de débordement ({@link IsolationPolicy#setSpillDirectory}),
+ * rien n'est refusé: une file pleine déborde dans une {@link SpillQueue} et toutes
+ * les transactions suivantes y sont ajoutées tant qu'elle n'est pas vide, pour que
+ * le thread de livraison les relise dans l'ordre après avoir vidé la file en
+ * mémoire. Le disjoncteur retient alors le thread de livraison au lieu de refuser
+ * les transactions: ouvert, il suspend les livraisons (la file déborde sur disque)
+ * jusqu'à la livraison de test, et une livraison en échec est retentée, au plus
+ * {@link IsolationPolicy#getFailureThreshold()} fois: au-delà, la transaction est
+ * écrite dans un fichier de rebut ({@code observer-<nom>.dead}, même format que la
+ * file de débordement) et la livraison passe à la suivante, pour qu'une transaction
+ * que l'observer refuse toujours ne le bloque pas. À la fermeture, les transactions
+ * encore en mémoire sont remises en tête du fichier. Le producteur ne se bloque
+ * jamais et rien n'est perdu.
+ *
+ * Sans débordement, la fermeture livre ce qui reste en mémoire, dans la limite
+ * de {@link #CLOSE_TIMEOUT_MILLIS}.
+ */
+public class IsolatedObserver implements TransactionObserver, AutoCloseable {
+
+    // Délai laissé au thread de livraison pour finir à la fermeture
+    public static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    // Attente entre deux consultations d'un disjoncteur ouvert (mode débordement)
+    private static final long BREAKER_POLL_MILLIS = 10;
+
+    private final TransactionObserver delegate;
+    private final long budgetNanos;
+    private final BlockingQueue<Transaction> queue;
+    private final CircuitBreaker breaker;
+    private final Supplier<MetricsRegistry> metrics;
+    private final Thread worker;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    // File de débordement (null = file pleine refusée) et verrou d'admission qui garde l'ordre
+    private final SpillQueue spill;
+    private final ReentrantLock admission = new ReentrantLock();
+    // Tentatives avant mise au rebut, et fichier de rebut (ouvert au premier besoin)
+    private final int maxAttempts;
+    private final Path deadLetterFile;
+    private SpillQueue deadLetters;
+
+    // Début de la livraison en cours (0 = aucune), pour repérer un observer bloqué
+    private volatile long deliveryStart;
+    // Livraison en cours déjà comptée comme dépassement de délai
+    private volatile boolean stallReported;
+    private volatile boolean running = true;
+    // Transaction retirée des files mais pas encore livrée (mode débordement)
+    private volatile Transaction inFlight;
+    // Échecs de livraison de inFlight (thread de livraison)
+    private int attempts;
+
+    /**
+     * Constructeur.
+     *
+     * @param delegate Observer à isoler
+     * @param policy   Paramètres d'isolation
+     * @param metrics  Fournit le registre des métriques courant (valeur null = métriques désactivées)
+     * @throws UncheckedIOException si la file de débordement ne peut pas être ouverte
+     */
+    public IsolatedObserver(TransactionObserver delegate, IsolationPolicy policy, Supplier<MetricsRegistry> metrics) {
+        if (delegate == null || policy == null) {
+            throw new IllegalArgumentException("L'observer et la politique d'isolation sont requis");
+        }
+        this.delegate = delegate;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(policy.getTimeBudgetMillis());
+        this.queue = new ArrayBlockingQueue<>(policy.getQueueCapacity());
+        this.metrics = metrics == null ? () -> null : metrics;
+        this.breaker = new CircuitBreaker(policy.getFailureThreshold(), policy.getOpenMillis(), this::onStateChange);
+        this.maxAttempts = policy.getFailureThreshold();
+        this.deadLetterFile = policy.getSpillDirectory() == null ? null
+                : policy.getSpillDirectory().resolve(deadLetterFileName(delegate.getName()));
+        try {
+            this.spill = policy.getSpillDirectory() == null ? null
+                    : new SpillQueue(policy.getSpillDirectory().resolve(spillFileName(delegate.getName())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("File de débordement inaccessible pour " + delegate.getName(), e);
+        }
+        this.worker = new Thread(this::drain, "observer-" + delegate.getName());
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void onTransaction(Transaction transaction) {
+        checkStalled();
+        if (spill != null) {
+            // Le disjoncteur retient le thread de livraison: rien n'est refusé ici
+            enqueueOrSpill(transaction);
+            return;
+        }
+        if (!running || !breaker.allowRequest()) {
+            reject();
+            return;
+        }
+        if (!queue.offer(transaction)) {
+            reject();
+            breaker.onFailure();
+        }
+    }
+
+    private void enqueueOrSpill(Transaction transaction) {
+        admission.lock();
+        try {
+            // Tant que des transactions attendent sur disque, les suivantes les y rejoignent
+            if (running && spill.isEmpty() && queue.offer(transaction)) {
+                return;
+            }
+            spill.append(transaction);
+            spilled.increment();
+            MetricsRegistry registry = metrics.get();
+            if (registry != null) {
+                registry.recordSpill(delegate.getName());
+            }
+        } catch (IOException e) {
+            System.err.println("Débordement impossible pour l'observer " + delegate.getName()
+                    + ": " + e.getMessage());
+            reject();
+        } finally {
+            admission.unlock();
+        }
+    }
+
+    static String spillFileName(String observerName) {
+        return "observer-" + observerName.replaceAll("[^A-Za-z0-9._-]", "_") + ".spill";
+    }
+
+    static String deadLetterFileName(String observerName) {
+        return "observer-" + observerName.replaceAll("[^A-Za-z0-9._-]", "_") + ".dead";
+    }
+
+    // Une livraison en cours depuis plus longtemps que le budget compte comme échec sans attendre sa fin
+    private void checkStalled() {
+        long start = deliveryStart;
+        if (start != 0 && !stallReported && System.nanoTime() - start > budgetNanos) {
+            stallReported = true;
+            recordTimeout();
+            breaker.onFailure();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running) {
+                if (spill == null) {
+                    Transaction transaction = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (transaction != null) {
+                        deliver(transaction);
+                    }
+                } else {
+                    drainSpilling();
+                }
+            }
+            // Fermeture sans débordement: livrer ce qui reste en mémoire
+            Transaction transaction;
+            while (spill == null && !Thread.currentThread().isInterrupted() && (transaction = queue.poll()) != null) {
+                deliver(transaction);
+            }
+        } catch (InterruptedException e) {
+            // Fermeture forcée
+        }
+    }
+
+    // Livre la transaction suivante quand le disjoncteur le permet; un échec est retenté
+    // jusqu'à maxAttempts fois, puis la transaction est mise au rebut
+    private void drainSpilling() throws InterruptedException {
+        Transaction transaction = inFlight;
+        if (transaction == null) {
+            transaction = next();
+            if (transaction == null) {
+                return;
+            }
+            inFlight = transaction;
+            attempts = 0;
+        }
+        while (!breaker.allowRequest()) {
+            if (!running) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(BREAKER_POLL_MILLIS);
+        }
+        if (deliver(transaction)) {
+            inFlight = null;
+        } else if (++attempts >= maxAttempts) {
+            deadLetter(transaction);
+            inFlight = null;
+        }
+    }
+
+    private void deadLetter(Transaction transaction) {
+        deadLettered.increment();
+        System.err.println("Transaction " + transaction.getId() + " mise au rebut pour l'observer "
+                + delegate.getName() + " après " + attempts + " échecs");
+        try {
+            if (deadLetters == null) {
+                deadLetters = new SpillQueue(deadLetterFile);
+            }
+            deadLetters.append(transaction);
+        } catch (IOException e) {
+            System.err.println("Rebut impossible pour l'observer " + delegate.getName()
+                    + ": " + e.getMessage());
+            reject();
+        }
+    }
+
+    // La file en mémoire ne contient que des transactions antérieures à celles du disque
+    private Transaction next() throws InterruptedException {
+        Transaction transaction = queue.poll();
+        if (transaction != null) {
+            return transaction;
+        }
+        try {
+            transaction = spill.poll();
+        } catch (IOException e) {
+            System.err.println("Relecture impossible pour l'observer " + delegate.getName()
+                    + ": " + e.getMessage());
+            TimeUnit.MILLISECONDS.sleep(100);
+            return null;
+        }
+        return transaction != null ? transaction : queue.poll(100, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Livre une transaction au délégué et met à jour le disjoncteur.
+     *
+     * @return false si le délégué a levé une exception
+     */
+    private boolean deliver(Transaction transaction) {
+        ObserverDispatchEvent event = new ObserverDispatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        stallReported = false;
+        deliveryStart = start;
+        boolean error = false;
+        try {
+            delegate.onTransaction(transaction);
+        } catch (Exception e) {
+            error = true;
+            System.err.println("Erreur lors de la notification de l'observer "
+                    + delegate.getName() + ": " + e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        deliveryStart = 0;
+        boolean late = elapsed > budgetNanos;
+        // Une livraison signalée comme bloquée a déjà été comptée comme échec
+        boolean reported = stallReported;
+        MetricsRegistry registry = metrics.get();
+        if (registry != null) {
+            registry.recordDelivery(delegate.getName(), elapsed, error);
+        }
+        event.finish(delegate.getName(), transaction, error);
+        if (late && !reported) {
+            recordTimeout();
+        }
+        if (!error && !late) {
+            breaker.onSuccess();
+        } else if (!reported) {
+            breaker.onFailure();
+        }
+        return !error;
+    }
+
+    private void reject() {
+        rejected.increment();
+        MetricsRegistry registry = metrics.get();
+        if (registry != null) {
+            registry.recordRejection(delegate.getName());
+        }
+    }
+
+    private void recordTimeout() {
+        timeouts.increment();
+        MetricsRegistry registry = metrics.get();
+        if (registry != null) {
+            registry.recordTimeout(delegate.getName());
+        }
+    }
+
+    private void onStateChange(CircuitBreaker.State state) {
+        MetricsRegistry registry = metrics.get();
+        if (registry != null) {
+            registry.recordCircuitState(delegate.getName(), state);
+        }
+        if (state == CircuitBreaker.State.OPEN) {
+            System.err.println("Observer " + delegate.getName() + " détaché après des échecs répétés");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    public TransactionObserver getDelegate() {
+        return delegate;
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Retourne le nombre de transactions refusées (disjoncteur ouvert ou file pleine).
+     *
+     * @return Nombre de refus
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Retourne le nombre de livraisons ayant dépassé le budget de temps.
+     *
+     * @return Nombre de dépassements
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Retourne le nombre de transactions écrites dans la file de débordement.
+     *
+     * @return Nombre de débordements
+     */
+    public long getSpilledCount() {
+        return spilled.sum();
+    }
+
+    /**
+     * Retourne le nombre de transactions mises au rebut après des échecs répétés.
+     *
+     * @return Nombre de mises au rebut (0 sans débordement)
+     */
+    public long getDeadLetterCount() {
+        return deadLettered.sum();
+    }
+
+    /**
+     * Retourne le nombre de transactions en attente sur disque.
+     *
+     * @return Taille de la file de débordement (0 sans débordement)
+     */
+    public long getSpillSize() {
+        return spill == null ? 0 : spill.size();
+    }
+
+    /**
+     * Retourne le nombre de livraisons en attente en mémoire.
+     *
+     * @return Taille de la file
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Arrête le thread de livraison. Avec débordement, les transactions encore en
+     * mémoire sont remises en tête du fichier, qui reste sur disque; sans débordement,
+     * elles sont livrées dans la limite de {@link #CLOSE_TIMEOUT_MILLIS}, et celles
+     * qui restent ensuite sont perdues (comptées comme refusées).
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (spill != null) {
+                worker.interrupt();
+            }
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+            worker.interrupt();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (spill == null) {
+            while (queue.poll() != null) {
+                reject();
+            }
+            return;
+        }
+        admission.lock();
+        try {
+            List<Transaction> unsent = new ArrayList<>();
+            Transaction current = inFlight;
+            if (current != null) {
+                unsent.add(current);
+            }
+            queue.drainTo(unsent);
+            spill.prepend(unsent);
+            spill.close();
+            if (deadLetters != null) {
+                deadLetters.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Fermeture de la file de débordement: " + e.getMessage());
+        } finally {
+            admission.unlock();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.university.finance.pattern.observer;
+
+import java.nio.file.Path;
+
+/**
+ * Paramètres d'isolation d'un observer (voir {@link IsolatedObserver}).
+ * Les valeurs par défaut tolèrent un observer ponctuellement lent sans
+ * laisser un observer bloqué accumuler des livraisons.
+ */
+public class IsolationPolicy {
+
+    private int queueCapacity = 1024;
+    private long timeBudgetMillis = 100;
+    private int failureThreshold = 5;
+    private long openMillis = 5000;
+    private Path spillDirectory;
+
+    /**
+     * Retourne le nombre maximum de livraisons en attente pour l'observer.
+     *
+     * @return Capacité de la file
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public IsolationPolicy setQueueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("La capacité de la file doit être positive");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Retourne la durée maximale d'une livraison; au-delà, elle compte comme un échec.
+     *
+     * @return Budget en millisecondes
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public IsolationPolicy setTimeBudgetMillis(long timeBudgetMillis) {
+        if (timeBudgetMillis < 1) {
+            throw new IllegalArgumentException("Le budget de temps doit être positif");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        return this;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public IsolationPolicy setFailureThreshold(int failureThreshold) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Le seuil d'échecs doit être positif");
+        }
+        this.failureThreshold = failureThreshold;
+        return this;
+    }
+
+    /**
+     * Retourne la durée pendant laquelle un observer détaché ne reçoit rien avant d'être testé à nouveau.
+     *
+     * @return Durée d'ouverture en millisecondes
+     */
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public IsolationPolicy setOpenMillis(long openMillis) {
+        if (openMillis < 0) {
+            throw new IllegalArgumentException("La durée d'ouverture ne peut pas être négative");
+        }
+        this.openMillis = openMillis;
+        return this;
+    }
+
+    /**
+     * Retourne le répertoire des files de débordement sur disque.
+     *
+     * @return Répertoire, ou null si une file pleine refuse les transactions
+     */
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * Active le débordement sur disque: quand la file en mémoire est pleine, les
+     * transactions sont écrites dans {@code <répertoire>/observer-<nom>.spill} puis
+     * relues dans l'ordre, au lieu d'être refusées.
+     *
+     * @param spillDirectory Répertoire, ou null pour désactiver le débordement
+     * @return Cette politique
+     */
+    public IsolationPolicy setSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+}
@@ -7,19 +7,23 @@ import com.university.finance.model.User;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Observer qui envoie des notifications aux utilisateurs lors des transactions.
  * Implémente le pattern Observer pour le système de notifications.
+ * Peut être notifié depuis plusieurs threads (livraison asynchrone des observers).
  */
 public class NotificationService implements TransactionObserver {
 
     private static final String NAME = "NotificationService";
 
     private final List<String> sentNotifications;
-    private boolean emailEnabled;
-    private boolean smsEnabled;
-    private boolean consoleEnabled;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean emailEnabled;
+    private volatile boolean smsEnabled;
+    private volatile boolean consoleEnabled;
+    private volatile ConsoleSink console = AsyncConsoleSink.shared();
 
     /**
      * Constructeur par défaut (notifications console uniquement).
@@ -48,7 +52,12 @@ public class NotificationService implements TransactionObserver {
     @Override
     public void onTransaction(Transaction transaction) {
         String notification = createNotificationMessage(transaction);
-        sentNotifications.add(notification);
+        lock.lock();
+        try {
+            sentNotifications.add(notification);
+        } finally {
+            lock.unlock();
+        }
 
         // Envoyer via les différents canaux
         if (consoleEnabled) {
@@ -115,7 +124,7 @@ public class NotificationService implements TransactionObserver {
      * @param message Message à afficher
      */
     private void sendConsoleNotification(String message) {
-        System.out.println("[NOTIFICATION] " + message);
+        console.println("[NOTIFICATION] " + message);
     }
 
     /**
@@ -127,7 +136,7 @@ public class NotificationService implements TransactionObserver {
     private void sendEmailNotification(Transaction transaction, String message) {
         Account account = transaction.getFromAccount();
         User owner = account.getOwner();
-        System.out.println("[EMAIL -> " + owner.getEmail() + "] " + message);
+        console.println("[EMAIL -> " + owner.getEmail() + "] " + message);
     }
 
     /**
@@ -139,7 +148,7 @@ public class NotificationService implements TransactionObserver {
     private void sendSmsNotification(Transaction transaction, String message) {
         Account account = transaction.getFromAccount();
         User owner = account.getOwner();
-        System.out.println("[SMS -> " + owner.getUsername() + "] " + message);
+        console.println("[SMS -> " + owner.getUsername() + "] " + message);
     }
 
     /**
@@ -148,7 +157,12 @@ public class NotificationService implements TransactionObserver {
      * @return Liste des notifications
      */
     public List<String> getSentNotifications() {
-        return Collections.unmodifiableList(sentNotifications);
+        lock.lock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(sentNotifications));
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -157,17 +171,40 @@ public class NotificationService implements TransactionObserver {
      * @return Nombre de notifications
      */
     public int getNotificationCount() {
-        return sentNotifications.size();
+        lock.lock();
+        try {
+            return sentNotifications.size();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Efface l'historique des notifications.
      */
     public void clearNotifications() {
-        sentNotifications.clear();
+        lock.lock();
+        try {
+            sentNotifications.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     // Setters pour la configuration
+
+    /**
+     * Remplace la sortie console (par défaut {@link AsyncConsoleSink#shared()}).
+     *
+     * @param console Sortie console
+     */
+    public void setConsole(ConsoleSink console) {
+        if (console == null) {
+            throw new IllegalArgumentException("La sortie console ne peut pas être null");
+        }
+        this.console = console;
+    }
+
     public void setEmailEnabled(boolean emailEnabled) {
         this.emailEnabled = emailEnabled;
     }
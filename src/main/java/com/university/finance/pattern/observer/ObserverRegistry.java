@@ -0,0 +1,171 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registre concurrent des observers de transactions (copie à l'écriture).
+ *
+ * Pour chaque type de transaction, le registre publie dans un champ volatile un
+ * tableau des observers abonnés à ce type. Une notification lit ce tableau et le
+ * parcourt par index: ni verrou, ni itérateur, ni filtrage au moment de la
+ * livraison. Les inscriptions (rares) reconstruisent les tableaux sous un verrou;
+ * une notification en cours continue sur l'ancien tableau.
+ */
+public class ObserverRegistry {
+
+    private static final TransactionObserver[] NONE = new TransactionObserver[0];
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // Abonnements dans l'ordre d'inscription (protégés par le verrou)
+    private final Map<TransactionObserver, Set<TransactionType>> subscriptions = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Observers par type, indexés par TransactionType.ordinal()
+    private volatile TransactionObserver[][] byType;
+    private volatile int size;
+
+    /**
+     * Constructeur d'un registre vide.
+     */
+    public ObserverRegistry() {
+        TransactionObserver[][] empty = new TransactionObserver[TYPES.length][];
+        for (int i = 0; i < empty.length; i++) {
+            empty[i] = NONE;
+        }
+        this.byType = empty;
+    }
+
+    /**
+     * Abonne un observer à tous les types de transaction.
+     *
+     * @param observer Observer à abonner
+     * @return true si l'observer n'était pas encore inscrit
+     */
+    public boolean subscribe(TransactionObserver observer) {
+        return subscribe(observer, EnumSet.allOf(TransactionType.class));
+    }
+
+    /**
+     * Abonne un observer aux seuls types indiqués. Un observer déjà inscrit
+     * reçoit ces types à la place de son abonnement précédent.
+     *
+     * @param observer Observer à abonner
+     * @param types    Types de transaction à recevoir
+     * @return true si l'observer n'était pas encore inscrit
+     * @throws IllegalArgumentException si l'observer est null ou aucun type n'est donné
+     */
+    public boolean subscribe(TransactionObserver observer, Set<TransactionType> types) {
+        if (observer == null) {
+            throw new IllegalArgumentException("L'observer ne peut pas être null");
+        }
+        if (types == null || types.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un type de transaction est requis");
+        }
+        lock.lock();
+        try {
+            Set<TransactionType> previous = subscriptions.put(observer, EnumSet.copyOf(types));
+            if (previous == null || !previous.equals(types)) {
+                rebuild();
+            }
+            return previous == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Désabonne un observer.
+     *
+     * @param observer Observer à retirer
+     * @return true si l'observer était inscrit
+     */
+    public boolean unsubscribe(TransactionObserver observer) {
+        lock.lock();
+        try {
+            if (subscriptions.remove(observer) == null) {
+                return false;
+            }
+            rebuild();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Appelée sous le verrou: republie un tableau par type
+    private void rebuild() {
+        TransactionObserver[][] next = new TransactionObserver[TYPES.length][];
+        List<TransactionObserver> selected = new ArrayList<>();
+        for (TransactionType type : TYPES) {
+            selected.clear();
+            for (Map.Entry<TransactionObserver, Set<TransactionType>> entry : subscriptions.entrySet()) {
+                if (entry.getValue().contains(type)) {
+                    selected.add(entry.getKey());
+                }
+            }
+            next[type.ordinal()] = selected.isEmpty() ? NONE : selected.toArray(NONE);
+        }
+        byType = next;
+        size = subscriptions.size();
+    }
+
+    /**
+     * Retourne les observers abonnés à un type de transaction.
+     * Le tableau est partagé: il ne doit pas être modifié.
+     *
+     * @param type Type de transaction
+     * @return Observers à notifier, dans l'ordre d'inscription
+     */
+    public TransactionObserver[] observersFor(TransactionType type) {
+        return byType[type.ordinal()];
+    }
+
+    /**
+     * Vérifie si un observer est inscrit.
+     *
+     * @param observer Observer recherché
+     * @return true si l'observer reçoit au moins un type de transaction
+     */
+    public boolean contains(TransactionObserver observer) {
+        lock.lock();
+        try {
+            return subscriptions.containsKey(observer);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne les types de transaction reçus par un observer.
+     *
+     * @param observer Observer recherché
+     * @return Types non modifiables (vide si l'observer n'est pas inscrit)
+     */
+    public Set<TransactionType> getTypes(TransactionObserver observer) {
+        lock.lock();
+        try {
+            Set<TransactionType> types = subscriptions.get(observer);
+            return types == null ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(types));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le nombre d'observers inscrits.
+     *
+     * @return Nombre d'observers
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,322 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * File de débordement sur disque, en ajout seul, pour les livraisons d'un observer.
+ *
+ * Chaque enregistrement est une longueur (int) suivie de la transaction encodée:
+ * id, type, montant, date (secondes et nanosecondes UTC), comptes source et
+ * destination (id, propriétaire, solde au moment de l'opération), description.
+ * Les enregistrements sont relus dans l'ordre d'écriture; quand la file est vide,
+ * le fichier est tronqué. Une file qui ne se vide jamais est compactée dès que la
+ * partie déjà relue dépasse un seuil et la moitié du fichier: le reste est recopié
+ * dans un fichier temporaire qui remplace l'original (déplacement atomique), si bien
+ * qu'un arrêt pendant le compactage laisse l'un ou l'autre, complet. Un fichier présent à l'ouverture (arrêt du processus
+ * avant la fin de la relecture) est relu depuis le début: une transaction peut
+ * alors être livrée deux fois, mais aucune n'est perdue. Les mots de passe ne sont
+ * jamais écrits.
+ */
+public class SpillQueue implements AutoCloseable {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    // Taille minimale de la partie relue avant un compactage
+    static final long DEFAULT_COMPACT_THRESHOLD = 1024 * 1024;
+
+    private final Path file;
+    private final long compactThreshold;
+    private FileChannel channel;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ByteBuffer header = ByteBuffer.allocate(4);
+    private long readPosition;
+    private long writePosition;
+    private long size;
+
+    /**
+     * Ouvre (ou crée) la file.
+     *
+     * @param file Fichier de la file
+     * @throws IOException Si le fichier ne peut pas être ouvert
+     */
+    public SpillQueue(Path file) throws IOException {
+        this(file, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    SpillQueue(Path file, long compactThreshold) throws IOException {
+        this.file = file;
+        this.compactThreshold = compactThreshold;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        recover();
+    }
+
+    // Compte les enregistrements complets laissés par une exécution précédente et ignore une fin tronquée
+    private void recover() throws IOException {
+        long length = channel.size();
+        long position = 0;
+        while (position + 4 <= length) {
+            header.clear();
+            channel.read(header, position);
+            int recordLength = header.getInt(0);
+            if (recordLength < 0 || position + 4 + recordLength > length) {
+                break;
+            }
+            position += 4 + recordLength;
+            size++;
+        }
+        channel.truncate(position);
+        writePosition = position;
+    }
+
+    /**
+     * Ajoute une transaction à la fin de la file.
+     *
+     * @param transaction Transaction à conserver
+     * @throws IOException Si l'écriture échoue
+     */
+    public void append(Transaction transaction) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(frame(transaction));
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                writePosition += channel.write(buffer, writePosition);
+            }
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retire la plus ancienne transaction de la file.
+     *
+     * @return Transaction relue, ou null si la file est vide
+     * @throws IOException Si la lecture échoue
+     */
+    public Transaction poll() throws IOException {
+        lock.lock();
+        try {
+            if (size == 0) {
+                return null;
+            }
+            header.clear();
+            readFully(header, readPosition);
+            ByteBuffer record = ByteBuffer.allocate(header.getInt(0));
+            readFully(record, readPosition + 4);
+            readPosition += 4 + record.capacity();
+            size--;
+            if (size == 0) {
+                // Tout a été relu: le fichier repart de zéro
+                channel.truncate(0);
+                readPosition = 0;
+                writePosition = 0;
+            } else if (readPosition >= compactThreshold && readPosition >= writePosition - readPosition) {
+                rewrite(new byte[0]);
+            }
+            return decode(record.array());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remet des transactions en tête de file, avant celles qui y attendent déjà
+     * (par exemple les livraisons encore en mémoire à l'arrêt d'un observer).
+     *
+     * @param transactions Transactions, de la plus ancienne à la plus récente
+     * @throws IOException Si la réécriture échoue (la file est alors inchangée)
+     */
+    public void prepend(Collection<Transaction> transactions) throws IOException {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        for (Transaction transaction : transactions) {
+            prefix.write(frame(transaction));
+        }
+        lock.lock();
+        try {
+            rewrite(prefix.toByteArray());
+            size += transactions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Remplace le fichier par le préfixe suivi de la partie non relue (appelé sous le verrou)
+    private void rewrite(byte[] prefix) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.wrap(prefix);
+            while (head.hasRemaining()) {
+                out.write(head);
+            }
+            long position = readPosition;
+            while (position < writePosition) {
+                position += channel.transferTo(position, writePosition - position, out);
+            }
+            out.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel previous = channel;
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        previous.close();
+        writePosition = prefix.length + writePosition - readPosition;
+        readPosition = 0;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fin inattendue de la file " + file);
+            }
+        }
+    }
+
+    /**
+     * Indique si la file est vide.
+     *
+     * @return true si aucune transaction n'attend
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Retourne le nombre de transactions en attente.
+     *
+     * @return Nombre de transactions
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Force l'écriture sur disque et ferme le fichier (les transactions non relues y restent).
+     *
+     * @throws IOException Si la fermeture échoue
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ==================== Encodage ====================
+
+    // Enregistrement complet: longueur puis transaction encodée
+    private static byte[] frame(Transaction transaction) throws IOException {
+        byte[] record = encode(transaction);
+        return ByteBuffer.allocate(4 + record.length).putInt(record.length).put(record).array();
+    }
+
+    private static byte[] encode(Transaction transaction) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(transaction.getId());
+            out.writeByte(transaction.getType().ordinal());
+            out.writeDouble(transaction.getAmount());
+            LocalDateTime timestamp = transaction.getTimestamp();
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+            writeAccount(out, transaction.getFromAccount());
+            writeAccount(out, transaction.getToAccount());
+            writeString(out, transaction.getDescription());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        out.writeBoolean(account != null);
+        if (account == null) {
+            return;
+        }
+        out.writeUTF(account.getId());
+        User owner = account.getOwner();
+        out.writeBoolean(owner != null);
+        if (owner != null) {
+            writeString(out, owner.getId());
+            writeString(out, owner.getUsername());
+            writeString(out, owner.getEmail());
+        }
+        out.writeDouble(account.getBalance());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static Transaction decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            String id = in.readUTF();
+            int type = in.readByte();
+            if (type < 0 || type >= TYPES.length) {
+                throw new IOException("Type de transaction invalide: " + type);
+            }
+            double amount = in.readDouble();
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            Account from = readAccount(in);
+            Account to = readAccount(in);
+            String description = readString(in);
+            return new Transaction(id, TYPES[type], amount, timestamp, from, to, description);
+        }
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String id = in.readUTF();
+        User owner = null;
+        if (in.readBoolean()) {
+            owner = new User(readString(in), readString(in), null, readString(in));
+        }
+        return new Account(id, owner, in.readDouble());
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
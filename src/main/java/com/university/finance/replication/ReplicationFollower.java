@@ -0,0 +1,247 @@
+package com.university.finance.replication;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Réplica en attente active (hot standby) d'un {@link ReplicationPrimary}.
+ *
+ * Il applique le journal du primaire à son propre {@link BankingService}, dans
+ * l'ordre, et acquitte après chaque lot lu. En cas de bascule, {@link #promote()}
+ * coupe la réplication et rend le service, déjà à jour: aucun rejeu n'est nécessaire.
+ *
+ * Les transactions sont appliquées directement aux comptes, sans passer par les
+ * stratégies ni notifier les observers du réplica (elles ont déjà été validées),
+ * avec leur horodatage d'origine.
+ * Le journal suit l'ordre de validation: un débit refusé signale une divergence.
+ * Une création déjà appliquée (reçue une seconde fois à l'ouverture du primaire)
+ * est ignorée. Les mots de passe ne sont pas répliqués: après une bascule, ils
+ * doivent être redéfinis ({@link User#setPassword(String)}).
+ */
+public class ReplicationFollower implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final BankingService standby;
+    private final Socket socket;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+    private final Thread receiver;
+    private volatile boolean running = true;
+    private volatile long lastAppliedSequence;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition applied = lock.newCondition();
+
+    /**
+     * Se connecte au primaire et commence à appliquer son journal.
+     *
+     * @param standby Service bancaire du réplica (vide)
+     * @param primary Adresse du primaire
+     * @throws IOException Si la connexion échoue
+     */
+    public ReplicationFollower(BankingService standby, InetSocketAddress primary) throws IOException {
+        if (standby == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        this.standby = standby;
+        this.socket = new Socket(primary.getAddress(), primary.getPort());
+        socket.setTcpNoDelay(true);
+        this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        output.writeLong(lastAppliedSequence);
+        output.flush();
+        this.receiver = new Thread(this::receiveLoop, "replication-follower-" + socket.getLocalPort());
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    private void receiveLoop() {
+        try {
+            while (running) {
+                long sequence = input.readLong();
+                apply(input.readByte());
+                lock.lock();
+                try {
+                    lastAppliedSequence = sequence;
+                    applied.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                // Un acquittement par lot: seulement quand le tampon de lecture est vide
+                if (input.available() == 0) {
+                    output.writeLong(sequence);
+                    output.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Réplication interrompue: " + e.getMessage());
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    private void apply(byte kind) throws IOException {
+        switch (kind) {
+            case ReplicationRecord.USER:
+                applyUser(input.readUTF(), input.readUTF(), input.readUTF());
+                break;
+            case ReplicationRecord.ACCOUNT:
+                applyAccount(input.readUTF(), input.readUTF(), input.readDouble());
+                break;
+            case ReplicationRecord.TRANSACTION:
+                applyTransaction(input.readUTF(), TYPES[input.readByte()], input.readDouble(),
+                        LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC),
+                        input.readUTF(), input.readUTF(), input.readUTF());
+                break;
+            default:
+                throw new IOException("Entrée de journal inconnue: " + kind);
+        }
+    }
+
+    private void applyUser(String id, String username, String email) {
+        if (standby.findUserById(id) == null && !standby.importUser(new User(id, username, null, email))) {
+            System.err.println("Utilisateur non répliqué " + username + ": nom déjà utilisé");
+        }
+    }
+
+    private void applyAccount(String id, String ownerId, double initialBalance) {
+        if (standby.findAccountById(id) != null) {
+            return;
+        }
+        User owner = standby.findUserById(ownerId);
+        try {
+            standby.createAccount(id, owner, initialBalance);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Compte non répliqué " + id + ": " + e.getMessage());
+        }
+    }
+
+    private void applyTransaction(String id, TransactionType type, double amount, LocalDateTime timestamp,
+                                  String fromId, String toId, String description) {
+        Account from = standby.findAccountById(fromId);
+        Account to = standby.findAccountById(toId);
+        switch (type) {
+            case DEPOSIT:
+                credit(to, amount);
+                break;
+            case WITHDRAWAL:
+                debit(from, amount);
+                break;
+            default:
+                debit(from, amount);
+                credit(to, amount);
+        }
+        Transaction transaction = new Transaction(id, type, amount, timestamp, from, to, description);
+        if (from != null) {
+            from.addTransaction(transaction);
+        }
+        if (to != null && to != from) {
+            to.addTransaction(transaction);
+        }
+    }
+
+    private void credit(Account account, double amount) {
+        if (account != null) {
+            account.credit(amount);
+        }
+    }
+
+    private void debit(Account account, double amount) {
+        if (account != null && !account.debit(amount)) {
+            System.err.println("Divergence du réplica: débit de " + amount + " refusé sur " + account.getId());
+        }
+    }
+
+    // ==================== Suivi et bascule ====================
+
+    /**
+     * Retourne la dernière séquence appliquée.
+     *
+     * @return Séquence (0 si rien n'a été appliqué)
+     */
+    public long getLastAppliedSequence() {
+        return lastAppliedSequence;
+    }
+
+    /**
+     * Attend que le réplica ait appliqué la séquence donnée.
+     *
+     * @param sequence      Séquence attendue
+     * @param timeoutMillis Délai maximal
+     * @return true si la séquence a été appliquée dans le délai
+     * @throws InterruptedException Si l'attente est interrompue
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (lastAppliedSequence < sequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = applied.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indique si le réplica reçoit encore le journal du primaire.
+     *
+     * @return true si la connexion est active
+     */
+    public boolean isConnected() {
+        return running;
+    }
+
+    /**
+     * Bascule: arrête la réplication et rend le service du réplica,
+     * qui peut désormais accepter les écritures.
+     *
+     * @return Service bancaire à jour jusqu'à la dernière séquence appliquée
+     */
+    public BankingService promote() {
+        close();
+        try {
+            receiver.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return standby;
+    }
+
+    /**
+     * Coupe la connexion au primaire.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture du réplica: " + e.getMessage());
+        }
+    }
+}
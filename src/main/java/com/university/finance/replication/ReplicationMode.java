@@ -0,0 +1,18 @@
+package com.university.finance.replication;
+
+/**
+ * Mode de validation des écritures répliquées.
+ */
+public enum ReplicationMode {
+
+    /**
+     * La transaction est validée dès qu'elle est ajoutée au journal;
+     * les réplicas la reçoivent en arrière-plan.
+     */
+    ASYNC,
+
+    /**
+     * La transaction n'est validée qu'après l'acquittement d'un quorum de réplicas.
+     */
+    QUORUM
+}
@@ -0,0 +1,613 @@
+package com.university.finance.replication;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.CommitListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Primaire de réplication d'un {@link BankingService}.
+ *
+ * Enregistré comme {@link CommitListener} du service, il ajoute au journal chaque
+ * création d'utilisateur ou de compte et chaque transaction au moment de sa
+ * validation, sous le verrou des comptes concernés: la séquence suit l'ordre dans
+ * lequel les soldes ont été modifiés, quel que soit le chemin de création (HTTP,
+ * traitement par lots, appel direct au service). Chaque réplica connecté reçoit le
+ * journal en continu (à partir de sa dernière séquence appliquée) et acquitte
+ * ce qu'il a appliqué.
+ *
+ * En mode {@link ReplicationMode#QUORUM}, l'opération ne rend la main qu'une
+ * fois acquittée par {@code quorum} réplicas (ou après le délai d'attente,
+ * compté dans {@link #getAckTimeoutCount()}); l'attente se fait verrous relâchés.
+ *
+ * Les mots de passe ne sont pas répliqués.
+ * Le journal est conservé en mémoire pour permettre le rattrapage des réplicas, dans une
+ * fenêtre bornée ({@code retainedRecords} entrées): les entrées les plus anciennes sont
+ * supprimées par lots. Un réplica dont la dernière séquence appliquée est sortie de la
+ * fenêtre (à la connexion ou en cours de route) est refusé et déconnecté; il doit être
+ * réinitialisé depuis une copie du service.
+ */
+public class ReplicationPrimary implements CommitListener, AutoCloseable {
+
+    // Délai d'attente par défaut du quorum
+    public static final long DEFAULT_ACK_TIMEOUT_MILLIS = 1000;
+    // Nombre d'entrées conservées par défaut pour le rattrapage
+    public static final int DEFAULT_RETAINED_RECORDS = 1 << 20;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Délai laissé à un réplica pour annoncer sa dernière séquence
+    static final int HANDSHAKE_TIMEOUT_MILLIS = 5000;
+
+    private final BankingService bankingService;
+    private final ReplicationMode mode;
+    private final int quorum;
+    private final long ackTimeoutNanos;
+    private final int retainedRecords;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    // Fenêtre du journal: l'entrée de séquence s est à l'index s - trimmed - 1
+    private final List<ReplicationRecord> log = new ArrayList<>();
+    // Nombre d'entrées supprimées du début du journal
+    private long trimmed;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition acknowledged = lock.newCondition();
+    private final List<FollowerLink> followers = new CopyOnWriteArrayList<>();
+    // Connexions acceptées dont la poignée de main n'est pas terminée
+    private final List<FollowerLink> handshaking = new CopyOnWriteArrayList<>();
+
+    // Mesures
+    private final LongAdder ackTimeouts = new LongAdder();
+    private final LongAdder replicatedRecords = new LongAdder();
+    private final LongAdder replicationNanos = new LongAdder();
+    private final AtomicLong maxReplicationNanos = new AtomicLong();
+
+    // Dernière séquence ajoutée par le thread courant, attendue dans afterCommit (mode QUORUM)
+    private final ThreadLocal<long[]> pendingSequence = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Crée un primaire en mode asynchrone.
+     *
+     * @param bankingService Service bancaire répliqué
+     * @param address        Adresse d'écoute des réplicas (port 0 = port libre)
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public ReplicationPrimary(BankingService bankingService, InetSocketAddress address) throws IOException {
+        this(bankingService, address, ReplicationMode.ASYNC, 0, DEFAULT_ACK_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Crée un primaire.
+     * Les utilisateurs et comptes déjà présents sont journalisés avec leur solde courant
+     * (chaque compte sous son verrou); l'écouteur est installé avant, un réplica ignore
+     * donc les créations reçues deux fois.
+     *
+     * @param bankingService   Service bancaire répliqué
+     * @param address          Adresse d'écoute des réplicas (port 0 = port libre)
+     * @param mode             Mode de validation
+     * @param quorum           Nombre d'acquittements requis en mode QUORUM
+     * @param ackTimeoutMillis Délai d'attente du quorum
+     * @throws IOException Si le port ne peut pas être ouvert
+     * @throws IllegalArgumentException si le quorum est invalide
+     */
+    public ReplicationPrimary(BankingService bankingService, InetSocketAddress address,
+                              ReplicationMode mode, int quorum, long ackTimeoutMillis) throws IOException {
+        this(bankingService, address, mode, quorum, ackTimeoutMillis, DEFAULT_RETAINED_RECORDS);
+    }
+
+    /**
+     * Crée un primaire dont le journal conserve au plus {@code retainedRecords} entrées.
+     *
+     * @param bankingService   Service bancaire répliqué
+     * @param address          Adresse d'écoute des réplicas (port 0 = port libre)
+     * @param mode             Mode de validation
+     * @param quorum           Nombre d'acquittements requis en mode QUORUM
+     * @param ackTimeoutMillis Délai d'attente du quorum
+     * @param retainedRecords  Taille de la fenêtre de rattrapage
+     * @throws IOException Si le port ne peut pas être ouvert
+     * @throws IllegalArgumentException si le quorum ou la fenêtre est invalide
+     */
+    public ReplicationPrimary(BankingService bankingService, InetSocketAddress address, ReplicationMode mode,
+                              int quorum, long ackTimeoutMillis, int retainedRecords) throws IOException {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        if (mode == ReplicationMode.QUORUM && quorum < 1) {
+            throw new IllegalArgumentException("Le quorum doit être d'au moins un réplica");
+        }
+        if (retainedRecords < 1) {
+            throw new IllegalArgumentException("Le journal doit conserver au moins une entrée");
+        }
+        this.bankingService = bankingService;
+        this.mode = mode;
+        this.quorum = quorum;
+        this.ackTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMillis);
+        this.retainedRecords = retainedRecords;
+
+        bankingService.getTransactionService().setCommitListener(this);
+        for (User user : bankingService.getAllUsers()) {
+            append(sequence -> ReplicationRecord.ofUser(sequence, user));
+        }
+        for (Account account : bankingService.getAllAccounts()) {
+            account.getLock().lock();
+            try {
+                append(sequence -> ReplicationRecord.ofAccount(sequence, account, account.getBalance()));
+            } finally {
+                account.getLock().unlock();
+            }
+        }
+
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        this.acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // ==================== Opérations journalisées ====================
+
+    /**
+     * Crée un utilisateur (répliqué comme toute création sur le service).
+     *
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @param email    Adresse email
+     * @return L'utilisateur créé
+     * @throws IllegalArgumentException si les données sont invalides ou l'utilisateur existe
+     */
+    public User createUser(String username, String password, String email) {
+        return bankingService.createUser(username, password, email);
+    }
+
+    /**
+     * Crée un compte (répliqué comme toute création sur le service).
+     *
+     * @param user           Propriétaire du compte
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     */
+    public Account createAccount(User user, double initialDeposit) {
+        return bankingService.createAccount(user, initialDeposit);
+    }
+
+    /**
+     * Crée un utilisateur et un compte associé, tous deux répliqués.
+     *
+     * @param username       Nom d'utilisateur
+     * @param password       Mot de passe
+     * @param email          Adresse email
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     */
+    public Account createUserWithAccount(String username, String password,
+                                         String email, double initialDeposit) {
+        return bankingService.createUserWithAccount(username, password, email, initialDeposit);
+    }
+
+    @Override
+    public void onUserCreated(User user) {
+        track(append(sequence -> ReplicationRecord.ofUser(sequence, user)));
+    }
+
+    @Override
+    public void onAccountCreated(Account account, double initialBalance) {
+        track(append(sequence -> ReplicationRecord.ofAccount(sequence, account, initialBalance)));
+    }
+
+    /**
+     * Journalise une transaction au moment de sa validation (sous le verrou des comptes).
+     *
+     * @param transaction La transaction validée
+     */
+    @Override
+    public void onTransactionCommitted(Transaction transaction) {
+        track(append(sequence -> ReplicationRecord.ofTransaction(sequence, transaction)));
+    }
+
+    /**
+     * En mode QUORUM, attend l'acquittement de la dernière entrée ajoutée par ce thread.
+     */
+    @Override
+    public void afterCommit() {
+        if (mode != ReplicationMode.QUORUM) {
+            return;
+        }
+        long[] pending = pendingSequence.get();
+        long sequence = pending[0];
+        pending[0] = 0;
+        if (sequence > 0) {
+            commit(sequence);
+        }
+    }
+
+    private void track(long sequence) {
+        if (mode == ReplicationMode.QUORUM) {
+            pendingSequence.get()[0] = sequence;
+        }
+    }
+
+    private long append(LongFunction<ReplicationRecord> encoder) {
+        lock.lock();
+        try {
+            long sequence = trimmed + log.size() + 1;
+            log.add(encoder.apply(sequence));
+            if (log.size() > retainedRecords) {
+                // Suppression par lots d'un quart de la fenêtre pour amortir le décalage de la liste
+                int dropped = log.size() - retainedRecords + retainedRecords / 4;
+                log.subList(0, dropped).clear();
+                trimmed += dropped;
+            }
+            appended.signalAll();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commit(long sequence) {
+        if (mode == ReplicationMode.QUORUM && !awaitAcknowledged(sequence, quorum, ackTimeoutNanos)) {
+            ackTimeouts.increment();
+        }
+    }
+
+    /**
+     * Attend que {@code count} réplicas aient appliqué la séquence donnée.
+     *
+     * @param sequence      Séquence attendue
+     * @param count         Nombre de réplicas
+     * @param timeoutMillis Délai maximal
+     * @return true si les réplicas ont acquitté dans le délai
+     */
+    public boolean awaitReplicated(long sequence, int count, long timeoutMillis) {
+        return awaitAcknowledged(sequence, count, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    private boolean awaitAcknowledged(long sequence, int count, long timeoutNanos) {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (acknowledgedBy(sequence) < count) {
+                if (remaining <= 0 || !running) {
+                    return false;
+                }
+                remaining = acknowledged.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int acknowledgedBy(long sequence) {
+        int count = 0;
+        for (FollowerLink follower : followers) {
+            if (follower.acknowledgedSequence >= sequence) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ==================== Connexions des réplicas ====================
+
+    // N'attend jamais un réplica: la poignée de main se fait sur le thread d'envoi de la connexion
+    private void acceptLoop() {
+        while (running) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Erreur de connexion d'un réplica: " + e.getMessage());
+                }
+                continue;
+            }
+            FollowerLink follower = new FollowerLink(socket);
+            handshaking.add(follower);
+            follower.start();
+        }
+    }
+
+    /**
+     * Connexion à un réplica: un thread d'envoi du journal (qui fait d'abord la poignée de main)
+     * et un thread de lecture des acquittements.
+     */
+    private final class FollowerLink {
+
+        private final Socket socket;
+        private DataOutputStream output;
+        private DataInputStream input;
+        private volatile long acknowledgedSequence;
+
+        FollowerLink(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            Thread sender = new Thread(this::run, "replication-sender-" + socket.getPort());
+            sender.setDaemon(true);
+            sender.start();
+        }
+
+        private void run() {
+            try {
+                handshake();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Poignée de main d'un réplica échouée: " + e.getMessage());
+                }
+                disconnect();
+                return;
+            }
+            followers.add(this);
+            handshaking.remove(this);
+            if (!running) {
+                // Primaire fermé pendant la poignée de main
+                disconnect();
+                return;
+            }
+            Thread ackReader = new Thread(this::ackLoop, "replication-acks-" + socket.getPort());
+            ackReader.setDaemon(true);
+            ackReader.start();
+            sendLoop();
+        }
+
+        // Le réplica annonce sa dernière séquence appliquée, dans un délai borné;
+        // refusé si la suite n'est plus dans la fenêtre du journal
+        private void handshake() throws IOException {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+            output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            long announced = Math.max(0, input.readLong());
+            lock.lock();
+            try {
+                if (announced < trimmed) {
+                    throw new IOException("séquence " + announced + " hors du journal conservé (depuis "
+                            + (trimmed + 1) + ")");
+                }
+                acknowledgedSequence = Math.min(announced, trimmed + log.size());
+            } finally {
+                lock.unlock();
+            }
+            socket.setSoTimeout(0);
+        }
+
+        private void sendLoop() {
+            List<ReplicationRecord> batch = new ArrayList<>();
+            long next = acknowledgedSequence + 1;
+            try {
+                while (running) {
+                    lock.lock();
+                    try {
+                        while (running && trimmed + log.size() < next) {
+                            appended.await();
+                        }
+                        if (next <= trimmed) {
+                            System.err.println("Réplica trop en retard: séquence " + next
+                                    + " sortie du journal conservé (depuis " + (trimmed + 1) + ")");
+                            break;
+                        }
+                        batch.addAll(log.subList((int) (next - trimmed - 1), log.size()));
+                    } finally {
+                        lock.unlock();
+                    }
+                    // Tout ce qui s'est accumulé part en une seule écriture
+                    for (ReplicationRecord record : batch) {
+                        output.write(record.payload);
+                    }
+                    output.flush();
+                    next += batch.size();
+                    batch.clear();
+                }
+            } catch (IOException e) {
+                // connexion perdue
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            disconnect();
+        }
+
+        // Un acquittement hors de [dernier acquittement, dernière séquence] est une erreur de protocole
+        private void ackLoop() {
+            try {
+                while (running && acknowledge(input.readLong())) {
+                    // acquittement suivant
+                }
+            } catch (IOException e) {
+                // connexion perdue
+            }
+            disconnect();
+        }
+
+        private boolean acknowledge(long sequence) {
+            long now = System.nanoTime();
+            lock.lock();
+            try {
+                long last = trimmed + log.size();
+                if (sequence < acknowledgedSequence || sequence > last) {
+                    System.err.println("Acquittement invalide d'un réplica: " + sequence
+                            + " (journal: " + last + ", dernier acquittement: " + acknowledgedSequence + ")");
+                    return false;
+                }
+                // Les entrées déjà supprimées du journal ne sont pas mesurées
+                for (long s = Math.max(acknowledgedSequence, trimmed) + 1; s <= sequence; s++) {
+                    recordLatency(now - log.get((int) (s - trimmed - 1)).appendNanos);
+                }
+                acknowledgedSequence = sequence;
+                acknowledged.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void disconnect() {
+            followers.remove(this);
+            handshaking.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fermeture d'un réplica: " + e.getMessage());
+            }
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        replicatedRecords.increment();
+        replicationNanos.add(nanos);
+        maxReplicationNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ==================== Mesures ====================
+
+    /**
+     * Retourne la dernière séquence du journal.
+     *
+     * @return Dernière séquence (0 si le journal est vide)
+     */
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return trimmed + log.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne la plus ancienne séquence encore conservée pour le rattrapage.
+     *
+     * @return Première séquence du journal
+     */
+    public long getFirstRetainedSequence() {
+        lock.lock();
+        try {
+            return trimmed + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retourne le retard du réplica le plus en retard, en nombre d'entrées.
+     *
+     * @return Retard de réplication (0 sans réplica)
+     */
+    public long getReplicationLag() {
+        long last = getLastSequence();
+        long lag = 0;
+        for (FollowerLink follower : followers) {
+            lag = Math.max(lag, last - follower.acknowledgedSequence);
+        }
+        return lag;
+    }
+
+    /**
+     * Retourne la latence moyenne entre l'ajout au journal et l'acquittement.
+     *
+     * @return Latence moyenne en nanosecondes
+     */
+    public long getAverageReplicationNanos() {
+        long count = replicatedRecords.sum();
+        return count == 0 ? 0 : replicationNanos.sum() / count;
+    }
+
+    /**
+     * Retourne la latence maximale entre l'ajout au journal et l'acquittement.
+     *
+     * @return Latence maximale en nanosecondes
+     */
+    public long getMaxReplicationNanos() {
+        return maxReplicationNanos.get();
+    }
+
+    /**
+     * Retourne le nombre de validations en quorum abandonnées après le délai.
+     *
+     * @return Nombre de délais dépassés
+     */
+    public long getAckTimeoutCount() {
+        return ackTimeouts.sum();
+    }
+
+    /**
+     * Retourne le nombre de réplicas connectés.
+     *
+     * @return Nombre de réplicas
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Retourne le port d'écoute des réplicas.
+     *
+     * @return Port TCP
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retourne le mode de validation.
+     *
+     * @return Mode de réplication
+     */
+    public ReplicationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Arrête la réplication et déconnecte les réplicas.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (bankingService.getTransactionService().getCommitListener() == this) {
+            bankingService.getTransactionService().setCommitListener(null);
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture du primaire: " + e.getMessage());
+        }
+        for (FollowerLink follower : followers) {
+            follower.disconnect();
+        }
+        for (FollowerLink follower : handshaking) {
+            follower.disconnect();
+        }
+        lock.lock();
+        try {
+            appended.signalAll();
+            acknowledged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.finance.replication;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneOffset;
+
+/**
+ * Entrée du journal de réplication, encodée une seule fois à l'ajout
+ * puis envoyée telle quelle à chaque réplica.
+ *
+ * Format: numéro de séquence (long), type (octet), puis
+ * USER: id, nom, email (UTF), sans le mot de passe;
+ * ACCOUNT: id, id du propriétaire (UTF), solde initial (double);
+ * TRANSACTION: id (UTF), type (octet), montant (double), horodatage (secondes UTC en long, nanosecondes
+ * en int), compte source, compte destination, description (UTF).
+ */
+final class ReplicationRecord {
+
+    static final byte USER = 1;
+    static final byte ACCOUNT = 2;
+    static final byte TRANSACTION = 3;
+
+    final long sequence;
+    final byte[] payload;
+
+    // Instant d'ajout au journal (System.nanoTime), pour mesurer la latence de réplication
+    final long appendNanos;
+
+    private ReplicationRecord(long sequence, byte[] payload) {
+        this.sequence = sequence;
+        this.payload = payload;
+        this.appendNanos = System.nanoTime();
+    }
+
+    static ReplicationRecord ofUser(long sequence, User user) {
+        return encode(sequence, USER, out -> {
+            out.writeUTF(user.getId());
+            out.writeUTF(user.getUsername());
+            out.writeUTF(user.getEmail());
+        });
+    }
+
+    static ReplicationRecord ofAccount(long sequence, Account account, double initialBalance) {
+        return encode(sequence, ACCOUNT, out -> {
+            out.writeUTF(account.getId());
+            out.writeUTF(account.getOwner().getId());
+            out.writeDouble(initialBalance);
+        });
+    }
+
+    static ReplicationRecord ofTransaction(long sequence, Transaction transaction) {
+        return encode(sequence, TRANSACTION, out -> {
+            out.writeUTF(transaction.getId());
+            out.writeByte(transaction.getType().ordinal());
+            out.writeDouble(transaction.getAmount());
+            out.writeLong(transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(transaction.getTimestamp().getNano());
+            out.writeUTF(idOf(transaction.getFromAccount()));
+            out.writeUTF(idOf(transaction.getToAccount()));
+            out.writeUTF(transaction.getDescription() == null ? "" : transaction.getDescription());
+        });
+    }
+
+    private static String idOf(Account account) {
+        return account == null ? "" : account.getId();
+    }
+
+    private static ReplicationRecord encode(long sequence, byte kind, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(sequence);
+            out.writeByte(kind);
+            body.write(out);
+        } catch (IOException e) {
+            // Impossible en mémoire
+            throw new UncheckedIOException(e);
+        }
+        return new ReplicationRecord(sequence, bytes.toByteArray());
+    }
+
+    /**
+     * Écriture du corps d'une entrée.
+     */
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -1,28 +1,34 @@
 package com.university.finance.service;
 
+import com.university.finance.config.ConfigurationListener;
 import com.university.finance.config.ConfigurationManager;
+import com.university.finance.config.ConfigurationSnapshot;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.pattern.factory.AccountFactory;
 import com.university.finance.pattern.factory.UserFactory;
 import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.IsolationPolicy;
 import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.pattern.observer.TransactionObserver;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Service principal de gestion bancaire.
  * Orchestre les opérations en utilisant les différents patterns implémentés.
  */
-public class BankingService {
+public class BankingService implements ConfigurationListener {
 
-    // Stockage des utilisateurs et comptes
+    // Stockage des utilisateurs et comptes (concurrent: opérations appelées depuis plusieurs threads)
     private final Map<String, User> users;
     private final Map<String, Account> accounts;
+    private final Set<String> usernames;
 
     // Factories
     private final UserFactory userFactory;
@@ -35,6 +41,10 @@ public class BankingService {
     private final AuditLogger auditLogger;
     private final NotificationService notificationService;
 
+    // Isolation des observers (null = livraison directe)
+    private volatile IsolationPolicy auditIsolation;
+    private volatile IsolationPolicy notificationIsolation;
+
     // Configuration
     private final ConfigurationManager config;
 
@@ -43,8 +53,9 @@ public class BankingService {
      * Initialise tous les composants avec les observers par défaut.
      */
     public BankingService() {
-        this.users = new HashMap<>();
-        this.accounts = new HashMap<>();
+        this.users = new ConcurrentHashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.usernames = ConcurrentHashMap.newKeySet();
         this.userFactory = new UserFactory();
         this.accountFactory = new AccountFactory();
         this.transactionService = new TransactionService();
@@ -55,10 +66,11 @@ public class BankingService {
         this.notificationService = new NotificationService();
 
         // Enregistrer les observers si activés dans la configuration
-        if (config.isAuditEnabled()) {
+        ConfigurationSnapshot settings = config.getSnapshot();
+        if (settings.isAuditEnabled()) {
             transactionService.addObserver(auditLogger);
         }
-        if (config.isNotificationsEnabled()) {
+        if (settings.isNotificationsEnabled()) {
             transactionService.addObserver(notificationService);
         }
     }
@@ -70,8 +82,9 @@ public class BankingService {
      * @param notificationService Service de notifications
      */
     public BankingService(AuditLogger auditLogger, NotificationService notificationService) {
-        this.users = new HashMap<>();
-        this.accounts = new HashMap<>();
+        this.users = new ConcurrentHashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.usernames = ConcurrentHashMap.newKeySet();
         this.userFactory = new UserFactory();
         this.accountFactory = new AccountFactory();
         this.transactionService = new TransactionService();
@@ -105,10 +118,59 @@ public class BankingService {
         }
 
         User user = userFactory.createUser(username, password, email);
-        users.put(user.getId(), user);
+        // Réservation atomique du nom pour les créations concurrentes
+        if (!usernames.add(username)) {
+            throw new IllegalArgumentException("Un utilisateur avec ce nom existe déjà");
+        }
+        register(user);
+        return user;
+    }
+
+    /**
+     * Crée un utilisateur avec un identifiant choisi par l'appelant
+     * (par exemple un réplica qui reproduit l'état du primaire).
+     *
+     * @param userId   Identifiant de l'utilisateur
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @param email    Adresse email
+     * @return L'utilisateur créé
+     * @throws IllegalArgumentException si les données sont invalides ou l'utilisateur existe
+     */
+    public User createUser(String userId, String username, String password, String email) {
+        User user = userFactory.createUser(userId, username, password, email);
+        if (users.containsKey(userId) || !usernames.add(username)) {
+            throw new IllegalArgumentException("Un utilisateur avec ce nom existe déjà");
+        }
+        register(user);
         return user;
     }
 
+    /**
+     * Ajoute un utilisateur reproduit d'un autre service (réplica). Le mot de passe
+     * n'étant pas répliqué, il peut être null: l'utilisateur ne peut alors pas
+     * s'authentifier tant que {@link User#setPassword(String)} n'a pas été appelé.
+     *
+     * @param user Utilisateur à ajouter
+     * @return true si l'utilisateur a été ajouté, false si son ID ou son nom existe déjà
+     */
+    public boolean importUser(User user) {
+        if (users.containsKey(user.getId()) || !usernames.add(user.getUsername())) {
+            return false;
+        }
+        register(user);
+        return true;
+    }
+
+    private void register(User user) {
+        users.put(user.getId(), user);
+        CommitListener listener = transactionService.getCommitListener();
+        if (listener != null) {
+            listener.onUserCreated(user);
+            listener.afterCommit();
+        }
+    }
+
     /**
      * Trouve un utilisateur par son ID.
      *
@@ -167,10 +229,64 @@ public class BankingService {
      */
     public Account createAccount(User user, double initialDeposit) {
         Account account = accountFactory.createAccount(user, initialDeposit);
-        accounts.put(account.getId(), account);
+        register(account);
+        return account;
+    }
+
+    /**
+     * Crée un compte premium, soumis aux limites de la gamme premium ({@code tier.premium.*}).
+     *
+     * @param user           Propriétaire du compte
+     * @param initialDeposit Dépôt initial (minimum 1000€)
+     * @return Le compte créé
+     * @throws IllegalArgumentException si le dépôt initial est insuffisant
+     */
+    public Account createPremiumAccount(User user, double initialDeposit) {
+        Account account = accountFactory.createPremiumAccount(user, initialDeposit);
+        register(account);
+        return account;
+    }
+
+    /**
+     * Crée un nouveau compte avec un identifiant choisi par l'appelant.
+     *
+     * @param accountId      Identifiant du compte
+     * @param user           Propriétaire du compte
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     * @throws IllegalArgumentException si les données sont invalides ou le compte existe
+     */
+    public Account createAccount(String accountId, User user, double initialDeposit) {
+        Account account = accountFactory.createAccount(accountId, user, initialDeposit);
+        register(account);
         return account;
     }
 
+    /**
+     * Rend un compte visible. L'écouteur des validations le reçoit sous le verrou du
+     * compte, donc avant toute opération qui le vise.
+     *
+     * @param account Compte créé
+     * @throws IllegalArgumentException si un compte avec le même ID existe
+     */
+    private void register(Account account) {
+        CommitListener listener = transactionService.getCommitListener();
+        account.getLock().lock();
+        try {
+            if (accounts.putIfAbsent(account.getId(), account) != null) {
+                throw new IllegalArgumentException("Un compte avec cet ID existe déjà: " + account.getId());
+            }
+            if (listener != null) {
+                listener.onAccountCreated(account, account.getBalance());
+            }
+        } finally {
+            account.getLock().unlock();
+        }
+        if (listener != null) {
+            listener.afterCommit();
+        }
+    }
+
     /**
      * Crée un utilisateur et un compte associé en une seule opération.
      *
@@ -255,7 +371,7 @@ public class BankingService {
      *
      * @param accountId ID du compte
      * @param amount    Montant à retirer
-     * @return La transaction créée
+     * @return La transaction créée, ou null si le solde minimum du compte serait franchi
      * @throws IllegalArgumentException si le compte n'existe pas
      */
     public Transaction withdraw(String accountId, double amount) {
@@ -263,6 +379,8 @@ public class BankingService {
         if (account == null) {
             throw new IllegalArgumentException("Compte non trouvé: " + accountId);
         }
+        // Rafraîchit les limites en cache: le débit respecte leur solde minimum sous le verrou du compte
+        config.getLimits(account);
         return transactionService.withdraw(account, amount);
     }
 
@@ -286,10 +404,12 @@ public class BankingService {
             throw new IllegalArgumentException("Compte destination non trouvé: " + toAccountId);
         }
 
-        // Vérifier la limite de transfert
-        if (amount > config.getMaxTransfer()) {
+        // Vérifier la limite de transfert de la gamme du compte source (mise en cache sur le compte,
+        // dont le solde minimum est appliqué au débit)
+        double maxTransfer = config.getLimits(fromAccount).getMaxTransfer();
+        if (amount > maxTransfer) {
             throw new IllegalArgumentException(
-                    "Le montant dépasse la limite de transfert de " + config.getMaxTransfer() + "€"
+                    "Le montant dépasse la limite de transfert de " + maxTransfer + "€"
             );
         }
 
@@ -340,6 +460,115 @@ public class BankingService {
         return notificationService;
     }
 
+    /**
+     * Vérifie si le logger d'audit reçoit les transactions.
+     *
+     * @return true si l'audit est actif
+     */
+    public boolean isAuditEnabled() {
+        return auditLogger != null && transactionService.hasObserver(auditLogger);
+    }
+
+    /**
+     * Active ou désactive le logger d'audit sans redémarrer le service.
+     *
+     * @param enabled true pour activer l'audit
+     * @throws IllegalStateException si le service n'a pas de logger d'audit
+     */
+    public void setAuditEnabled(boolean enabled) {
+        toggleObserver(auditLogger, auditIsolation, enabled, "logger d'audit");
+    }
+
+    /**
+     * Vérifie si le service de notifications reçoit les transactions.
+     *
+     * @return true si les notifications sont actives
+     */
+    public boolean isNotificationsEnabled() {
+        return notificationService != null && transactionService.hasObserver(notificationService);
+    }
+
+    /**
+     * Active ou désactive les notifications sans redémarrer le service.
+     *
+     * @param enabled true pour activer les notifications
+     * @throws IllegalStateException si le service n'a pas de service de notifications
+     */
+    public void setNotificationsEnabled(boolean enabled) {
+        toggleObserver(notificationService, notificationIsolation, enabled, "service de notifications");
+    }
+
+    /**
+     * Applique les indicateurs audit.enabled et notifications.enabled d'une nouvelle configuration.
+     * Seuls les indicateurs modifiés sont appliqués, pour ne pas écraser un réglage fait via JMX;
+     * un observer absent de ce service est ignoré.
+     *
+     * @param previous Configuration remplacée
+     * @param current  Configuration désormais en vigueur
+     */
+    @Override
+    public void onConfigurationChanged(ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+        if (auditLogger != null && previous.isAuditEnabled() != current.isAuditEnabled()) {
+            setAuditEnabled(current.isAuditEnabled());
+        }
+        if (notificationService != null
+                && previous.isNotificationsEnabled() != current.isNotificationsEnabled()) {
+            setNotificationsEnabled(current.isNotificationsEnabled());
+        }
+    }
+
+    /**
+     * Isole les observers de ce service (audit, notifications): chacun reçoit les
+     * transactions sur son propre thread, avec un budget de temps et un disjoncteur,
+     * si bien qu'un observer lent ou en panne ne ralentit plus les opérations.
+     *
+     * @param policy Paramètres d'isolation
+     */
+    public void isolateObservers(IsolationPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("La politique d'isolation est requise");
+        }
+        isolateObservers(policy, policy);
+    }
+
+    /**
+     * Isole les observers avec une politique propre à chacun. Sans débordement sur
+     * disque, un observer isolé peut perdre des transactions (file pleine, disjoncteur
+     * ouvert): l'audit ne devrait l'être qu'avec une politique qui déborde.
+     *
+     * @param auditPolicy        Isolation du logger d'audit (null = livraison directe)
+     * @param notificationPolicy Isolation des notifications (null = livraison directe)
+     */
+    public void isolateObservers(IsolationPolicy auditPolicy, IsolationPolicy notificationPolicy) {
+        this.auditIsolation = auditPolicy;
+        this.notificationIsolation = notificationPolicy;
+        if (auditPolicy != null && isAuditEnabled()) {
+            transactionService.addIsolatedObserver(auditLogger, auditPolicy);
+        }
+        if (notificationPolicy != null && isNotificationsEnabled()) {
+            transactionService.addIsolatedObserver(notificationService, notificationPolicy);
+        }
+    }
+
+    private void toggleObserver(TransactionObserver observer, IsolationPolicy policy,
+                                boolean enabled, String description) {
+        if (observer == null) {
+            if (enabled) {
+                throw new IllegalStateException("Aucun " + description + " configuré");
+            }
+            return;
+        }
+        if (enabled) {
+            if (policy != null) {
+                transactionService.addIsolatedObserver(observer, policy);
+            } else {
+                transactionService.addObserver(observer);
+            }
+        } else {
+            transactionService.removeObserver(observer);
+        }
+    }
+
     /**
      * Retourne la factory d'utilisateurs.
      *
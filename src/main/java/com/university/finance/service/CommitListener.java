@@ -0,0 +1,47 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+
+/**
+ * Écouteur des modifications validées d'un {@link BankingService}, appelé sur le
+ * thread de l'opération, avant les observers.
+ *
+ * Contrairement aux observers, il est appelé au moment de la validation, sous le
+ * verrou des comptes concernés: deux opérations sur un même compte lui parviennent
+ * dans l'ordre où elles ont modifié son solde, et un compte est signalé avant
+ * qu'une opération puisse le viser. Ces appels doivent donc rester courts; une
+ * attente (par exemple d'une réplication synchrone) se fait dans {@link #afterCommit()},
+ * une fois les verrous relâchés.
+ */
+public interface CommitListener {
+
+    /**
+     * Un utilisateur vient d'être créé.
+     *
+     * @param user Utilisateur créé
+     */
+    void onUserCreated(User user);
+
+    /**
+     * Un compte vient d'être créé (sous son verrou, avant d'être visible).
+     *
+     * @param account        Compte créé
+     * @param initialBalance Solde initial
+     */
+    void onAccountCreated(Account account, double initialBalance);
+
+    /**
+     * Une transaction vient d'être appliquée (sous le verrou des comptes modifiés).
+     *
+     * @param transaction Transaction validée
+     */
+    void onTransactionCommitted(Transaction transaction);
+
+    /**
+     * Appelé sur le même thread après l'un des appels précédents, verrous relâchés.
+     */
+    default void afterCommit() {
+    }
+}
@@ -1,15 +1,28 @@
 package com.university.finance.service;
 
+import com.university.finance.metrics.MetricsRegistry;
+import com.university.finance.metrics.ObserverDispatchEvent;
+import com.university.finance.metrics.TransactionExecutionEvent;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.pattern.observer.IsolationPolicy;
+import com.university.finance.pattern.observer.ObserverRegistry;
 import com.university.finance.pattern.observer.TransactionObserver;
 import com.university.finance.pattern.strategy.DepositStrategy;
 import com.university.finance.pattern.strategy.TransactionStrategy;
 import com.university.finance.pattern.strategy.TransferStrategy;
 import com.university.finance.pattern.strategy.WithdrawStrategy;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Service de gestion des transactions.
@@ -18,19 +31,31 @@ import java.util.List;
  */
 public class TransactionService {
 
-    // Liste des observers (pattern Observer)
-    private final List<TransactionObserver> observers;
+    // Observers par type de transaction (pattern Observer), modifiables pendant les notifications
+    private final ObserverRegistry observers;
+
+    // Observers isolés, indexés par l'observer d'origine
+    private final Map<TransactionObserver, IsolatedObserver> isolated = new ConcurrentHashMap<>();
 
     // Stratégies de transaction (pattern Strategy)
     private final DepositStrategy depositStrategy;
     private final WithdrawStrategy withdrawStrategy;
     private final TransferStrategy transferStrategy;
 
+    // Exécuteur des livraisons aux observers (null = livraison synchrone)
+    private volatile Executor observerExecutor;
+
+    // Métriques d'exécution et de livraison (null = désactivées)
+    private volatile MetricsRegistry metrics = new MetricsRegistry();
+
+    // Écouteur des validations, appelé sous le verrou des comptes (null = aucun)
+    private volatile CommitListener commitListener;
+
     /**
      * Constructeur par défaut.
      */
     public TransactionService() {
-        this.observers = new ArrayList<>();
+        this.observers = new ObserverRegistry();
         this.depositStrategy = new DepositStrategy();
         this.withdrawStrategy = new WithdrawStrategy();
         this.transferStrategy = new TransferStrategy();
@@ -44,36 +69,227 @@ public class TransactionService {
      * @param observer Observer à ajouter
      */
     public void addObserver(TransactionObserver observer) {
-        if (observer != null && !observers.contains(observer)) {
-            observers.add(observer);
+        if (observer != null) {
+            observers.subscribe(observer);
+        }
+    }
+
+    /**
+     * Ajoute un observer qui ne reçoit que certains types de transactions.
+     * Pour un observer déjà inscrit, remplace les types reçus.
+     *
+     * @param observer Observer à ajouter
+     * @param first    Premier type reçu
+     * @param others   Autres types reçus
+     */
+    public void addObserver(TransactionObserver observer, TransactionType first, TransactionType... others) {
+        if (observer != null) {
+            observers.subscribe(observer, EnumSet.of(first, others));
         }
     }
 
     /**
-     * Supprime un observer.
+     * Ajoute un observer isolé: il reçoit les transactions sur son propre thread,
+     * avec un budget de temps et un disjoncteur (voir {@link IsolatedObserver}).
+     * Un observer déjà inscrit directement est remplacé par sa version isolée.
+     *
+     * @param observer Observer à isoler
+     * @param policy   Paramètres d'isolation
+     * @return Observer isolé inscrit (existant si l'observer était déjà isolé)
+     */
+    public IsolatedObserver addIsolatedObserver(TransactionObserver observer, IsolationPolicy policy) {
+        IsolatedObserver existing = isolated.get(observer);
+        if (existing != null) {
+            return existing;
+        }
+        IsolatedObserver wrapper = new IsolatedObserver(observer, policy, this::getMetrics);
+        if (isolated.putIfAbsent(observer, wrapper) != null) {
+            wrapper.close();
+            return isolated.get(observer);
+        }
+        // La version isolée garde les types auxquels l'observer était abonné
+        Set<TransactionType> types = observers.getTypes(observer);
+        observers.unsubscribe(observer);
+        if (types.isEmpty()) {
+            observers.subscribe(wrapper);
+        } else {
+            observers.subscribe(wrapper, types);
+        }
+        return wrapper;
+    }
+
+    /**
+     * Retourne les observers isolés inscrits, pour exposer leurs files d'attente.
+     *
+     * @return Vue non modifiable des observers isolés
+     */
+    public Collection<IsolatedObserver> getIsolatedObservers() {
+        return Collections.unmodifiableCollection(isolated.values());
+    }
+
+    /**
+     * Supprime un observer (et arrête sa version isolée, le cas échéant).
      *
      * @param observer Observer à supprimer
      */
     public void removeObserver(TransactionObserver observer) {
-        observers.remove(observer);
+        observers.unsubscribe(observer);
+        IsolatedObserver wrapper = isolated.remove(observer);
+        if (wrapper != null) {
+            observers.unsubscribe(wrapper);
+            wrapper.close();
+        }
     }
 
     /**
-     * Notifie tous les observers d'une transaction.
+     * Vérifie si un observer est enregistré.
+     *
+     * @param observer Observer recherché
+     * @return true si l'observer reçoit les notifications
+     */
+    public boolean hasObserver(TransactionObserver observer) {
+        return observers.contains(observer) || isolated.containsKey(observer);
+    }
+
+    /**
+     * Notifie les observers abonnés au type de la transaction.
+     * Le tableau des observers est un instantané du registre: la boucle ne prend
+     * aucun verrou et n'alloue rien en livraison synchrone.
      *
      * @param transaction Transaction à notifier
      */
     private void notifyObservers(Transaction transaction) {
-        for (TransactionObserver observer : observers) {
-            try {
-                observer.onTransaction(transaction);
-            } catch (Exception e) {
-                System.err.println("Erreur lors de la notification de l'observer " 
-                        + observer.getName() + ": " + e.getMessage());
+        Executor executor = observerExecutor;
+        TransactionObserver[] targets = observers.observersFor(transaction.getType());
+        for (int i = 0; i < targets.length; i++) {
+            TransactionObserver observer = targets[i];
+            if (executor == null) {
+                deliver(observer, transaction);
+            } else {
+                try {
+                    executor.execute(() -> deliver(observer, transaction));
+                } catch (RejectedExecutionException e) {
+                    // Exécuteur arrêté: livraison sur le thread appelant
+                    deliver(observer, transaction);
+                }
             }
         }
     }
 
+    /**
+     * Livre une transaction à un observer en isolant ses erreurs.
+     *
+     * @param observer    Observer à notifier
+     * @param transaction Transaction à notifier
+     */
+    private void deliver(TransactionObserver observer, Transaction transaction) {
+        if (observer instanceof IsolatedObserver) {
+            // Simple dépôt dans la file de l'observer: mesuré et protégé par son propre thread
+            observer.onTransaction(transaction);
+            return;
+        }
+        ObserverDispatchEvent event = new ObserverDispatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean error = false;
+        try {
+            observer.onTransaction(transaction);
+        } catch (Exception e) {
+            error = true;
+            System.err.println("Erreur lors de la notification de l'observer " 
+                    + observer.getName() + ": " + e.getMessage());
+        }
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            registry.recordDelivery(observer.getName(), System.nanoTime() - start, error);
+        }
+        event.finish(observer.getName(), transaction, error);
+    }
+
+    /**
+     * Enregistre l'exécution d'une opération dans les métriques.
+     *
+     * @param type        Type de transaction
+     * @param amount      Montant demandé
+     * @param startNanos  Début de l'exécution ({@link System#nanoTime()})
+     * @param transaction Transaction créée, ou null si l'opération a été refusée
+     */
+    public void recordOperation(TransactionType type, double amount, long startNanos, Transaction transaction) {
+        MetricsRegistry registry = metrics;
+        if (registry != null) {
+            registry.recordOperation(type, amount, System.nanoTime() - startNanos, transaction != null);
+        }
+    }
+
+    /**
+     * Retourne le registre des métriques.
+     *
+     * @return Registre, ou null si les métriques sont désactivées
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Remplace le registre des métriques (par exemple pour le partager entre
+     * plusieurs services); null désactive l'enregistrement.
+     *
+     * @param metrics Registre, ou null
+     */
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Définit l'exécuteur des livraisons aux observers.
+     * Chaque livraison à chaque observer devient une tâche indépendante
+     * (par exemple un thread virtuel); null rétablit la livraison synchrone.
+     *
+     * @param observerExecutor Exécuteur, ou null
+     */
+    public void setObserverExecutor(Executor observerExecutor) {
+        this.observerExecutor = observerExecutor;
+    }
+
+    /**
+     * Retourne l'exécuteur des livraisons aux observers.
+     *
+     * @return Exécuteur, ou null si la livraison est synchrone
+     */
+    public Executor getObserverExecutor() {
+        return observerExecutor;
+    }
+
+    /**
+     * Notifie les observers d'une transaction exécutée hors de ce service
+     * (par exemple par le séquenceur, sur son propre thread).
+     *
+     * @param transaction Transaction à notifier
+     */
+    public void publish(Transaction transaction) {
+        if (transaction != null) {
+            notifyObservers(transaction);
+        }
+    }
+
+    /**
+     * Définit l'écouteur des validations (voir {@link CommitListener}); null le retire.
+     *
+     * @param commitListener Écouteur, ou null
+     */
+    public void setCommitListener(CommitListener commitListener) {
+        this.commitListener = commitListener;
+    }
+
+    /**
+     * Retourne l'écouteur des validations.
+     *
+     * @return Écouteur, ou null
+     */
+    public CommitListener getCommitListener() {
+        return commitListener;
+    }
+
     /**
      * Retourne le nombre d'observers enregistrés.
      *
@@ -83,6 +299,15 @@ public class TransactionService {
         return observers.size();
     }
 
+    /**
+     * Retourne le registre des observers.
+     *
+     * @return Registre des observers
+     */
+    public ObserverRegistry getObserverRegistry() {
+        return observers;
+    }
+
     // ==================== Opérations de Transaction ====================
 
     /**
@@ -93,7 +318,12 @@ public class TransactionService {
      * @return La transaction créée, ou null si l'opération a échoué
      */
     public Transaction deposit(Account account, double amount) {
-        Transaction transaction = depositStrategy.execute(account, amount);
+        TransactionExecutionEvent event = new TransactionExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Transaction transaction = commit(TransactionType.DEPOSIT, account, null, amount);
+        recordOperation(TransactionType.DEPOSIT, amount, start, transaction);
+        event.finish(TransactionType.DEPOSIT, amount, account, null, transaction != null);
         if (transaction != null) {
             notifyObservers(transaction);
         }
@@ -108,7 +338,12 @@ public class TransactionService {
      * @return La transaction créée, ou null si l'opération a échoué
      */
     public Transaction withdraw(Account account, double amount) {
-        Transaction transaction = withdrawStrategy.execute(account, amount);
+        TransactionExecutionEvent event = new TransactionExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Transaction transaction = commit(TransactionType.WITHDRAWAL, account, null, amount);
+        recordOperation(TransactionType.WITHDRAWAL, amount, start, transaction);
+        event.finish(TransactionType.WITHDRAWAL, amount, account, null, transaction != null);
         if (transaction != null) {
             notifyObservers(transaction);
         }
@@ -124,13 +359,70 @@ public class TransactionService {
      * @return La transaction créée, ou null si l'opération a échoué
      */
     public Transaction transfer(Account fromAccount, Account toAccount, double amount) {
-        Transaction transaction = transferStrategy.execute(fromAccount, toAccount, amount);
+        TransactionExecutionEvent event = new TransactionExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Transaction transaction = commit(TransactionType.TRANSFER, fromAccount, toAccount, amount);
+        recordOperation(TransactionType.TRANSFER, amount, start, transaction);
+        event.finish(TransactionType.TRANSFER, amount, fromAccount, toAccount, transaction != null);
         if (transaction != null) {
             notifyObservers(transaction);
         }
         return transaction;
     }
 
+    /**
+     * Exécute la stratégie d'une opération. Avec un écouteur des validations, les
+     * comptes sont verrouillés (par identifiant croissant) le temps de l'exécution
+     * et de la notification de l'écouteur.
+     */
+    private Transaction commit(TransactionType type, Account from, Account to, double amount) {
+        CommitListener listener = commitListener;
+        if (listener == null || from == null) {
+            return execute(type, from, to, amount);
+        }
+        Account first = from;
+        Account second = to == null || to == from ? null : to;
+        if (second != null && second.getId().compareTo(first.getId()) < 0) {
+            first = second;
+            second = from;
+        }
+        Transaction transaction;
+        first.getLock().lock();
+        try {
+            if (second != null) {
+                second.getLock().lock();
+            }
+            try {
+                transaction = execute(type, from, to, amount);
+                if (transaction != null) {
+                    listener.onTransactionCommitted(transaction);
+                }
+            } finally {
+                if (second != null) {
+                    second.getLock().unlock();
+                }
+            }
+        } finally {
+            first.getLock().unlock();
+        }
+        if (transaction != null) {
+            listener.afterCommit();
+        }
+        return transaction;
+    }
+
+    private Transaction execute(TransactionType type, Account from, Account to, double amount) {
+        switch (type) {
+            case DEPOSIT:
+                return depositStrategy.execute(from, amount);
+            case WITHDRAWAL:
+                return withdrawStrategy.execute(from, amount);
+            default:
+                return transferStrategy.execute(from, to, amount);
+        }
+    }
+
     // ==================== Vérifications ====================
 
     /**
@@ -0,0 +1,140 @@
+package com.university.finance.service.sequencer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.service.TransactionService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * Journal d'entrée du séquenceur.
+ * Chaque commande est écrite avant d'être exécutée: le traitement étant
+ * déterministe, rejouer le journal dans l'ordre reconstruit les soldes.
+ *
+ * Format: en-tête {@code SQJ1}, puis pour chaque commande
+ * type (octet), compte source (UTF), compte destination (UTF), montant (double).
+ */
+public final class CommandJournal implements Closeable {
+
+    private static final int MAGIC = 0x53514A31; // "SQJ1"
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final DataOutputStream output;
+
+    /**
+     * Ouvre le journal en ajout (l'en-tête est écrit si le fichier est nouveau).
+     *
+     * @param path Chemin du journal
+     * @throws IOException Si le fichier ne peut pas être ouvert
+     */
+    CommandJournal(Path path) throws IOException {
+        boolean isNew = !Files.exists(path) || Files.size(path) == 0;
+        this.output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                BUFFER_SIZE));
+        if (isNew) {
+            output.writeInt(MAGIC);
+        }
+    }
+
+    /**
+     * Ajoute une commande au tampon du journal.
+     *
+     * @param command Commande à journaliser
+     * @throws IOException Si l'écriture échoue
+     */
+    void append(TransactionCommand command) throws IOException {
+        output.writeByte(command.type.ordinal());
+        output.writeUTF(idOf(command.fromAccount));
+        output.writeUTF(idOf(command.toAccount));
+        output.writeDouble(command.amount);
+    }
+
+    /**
+     * Vide le tampon vers le fichier (appelé en fin de lot).
+     *
+     * @throws IOException Si l'écriture échoue
+     */
+    void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    private static String idOf(Account account) {
+        return account == null ? "" : account.getId();
+    }
+
+    /**
+     * Rejoue un journal sur un service de transactions, sans notifier les observers.
+     *
+     * @param path     Chemin du journal
+     * @param service  Service dont les stratégies exécutent les commandes
+     * @param accounts Résolution des comptes par identifiant
+     * @return Nombre de commandes rejouées
+     * @throws IOException Si le journal est illisible ou corrompu
+     * @throws IllegalStateException si un compte du journal est inconnu
+     */
+    public static int replay(Path path, TransactionService service,
+                             Function<String, Account> accounts) throws IOException {
+        int count = 0;
+        try (InputStream raw = Files.newInputStream(path);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(raw, BUFFER_SIZE))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Journal du séquenceur invalide: " + path);
+            }
+            while (true) {
+                int type;
+                try {
+                    type = input.readUnsignedByte();
+                } catch (EOFException e) {
+                    return count;
+                }
+                Account from = resolve(accounts, input.readUTF());
+                Account to = resolve(accounts, input.readUTF());
+                double amount = input.readDouble();
+                if (type >= TYPES.length) {
+                    throw new IOException("Type de commande inconnu dans le journal: " + type);
+                }
+                switch (TYPES[type]) {
+                    case DEPOSIT:
+                        service.getDepositStrategy().execute(from, amount);
+                        break;
+                    case WITHDRAWAL:
+                        service.getWithdrawStrategy().execute(from, amount);
+                        break;
+                    case TRANSFER:
+                        service.getTransferStrategy().execute(from, to, amount);
+                        break;
+                }
+                count++;
+            }
+        }
+    }
+
+    private static Account resolve(Function<String, Account> accounts, String id) {
+        if (id.isEmpty()) {
+            return null;
+        }
+        Account account = accounts.apply(id);
+        if (account == null) {
+            throw new IllegalStateException("Compte inconnu dans le journal: " + id);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,150 @@
+package com.university.finance.service.sequencer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Anneau pré-alloué de commandes, à producteurs multiples.
+ * Les producteurs réservent une séquence par incrément atomique, remplissent
+ * l'emplacement puis le publient. Aucun verrou: la progression des étages
+ * consommateurs est suivie par des séquences ({@link AtomicLong}).
+ */
+final class CommandRingBuffer {
+
+    private final TransactionCommand[] entries;
+    private final int mask;
+
+    // Séquence publiée pour chaque emplacement (-1 = jamais publié)
+    private final AtomicLongArray published;
+
+    // Dernière séquence réservée par un producteur
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    // Séquences des derniers étages: un emplacement n'est réutilisé qu'une fois consommé
+    private AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    /**
+     * Constructeur de l'anneau.
+     *
+     * @param size Taille de l'anneau (puissance de deux)
+     * @throws IllegalArgumentException si la taille n'est pas une puissance de deux
+     */
+    CommandRingBuffer(int size) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("La taille de l'anneau doit être une puissance de deux");
+        }
+        this.entries = new TransactionCommand[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = new TransactionCommand();
+        }
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * Définit les séquences qui empêchent le producteur d'écraser un emplacement.
+     * Doit être appelé avant le démarrage des étages.
+     *
+     * @param sequences Séquences des derniers étages
+     */
+    void setGatingSequences(AtomicLong... sequences) {
+        this.gatingSequences = sequences.clone();
+    }
+
+    /**
+     * Réserve la prochaine séquence, en attendant qu'un emplacement se libère.
+     *
+     * @return Séquence réservée
+     */
+    long next() {
+        long sequence = cursor.incrementAndGet();
+        long wrapPoint = sequence - entries.length;
+        int idle = 0;
+        while (wrapPoint > minimumGatingSequence()) {
+            idle = idle(idle);
+        }
+        return sequence;
+    }
+
+    /**
+     * Retourne la commande associée à une séquence.
+     *
+     * @param sequence Séquence
+     * @return Emplacement de l'anneau
+     */
+    TransactionCommand get(long sequence) {
+        return entries[(int) (sequence & mask)];
+    }
+
+    /**
+     * Rend une séquence visible aux consommateurs.
+     *
+     * @param sequence Séquence remplie
+     */
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * Retourne la plus haute séquence publiée de manière contiguë à partir de {@code from}.
+     *
+     * @param from Première séquence attendue
+     * @return Dernière séquence disponible, ou {@code from - 1} si aucune
+     */
+    long highestPublished(long from) {
+        long upTo = cursor.get();
+        for (long sequence = from; sequence <= upTo; sequence++) {
+            if (published.get((int) (sequence & mask)) != sequence) {
+                return sequence - 1;
+            }
+        }
+        return upTo;
+    }
+
+    /**
+     * Retourne la dernière séquence réservée.
+     *
+     * @return Curseur des producteurs
+     */
+    long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Retourne la taille de l'anneau.
+     *
+     * @return Nombre d'emplacements
+     */
+    int size() {
+        return entries.length;
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? cursor.get() : minimum;
+    }
+
+    /**
+     * Stratégie d'attente progressive: spin, puis yield, puis park court.
+     *
+     * @param idle Nombre d'attentes consécutives
+     * @return Compteur mis à jour
+     */
+    static int idle(int idle) {
+        if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000L);
+        }
+        return idle + 1;
+    }
+}
@@ -0,0 +1,333 @@
+package com.university.finance.service.sequencer;
+
+import com.university.finance.metrics.TransactionExecutionEvent;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.service.CommitListener;
+import com.university.finance.service.TransactionService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mode séquenceur (style LMAX) pour le service de transactions.
+ *
+ * Toutes les commandes passent par un anneau pré-alloué unique et sont
+ * traitées par trois étages, chacun sur son propre thread:
+ * <ol>
+ *   <li>journalisation des commandes (optionnelle),</li>
+ *   <li>logique métier: un seul thread exécute les stratégies, sans verrou,</li>
+ *   <li>diffusion aux observers du {@link TransactionService}.</li>
+ * </ol>
+ * Les comptes manipulés ne doivent être modifiés que via ce séquenceur
+ * tant qu'il est actif: l'absence de verrou repose sur le thread métier unique.
+ */
+public class SequencedTransactionService implements AutoCloseable {
+
+    // Taille par défaut de l'anneau
+    public static final int DEFAULT_RING_SIZE = 1024;
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+
+    private final TransactionService transactionService;
+    private final CommandRingBuffer ringBuffer;
+    private final CommandJournal journal;
+    private final List<SequencerStage> stages;
+    private final List<Thread> threads;
+    private final SequencerStage lastStage;
+
+    // Cycle de vie: NEW -> RUNNING -> CLOSED, lu en une seule fois par submit
+    private volatile int state = NEW;
+    // Producteurs entre la vérification de l'état et la publication: close() les attend
+    private final AtomicInteger producers = new AtomicInteger();
+
+    /**
+     * Constructeur sans journal.
+     *
+     * @param transactionService Service dont les stratégies et observers sont utilisés
+     * @param ringSize           Taille de l'anneau (puissance de deux)
+     */
+    public SequencedTransactionService(TransactionService transactionService, int ringSize) {
+        this(transactionService, ringSize, null);
+    }
+
+    /**
+     * Constructeur avec journal des commandes.
+     *
+     * @param transactionService Service dont les stratégies et observers sont utilisés
+     * @param ringSize           Taille de l'anneau (puissance de deux)
+     * @param journalPath        Chemin du journal, ou null pour désactiver la journalisation
+     * @throws UncheckedIOException si le journal ne peut pas être ouvert
+     */
+    public SequencedTransactionService(TransactionService transactionService, int ringSize,
+                                       Path journalPath) {
+        if (transactionService == null) {
+            throw new IllegalArgumentException("Le service de transactions ne peut pas être null");
+        }
+        this.transactionService = transactionService;
+        this.ringBuffer = new CommandRingBuffer(ringSize);
+        try {
+            this.journal = journalPath == null ? null : new CommandJournal(journalPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir le journal du séquenceur", e);
+        }
+
+        this.stages = new ArrayList<>();
+        SequencerStage businessLogic;
+        if (journal != null) {
+            SequencerStage journaler = new SequencerStage("sequencer-journal", ringBuffer, this::journal);
+            businessLogic = new SequencerStage("sequencer-business", ringBuffer, this::execute,
+                    journaler.getSequence());
+            stages.add(journaler);
+        } else {
+            businessLogic = new SequencerStage("sequencer-business", ringBuffer, this::execute);
+        }
+        this.lastStage = new SequencerStage("sequencer-fanout", ringBuffer, this::fanOut,
+                businessLogic.getSequence());
+        stages.add(businessLogic);
+        stages.add(lastStage);
+        ringBuffer.setGatingSequences(lastStage.getSequence());
+        this.threads = new ArrayList<>();
+    }
+
+    /**
+     * Démarre les threads des étages.
+     */
+    public synchronized void start() {
+        if (state != NEW) {
+            return;
+        }
+        for (SequencerStage stage : stages) {
+            Thread thread = new Thread(stage, stage.getName());
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        state = RUNNING;
+    }
+
+    // ==================== Soumission des commandes ====================
+
+    /**
+     * Soumet un dépôt au séquenceur.
+     *
+     * @param account Compte à créditer
+     * @param amount  Montant
+     * @return Résultat futur (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> submitDeposit(Account account, double amount) {
+        return submit(TransactionType.DEPOSIT, account, null, amount);
+    }
+
+    /**
+     * Soumet un retrait au séquenceur.
+     *
+     * @param account Compte à débiter
+     * @param amount  Montant
+     * @return Résultat futur (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> submitWithdraw(Account account, double amount) {
+        return submit(TransactionType.WITHDRAWAL, account, null, amount);
+    }
+
+    /**
+     * Soumet un transfert au séquenceur.
+     *
+     * @param fromAccount Compte source
+     * @param toAccount   Compte destination
+     * @param amount      Montant
+     * @return Résultat futur (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> submitTransfer(Account fromAccount, Account toAccount,
+                                                         double amount) {
+        return submit(TransactionType.TRANSFER, fromAccount, toAccount, amount);
+    }
+
+    /**
+     * Effectue un dépôt et attend son exécution.
+     *
+     * @param account Compte à créditer
+     * @param amount  Montant
+     * @return La transaction créée, ou null si l'opération a échoué
+     */
+    public Transaction deposit(Account account, double amount) {
+        return await(submitDeposit(account, amount));
+    }
+
+    /**
+     * Effectue un retrait et attend son exécution.
+     *
+     * @param account Compte à débiter
+     * @param amount  Montant
+     * @return La transaction créée, ou null si l'opération a échoué
+     */
+    public Transaction withdraw(Account account, double amount) {
+        return await(submitWithdraw(account, amount));
+    }
+
+    /**
+     * Effectue un transfert et attend son exécution.
+     *
+     * @param fromAccount Compte source
+     * @param toAccount   Compte destination
+     * @param amount      Montant
+     * @return La transaction créée, ou null si l'opération a échoué
+     */
+    public Transaction transfer(Account fromAccount, Account toAccount, double amount) {
+        return await(submitTransfer(fromAccount, toAccount, amount));
+    }
+
+    private CompletableFuture<Transaction> submit(TransactionType type, Account from, Account to,
+                                                  double amount) {
+        // Compté avant de lire l'état: close() publie CLOSED puis attend les producteurs déjà engagés
+        producers.incrementAndGet();
+        try {
+            if (state != RUNNING) {
+                throw new IllegalStateException("Le séquenceur n'est pas démarré");
+            }
+            CompletableFuture<Transaction> future = new CompletableFuture<>();
+            long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).set(type, from, to, amount, future);
+            ringBuffer.publish(sequence);
+            return future;
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    private static Transaction await(CompletableFuture<Transaction> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // ==================== Étages ====================
+
+    private void journal(TransactionCommand command, long sequence, boolean endOfBatch) {
+        try {
+            journal.append(command);
+            if (endOfBatch) {
+                journal.flush();
+            }
+        } catch (IOException e) {
+            // La commande n'est pas exécutée si elle n'a pas pu être journalisée
+            command.failure = new UncheckedIOException("Échec de la journalisation", e);
+        }
+    }
+
+    private void execute(TransactionCommand command, long sequence, boolean endOfBatch) {
+        if (command.failure == null) {
+            TransactionExecutionEvent event = new TransactionExecutionEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                command.result = executeStrategy(command);
+                // Le thread métier unique valide dans l'ordre: aucune attente ici (afterCommit n'est pas appelé)
+                CommitListener listener = transactionService.getCommitListener();
+                if (listener != null && command.result != null) {
+                    listener.onTransactionCommitted(command.result);
+                }
+            } catch (RuntimeException e) {
+                command.failure = e;
+            }
+            transactionService.recordOperation(command.type, command.amount, start, command.result);
+            event.finish(command.type, command.amount, command.fromAccount, command.toAccount,
+                    command.result != null);
+        }
+        if (command.failure != null) {
+            command.future.completeExceptionally(command.failure);
+        } else {
+            command.future.complete(command.result);
+        }
+    }
+
+    private Transaction executeStrategy(TransactionCommand command) {
+        switch (command.type) {
+            case DEPOSIT:
+                return transactionService.getDepositStrategy().execute(command.fromAccount, command.amount);
+            case WITHDRAWAL:
+                return transactionService.getWithdrawStrategy().execute(command.fromAccount, command.amount);
+            case TRANSFER:
+                return transactionService.getTransferStrategy()
+                        .execute(command.fromAccount, command.toAccount, command.amount);
+            default:
+                throw new IllegalStateException("Type de commande inconnu: " + command.type);
+        }
+    }
+
+    private void fanOut(TransactionCommand command, long sequence, boolean endOfBatch) {
+        transactionService.publish(command.result);
+        command.clear();
+    }
+
+    // ==================== Cycle de vie ====================
+
+    /**
+     * Retourne le nombre de commandes soumises mais pas encore entièrement traitées.
+     *
+     * @return Nombre de commandes en attente
+     */
+    public long getBacklog() {
+        return ringBuffer.getCursor() - lastStage.getSequence().get();
+    }
+
+    /**
+     * Retourne la taille de l'anneau.
+     *
+     * @return Nombre d'emplacements
+     */
+    public int getRingSize() {
+        return ringBuffer.size();
+    }
+
+    /**
+     * Attend le traitement de toutes les commandes soumises (y compris celles en cours
+     * de publication), arrête les étages et ferme le journal. Les soumissions suivantes
+     * sont refusées.
+     */
+    @Override
+    public synchronized void close() {
+        int previous = state;
+        if (previous == CLOSED) {
+            return;
+        }
+        state = CLOSED;
+        if (previous == RUNNING) {
+            int idle = 0;
+            while (producers.get() > 0 || getBacklog() > 0) {
+                idle = CommandRingBuffer.idle(idle);
+            }
+        }
+        for (SequencerStage stage : stages) {
+            stage.halt();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Erreur lors de la fermeture du journal du séquenceur: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.university.finance.service.sequencer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Étage consommateur de l'anneau, exécuté par un thread dédié.
+ * Traite les commandes par lots, dans l'ordre des séquences, sans dépasser
+ * les étages dont il dépend.
+ */
+final class SequencerStage implements Runnable {
+
+    /**
+     * Traitement d'une commande par un étage.
+     */
+    interface CommandHandler {
+
+        /**
+         * Traite une commande.
+         *
+         * @param command    Commande à traiter
+         * @param sequence   Séquence de la commande
+         * @param endOfBatch true si c'est la dernière commande du lot courant
+         */
+        void onCommand(TransactionCommand command, long sequence, boolean endOfBatch);
+    }
+
+    private final String name;
+    private final CommandRingBuffer ringBuffer;
+    private final CommandHandler handler;
+    private final AtomicLong[] dependencies;
+    private final AtomicLong sequence = new AtomicLong(-1);
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructeur d'un étage.
+     *
+     * @param name         Nom de l'étage (nom du thread)
+     * @param ringBuffer   Anneau partagé
+     * @param handler      Traitement des commandes
+     * @param dependencies Séquences des étages précédents (vide = lit directement les publications)
+     */
+    SequencerStage(String name, CommandRingBuffer ringBuffer, CommandHandler handler,
+                   AtomicLong... dependencies) {
+        this.name = name;
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.dependencies = dependencies.clone();
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        int idle = 0;
+        while (running) {
+            long available = availableSequence(next);
+            if (available < next) {
+                idle = CommandRingBuffer.idle(idle);
+                continue;
+            }
+            idle = 0;
+            for (long current = next; current <= available; current++) {
+                handler.onCommand(ringBuffer.get(current), current, current == available);
+            }
+            sequence.set(available);
+            next = available + 1;
+        }
+    }
+
+    private long availableSequence(long next) {
+        if (dependencies.length == 0) {
+            return ringBuffer.highestPublished(next);
+        }
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong dependency : dependencies) {
+            minimum = Math.min(minimum, dependency.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * Demande l'arrêt de la boucle de traitement.
+     */
+    void halt() {
+        running = false;
+    }
+
+    /**
+     * Retourne la séquence de la dernière commande traitée.
+     *
+     * @return Séquence de l'étage
+     */
+    AtomicLong getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retourne le nom de l'étage.
+     *
+     * @return Nom de l'étage
+     */
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,52 @@
+package com.university.finance.service.sequencer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Commande de transaction pré-allouée dans l'anneau du séquenceur.
+ * Chaque emplacement est réutilisé à chaque tour: les champs sont écrits
+ * par le producteur puis lus par les étages consommateurs, dans l'ordre.
+ */
+final class TransactionCommand {
+
+    TransactionType type;
+    Account fromAccount;
+    Account toAccount;
+    double amount;
+
+    // Résultat produit par l'étage métier
+    Transaction result;
+    Throwable failure;
+
+    // Réponse au producteur
+    CompletableFuture<Transaction> future;
+
+    /**
+     * Remplit la commande avant publication.
+     */
+    void set(TransactionType type, Account fromAccount, Account toAccount, double amount,
+             CompletableFuture<Transaction> future) {
+        this.type = type;
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+        this.future = future;
+        this.result = null;
+        this.failure = null;
+    }
+
+    /**
+     * Libère les références une fois la commande entièrement consommée.
+     */
+    void clear() {
+        this.fromAccount = null;
+        this.toAccount = null;
+        this.result = null;
+        this.failure = null;
+        this.future = null;
+    }
+}
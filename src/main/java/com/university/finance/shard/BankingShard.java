@@ -0,0 +1,193 @@
+package com.university.finance.shard;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+
+import java.util.List;
+
+/**
+ * Partition du service bancaire.
+ * Une partition détient un sous-ensemble des utilisateurs et des comptes;
+ * elle peut être locale (même JVM) ou distante. Les transferts entre
+ * partitions passent par un protocole en deux phases (prepare / commit ou abort).
+ */
+public interface BankingShard {
+
+    /**
+     * Retourne l'identifiant stable de la partition.
+     *
+     * @return Identifiant de la partition
+     */
+    String getShardId();
+
+    // ==================== Utilisateurs ====================
+
+    /**
+     * Crée un utilisateur sur cette partition.
+     *
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @param email    Adresse email
+     * @return L'utilisateur créé
+     * @throws IllegalArgumentException si les données sont invalides ou l'utilisateur existe
+     */
+    User createUser(String username, String password, String email);
+
+    /**
+     * Trouve un utilisateur par son ID.
+     *
+     * @param userId ID de l'utilisateur
+     * @return L'utilisateur ou null
+     */
+    User findUserById(String userId);
+
+    /**
+     * Trouve un utilisateur par son nom.
+     *
+     * @param username Nom d'utilisateur
+     * @return L'utilisateur ou null
+     */
+    User findUserByUsername(String username);
+
+    /**
+     * Authentifie un utilisateur de cette partition (le mot de passe n'en sort pas).
+     *
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @return L'utilisateur si l'authentification réussit, null sinon
+     */
+    User authenticate(String username, String password);
+
+    // ==================== Comptes ====================
+
+    /**
+     * Crée un compte avec un identifiant choisi par le routeur.
+     *
+     * @param accountId      Identifiant du compte
+     * @param owner          Propriétaire
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     */
+    Account createAccount(String accountId, User owner, double initialDeposit);
+
+    /**
+     * Trouve un compte par son ID.
+     *
+     * @param accountId ID du compte
+     * @return Le compte ou null
+     */
+    Account findAccountById(String accountId);
+
+    /**
+     * Trouve les comptes d'un utilisateur détenus par cette partition.
+     *
+     * @param user Utilisateur
+     * @return Comptes de l'utilisateur
+     */
+    List<Account> findAccountsByUser(User user);
+
+    /**
+     * Retourne le solde d'un compte.
+     *
+     * @param accountId ID du compte
+     * @return Solde
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    double getBalance(String accountId);
+
+    /**
+     * Retourne l'historique d'un compte.
+     *
+     * @param accountId ID du compte
+     * @return Transactions du compte
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    List<Transaction> getTransactionHistory(String accountId);
+
+    // ==================== Opérations locales ====================
+
+    /**
+     * Effectue un dépôt.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant
+     * @return La transaction, ou null si l'opération a échoué
+     */
+    Transaction deposit(String accountId, double amount);
+
+    /**
+     * Effectue un retrait.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant
+     * @return La transaction, ou null si l'opération a échoué
+     */
+    Transaction withdraw(String accountId, double amount);
+
+    /**
+     * Effectue un transfert entre deux comptes de cette partition.
+     *
+     * @param fromAccountId ID du compte source
+     * @param toAccountId   ID du compte destination
+     * @param amount        Montant
+     * @return La transaction, ou null si l'opération a échoué
+     */
+    Transaction transfer(String fromAccountId, String toAccountId, double amount);
+
+    // ==================== Transferts entre partitions (2PC) ====================
+
+    /**
+     * Phase 1 côté source: réserve (débite) le montant en attendant la décision.
+     *
+     * @param txId      Identifiant du transfert
+     * @param accountId Compte source
+     * @param amount    Montant
+     * @return true si le montant est réservé
+     */
+    boolean prepareDebit(String txId, String accountId, double amount);
+
+    /**
+     * Phase 1 côté destination: vérifie que le compte peut être crédité.
+     *
+     * @param txId      Identifiant du transfert
+     * @param accountId Compte destination
+     * @param amount    Montant
+     * @return true si la partition s'engage à créditer
+     */
+    boolean prepareCredit(String txId, String accountId, double amount);
+
+    /**
+     * Phase 2: applique le transfert préparé et l'ajoute à l'historique local.
+     * Sans effet si le transfert vient d'être validé (décision renvoyée par le coordinateur).
+     *
+     * @param txId        Identifiant du transfert
+     * @param transaction Transaction décrivant le transfert
+     * @throws IllegalStateException si le transfert n'a pas été préparé
+     */
+    void commit(String txId, Transaction transaction);
+
+    /**
+     * Phase 2: annule un transfert préparé (rembourse la réservation).
+     * Sans effet si le transfert est inconnu.
+     *
+     * @param txId Identifiant du transfert
+     */
+    void abort(String txId);
+
+    // ==================== Statistiques ====================
+
+    /**
+     * Retourne le nombre d'utilisateurs de la partition.
+     *
+     * @return Nombre d'utilisateurs
+     */
+    int getUserCount();
+
+    /**
+     * Retourne le nombre de comptes de la partition.
+     *
+     * @return Nombre de comptes
+     */
+    int getAccountCount();
+}
@@ -0,0 +1,132 @@
+package com.university.finance.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anneau de hachage cohérent.
+ * Chaque nœud est placé sur l'anneau sous forme de plusieurs nœuds virtuels;
+ * une clé est attribuée au premier nœud rencontré dans le sens horaire.
+ * Ajouter ou retirer un nœud ne déplace qu'environ 1/N des clés.
+ *
+ * @param <T> Type des nœuds
+ */
+public class ConsistentHashRing<T> {
+
+    // Nombre de nœuds virtuels par défaut
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final TreeMap<Long, T> ring;
+    private final List<T> nodes;
+    private final int virtualNodes;
+
+    /**
+     * Constructeur avec le nombre de nœuds virtuels par défaut.
+     */
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param virtualNodes Nombre de nœuds virtuels par nœud
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Le nombre de nœuds virtuels doit être positif");
+        }
+        this.ring = new TreeMap<>();
+        this.nodes = new ArrayList<>();
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Ajoute un nœud à l'anneau.
+     *
+     * @param nodeId Identifiant stable du nœud (détermine sa position)
+     * @param node   Nœud
+     */
+    public void addNode(String nodeId, T node) {
+        for (int i = 0; i < virtualNodes; i++) {
+            ring.put(hash(nodeId + "#" + i), node);
+        }
+        nodes.add(node);
+    }
+
+    /**
+     * Retire un nœud de l'anneau.
+     *
+     * @param nodeId Identifiant du nœud
+     */
+    public void removeNode(String nodeId) {
+        T removed = null;
+        for (int i = 0; i < virtualNodes; i++) {
+            T node = ring.remove(hash(nodeId + "#" + i));
+            if (node != null) {
+                removed = node;
+            }
+        }
+        if (removed != null) {
+            nodes.remove(removed);
+        }
+    }
+
+    /**
+     * Retourne le nœud responsable d'une clé.
+     *
+     * @param key Clé à placer
+     * @return Nœud responsable
+     * @throws IllegalStateException si l'anneau est vide
+     */
+    public T nodeFor(String key) {
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("L'anneau de hachage est vide");
+        }
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Retourne les nœuds de l'anneau.
+     *
+     * @return Liste non modifiable des nœuds
+     */
+    public List<T> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Retourne le nombre de nœuds.
+     *
+     * @return Nombre de nœuds
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Hachage 64 bits FNV-1a suivi d'un mélange final (murmur3 fmix64)
+     * pour bien répartir les identifiants à préfixe commun ("ACC-...").
+     *
+     * @param key Clé à hacher
+     * @return Position sur l'anneau
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
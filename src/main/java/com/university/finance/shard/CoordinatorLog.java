@@ -0,0 +1,99 @@
+package com.university.finance.shard;
+
+import com.university.finance.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal du coordinateur des transferts entre partitions.
+ *
+ * La décision d'un transfert (validation ou annulation) y est inscrite avant la
+ * phase 2, avec les partitions qui doivent l'appliquer. Chaque partition qui a
+ * appliqué la décision est retirée de l'entrée; une entrée qui garde des
+ * partitions en attente est un transfert "en doute", rejoué plus tard avec la
+ * même décision. Le journal est tenu en mémoire: il couvre la perte d'un
+ * participant, pas celle du coordinateur.
+ */
+final class CoordinatorLog {
+
+    /**
+     * Décision prise pour un transfert.
+     */
+    enum Decision {
+        COMMIT,
+        ABORT
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Inscrit une décision.
+     *
+     * @param txId         Identifiant du transfert
+     * @param decision     Décision
+     * @param transaction  Transaction à valider (null pour une annulation)
+     * @param participants Partitions qui doivent appliquer la décision
+     * @return Entrée du journal
+     */
+    Entry record(String txId, Decision decision, Transaction transaction, BankingShard... participants) {
+        Entry entry = new Entry(txId, decision, transaction, participants);
+        entries.put(txId, entry);
+        return entry;
+    }
+
+    /**
+     * Note qu'une partition a appliqué la décision; l'entrée disparaît avec la dernière.
+     *
+     * @param entry Entrée du journal
+     * @param shard Partition
+     */
+    void acknowledge(Entry entry, BankingShard shard) {
+        synchronized (entry) {
+            entry.pending.remove(shard);
+            if (entry.pending.isEmpty()) {
+                entries.remove(entry.txId, entry);
+            }
+        }
+    }
+
+    /**
+     * Retourne les transferts dont la décision n'a pas encore été appliquée partout.
+     *
+     * @return Entrées en doute
+     */
+    List<Entry> inDoubt() {
+        return new ArrayList<>(entries.values());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Décision d'un transfert et partitions qui ne l'ont pas encore appliquée.
+     */
+    static final class Entry {
+        final String txId;
+        final Decision decision;
+        final Transaction transaction;
+        // Protégé par le moniteur de l'entrée
+        private final Set<BankingShard> pending;
+
+        private Entry(String txId, Decision decision, Transaction transaction, BankingShard[] participants) {
+            this.txId = txId;
+            this.decision = decision;
+            this.transaction = transaction;
+            this.pending = new LinkedHashSet<>(Arrays.asList(participants));
+        }
+
+        synchronized List<BankingShard> pending() {
+            return new ArrayList<>(pending);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.university.finance.shard;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.CommitListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partition exécutée dans la JVM courante, adossée à un {@link BankingService}
+ * indépendant (ses propres comptes, observers et verrous).
+ */
+public class LocalBankingShard implements BankingShard {
+
+    // Nombre de transferts validés dont l'identifiant est conservé
+    private static final int COMMITTED_MEMORY = 10_000;
+
+    private final String shardId;
+    private final BankingService bankingService;
+
+    // Transferts préparés en attente de décision (phase 1 terminée)
+    private final Map<String, PreparedTransfer> prepared;
+
+    // Transferts validés récemment: une décision renvoyée par le coordinateur est ignorée
+    private final Set<String> committed = Collections.newSetFromMap(Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > COMMITTED_MEMORY;
+                }
+            }));
+
+    /**
+     * Constructeur.
+     *
+     * @param shardId        Identifiant de la partition
+     * @param bankingService Service bancaire de la partition
+     */
+    public LocalBankingShard(String shardId, BankingService bankingService) {
+        if (bankingService == null) {
+            throw new IllegalArgumentException("Le service bancaire ne peut pas être null");
+        }
+        this.shardId = shardId;
+        this.bankingService = bankingService;
+        this.prepared = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public String getShardId() {
+        return shardId;
+    }
+
+    @Override
+    public User createUser(String username, String password, String email) {
+        return bankingService.createUser(username, password, email);
+    }
+
+    @Override
+    public User findUserById(String userId) {
+        return bankingService.findUserById(userId);
+    }
+
+    @Override
+    public User findUserByUsername(String username) {
+        return bankingService.findUserByUsername(username);
+    }
+
+    @Override
+    public User authenticate(String username, String password) {
+        return bankingService.authenticate(username, password);
+    }
+
+    @Override
+    public Account createAccount(String accountId, User owner, double initialDeposit) {
+        return bankingService.createAccount(accountId, owner, initialDeposit);
+    }
+
+    @Override
+    public Account findAccountById(String accountId) {
+        return bankingService.findAccountById(accountId);
+    }
+
+    @Override
+    public List<Account> findAccountsByUser(User user) {
+        return bankingService.findAccountsByUser(user);
+    }
+
+    @Override
+    public double getBalance(String accountId) {
+        return bankingService.getBalance(accountId);
+    }
+
+    @Override
+    public List<Transaction> getTransactionHistory(String accountId) {
+        return bankingService.getTransactionHistory(accountId);
+    }
+
+    @Override
+    public Transaction deposit(String accountId, double amount) {
+        return bankingService.deposit(accountId, amount);
+    }
+
+    @Override
+    public Transaction withdraw(String accountId, double amount) {
+        return bankingService.withdraw(accountId, amount);
+    }
+
+    @Override
+    public Transaction transfer(String fromAccountId, String toAccountId, double amount) {
+        return bankingService.transfer(fromAccountId, toAccountId, amount);
+    }
+
+    @Override
+    public boolean prepareDebit(String txId, String accountId, double amount) {
+        Account account = bankingService.findAccountById(accountId);
+        if (account != null) {
+            // Limites rafraîchies: la réservation respecte le solde minimum du compte
+            ConfigurationManager.getInstance().getLimits(account);
+        }
+        // Le débit immédiat réserve les fonds: ils ne peuvent plus être dépensés ailleurs
+        if (account == null || !account.debit(amount)) {
+            return false;
+        }
+        if (prepared.putIfAbsent(txId, new PreparedTransfer(account, amount, true)) != null) {
+            account.credit(amount);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean prepareCredit(String txId, String accountId, double amount) {
+        Account account = bankingService.findAccountById(accountId);
+        if (account == null || amount <= 0) {
+            return false;
+        }
+        return prepared.putIfAbsent(txId, new PreparedTransfer(account, amount, false)) == null;
+    }
+
+    @Override
+    public void commit(String txId, Transaction transaction) {
+        PreparedTransfer transfer = prepared.remove(txId);
+        if (transfer == null) {
+            if (committed.contains(txId)) {
+                return;
+            }
+            throw new IllegalStateException("Transfert non préparé sur la partition " + shardId + ": " + txId);
+        }
+        CommitListener listener = bankingService.getTransactionService().getCommitListener();
+        transfer.account.getLock().lock();
+        try {
+            if (!transfer.debit) {
+                transfer.account.credit(transfer.amount);
+            }
+            transfer.account.addTransaction(transaction);
+            if (listener != null) {
+                listener.onTransactionCommitted(transaction);
+            }
+        } finally {
+            transfer.account.getLock().unlock();
+        }
+        committed.add(txId);
+        if (listener != null) {
+            listener.afterCommit();
+        }
+        if (transfer.debit) {
+            // Les observers sont notifiés une seule fois, par la partition source
+            bankingService.getTransactionService().publish(transaction);
+        }
+    }
+
+    @Override
+    public void abort(String txId) {
+        PreparedTransfer transfer = prepared.remove(txId);
+        if (transfer != null && transfer.debit) {
+            transfer.account.credit(transfer.amount);
+        }
+    }
+
+    @Override
+    public int getUserCount() {
+        return bankingService.getUserCount();
+    }
+
+    @Override
+    public int getAccountCount() {
+        return bankingService.getAccountCount();
+    }
+
+    /**
+     * Retourne le service bancaire de la partition.
+     *
+     * @return Service bancaire
+     */
+    public BankingService getBankingService() {
+        return bankingService;
+    }
+
+    /**
+     * Retourne le nombre de transferts préparés en attente de décision.
+     *
+     * @return Nombre de transferts en attente
+     */
+    public int getPreparedCount() {
+        return prepared.size();
+    }
+
+    /**
+     * Transfert préparé (phase 1).
+     */
+    private static final class PreparedTransfer {
+        final Account account;
+        final double amount;
+        final boolean debit;
+
+        PreparedTransfer(Account account, double amount, boolean debit) {
+            this.account = account;
+            this.amount = amount;
+            this.debit = debit;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.university.finance.shard;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service bancaire partitionné.
+ * Les comptes sont répartis entre N partitions indépendantes par hachage
+ * cohérent de leur identifiant, les utilisateurs par hachage de leur nom.
+ * Dépôts et retraits sont routés vers une seule partition; un transfert entre
+ * deux partitions est coordonné par un protocole de validation en deux phases.
+ *
+ * La décision d'un transfert est inscrite dans un journal du coordinateur avant
+ * la phase 2. Une partition injoignable pendant la phase 2 n'interrompt pas le
+ * transfert: la décision lui est renvoyée quelques fois, puis le transfert reste
+ * "en doute" jusqu'à {@link #resolveInDoubt()}.
+ */
+public class ShardedBankingService {
+
+    // Tentatives d'envoi d'une décision avant de laisser le transfert en doute
+    private static final int PHASE_TWO_ATTEMPTS = 3;
+
+    private final ConsistentHashRing<BankingShard> ring;
+    private final CoordinatorLog coordinatorLog = new CoordinatorLog();
+    private final AccountFactory accountFactory;
+    private final ConfigurationManager config;
+
+    /**
+     * Crée N partitions locales, chacune avec les observers par défaut.
+     *
+     * @param shardCount Nombre de partitions
+     */
+    public ShardedBankingService(int shardCount) {
+        this(createLocalShards(shardCount));
+    }
+
+    /**
+     * Constructeur avec des partitions existantes (locales ou distantes).
+     *
+     * @param shards Partitions
+     * @throws IllegalArgumentException si la liste est vide
+     */
+    public ShardedBankingService(List<? extends BankingShard> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Au moins une partition est nécessaire");
+        }
+        this.ring = new ConsistentHashRing<>();
+        for (BankingShard shard : shards) {
+            ring.addNode(shard.getShardId(), shard);
+        }
+        this.accountFactory = new AccountFactory();
+        this.config = ConfigurationManager.getInstance();
+    }
+
+    private static List<BankingShard> createLocalShards(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Le nombre de partitions doit être positif");
+        }
+        List<BankingShard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new LocalBankingShard("shard-" + i, new BankingService()));
+        }
+        return shards;
+    }
+
+    // ==================== Routage ====================
+
+    /**
+     * Retourne la partition responsable d'un compte.
+     *
+     * @param accountId ID du compte
+     * @return Partition du compte
+     */
+    public BankingShard shardForAccount(String accountId) {
+        return ring.nodeFor(accountId);
+    }
+
+    /**
+     * Retourne la partition responsable d'un utilisateur.
+     *
+     * @param username Nom d'utilisateur
+     * @return Partition de l'utilisateur
+     */
+    public BankingShard shardForUser(String username) {
+        return ring.nodeFor("user:" + username);
+    }
+
+    /**
+     * Retourne les partitions.
+     *
+     * @return Liste non modifiable des partitions
+     */
+    public List<BankingShard> getShards() {
+        return ring.getNodes();
+    }
+
+    // ==================== Gestion des Utilisateurs ====================
+
+    /**
+     * Crée un nouvel utilisateur sur sa partition.
+     *
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @param email    Adresse email
+     * @return L'utilisateur créé
+     * @throws IllegalArgumentException si les données sont invalides ou l'utilisateur existe
+     */
+    public User createUser(String username, String password, String email) {
+        return shardForUser(username).createUser(username, password, email);
+    }
+
+    /**
+     * Trouve un utilisateur par son ID (interroge toutes les partitions).
+     *
+     * @param userId ID de l'utilisateur
+     * @return L'utilisateur ou null
+     */
+    public User findUserById(String userId) {
+        for (BankingShard shard : ring.getNodes()) {
+            User user = shard.findUserById(userId);
+            if (user != null) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trouve un utilisateur par son nom.
+     *
+     * @param username Nom d'utilisateur
+     * @return L'utilisateur ou null
+     */
+    public User findUserByUsername(String username) {
+        return shardForUser(username).findUserByUsername(username);
+    }
+
+    /**
+     * Authentifie un utilisateur.
+     *
+     * @param username Nom d'utilisateur
+     * @param password Mot de passe
+     * @return L'utilisateur si l'authentification réussit, null sinon
+     */
+    public User authenticate(String username, String password) {
+        return shardForUser(username).authenticate(username, password);
+    }
+
+    // ==================== Gestion des Comptes ====================
+
+    /**
+     * Crée un compte: l'identifiant est généré ici pour choisir la partition.
+     *
+     * @param user           Propriétaire du compte
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     */
+    public Account createAccount(User user, double initialDeposit) {
+        String accountId = accountFactory.generateAccountId();
+        return shardForAccount(accountId).createAccount(accountId, user, initialDeposit);
+    }
+
+    /**
+     * Crée un utilisateur et un compte associé.
+     *
+     * @param username       Nom d'utilisateur
+     * @param password       Mot de passe
+     * @param email          Adresse email
+     * @param initialDeposit Dépôt initial
+     * @return Le compte créé
+     */
+    public Account createUserWithAccount(String username, String password,
+                                         String email, double initialDeposit) {
+        User user = createUser(username, password, email);
+        return createAccount(user, initialDeposit);
+    }
+
+    /**
+     * Trouve un compte par son ID.
+     *
+     * @param accountId ID du compte
+     * @return Le compte ou null
+     */
+    public Account findAccountById(String accountId) {
+        return shardForAccount(accountId).findAccountById(accountId);
+    }
+
+    /**
+     * Trouve les comptes d'un utilisateur sur toutes les partitions.
+     *
+     * @param user Utilisateur
+     * @return Comptes de l'utilisateur
+     */
+    public List<Account> findAccountsByUser(User user) {
+        List<Account> result = new ArrayList<>();
+        for (BankingShard shard : ring.getNodes()) {
+            result.addAll(shard.findAccountsByUser(user));
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le solde d'un compte.
+     *
+     * @param accountId ID du compte
+     * @return Solde du compte
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    public double getBalance(String accountId) {
+        return shardForAccount(accountId).getBalance(accountId);
+    }
+
+    /**
+     * Retourne l'historique des transactions d'un compte.
+     *
+     * @param accountId ID du compte
+     * @return Liste des transactions
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    public List<Transaction> getTransactionHistory(String accountId) {
+        return shardForAccount(accountId).getTransactionHistory(accountId);
+    }
+
+    // ==================== Opérations Bancaires ====================
+
+    /**
+     * Effectue un dépôt sur la partition du compte.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant à déposer
+     * @return La transaction créée
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    public Transaction deposit(String accountId, double amount) {
+        return shardForAccount(accountId).deposit(accountId, amount);
+    }
+
+    /**
+     * Effectue un retrait sur la partition du compte.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant à retirer
+     * @return La transaction créée
+     * @throws IllegalArgumentException si le compte n'existe pas
+     */
+    public Transaction withdraw(String accountId, double amount) {
+        return shardForAccount(accountId).withdraw(accountId, amount);
+    }
+
+    /**
+     * Effectue un transfert. Si les deux comptes sont sur la même partition,
+     * le transfert y est exécuté directement; sinon il est coordonné en deux
+     * phases: réservation sur la source, engagement de la destination, puis
+     * validation des deux côtés (ou annulation de la réservation). Une fois la
+     * validation décidée, le transfert est retourné même si une partition ne l'a
+     * pas encore appliquée (voir {@link #resolveInDoubt()}).
+     *
+     * @param fromAccountId ID du compte source
+     * @param toAccountId   ID du compte destination
+     * @param amount        Montant à transférer
+     * @return La transaction créée, ou null si le transfert a échoué
+     * @throws IllegalArgumentException si un compte n'existe pas ou la limite est dépassée
+     * @throws RuntimeException         si une partition échoue pendant la phase 1 (le transfert est annulé)
+     */
+    public Transaction transfer(String fromAccountId, String toAccountId, double amount) {
+        BankingShard fromShard = shardForAccount(fromAccountId);
+        BankingShard toShard = shardForAccount(toAccountId);
+        if (fromShard == toShard) {
+            return fromShard.transfer(fromAccountId, toAccountId, amount);
+        }
+
+        Account fromAccount = fromShard.findAccountById(fromAccountId);
+        Account toAccount = toShard.findAccountById(toAccountId);
+        if (fromAccount == null) {
+            throw new IllegalArgumentException("Compte source non trouvé: " + fromAccountId);
+        }
+        if (toAccount == null) {
+            throw new IllegalArgumentException("Compte destination non trouvé: " + toAccountId);
+        }
+        double maxTransfer = config.getLimits(fromAccount).getMaxTransfer();
+        if (amount > maxTransfer) {
+            throw new IllegalArgumentException(
+                    "Le montant dépasse la limite de transfert de " + maxTransfer + "€"
+            );
+        }
+        if (amount <= 0) {
+            return null;
+        }
+
+        // Phase 1: préparation
+        String txId = UUID.randomUUID().toString();
+        boolean debitPrepared;
+        try {
+            debitPrepared = fromShard.prepareDebit(txId, fromAccountId, amount);
+        } catch (RuntimeException e) {
+            // La réservation a pu être appliquée avant l'erreur (délai dépassé, connexion perdue)
+            decide(coordinatorLog.record(txId, CoordinatorLog.Decision.ABORT, null, fromShard));
+            throw e;
+        }
+        if (!debitPrepared) {
+            return null;
+        }
+        boolean creditPrepared;
+        try {
+            creditPrepared = toShard.prepareCredit(txId, toAccountId, amount);
+        } catch (RuntimeException e) {
+            decide(coordinatorLog.record(txId, CoordinatorLog.Decision.ABORT, null, fromShard, toShard));
+            throw e;
+        }
+        if (!creditPrepared) {
+            decide(coordinatorLog.record(txId, CoordinatorLog.Decision.ABORT, null, fromShard));
+            return null;
+        }
+
+        // Phase 2: la décision est journalisée, puis appliquée par les deux participants
+        Transaction transaction = new Transaction(
+                txId,
+                TransactionType.TRANSFER,
+                amount,
+                fromAccount,
+                toAccount,
+                "Transfert de " + fromAccountId + " vers " + toAccountId
+        );
+        decide(coordinatorLog.record(txId, CoordinatorLog.Decision.COMMIT, transaction, fromShard, toShard));
+        return transaction;
+    }
+
+    // Envoie la décision aux participants qui ne l'ont pas encore appliquée
+    private void decide(CoordinatorLog.Entry entry) {
+        for (BankingShard shard : entry.pending()) {
+            RuntimeException failure = null;
+            for (int attempt = 0; attempt < PHASE_TWO_ATTEMPTS; attempt++) {
+                try {
+                    if (entry.decision == CoordinatorLog.Decision.COMMIT) {
+                        shard.commit(entry.txId, entry.transaction);
+                    } else {
+                        shard.abort(entry.txId);
+                    }
+                    coordinatorLog.acknowledge(entry, shard);
+                    failure = null;
+                    break;
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                System.err.println("Transfert " + entry.txId + " en doute sur la partition "
+                        + shard.getShardId() + " (" + entry.decision + "): " + failure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Renvoie leur décision aux participants des transferts en doute.
+     *
+     * @return Nombre de transferts encore en doute
+     */
+    public int resolveInDoubt() {
+        for (CoordinatorLog.Entry entry : coordinatorLog.inDoubt()) {
+            decide(entry);
+        }
+        return coordinatorLog.size();
+    }
+
+    /**
+     * Retourne le nombre de transferts dont la décision n'a pas encore été appliquée
+     * par tous les participants.
+     *
+     * @return Nombre de transferts en doute
+     */
+    public int getInDoubtCount() {
+        return coordinatorLog.size();
+    }
+
+    // ==================== Statistiques ====================
+
+    /**
+     * Retourne le nombre total d'utilisateurs.
+     *
+     * @return Nombre d'utilisateurs
+     */
+    public int getUserCount() {
+        int count = 0;
+        for (BankingShard shard : ring.getNodes()) {
+            count += shard.getUserCount();
+        }
+        return count;
+    }
+
+    /**
+     * Retourne le nombre total de comptes.
+     *
+     * @return Nombre de comptes
+     */
+    public int getAccountCount() {
+        int count = 0;
+        for (BankingShard shard : ring.getNodes()) {
+            count += shard.getAccountCount();
+        }
+        return count;
+    }
+
+    /**
+     * Retourne le nombre de partitions.
+     *
+     * @return Nombre de partitions
+     */
+    public int getShardCount() {
+        return ring.size();
+    }
+}
@@ -0,0 +1,446 @@
+package com.university.finance.transport;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.shard.BankingShard;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Client d'une partition distante ({@link ShardServer}), exposant les mêmes
+ * opérations qu'une partition locale.
+ *
+ * Les requêtes sont pipelinées: chaque appel reçoit un identifiant et n'attend
+ * que sa propre réponse. Un thread d'écriture regroupe toutes les requêtes en
+ * attente en une seule écriture; un thread de lecture associe les réponses aux
+ * requêtes. Les comptes et transactions retournés sont des instantanés.
+ */
+public class RemoteBankingShard implements BankingShard, AutoCloseable {
+
+    // Délai d'attente par défaut d'une réponse
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    // Nombre maximal de requêtes regroupées dans une écriture
+    private static final int MAX_BATCH = 256;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String shardId;
+    private final SocketChannel channel;
+    private final long timeoutMillis;
+    private final AtomicLong nextRequestId = new AtomicLong();
+    private final Map<Long, PendingRequest<?>> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<byte[]> outbound = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Thread reader;
+    private volatile boolean closed;
+
+    /**
+     * Se connecte à une partition distante.
+     *
+     * @param address Adresse du serveur de partition
+     * @throws IOException Si la connexion échoue
+     */
+    public RemoteBankingShard(InetSocketAddress address) throws IOException {
+        this(address, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Se connecte à une partition distante.
+     *
+     * @param address       Adresse du serveur de partition
+     * @param timeoutMillis Délai d'attente d'une réponse
+     * @throws IOException Si la connexion échoue
+     */
+    public RemoteBankingShard(InetSocketAddress address, long timeoutMillis) throws IOException {
+        this.timeoutMillis = timeoutMillis;
+        this.channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        this.writer = new Thread(this::writeLoop, "shard-client-writer-" + address.getPort());
+        this.reader = new Thread(this::readLoop, "shard-client-reader-" + address.getPort());
+        writer.setDaemon(true);
+        reader.setDaemon(true);
+        writer.start();
+        reader.start();
+        this.shardId = call(ShardProtocol.GET_SHARD_ID, out -> { }, WireReader::getString);
+    }
+
+    // ==================== Envoi et réception ====================
+
+    /**
+     * Envoie une requête sans attendre sa réponse.
+     *
+     * @param opcode  Opération
+     * @param request Encodage des paramètres
+     * @param decoder Décodage du résultat
+     * @param <T>     Type du résultat
+     * @return Résultat futur, en échec si la réponse n'arrive pas dans le délai
+     */
+    private <T> CompletableFuture<T> submit(byte opcode, Consumer<WireWriter> request,
+                                            Function<WireReader, T> decoder) {
+        if (closed) {
+            throw new ShardTransportException("Connexion à la partition fermée");
+        }
+        long requestId = nextRequestId.incrementAndGet();
+        WireWriter frame = new WireWriter(128);
+        int start = frame.beginFrame(requestId, opcode);
+        request.accept(frame);
+        frame.endFrame(start);
+        ByteBuffer encoded = frame.flip();
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+
+        PendingRequest<T> call = new PendingRequest<>(decoder);
+        pending.put(requestId, call);
+        // Une requête sans réponse dans le délai échoue et quitte la table des requêtes en vol
+        call.future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> pending.remove(requestId, call));
+        outbound.add(bytes);
+        return call.future;
+    }
+
+    private <T> T call(byte opcode, Consumer<WireWriter> request, Function<WireReader, T> decoder) {
+        return await(submit(opcode, request, decoder));
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new ShardTransportException("Délai dépassé pour la partition " + shardId, cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ShardTransportException("Erreur distante", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShardTransportException("Attente interrompue", e);
+        }
+    }
+
+    private void writeLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        List<byte[]> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (!closed) {
+                byte[] first = outbound.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbound.drainTo(batch, MAX_BATCH - 1);
+                for (byte[] frame : batch) {
+                    if (buffer.remaining() < frame.length) {
+                        writeFully(buffer);
+                        if (buffer.capacity() < frame.length) {
+                            buffer = ByteBuffer.allocate(frame.length);
+                        }
+                    }
+                    buffer.put(frame);
+                }
+                batch.clear();
+                writeFully(buffer);
+            }
+        } catch (IOException e) {
+            failAll(new ShardTransportException("Écriture vers la partition impossible", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void readLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try {
+            while (!closed) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Connexion fermée par la partition");
+                }
+                buffer.flip();
+                while (buffer.remaining() >= 4) {
+                    int length = buffer.getInt(buffer.position());
+                    if (length < ShardProtocol.HEADER_SIZE - 4 || length > ShardProtocol.MAX_FRAME_SIZE) {
+                        throw new IOException("Trame invalide: " + length);
+                    }
+                    if (buffer.remaining() < 4 + length) {
+                        break;
+                    }
+                    int frameEnd = buffer.position() + 4 + length;
+                    buffer.position(buffer.position() + 4);
+                    long requestId = buffer.getLong();
+                    byte status = buffer.get();
+                    ByteBuffer payload = buffer.slice();
+                    payload.limit(frameEnd - buffer.position());
+                    buffer.position(frameEnd);
+                    complete(requestId, status, payload);
+                }
+                if (buffer.remaining() > 0 && buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+                    // Trame plus grande que le tampon
+                    ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    larger.put(buffer);
+                    buffer = larger;
+                } else {
+                    buffer.compact();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                failAll(new ShardTransportException("Lecture depuis la partition impossible", e));
+            }
+        }
+    }
+
+    private void complete(long requestId, byte status, ByteBuffer payload) {
+        PendingRequest<?> call = pending.remove(requestId);
+        if (call == null) {
+            return;
+        }
+        WireReader in = new WireReader(payload, id -> null);
+        switch (status) {
+            case ShardProtocol.STATUS_OK:
+                try {
+                    call.completeWith(in);
+                } catch (RuntimeException e) {
+                    call.future.completeExceptionally(e);
+                }
+                break;
+            case ShardProtocol.STATUS_ILLEGAL_ARGUMENT:
+                call.future.completeExceptionally(new IllegalArgumentException(in.getString()));
+                break;
+            case ShardProtocol.STATUS_ILLEGAL_STATE:
+                call.future.completeExceptionally(new IllegalStateException(in.getString()));
+                break;
+            default:
+                call.future.completeExceptionally(new ShardTransportException(in.getString()));
+        }
+    }
+
+    private void failAll(RuntimeException error) {
+        for (Long requestId : pending.keySet()) {
+            PendingRequest<?> call = pending.remove(requestId);
+            if (call != null) {
+                call.future.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Requête en vol: décodeur du résultat et futur associé.
+     */
+    private static final class PendingRequest<T> {
+        final Function<WireReader, T> decoder;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingRequest(Function<WireReader, T> decoder) {
+            this.decoder = decoder;
+        }
+
+        void completeWith(WireReader in) {
+            future.complete(decoder.apply(in));
+        }
+    }
+
+    // ==================== Opérations asynchrones (pipelining) ====================
+
+    /**
+     * Envoie un dépôt sans attendre la réponse.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> depositAsync(String accountId, double amount) {
+        return submit(ShardProtocol.DEPOSIT, out -> out.putString(accountId).putDouble(amount),
+                WireReader::getTransaction);
+    }
+
+    /**
+     * Envoie un retrait sans attendre la réponse.
+     *
+     * @param accountId ID du compte
+     * @param amount    Montant
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> withdrawAsync(String accountId, double amount) {
+        return submit(ShardProtocol.WITHDRAW, out -> out.putString(accountId).putDouble(amount),
+                WireReader::getTransaction);
+    }
+
+    /**
+     * Envoie un transfert local à la partition sans attendre la réponse.
+     *
+     * @param fromAccountId ID du compte source
+     * @param toAccountId   ID du compte destination
+     * @param amount        Montant
+     * @return Transaction future (null si l'opération a échoué)
+     */
+    public CompletableFuture<Transaction> transferAsync(String fromAccountId, String toAccountId,
+                                                        double amount) {
+        return submit(ShardProtocol.TRANSFER,
+                out -> out.putString(fromAccountId).putString(toAccountId).putDouble(amount),
+                WireReader::getTransaction);
+    }
+
+    /**
+     * Demande un solde sans attendre la réponse.
+     *
+     * @param accountId ID du compte
+     * @return Solde futur
+     */
+    public CompletableFuture<Double> getBalanceAsync(String accountId) {
+        return submit(ShardProtocol.GET_BALANCE, out -> out.putString(accountId), WireReader::getDouble);
+    }
+
+    // ==================== BankingShard ====================
+
+    @Override
+    public String getShardId() {
+        return shardId;
+    }
+
+    @Override
+    public User createUser(String username, String password, String email) {
+        return call(ShardProtocol.CREATE_USER,
+                out -> out.putString(username).putString(password).putString(email), WireReader::getUser);
+    }
+
+    @Override
+    public User findUserById(String userId) {
+        return call(ShardProtocol.FIND_USER_BY_ID, out -> out.putString(userId), WireReader::getUser);
+    }
+
+    @Override
+    public User findUserByUsername(String username) {
+        return call(ShardProtocol.FIND_USER_BY_USERNAME, out -> out.putString(username), WireReader::getUser);
+    }
+
+    @Override
+    public User authenticate(String username, String password) {
+        return call(ShardProtocol.AUTHENTICATE, out -> out.putString(username).putString(password),
+                WireReader::getUser);
+    }
+
+    @Override
+    public Account createAccount(String accountId, User owner, double initialDeposit) {
+        return call(ShardProtocol.CREATE_ACCOUNT,
+                out -> out.putString(accountId).putUser(owner).putDouble(initialDeposit),
+                WireReader::getAccount);
+    }
+
+    @Override
+    public Account findAccountById(String accountId) {
+        return call(ShardProtocol.FIND_ACCOUNT, out -> out.putString(accountId), WireReader::getAccount);
+    }
+
+    @Override
+    public List<Account> findAccountsByUser(User user) {
+        return call(ShardProtocol.FIND_ACCOUNTS_BY_USER, out -> out.putUser(user), WireReader::getAccounts);
+    }
+
+    @Override
+    public double getBalance(String accountId) {
+        return call(ShardProtocol.GET_BALANCE, out -> out.putString(accountId), WireReader::getDouble);
+    }
+
+    @Override
+    public List<Transaction> getTransactionHistory(String accountId) {
+        return call(ShardProtocol.GET_HISTORY, out -> out.putString(accountId), WireReader::getTransactions);
+    }
+
+    @Override
+    public Transaction deposit(String accountId, double amount) {
+        return await(depositAsync(accountId, amount));
+    }
+
+    @Override
+    public Transaction withdraw(String accountId, double amount) {
+        return await(withdrawAsync(accountId, amount));
+    }
+
+    @Override
+    public Transaction transfer(String fromAccountId, String toAccountId, double amount) {
+        return await(transferAsync(fromAccountId, toAccountId, amount));
+    }
+
+    @Override
+    public boolean prepareDebit(String txId, String accountId, double amount) {
+        return call(ShardProtocol.PREPARE_DEBIT,
+                out -> out.putString(txId).putString(accountId).putDouble(amount), WireReader::getBoolean);
+    }
+
+    @Override
+    public boolean prepareCredit(String txId, String accountId, double amount) {
+        return call(ShardProtocol.PREPARE_CREDIT,
+                out -> out.putString(txId).putString(accountId).putDouble(amount), WireReader::getBoolean);
+    }
+
+    @Override
+    public void commit(String txId, Transaction transaction) {
+        call(ShardProtocol.COMMIT, out -> out.putString(txId).putTransaction(transaction), in -> null);
+    }
+
+    @Override
+    public void abort(String txId) {
+        call(ShardProtocol.ABORT, out -> out.putString(txId), in -> null);
+    }
+
+    @Override
+    public int getUserCount() {
+        return call(ShardProtocol.USER_COUNT, out -> { }, WireReader::getInt);
+    }
+
+    @Override
+    public int getAccountCount() {
+        return call(ShardProtocol.ACCOUNT_COUNT, out -> { }, WireReader::getInt);
+    }
+
+    /**
+     * Retourne le nombre de requêtes en attente de réponse.
+     *
+     * @return Nombre de requêtes en vol
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Ferme la connexion; les requêtes en vol échouent.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture de la connexion: " + e.getMessage());
+        }
+        writer.interrupt();
+        failAll(new ShardTransportException("Connexion à la partition fermée"));
+    }
+}
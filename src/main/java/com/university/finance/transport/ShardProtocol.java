@@ -0,0 +1,48 @@
+package com.university.finance.transport;
+
+/**
+ * Constantes du protocole binaire requête/réponse entre routeur et partitions.
+ *
+ * Trame de requête: longueur (int, octets suivants), identifiant (long), opcode (octet), données.
+ * Trame de réponse: longueur (int), identifiant de la requête (long), statut (octet), données.
+ * Les identifiants permettent le pipelining: plusieurs requêtes peuvent être en vol
+ * sur une même connexion et plusieurs trames écrites en une seule fois.
+ */
+final class ShardProtocol {
+
+    // Taille de l'en-tête de trame: longueur + identifiant + opcode/statut
+    static final int HEADER_SIZE = 4 + 8 + 1;
+
+    // Taille maximale acceptée pour une trame
+    static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    // Opcodes
+    static final byte GET_SHARD_ID = 1;
+    static final byte CREATE_USER = 2;
+    static final byte FIND_USER_BY_ID = 3;
+    static final byte FIND_USER_BY_USERNAME = 4;
+    static final byte CREATE_ACCOUNT = 5;
+    static final byte FIND_ACCOUNT = 6;
+    static final byte FIND_ACCOUNTS_BY_USER = 7;
+    static final byte GET_BALANCE = 8;
+    static final byte GET_HISTORY = 9;
+    static final byte DEPOSIT = 10;
+    static final byte WITHDRAW = 11;
+    static final byte TRANSFER = 12;
+    static final byte PREPARE_DEBIT = 13;
+    static final byte PREPARE_CREDIT = 14;
+    static final byte COMMIT = 15;
+    static final byte ABORT = 16;
+    static final byte USER_COUNT = 17;
+    static final byte ACCOUNT_COUNT = 18;
+    static final byte AUTHENTICATE = 19;
+
+    // Statuts de réponse
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ILLEGAL_ARGUMENT = 1;
+    static final byte STATUS_ILLEGAL_STATE = 2;
+    static final byte STATUS_ERROR = 3;
+
+    private ShardProtocol() {
+    }
+}
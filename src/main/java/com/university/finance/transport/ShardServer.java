@@ -0,0 +1,332 @@
+package com.university.finance.transport;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.service.BankingService;
+import com.university.finance.shard.BankingShard;
+import com.university.finance.shard.LocalBankingShard;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * Serveur NIO exposant une partition bancaire sur TCP.
+ * Un seul thread sélecteur lit les trames de toutes les connexions, exécute
+ * les requêtes dans l'ordre de réception et accumule les réponses d'une même
+ * lecture pour les écrire en une seule fois.
+ */
+public class ShardServer implements AutoCloseable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final BankingShard shard;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Ouvre le serveur sur l'adresse donnée (port 0 = port libre choisi par le système).
+     *
+     * @param shard   Partition servie
+     * @param address Adresse d'écoute
+     * @throws IOException Si le port ne peut pas être ouvert
+     */
+    public ShardServer(BankingShard shard, InetSocketAddress address) throws IOException {
+        if (shard == null) {
+            throw new IllegalArgumentException("La partition ne peut pas être null");
+        }
+        this.shard = shard;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Démarre le thread sélecteur.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "shard-server-" + shard.getShardId());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Attend l'arrêt du serveur.
+     *
+     * @throws InterruptedException Si l'attente est interrompue
+     */
+    public void awaitTermination() throws InterruptedException {
+        Thread current = thread;
+        if (current != null) {
+            current.join();
+        }
+    }
+
+    /**
+     * Retourne le port d'écoute effectif.
+     *
+     * @return Port TCP
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Erreur du serveur de partition: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+            }
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                connection.read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush(key);
+            }
+        } catch (IOException | RuntimeException e) {
+            key.cancel();
+            connection.channel.close();
+        }
+    }
+
+    /**
+     * Arrête le serveur et ferme toutes les connexions.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            serverChannel.close();
+        } catch (IOException e) {
+            System.err.println("Erreur lors de la fermeture du serveur: " + e.getMessage());
+        }
+    }
+
+    // ==================== Traitement des requêtes ====================
+
+    /**
+     * État d'une connexion cliente: tampon de lecture et réponses en attente.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final WireWriter output = new WireWriter(WRITE_BUFFER_SIZE);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read(SelectionKey key) throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                throw new IOException("Connexion fermée par le client");
+            }
+            readBuffer.flip();
+            boolean grown = false;
+            while (readBuffer.remaining() >= 4) {
+                int length = readBuffer.getInt(readBuffer.position());
+                if (length < ShardProtocol.HEADER_SIZE - 4 || length > ShardProtocol.MAX_FRAME_SIZE) {
+                    throw new IOException("Trame invalide: " + length);
+                }
+                if (readBuffer.remaining() < 4 + length) {
+                    if (readBuffer.capacity() < 4 + length) {
+                        readBuffer = grow(readBuffer, 4 + length);
+                        grown = true;
+                    }
+                    break;
+                }
+                int frameEnd = readBuffer.position() + 4 + length;
+                readBuffer.position(readBuffer.position() + 4);
+                long requestId = readBuffer.getLong();
+                byte opcode = readBuffer.get();
+                ByteBuffer payload = readBuffer.slice();
+                payload.limit(frameEnd - readBuffer.position());
+                readBuffer.position(frameEnd);
+                process(requestId, opcode, payload);
+            }
+            if (!grown) {
+                readBuffer.compact();
+            }
+            // Toutes les réponses de cette lecture partent en une seule écriture
+            flush(key);
+        }
+
+        void flush(SelectionKey key) throws IOException {
+            if (output.size() == 0 || output.writeTo(channel)) {
+                key.interestOps(SelectionKey.OP_READ);
+            } else {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        private ByteBuffer grow(ByteBuffer buffer, int capacity) {
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            larger.put(buffer);
+            return larger;
+        }
+
+        private void process(long requestId, byte opcode, ByteBuffer payload) {
+            int start = output.size();
+            int frame = output.beginFrame(requestId, ShardProtocol.STATUS_OK);
+            try {
+                execute(opcode, new WireReader(payload, shard::findAccountById), output);
+                output.endFrame(frame);
+            } catch (IllegalArgumentException e) {
+                error(start, requestId, ShardProtocol.STATUS_ILLEGAL_ARGUMENT, e.getMessage());
+            } catch (IllegalStateException e) {
+                error(start, requestId, ShardProtocol.STATUS_ILLEGAL_STATE, e.getMessage());
+            } catch (RuntimeException e) {
+                error(start, requestId, ShardProtocol.STATUS_ERROR, String.valueOf(e));
+            }
+        }
+
+        private void error(int start, long requestId, byte status, String message) {
+            // Abandonne la réponse partielle et la remplace par l'erreur
+            output.truncate(start);
+            int frame = output.beginFrame(requestId, status);
+            output.putString(message);
+            output.endFrame(frame);
+        }
+    }
+
+    private void execute(byte opcode, WireReader in, WireWriter out) {
+        switch (opcode) {
+            case ShardProtocol.GET_SHARD_ID:
+                out.putString(shard.getShardId());
+                break;
+            case ShardProtocol.CREATE_USER:
+                out.putUser(shard.createUser(in.getString(), in.getString(), in.getString()));
+                break;
+            case ShardProtocol.FIND_USER_BY_ID:
+                out.putUser(shard.findUserById(in.getString()));
+                break;
+            case ShardProtocol.FIND_USER_BY_USERNAME:
+                out.putUser(shard.findUserByUsername(in.getString()));
+                break;
+            case ShardProtocol.AUTHENTICATE:
+                out.putUser(shard.authenticate(in.getString(), in.getString()));
+                break;
+            case ShardProtocol.CREATE_ACCOUNT:
+                out.putAccount(shard.createAccount(in.getString(), in.getUser(), in.getDouble()));
+                break;
+            case ShardProtocol.FIND_ACCOUNT:
+                out.putAccount(shard.findAccountById(in.getString()));
+                break;
+            case ShardProtocol.FIND_ACCOUNTS_BY_USER:
+                out.putAccounts(shard.findAccountsByUser(in.getUser()));
+                break;
+            case ShardProtocol.GET_BALANCE:
+                out.putDouble(shard.getBalance(in.getString()));
+                break;
+            case ShardProtocol.GET_HISTORY:
+                out.putTransactions(shard.getTransactionHistory(in.getString()));
+                break;
+            case ShardProtocol.DEPOSIT:
+                out.putTransaction(shard.deposit(in.getString(), in.getDouble()));
+                break;
+            case ShardProtocol.WITHDRAW:
+                out.putTransaction(shard.withdraw(in.getString(), in.getDouble()));
+                break;
+            case ShardProtocol.TRANSFER:
+                out.putTransaction(shard.transfer(in.getString(), in.getString(), in.getDouble()));
+                break;
+            case ShardProtocol.PREPARE_DEBIT:
+                out.putBoolean(shard.prepareDebit(in.getString(), in.getString(), in.getDouble()));
+                break;
+            case ShardProtocol.PREPARE_CREDIT:
+                out.putBoolean(shard.prepareCredit(in.getString(), in.getString(), in.getDouble()));
+                break;
+            case ShardProtocol.COMMIT: {
+                String txId = in.getString();
+                Transaction transaction = in.getTransaction();
+                shard.commit(txId, transaction);
+                break;
+            }
+            case ShardProtocol.ABORT:
+                shard.abort(in.getString());
+                break;
+            case ShardProtocol.USER_COUNT:
+                out.putInt(shard.getUserCount());
+                break;
+            case ShardProtocol.ACCOUNT_COUNT:
+                out.putInt(shard.getAccountCount());
+                break;
+            default:
+                throw new IllegalArgumentException("Opcode inconnu: " + opcode);
+        }
+    }
+
+    /**
+     * Lance une partition autonome dans sa propre JVM.
+     * Usage: {@code ShardServer <shardId> <port>}
+     *
+     * @param args Identifiant de la partition et port d'écoute
+     * @throws IOException          Si le port ne peut pas être ouvert
+     * @throws InterruptedException Si l'attente est interrompue
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 2) {
+            System.err.println("Usage: ShardServer <shardId> <port>");
+            System.exit(1);
+        }
+        ShardServer server = new ShardServer(
+                new LocalBankingShard(args[0], new BankingService()),
+                new InetSocketAddress(Integer.parseInt(args[1])));
+        server.start();
+        System.out.println("Partition " + args[0] + " à l'écoute sur le port " + server.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.awaitTermination();
+    }
+}
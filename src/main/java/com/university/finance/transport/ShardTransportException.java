@@ -0,0 +1,29 @@
+package com.university.finance.transport;
+
+/**
+ * Erreur de transport entre le routeur et une partition distante
+ * (connexion perdue, délai dépassé, trame invalide, erreur inattendue du serveur).
+ */
+public class ShardTransportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructeur.
+     *
+     * @param message Description de l'erreur
+     */
+    public ShardTransportException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructeur avec cause.
+     *
+     * @param message Description de l'erreur
+     * @param cause   Cause
+     */
+    public ShardTransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,125 @@
+package com.university.finance.transport;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Décodage des données d'une trame.
+ * Les comptes reçus sont des instantanés (identifiant, propriétaire, solde),
+ * sauf si un résolveur fournit l'instance locale correspondante.
+ */
+final class WireReader {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final ByteBuffer buffer;
+    private final Function<String, Account> localAccounts;
+
+    /**
+     * Constructeur.
+     *
+     * @param buffer        Données de la trame
+     * @param localAccounts Résolution des comptes locaux (retourne null si inconnu)
+     */
+    WireReader(ByteBuffer buffer, Function<String, Account> localAccounts) {
+        this.buffer = buffer;
+        this.localAccounts = localAccounts;
+    }
+
+    byte getByte() {
+        return buffer.get();
+    }
+
+    boolean getBoolean() {
+        return buffer.get() != 0;
+    }
+
+    int getInt() {
+        return buffer.getInt();
+    }
+
+    long getLong() {
+        return buffer.getLong();
+    }
+
+    double getDouble() {
+        return buffer.getDouble();
+    }
+
+    String getString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    User getUser() {
+        if (!getBoolean()) {
+            return null;
+        }
+        // Instantané sans mot de passe (voir WireWriter#putUser)
+        String id = getString();
+        String username = getString();
+        return new User(id, username, null, getString());
+    }
+
+    Account getAccount() {
+        if (!getBoolean()) {
+            return null;
+        }
+        String id = getString();
+        User owner = getUser();
+        double balance = getDouble();
+        Account local = localAccounts.apply(id);
+        return local != null ? local : new Account(id, owner, balance);
+    }
+
+    List<Account> getAccounts() {
+        int size = getInt();
+        List<Account> accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            accounts.add(getAccount());
+        }
+        return accounts;
+    }
+
+    Transaction getTransaction() {
+        if (!getBoolean()) {
+            return null;
+        }
+        String id = getString();
+        int type = getByte();
+        if (type < 0 || type >= TYPES.length) {
+            throw new ShardTransportException("Type de transaction invalide: " + type);
+        }
+        double amount = getDouble();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(getLong(), getInt(), ZoneOffset.UTC);
+        Account from = getAccount();
+        Account to = getAccount();
+        String description = getString();
+        return new Transaction(id, TYPES[type], amount, timestamp, from, to, description);
+    }
+
+    List<Transaction> getTransactions() {
+        int size = getInt();
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(getTransaction());
+        }
+        return transactions;
+    }
+}
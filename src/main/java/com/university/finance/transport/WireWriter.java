@@ -0,0 +1,197 @@
+package com.university.finance.transport;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Tampon d'écriture extensible pour l'encodage des trames.
+ * Réutilisé d'une trame à l'autre: seul l'agrandissement alloue.
+ */
+final class WireWriter {
+
+    private ByteBuffer buffer;
+
+    WireWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    /**
+     * Commence une trame: réserve la longueur puis écrit l'identifiant et le code.
+     *
+     * @param id   Identifiant de requête
+     * @param code Opcode ou statut
+     * @return Position de début de la trame
+     */
+    int beginFrame(long id, byte code) {
+        int start = buffer.position();
+        ensure(ShardProtocol.HEADER_SIZE);
+        buffer.putInt(0);
+        buffer.putLong(id);
+        buffer.put(code);
+        return start;
+    }
+
+    /**
+     * Termine une trame en écrivant sa longueur.
+     *
+     * @param start Position retournée par {@link #beginFrame}
+     */
+    void endFrame(int start) {
+        buffer.putInt(start, buffer.position() - start - 4);
+    }
+
+    /**
+     * Écrit autant de données que possible dans le canal, en une seule écriture
+     * pour toutes les trames accumulées. Les octets non écrits restent dans le tampon.
+     *
+     * @param channel Canal de destination
+     * @return true si tout le tampon a été écrit
+     * @throws IOException Si l'écriture échoue
+     */
+    boolean writeTo(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        try {
+            channel.write(buffer);
+            return !buffer.hasRemaining();
+        } finally {
+            buffer.compact();
+        }
+    }
+
+    /**
+     * Retourne le contenu écrit, prêt à être lu (position 0, limite = fin des données).
+     *
+     * @return Vue en lecture du tampon
+     */
+    ByteBuffer flip() {
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Abandonne les données écrites après une position.
+     *
+     * @param size Nombre d'octets conservés
+     */
+    void truncate(int size) {
+        buffer.position(size);
+    }
+
+    /**
+     * Retourne le nombre d'octets écrits.
+     *
+     * @return Taille des données
+     */
+    int size() {
+        return buffer.position();
+    }
+
+    WireWriter putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+        return this;
+    }
+
+    WireWriter putBoolean(boolean value) {
+        return putByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    WireWriter putInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+        return this;
+    }
+
+    WireWriter putLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+        return this;
+    }
+
+    WireWriter putDouble(double value) {
+        ensure(8);
+        buffer.putDouble(value);
+        return this;
+    }
+
+    WireWriter putString(String value) {
+        if (value == null) {
+            return putInt(-1);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        ensure(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    // Le mot de passe ne quitte jamais la partition de l'utilisateur
+    WireWriter putUser(User user) {
+        if (user == null) {
+            return putBoolean(false);
+        }
+        putBoolean(true);
+        putString(user.getId());
+        putString(user.getUsername());
+        return putString(user.getEmail());
+    }
+
+    WireWriter putAccount(Account account) {
+        if (account == null) {
+            return putBoolean(false);
+        }
+        putBoolean(true);
+        putString(account.getId());
+        putUser(account.getOwner());
+        return putDouble(account.getBalance());
+    }
+
+    WireWriter putAccounts(List<Account> accounts) {
+        putInt(accounts.size());
+        for (Account account : accounts) {
+            putAccount(account);
+        }
+        return this;
+    }
+
+    WireWriter putTransaction(Transaction transaction) {
+        if (transaction == null) {
+            return putBoolean(false);
+        }
+        putBoolean(true);
+        putString(transaction.getId());
+        putByte((byte) transaction.getType().ordinal());
+        putDouble(transaction.getAmount());
+        putLong(transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        putInt(transaction.getTimestamp().getNano());
+        putAccount(transaction.getFromAccount());
+        putAccount(transaction.getToAccount());
+        return putString(transaction.getDescription());
+    }
+
+    WireWriter putTransactions(List<Transaction> transactions) {
+        putInt(transactions.size());
+        for (Transaction transaction : transactions) {
+            putTransaction(transaction);
+        }
+        return this;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.finance;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du point d'entrée non interactif de l'application.
+ */
+public class MainAppTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private int runBatch(String script, ByteArrayOutputStream output) throws IOException {
+        File file = folder.newFile("commands.txt");
+        Files.write(file.toPath(), script.getBytes(StandardCharsets.UTF_8));
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            return MainApp.runBatch(file.getPath());
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    @Test
+    public void testBatchSucceeds() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int status = runBatch(String.join("\n",
+                "user alice password123 alice@test.com",
+                "account alice 500 a1",
+                "deposit a1 100"), output);
+
+        assertEquals(0, status);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Lignes lues: 3"));
+    }
+
+    @Test
+    public void testBatchReportsFailures() throws IOException {
+        int status = runBatch("deposit inconnu 100", new ByteArrayOutputStream());
+        assertEquals(1, status);
+    }
+}
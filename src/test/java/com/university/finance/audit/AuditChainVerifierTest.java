@@ -0,0 +1,162 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la vérification parallèle du journal d'audit chaîné.
+ */
+public class AuditChainVerifierTest {
+
+    private static final byte[] KEY = AuditChainWriterTest.KEY;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private Path checkpoints;
+    private List<AuditCheckpoint> written;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.getRoot().toPath().resolve("audit.bin");
+        checkpoints = AuditCheckpoint.checkpointFile(file);
+        Account account = new Account("ACC-001", new User("USR-001", "user1", "secret", "user1@example.com"), 1e6);
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            // Un segment par lot: plusieurs segments à répartir entre les threads
+            for (int batch = 0; batch < 8; batch++) {
+                for (int i = 0; i < 20; i++) {
+                    logger.onTransaction(new Transaction("TX-" + batch + "-" + i, TransactionType.DEPOSIT,
+                            i + 0.5, account, "Dépôt"));
+                }
+                assertTrue(writer.flush(5000));
+            }
+        }
+        written = AuditCheckpoint.readAll(checkpoints);
+        assertEquals(8, written.size());
+    }
+
+    private AuditChainVerifier.Result verify() throws Exception {
+        return new AuditChainVerifier(KEY, 4).verify(file);
+    }
+
+    private void overwrite(Path target, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    @Test
+    public void testIntactLog() throws Exception {
+        AuditChainVerifier.Result result = verify();
+
+        assertTrue(result.isValid());
+        assertEquals(8, result.getSegments());
+        assertEquals(8, result.getVerifiedSegments());
+        assertEquals(Files.size(file) - AuditRecordEncoder.FILE_HEADER.length, result.getVerifiedBytes());
+        assertEquals(0, result.getUnsealedBytes());
+        assertEquals(-1, result.getFailedSegment());
+    }
+
+    @Test
+    public void testModifiedRecordIsDetected() throws Exception {
+        AuditCheckpoint target = written.get(5);
+        long position = target.getStart() + 3;
+        byte[] original = new byte[1];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(ByteBuffer.wrap(original), position);
+        }
+        overwrite(file, position, new byte[]{(byte) (original[0] ^ 0x01)});
+
+        AuditChainVerifier.Result result = verify();
+
+        assertFalse(result.isValid());
+        assertEquals(5, result.getFailedSegment());
+        assertEquals(5, result.getVerifiedSegments());
+    }
+
+    @Test
+    public void testRemovedCheckpointIsDetected() throws Exception {
+        // Suppression du point de contrôle 3: les suivants sont décalés
+        byte[] all = Files.readAllBytes(checkpoints);
+        int removeAt = AuditCheckpoint.FILE_HEADER.length + 3 * AuditCheckpoint.SIZE;
+        byte[] shortened = new byte[all.length - AuditCheckpoint.SIZE];
+        System.arraycopy(all, 0, shortened, 0, removeAt);
+        System.arraycopy(all, removeAt + AuditCheckpoint.SIZE, shortened, removeAt, shortened.length - removeAt);
+        Files.write(checkpoints, shortened);
+
+        AuditChainVerifier.Result result = verify();
+
+        assertFalse(result.isValid());
+        assertEquals(3, result.getFailedSegment());
+    }
+
+    @Test
+    public void testForgedCheckpointIsDetected() throws Exception {
+        // Contenu réécrit puis point de contrôle recalculé sans la bonne clé
+        AuditCheckpoint original = written.get(2);
+        AuditCheckpoint forged = AuditCheckpoint.seal(original.getSegment(), original.getStart(), original.getEnd(),
+                new byte[AuditCheckpoint.HASH_SIZE], written.get(1).getChain(),
+                "mauvaise-cle".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(AuditCheckpoint.SIZE);
+        forged.writeTo(buffer);
+        overwrite(checkpoints, AuditCheckpoint.FILE_HEADER.length + 2L * AuditCheckpoint.SIZE, buffer.array());
+
+        AuditChainVerifier.Result result = verify();
+
+        assertFalse(result.isValid());
+        assertEquals(2, result.getFailedSegment());
+        assertTrue(result.getFailure().contains("Signature"));
+    }
+
+    @Test
+    public void testTruncatedLogIsDetected() throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(written.get(6).getStart() + 1);
+        }
+
+        AuditChainVerifier.Result result = verify();
+
+        assertFalse(result.isValid());
+        assertEquals(6, result.getFailedSegment());
+    }
+
+    @Test
+    public void testSingleThreadMatchesParallel() throws Exception {
+        AuditChainVerifier.Result result = new AuditChainVerifier(KEY, 1).verify(file);
+
+        assertTrue(result.isValid());
+        assertEquals(verify().getVerifiedBytes(), result.getVerifiedBytes());
+    }
+
+    @Test
+    public void testToolVerify() throws Exception {
+        Path keyFile = folder.newFile("audit.key").toPath();
+        Files.write(keyFile, KEY);
+
+        assertTrue(AuditLogTool.verify(new String[]{file.toString(), "--key", keyFile.toString(), "--threads", "2"}));
+
+        Files.write(keyFile, "mauvaise-cle".getBytes(StandardCharsets.UTF_8));
+        assertFalse(AuditLogTool.verify(new String[]{file.toString(), "--key", keyFile.toString()}));
+    }
+}
@@ -0,0 +1,207 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'écriture chaînée du journal d'audit.
+ */
+public class AuditChainWriterTest {
+
+    static final byte[] KEY = "cle-de-test-audit".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private Account account;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("audit").resolve("audit.bin");
+        account = new Account("ACC-001", new User("USR-001", "user1", "secret", "user1@example.com"), 1000.0);
+    }
+
+    private void log(AuditLogger logger, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            logger.onTransaction(new Transaction("TX-" + i, TransactionType.DEPOSIT, i, account, "Dépôt"));
+        }
+    }
+
+    private static int countRecords(Path file) throws IOException {
+        int count = 0;
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            while (reader.next() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testRecordsAreSealedInSegments() throws Exception {
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY, 10)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 0, 50);
+            assertTrue(writer.flush(5000));
+            log(logger, 50, 50);
+            assertTrue(writer.flush(5000));
+            assertTrue(writer.getSegmentCount() >= 2);
+            assertEquals(0, writer.getFailureCount());
+        }
+
+        assertEquals(100, countRecords(file));
+        List<AuditCheckpoint> checkpoints = AuditCheckpoint.readAll(AuditCheckpoint.checkpointFile(file));
+        assertEquals(Files.size(file), checkpoints.get(checkpoints.size() - 1).getEnd());
+        for (AuditCheckpoint checkpoint : checkpoints) {
+            assertTrue(checkpoint.isSignedWith(KEY));
+        }
+    }
+
+    @Test
+    public void testReopenContinuesChain() throws Exception {
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 0, 10);
+        }
+        long segments;
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY)) {
+            segments = writer.getSegmentCount();
+            assertTrue(segments >= 1);
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 10, 10);
+            assertTrue(writer.flush(5000));
+            assertTrue(writer.getSegmentCount() > segments);
+        }
+
+        assertEquals(20, countRecords(file));
+        assertTrue(new AuditChainVerifier(KEY, 2).verify(file).isValid());
+    }
+
+    @Test
+    public void testUnsealedTailIsQuarantinedOnReopen() throws Exception {
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 0, 5);
+        }
+        long sealedSize = Files.size(file);
+        // Enregistrement écrit sans point de contrôle (arrêt avant le scellement)
+        AuditRecordEncoder encoder = new AuditRecordEncoder();
+        encoder.encode(new Transaction("TX-tail", TransactionType.DEPOSIT, 1.0, account, "Dépôt"), 0L);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(encoder.buffer(), 0, encoder.length()));
+        }
+        assertTrue(new AuditChainVerifier(KEY, 1).verify(file).getUnsealedBytes() > 0);
+
+        new AuditChainWriter(file, KEY).close();
+
+        // La fin non signée n'est pas scellée: elle est retirée du journal et signalée
+        AuditChainVerifier.Result result = new AuditChainVerifier(KEY, 1).verify(file);
+        assertTrue(result.isValid());
+        assertEquals(0, result.getUnsealedBytes());
+        assertEquals(encoder.length(), result.getQuarantinedBytes());
+        assertEquals(sealedSize, Files.size(file));
+        assertEquals(5, countRecords(file));
+        try (AuditLogReader reader = new AuditLogReader(AuditChainWriter.quarantineFile(file))) {
+            assertEquals("TX-tail", reader.next().getTransactionId());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testFailedSegmentIsRetried() throws Exception {
+        AtomicInteger failures = new AtomicInteger(3);
+        AuditChainWriter writer = new AuditChainWriter(file, KEY, 10) {
+            @Override
+            void write(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+                if (failures.getAndDecrement() > 0) {
+                    // Écriture partielle puis échec
+                    channel.write(ByteBuffer.wrap(new byte[]{0x7f}), at);
+                    throw new IOException("disque plein");
+                }
+                super.write(channel, buffer, at);
+            }
+        };
+        try {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 0, 20);
+            assertTrue(writer.flush(5000));
+            assertTrue(writer.getFailureCount() >= 3);
+        } finally {
+            writer.close();
+        }
+
+        assertEquals(20, countRecords(file));
+        AuditChainVerifier.Result result = new AuditChainVerifier(KEY, 1).verify(file);
+        assertTrue(result.isValid());
+        assertEquals(0, result.getUnsealedBytes());
+        assertEquals(0, result.getQuarantinedBytes());
+    }
+
+    @Test
+    public void testFlushFailsWhileSegmentCannotBeWritten() throws Exception {
+        AuditChainWriter writer = new AuditChainWriter(file, KEY, 10) {
+            @Override
+            void write(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+                throw new IOException("disque plein");
+            }
+        };
+        AuditLogger logger = new AuditLogger(writer);
+        logger.setConsole(line -> { });
+        log(logger, 0, 5);
+
+        assertFalse(writer.flush(200));
+        try {
+            writer.close();
+            fail("Les enregistrements non scellés doivent être signalés à la fermeture");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("non scellé"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReopenWithOtherKeyIsRejected() throws Exception {
+        try (AuditChainWriter writer = new AuditChainWriter(file, KEY)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            log(logger, 0, 1);
+        }
+        new AuditChainWriter(file, "autre-cle".getBytes(StandardCharsets.UTF_8)).close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAppendAfterClose() throws Exception {
+        AuditChainWriter writer = new AuditChainWriter(file, KEY);
+        writer.close();
+        writer.append(new byte[]{1}, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyKeyIsRejected() throws Exception {
+        new AuditChainWriter(file, new byte[0]);
+    }
+}
@@ -0,0 +1,252 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'index du journal d'audit et des recherches associées.
+ */
+public class AuditIndexTest {
+
+    // 2024-03-01 00:00:00 UTC
+    private static final long T0 = 1709251200000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private Account[] accounts;
+    private final AuditRecordEncoder encoder = new AuditRecordEncoder();
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("audit.bin");
+        User owner = new User("USR-001", "user1", "secret", "user1@example.com");
+        accounts = new Account[10];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new Account("ACC-" + i, owner, 1e6);
+        }
+    }
+
+    // Enregistrement i: transfert du compte i % 10 vers (i + 1) % 10, une seconde après le précédent
+    private void append(int from, int count) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (Files.size(file) == 0) {
+                out.write(AuditRecordEncoder.FILE_HEADER);
+            }
+            for (int i = from; i < from + count; i++) {
+                Transaction tx = new Transaction("TX-" + i, TransactionType.TRANSFER, i,
+                        accounts[i % 10], accounts[(i + 1) % 10], "Transfert");
+                encoder.encode(tx, T0 + i * 1000L);
+                out.write(encoder.buffer(), 0, encoder.length());
+            }
+        }
+    }
+
+    private long index() throws IOException {
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            return writer.update();
+        }
+    }
+
+    @Test
+    public void testFindByTransactionAndAccount() throws IOException {
+        append(0, 1000);
+        assertEquals(1000, index());
+
+        try (AuditIndex index = new AuditIndex(file)) {
+            List<AuditRecord> tx = index.findByTransaction("TX-537");
+            assertEquals(1, tx.size());
+            assertEquals(537, tx.get(0).getAmountCents() / 100);
+            assertTrue(index.findByTransaction("TX-inconnue").isEmpty());
+
+            // ACC-3 est source des transactions 3, 13, ... et destination de 2, 12, ...
+            List<AuditRecord> account = index.findByAccount("ACC-3");
+            assertEquals(200, account.size());
+            for (int i = 1; i < account.size(); i++) {
+                assertTrue(account.get(i - 1).getOffset() < account.get(i).getOffset());
+            }
+            assertEquals(Files.size(file), index.getIndexedEnd());
+        }
+    }
+
+    @Test
+    public void testFindBetween() throws IOException {
+        append(0, 1000);
+        index();
+
+        try (AuditIndex index = new AuditIndex(file)) {
+            List<AuditRecord> records = index.findBetween(T0 + 100_000, T0 + 200_000);
+            assertEquals(100, records.size());
+            assertEquals("TX-100", records.get(0).getTransactionId());
+            assertEquals("TX-199", records.get(99).getTransactionId());
+            assertTrue(index.findBetween(T0 - 10_000, T0).isEmpty());
+        }
+    }
+
+    @Test
+    public void testNonMonotonicTimesAreScanned() throws IOException {
+        append(0, 100);
+        // Horloge reculée: enregistrements plus anciens en fin de journal
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            encoder.encode(new Transaction("TX-late", TransactionType.DEPOSIT, 1.0, accounts[0], "Dépôt"), T0 + 5_500);
+            out.write(encoder.buffer(), 0, encoder.length());
+        }
+        index();
+
+        try (AuditIndex index = new AuditIndex(file)) {
+            List<AuditRecord> records = index.findBetween(T0 + 5_000, T0 + 6_000);
+            assertEquals(2, records.size());
+            assertEquals("TX-late", records.get(1).getTransactionId());
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdate() throws IOException {
+        append(0, 100);
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            assertEquals(100, writer.update());
+            assertEquals(0, writer.update());
+            append(100, 50);
+            assertEquals(50, writer.update());
+            assertEquals(2, writer.getBlockCount());
+        }
+        // La réouverture reprend là où l'index s'était arrêté
+        append(150, 10);
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            assertEquals(2, writer.getBlockCount());
+            assertEquals(10, writer.update());
+        }
+        try (AuditIndex index = new AuditIndex(file)) {
+            assertEquals(3, index.getBlockCount());
+            assertEquals(1, index.findByTransaction("TX-155").size());
+            assertEquals(1, index.findByTransaction("TX-5").size());
+        }
+    }
+
+    @Test
+    public void testSmallUpdatesAreMerged() throws IOException {
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            for (int batch = 0; batch < 64; batch++) {
+                append(batch * 10, 10);
+                assertEquals(10, writer.update());
+            }
+            // 640 enregistrements indexés par paquets de 10 tiennent dans un seul bloc
+            assertEquals(1, writer.getBlockCount());
+            append(640, 30);
+            writer.update();
+            assertEquals(2, writer.getBlockCount());
+        }
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            assertEquals(2, writer.getBlockCount());
+            assertEquals(0, writer.update());
+        }
+        try (AuditIndex index = new AuditIndex(file)) {
+            assertEquals(2, index.getBlockCount());
+            assertEquals(Files.size(file), index.getIndexedEnd());
+            for (int i = 0; i < 670; i += 37) {
+                assertEquals(1, index.findByTransaction("TX-" + i).size());
+            }
+            assertEquals(134, index.findByAccount("ACC-3").size());
+        }
+    }
+
+    @Test
+    public void testReplacedBlocksAreCompacted() throws IOException {
+        append(0, 10);
+        try (AuditIndexWriter writer = new AuditIndexWriter(file)) {
+            writer.update();
+            // Index ouvert avant la réécriture: il garde sa projection
+            try (AuditIndex before = new AuditIndex(file)) {
+                for (int batch = 1; batch < 2000; batch++) {
+                    append(batch * 10, 10);
+                    writer.update();
+                }
+                assertEquals(1, before.findByTransaction("TX-5").size());
+                assertTrue(before.findByTransaction("TX-500").isEmpty());
+            }
+            assertFalse(Files.exists(file.resolveSibling("audit.bin.idx.tmp")));
+        }
+        long compacted = Files.size(writerIndex());
+
+        // Une fois réécrit, l'index reste de l'ordre d'un index construit d'un coup
+        Files.delete(writerIndex());
+        assertEquals(20000, index());
+        assertTrue(compacted < 2 * Files.size(writerIndex()));
+        try (AuditIndex index = new AuditIndex(file)) {
+            assertEquals(1, index.findByTransaction("TX-19999").size());
+        }
+    }
+
+    private Path writerIndex() {
+        return AuditIndexWriter.indexFile(file);
+    }
+
+    @Test
+    public void testReplacedLogIsReindexed() throws IOException {
+        append(0, 100);
+        index();
+        Files.delete(file);
+        append(0, 10);
+
+        assertEquals(10, index());
+        try (AuditIndex index = new AuditIndex(file)) {
+            assertTrue(index.findByTransaction("TX-50").isEmpty());
+            assertEquals(1, index.findByTransaction("TX-5").size());
+        }
+    }
+
+    @Test
+    public void testChainWriterMaintainsIndex() throws Exception {
+        try (AuditChainWriter writer = new AuditChainWriter(file, AuditChainWriterTest.KEY, 10, true)) {
+            AuditLogger logger = new AuditLogger(writer);
+            logger.setConsole(line -> { });
+            for (int batch = 0; batch < 3; batch++) {
+                for (int i = 0; i < 10; i++) {
+                    logger.onTransaction(new Transaction("TX-" + batch + "-" + i, TransactionType.DEPOSIT,
+                            1.0, accounts[i], "Dépôt"));
+                }
+                assertTrue(writer.flush(5000));
+            }
+        }
+
+        try (AuditIndex index = new AuditIndex(file)) {
+            assertEquals(Files.size(file), index.getIndexedEnd());
+            assertEquals(3, index.findByAccount("ACC-4").size());
+            assertEquals(1, index.findByTransaction("TX-2-9").size());
+        }
+    }
+
+    @Test
+    public void testToolQueryMatchesDump() throws IOException {
+        append(0, 500);
+        AuditLogTool dump = AuditLogTool.fromArgs(new String[]{file.toString(), "--account", "ACC-7", "--format", "csv"});
+        AuditLogTool query = AuditLogTool.fromArgs(new String[]{file.toString(), "--account", "ACC-7", "--format", "csv"});
+        StringWriter expected = new StringWriter();
+        StringWriter actual = new StringWriter();
+
+        assertEquals(100, dump.run(expected));
+        assertEquals(100, query.query(actual));
+        assertEquals(expected.toString(), actual.toString());
+        // Seuls les enregistrements désignés par l'index ont été relus
+        assertEquals(100, query.getRead());
+        assertEquals(500, dump.getRead());
+    }
+}
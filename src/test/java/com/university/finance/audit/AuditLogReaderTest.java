@@ -0,0 +1,207 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du format d'audit binaire (écriture par l'AuditLogger, relecture).
+ */
+public class AuditLogReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private AuditLogger logger;
+    private Account from;
+    private Account to;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("audit.bin");
+        logger = new AuditLogger(file.toString(), AuditFormat.BINARY);
+        logger.setConsole(line -> { });
+        User owner = new User("USR-001", "user1", "secret", "user1@example.com");
+        from = new Account("ACC-001", owner, 1000.0);
+        to = new Account("ACC-002", owner, 1000.0);
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            AuditRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        String uuid = UUID.randomUUID().toString();
+        long before = System.currentTimeMillis();
+        logger.onTransaction(new Transaction(uuid, TransactionType.DEPOSIT, 123.45, from, "Dépôt"));
+        logger.onTransaction(new Transaction("TX-2", TransactionType.TRANSFER, 0.5, from, to, "Transfert"));
+        logger.onTransaction(new Transaction("TX-é", TransactionType.WITHDRAWAL, 10.0, to, "Retrait"));
+
+        List<AuditRecord> records = readAll();
+
+        assertEquals(3, records.size());
+        AuditRecord deposit = records.get(0);
+        assertEquals(uuid, deposit.getTransactionId());
+        assertEquals(TransactionType.DEPOSIT, deposit.getType());
+        assertEquals(12345, deposit.getAmountCents());
+        assertEquals("ACC-001", deposit.getFromAccountId());
+        assertNull(deposit.getToAccountId());
+        assertTrue(deposit.getTimestampMillis() >= before);
+        assertEquals(AuditRecordEncoder.FILE_HEADER.length, deposit.getOffset());
+
+        AuditRecord transfer = records.get(1);
+        assertTrue(transfer.isTransfer());
+        assertEquals("ACC-002", transfer.getToAccountId());
+        assertEquals(0.5, transfer.getAmount(), 0.0001);
+        assertEquals("TX-é", records.get(2).getTransactionId());
+    }
+
+    @Test
+    public void testBinaryIsSmallerThanText() throws IOException {
+        Path text = folder.getRoot().toPath().resolve("audit.log");
+        AuditLogger textLogger = new AuditLogger(text.toString());
+        textLogger.setConsole(line -> { });
+        for (int i = 0; i < 100; i++) {
+            Transaction tx = new Transaction(UUID.randomUUID().toString(), TransactionType.TRANSFER,
+                    100.0 + i, from, to, "Transfert");
+            logger.onTransaction(tx);
+            textLogger.onTransaction(tx);
+        }
+
+        assertTrue(Files.size(file) * 2 < Files.size(text));
+        assertEquals(100, readAll().size());
+    }
+
+    @Test
+    public void testTextMatchesTextLogger() throws IOException {
+        Transaction tx = new Transaction("TX-1", TransactionType.TRANSFER, 42.0, from, to, "Transfert");
+        logger.onTransaction(tx);
+
+        AuditRecord record = readAll().get(0);
+
+        // Même ligne que le format texte, horodatage compris (à la seconde près)
+        String expected = logger.getAuditLog().get(0);
+        assertEquals(expected.substring(22), record.toText(ZoneId.systemDefault()).substring(22));
+    }
+
+    @Test
+    public void testTruncatedTailIsIgnored() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            logger.onTransaction(new Transaction("TX-" + i, TransactionType.DEPOSIT, 1.0, from, "Dépôt"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertEquals(2, readAll().size());
+    }
+
+    @Test
+    public void testSeek() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            logger.onTransaction(new Transaction("TX-" + i, TransactionType.DEPOSIT, 1.0, from, "Dépôt"));
+        }
+        List<AuditRecord> records = readAll();
+
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            reader.seek(records.get(2).getOffset());
+            assertEquals("TX-2", reader.next().getTransactionId());
+            assertNull(reader.next());
+            reader.seek(records.get(1).getOffset());
+            assertEquals("TX-1", reader.next().getTransactionId());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsTextFile() throws IOException {
+        Files.write(file, "[2024-01-01 00:00:00] TX_ID: TX-1".getBytes());
+        new AuditLogReader(file).close();
+    }
+
+    @Test
+    public void testUuidDetection() {
+        assertTrue(AuditRecordEncoder.isUuid(UUID.randomUUID().toString()));
+        assertFalse(AuditRecordEncoder.isUuid(UUID.randomUUID().toString().toUpperCase()));
+        assertFalse(AuditRecordEncoder.isUuid("TX-1"));
+    }
+
+    @Test
+    public void testReopenAppendsToExistingBinaryFile() throws IOException {
+        logger.onTransaction(new Transaction("TX-1", TransactionType.DEPOSIT, 1.0, from, "Dépôt"));
+        logger.close();
+
+        AuditLogger reopened = new AuditLogger(file.toString(), AuditFormat.BINARY);
+        reopened.setConsoleEnabled(false);
+        reopened.onTransaction(new Transaction("TX-2", TransactionType.DEPOSIT, 2.0, from, "Dépôt"));
+        reopened.close();
+
+        // Un seul en-tête, les enregistrements se suivent
+        List<AuditRecord> records = readAll();
+        assertEquals(2, records.size());
+        assertEquals("TX-2", records.get(1).getTransactionId());
+    }
+
+    @Test
+    public void testExistingTextFileIsNotAppended() throws IOException {
+        Path text = folder.getRoot().toPath().resolve("audit.log");
+        Files.write(text, "[2024-01-01 00:00:00] TX_ID: TX-0\n".getBytes(StandardCharsets.UTF_8));
+        byte[] before = Files.readAllBytes(text);
+
+        AuditLogger binary = new AuditLogger(text.toString(), AuditFormat.BINARY);
+        binary.setConsoleEnabled(false);
+        binary.onTransaction(new Transaction("TX-1", TransactionType.DEPOSIT, 1.0, from, "Dépôt"));
+        binary.onTransaction(new Transaction("TX-2", TransactionType.DEPOSIT, 2.0, from, "Dépôt"));
+        binary.close();
+
+        assertArrayEquals(before, Files.readAllBytes(text));
+        assertEquals(2, binary.getLogCount());
+    }
+
+    @Test
+    public void testSeekThenScanPastFirstRead() throws IOException {
+        // Assez d'enregistrements pour dépasser plusieurs lectures après un seek
+        for (int i = 0; i < 2000; i++) {
+            logger.onTransaction(new Transaction("TX-" + i, TransactionType.TRANSFER, i, from, to, "Transfert"));
+        }
+        List<AuditRecord> records = readAll();
+
+        try (AuditLogReader reader = new AuditLogReader(file)) {
+            AuditRecord target = records.get(1500);
+            reader.seek(target.getOffset());
+            assertEquals("TX-1500", reader.next().getTransactionId());
+            reader.seek(records.get(10).getOffset());
+            for (int i = 10; i < records.size(); i++) {
+                assertEquals("TX-" + i, reader.next().getTransactionId());
+            }
+            assertNull(reader.next());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.university.finance.audit;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'outil de lecture des fichiers d'audit binaires.
+ */
+public class AuditLogToolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("audit.bin");
+        AuditLogger logger = new AuditLogger(file.toString(), AuditFormat.BINARY);
+        logger.setConsole(line -> { });
+        User owner = new User("USR-001", "user1", "secret", "user1@example.com");
+        Account a = new Account("ACC-001", owner, 1000.0);
+        Account b = new Account("ACC-002", owner, 1000.0);
+        Account c = new Account("ACC-003", owner, 1000.0);
+        logger.onTransaction(new Transaction("TX-1", TransactionType.DEPOSIT, 100.0, a, "Dépôt"));
+        logger.onTransaction(new Transaction("TX-2", TransactionType.TRANSFER, 25.5, a, b, "Transfert"));
+        logger.onTransaction(new Transaction("TX-3", TransactionType.WITHDRAWAL, 10.0, c, "Retrait"));
+    }
+
+    private String run(AuditLogTool tool) throws IOException {
+        StringWriter out = new StringWriter();
+        tool.run(out);
+        return out.toString();
+    }
+
+    @Test
+    public void testDumpText() throws IOException {
+        AuditLogTool tool = new AuditLogTool(file);
+        String[] lines = run(tool).split("\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].endsWith("TX_ID: TX-1 | TYPE: Dépôt | MONTANT: 100.00€ | COMPTE: ACC-001"));
+        assertTrue(lines[1].endsWith("TX_ID: TX-2 | TYPE: Transfert | MONTANT: 25.50€ | DE: ACC-001 | VERS: ACC-002"));
+        assertEquals(3, tool.getRead());
+    }
+
+    @Test
+    public void testFilterByAccountAsCsv() throws IOException {
+        AuditLogTool tool = AuditLogTool.fromArgs(new String[]{file.toString(), "--account", "ACC-002", "--format", "csv"});
+        String[] lines = run(tool).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals(AuditRecord.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].endsWith(",TX-2,TRANSFER,25.50,ACC-001,ACC-002"));
+    }
+
+    @Test
+    public void testFilterByTypeAndTransaction() throws IOException {
+        AuditLogTool tool = AuditLogTool.fromArgs(new String[]{file.toString(), "--type", "withdrawal"});
+        assertEquals(1, tool.run(new StringWriter()));
+
+        tool = AuditLogTool.fromArgs(new String[]{file.toString(), "--tx", "TX-1"});
+        assertEquals(1, tool.run(new StringWriter()));
+    }
+
+    @Test
+    public void testFilterByTime() throws IOException {
+        AuditLogTool tool = new AuditLogTool(file);
+        tool.setSince(LocalDateTime.now().plusHours(1));
+        assertEquals(0, tool.run(new StringWriter()));
+
+        tool = new AuditLogTool(file);
+        tool.setUntil(LocalDateTime.now().plusHours(1));
+        assertEquals(3, tool.run(new StringWriter()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOption() {
+        AuditLogTool.fromArgs(new String[]{file.toString(), "--unknown", "x"});
+    }
+
+    @Test
+    public void testCentsFormatting() {
+        assertEquals("0.05", AuditRecord.formatCents(5));
+        assertEquals("-12.30", AuditRecord.formatCents(-1230));
+    }
+}
@@ -0,0 +1,109 @@
+package com.university.finance.batch;
+
+import com.university.finance.service.BankingService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du mode par lot.
+ */
+public class BatchRunnerTest {
+
+    private BankingService bankingService;
+    private BatchRunner runner;
+
+    @Before
+    public void setUp() {
+        bankingService = new BankingService(null, null);
+        runner = new BatchRunner(bankingService);
+    }
+
+    private BatchReport run(String script) throws IOException {
+        return runner.run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    public void testScriptIsExecuted() throws IOException {
+        BatchReport report = run(String.join("\n",
+                "# migration",
+                "user alice password123 alice@test.com",
+                "user bob password123 bob@test.com",
+                "",
+                "account alice 1000 a1",
+                "account bob 0 b1",
+                "deposit a1 250.5",
+                "withdraw a1 50.5",
+                "TRANSFER a1 b1 300",
+                "withdraw b1 5000"));
+
+        assertEquals(10, report.getLines());
+        assertEquals(8, report.getExecuted());
+        assertEquals(2, report.getExecuted(BatchCommand.USER));
+        assertEquals(2, report.getExecuted(BatchCommand.ACCOUNT));
+        assertEquals(1, report.getExecuted(BatchCommand.TRANSFER));
+        assertEquals(1, report.getRefused());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.getElapsedNanos() > 0);
+        assertTrue(report.getThroughput() > 0);
+
+        assertEquals(900.0, bankingService.getBalance(runner.getAccountId("a1")), 0.001);
+        assertEquals(300.0, bankingService.getBalance(runner.getAccountId("b1")), 0.001);
+    }
+
+    @Test
+    public void testAccountIdCanBeUsedDirectly() throws IOException {
+        run("user carol password123 carol@test.com\naccount carol 100");
+        String accountId = bankingService.getAllAccounts().get(0).getId();
+        BatchReport report = run("deposit " + accountId + " 10");
+        assertEquals(0, report.getFailed());
+        assertEquals(110.0, bankingService.getBalance(accountId), 0.001);
+    }
+
+    @Test
+    public void testErrorsAreCountedAndSkipped() throws IOException {
+        BatchReport report = run(String.join("\n",
+                "user dave password123 dave@test.com",
+                "unknown x",
+                "deposit",
+                "account dave abc",
+                "account nobody 10",
+                "deposit ACC-INCONNU 10",
+                "account dave 10 d1",
+                "deposit d1 5"));
+
+        assertEquals(5, report.getFailed());
+        assertEquals(3, report.getExecuted());
+        assertEquals(5, report.getErrors().size());
+        assertTrue(report.getErrors().get(0).startsWith("ligne 2:"));
+        assertEquals(15.0, bankingService.getBalance(runner.getAccountId("d1")), 0.001);
+    }
+
+    @Test
+    public void testErrorMessagesAreCapped() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < BatchReport.MAX_ERRORS + 5; i++) {
+            script.append("bogus\n");
+        }
+        BatchReport report = run(script.toString());
+        assertEquals(BatchReport.MAX_ERRORS + 5, report.getFailed());
+        assertEquals(BatchReport.MAX_ERRORS, report.getErrors().size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        report.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("5 autres erreurs"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullServiceIsRejected() {
+        new BatchRunner(null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.university.finance.concurrent;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.service.BankingService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests unitaires pour la façade asynchrone du service bancaire.
+ */
+public class AsyncBankingServiceTest {
+
+    private BankingService bankingService;
+    private NotificationService notificationService;
+    private AsyncBankingService asyncService;
+    private Account account1;
+    private Account account2;
+
+    @Before
+    public void setUp() {
+        ConfigurationManager.resetInstance();
+        notificationService = new NotificationService(false, false, false);
+        bankingService = new BankingService(null, notificationService);
+        account1 = bankingService.createUserWithAccount("user1", "password1", "user1@example.com", 1000.0);
+        account2 = bankingService.createUserWithAccount("user2", "password2", "user2@example.com", 1000.0);
+    }
+
+    @After
+    public void tearDown() {
+        if (asyncService != null) {
+            asyncService.close();
+        }
+    }
+
+    @Test
+    public void testPlatformModeOperations() {
+        asyncService = new AsyncBankingService(bankingService, ExecutionMode.PLATFORM, 4);
+
+        Transaction deposit = asyncService.deposit(account1.getId(), 100.0).join();
+        Transaction withdraw = asyncService.withdraw(account1.getId(), 50.0).join();
+        Transaction transfer = asyncService.transfer(account1.getId(), account2.getId(), 50.0).join();
+
+        assertNotNull(deposit);
+        assertNotNull(withdraw);
+        assertNotNull(transfer);
+        assertEquals(1000.0, asyncService.getBalance(account1.getId()).join(), 0.001);
+        assertEquals(1050.0, asyncService.getBalance(account2.getId()).join(), 0.001);
+    }
+
+    @Test
+    public void testObserversDeliveredOnExecutor() {
+        asyncService = new AsyncBankingService(bankingService, ExecutionMode.PLATFORM, 2);
+        assertNotNull(bankingService.getTransactionService().getObserverExecutor());
+
+        asyncService.deposit(account1.getId(), 10.0).join();
+        asyncService.close();
+
+        assertEquals(1, notificationService.getNotificationCount());
+        assertNull(bankingService.getTransactionService().getObserverExecutor());
+    }
+
+    @Test
+    public void testConcurrentTransfersConserveMoney() {
+        asyncService = new AsyncBankingService(bankingService, ExecutionMode.PLATFORM, 8);
+
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(asyncService.transfer(account1.getId(), account2.getId(), 1.0));
+            futures.add(asyncService.transfer(account2.getId(), account1.getId(), 1.0));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        assertEquals(2000.0, account1.getBalance() + account2.getBalance(), 0.001);
+    }
+
+    @Test
+    public void testFailedOperationCompletesExceptionally() {
+        asyncService = new AsyncBankingService(bankingService, ExecutionMode.PLATFORM, 1);
+
+        CompletableFuture<Transaction> future = asyncService.deposit("ACC-INCONNU", 10.0);
+
+        try {
+            future.join();
+            fail("Should complete exceptionally");
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testVirtualModeOperations() {
+        assumeTrue(BankingExecutors.isVirtualThreadSupported());
+        asyncService = new AsyncBankingService(bankingService, ExecutionMode.VIRTUAL);
+
+        assertNotNull(asyncService.deposit(account1.getId(), 100.0).join());
+        assertEquals(ExecutionMode.VIRTUAL, asyncService.getMode());
+        assertEquals(1100.0, account1.getBalance(), 0.001);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVirtualModeUnsupportedBeforeJava21() {
+        assumeTrue(!BankingExecutors.isVirtualThreadSupported());
+        new AsyncBankingService(bankingService, ExecutionMode.VIRTUAL);
+    }
+}
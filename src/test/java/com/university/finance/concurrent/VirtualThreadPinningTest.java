@@ -0,0 +1,111 @@
+package com.university.finance.concurrent;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.BankingService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Vérifie qu'aucun bloc {@code synchronized} du chemin critique n'épingle
+ * les threads porteurs: l'événement JFR {@code jdk.VirtualThreadPinned} est
+ * émis lorsqu'un thread virtuel se bloque en tenant un moniteur.
+ * Le test n'est exécuté que sur Java 21+ (profil Maven {@code jdk21}).
+ */
+public class VirtualThreadPinningTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        ConfigurationManager.resetInstance();
+    }
+
+    @Test
+    public void testHotPathDoesNotPinCarrierThreads() throws Exception {
+        assumeTrue(BankingExecutors.isVirtualThreadSupported());
+
+        BankingService bankingService = new BankingService(
+                new AuditLogger(folder.newFile("audit.log").getPath()),
+                new NotificationService(false, false, false));
+        bankingService.getAuditLogger().setWriteToFile(true);
+        // Observer qui attend (E/S simulée): se bloque sur chaque livraison
+        bankingService.getTransactionService().addObserver(new WaitingObserver());
+        Account account1 = bankingService.createUserWithAccount("user1", "password1", "user1@example.com", 10000.0);
+        Account account2 = bankingService.createUserWithAccount("user2", "password2", "user2@example.com", 10000.0);
+
+        Path dump = folder.getRoot().toPath().resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            try (AsyncBankingService asyncService = new AsyncBankingService(bankingService, ExecutionMode.VIRTUAL)) {
+                List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    futures.add(asyncService.deposit(account1.getId(), 1.0));
+                    futures.add(asyncService.withdraw(account2.getId(), 1.0));
+                    futures.add(asyncService.transfer(account1.getId(), account2.getId(), 1.0));
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinnedFrames = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (PINNED_EVENT.equals(event.getEventType().getName()) && event.getStackTrace() != null) {
+                for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                    String type = frame.getMethod().getType().getName();
+                    if (type.startsWith("com.university.finance")) {
+                        pinnedFrames.add(type + "." + frame.getMethod().getName());
+                    }
+                }
+            }
+        }
+        assertTrue("Threads porteurs épinglés dans: " + pinnedFrames, pinnedFrames.isEmpty());
+    }
+
+    /**
+     * Observer simulant une E/S bloquante.
+     */
+    private static class WaitingObserver implements TransactionObserver {
+
+        @Override
+        public void onTransaction(Transaction transaction) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "WaitingObserver";
+        }
+    }
+}
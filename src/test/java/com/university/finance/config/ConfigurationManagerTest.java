@@ -1,5 +1,9 @@
 package com.university.finance.config;
 
+import com.university.finance.model.Account;
+import com.university.finance.model.AccountTier;
+import com.university.finance.model.TierLimits;
+import com.university.finance.model.User;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -127,5 +131,136 @@ public class ConfigurationManagerTest {
         assertNotSame(instance1, instance2);
         assertNull(instance2.getProperty("test"));
     }
-}
 
+    @Test
+    public void testTierLimitsLayering() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("tier.premium.max.transfer", "50000");
+        config.setProperty("account.ACC-VIP.max.transfer", "80000");
+
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        assertEquals(10000.0, snapshot.getTierLimits(AccountTier.STANDARD).getMaxTransfer(), 0.001);
+        assertEquals(50000.0, snapshot.getTierLimits(AccountTier.PREMIUM).getMaxTransfer(), 0.001);
+        assertEquals(50000.0, snapshot.getLimits(AccountTier.PREMIUM, "PRM-1").getMaxTransfer(), 0.001);
+        assertEquals(80000.0, snapshot.getLimits(AccountTier.STANDARD, "ACC-VIP").getMaxTransfer(), 0.001);
+        // Le solde minimum non surchargé vient de la configuration globale
+        assertEquals(0.0, snapshot.getLimits(AccountTier.STANDARD, "ACC-VIP").getMinBalance(), 0.001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTierLimitRejected() {
+        ConfigurationManager.getInstance().setProperty("tier.premium.max.transfer", "-1");
+    }
+
+    @Test
+    public void testLimitsCachedOnAccount() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        User owner = new User("U1", "owner", "password", "owner@example.com");
+        Account account = new Account("ACC-1", owner, 100.0);
+
+        TierLimits limits = config.getLimits(account);
+        assertSame(limits, account.getLimits());
+        assertSame(limits, config.getLimits(account));
+    }
+
+    @Test
+    public void testOverlayChangeInvalidatesOnlyAffectedLimits() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        User owner = new User("U1", "owner", "password", "owner@example.com");
+        Account standard = new Account("ACC-1", owner, 100.0);
+        Account premium = new Account(AccountTier.PREMIUM_PREFIX + "1", owner, 100.0);
+        TierLimits standardLimits = config.getLimits(standard);
+        TierLimits premiumLimits = config.getLimits(premium);
+
+        config.setProperty("tier.premium.max.transfer", "50000");
+        assertFalse(standardLimits.isStale());
+        assertTrue(premiumLimits.isStale());
+        assertSame(standardLimits, config.getLimits(standard));
+        assertEquals(50000.0, config.getLimits(premium).getMaxTransfer(), 0.001);
+
+        // Une propriété sans rapport avec les limites ne touche à aucun cache
+        premiumLimits = config.getLimits(premium);
+        config.setProperty("currency", "USD");
+        assertSame(standardLimits, config.getLimits(standard));
+        assertSame(premiumLimits, config.getLimits(premium));
+
+        // Une nouvelle surcharge de compte invalide les limites de sa gamme
+        config.setProperty("account.ACC-1.max.transfer", "20000");
+        assertTrue(standardLimits.isStale());
+        assertFalse(premiumLimits.isStale());
+        assertEquals(20000.0, config.getLimits(standard).getMaxTransfer(), 0.001);
+
+        // Un changement global invalide tout
+        TierLimits accountLimits = config.getLimits(standard);
+        config.setProperty("min.balance", "10");
+        assertTrue(accountLimits.isStale());
+        assertTrue(premiumLimits.isStale());
+        assertEquals(10.0, config.getLimits(premium).getMinBalance(), 0.001);
+    }
+
+    @Test
+    public void testUpdatePublishesNewSnapshot() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ConfigurationSnapshot before = config.getSnapshot();
+
+        config.setProperty("max.transfer", "500");
+        ConfigurationSnapshot after = config.getSnapshot();
+
+        assertNotSame(before, after);
+        // L'ancien instantané est immuable: un lecteur qui le tient garde des valeurs cohérentes
+        assertEquals(10000.0, before.getMaxTransfer(), 0.001);
+        assertEquals(500.0, after.getMaxTransfer(), 0.001);
+    }
+
+    @Test
+    public void testGettersReadCurrentSnapshot() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        config.setProperty("max.transfer", "2500");
+        config.setProperty("audit.enabled", "false");
+        config.setProperty("currency", "CHF");
+
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        assertEquals(snapshot.getMaxTransfer(), config.getMaxTransfer(), 0.0);
+        assertEquals(snapshot.isAuditEnabled(), config.isAuditEnabled());
+        assertEquals(snapshot.getCurrency(), config.getCurrency());
+        assertEquals("2500", config.getProperty("max.transfer"));
+        assertFalse(config.isAuditEnabled());
+        assertEquals("CHF", config.getCurrency());
+    }
+
+    @Test
+    public void testInvalidNumberKeepsCurrentSnapshot() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ConfigurationSnapshot before = config.getSnapshot();
+
+        try {
+            config.setProperty("max.transfer", "abc");
+            fail("Une valeur non numérique doit être refusée");
+        } catch (IllegalArgumentException expected) {
+            // attendu
+        }
+        assertSame(before, config.getSnapshot());
+        assertEquals(10000.0, config.getMaxTransfer(), 0.001);
+        assertEquals(String.valueOf(10000.0), config.getProperty("max.transfer"));
+    }
+
+    @Test
+    public void testInvalidBooleanKeepsCurrentSnapshot() {
+        ConfigurationManager config = ConfigurationManager.getInstance();
+        ConfigurationSnapshot before = config.getSnapshot();
+
+        try {
+            config.setProperty("notifications.enabled", "peut-etre");
+            fail("Une valeur booléenne invalide doit être refusée");
+        } catch (IllegalArgumentException expected) {
+            // attendu
+        }
+        assertSame(before, config.getSnapshot());
+        assertTrue(config.isNotificationsEnabled());
+        assertEquals("true", config.getProperty("notifications.enabled"));
+
+        // Une modification valide ultérieure n'hérite pas de la valeur refusée
+        config.setProperty("currency", "USD");
+        assertTrue(config.isNotificationsEnabled());
+    }
+}
@@ -0,0 +1,221 @@
+package com.university.finance.config;
+
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.service.BankingService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du rechargement de la configuration à chaud.
+ */
+public class ConfigurationReloaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ConfigurationManager config;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        ConfigurationManager.resetInstance();
+        config = ConfigurationManager.getInstance();
+        file = folder.getRoot().toPath().resolve("application.properties");
+        write("max.transfer=5000\naudit.enabled=true\n");
+    }
+
+    @After
+    public void tearDown() {
+        ConfigurationManager.resetInstance();
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testInitialLoad() throws IOException {
+        try (ConfigurationReloader reloader = new ConfigurationReloader(config, file)) {
+            assertEquals(5000.0, config.getMaxTransfer(), 0.001);
+            assertEquals(0, reloader.getReloadCount());
+            assertEquals(file.toAbsolutePath(), reloader.getFile());
+        }
+    }
+
+    @Test
+    public void testReloadOnFileChange() throws Exception {
+        CountDownLatch changed = new CountDownLatch(1);
+        AtomicReference<ConfigurationSnapshot> published = new AtomicReference<>();
+        try (ConfigurationReloader reloader = new ConfigurationReloader(config, file)) {
+            config.addListener((previous, current) -> {
+                if (current.getMaxTransfer() == 7500.0) {
+                    published.set(current);
+                    changed.countDown();
+                }
+            });
+            write("max.transfer=7500\naudit.enabled=true\n");
+
+            // Certaines plateformes interrogent le système de fichiers toutes les quelques secondes
+            assertTrue(changed.await(30, TimeUnit.SECONDS));
+            assertTrue(published.get().isAuditEnabled());
+            assertEquals(7500.0, config.getMaxTransfer(), 0.001);
+            assertEquals(0, reloader.getFailureCount());
+        }
+    }
+
+    @Test
+    public void testInvalidFileKeepsCurrentConfiguration() throws IOException {
+        try (ConfigurationReloader reloader = new ConfigurationReloader(config, file)) {
+            ConfigurationSnapshot before = config.getSnapshot();
+            write("max.transfer=beaucoup\n");
+
+            assertFalse(reloader.reloadNow());
+            assertSame(before, config.getSnapshot());
+            assertEquals(1, reloader.getFailureCount());
+            assertNotNull(reloader.getLastError());
+
+            write("max.transfer=6000\n");
+            assertTrue(reloader.reloadNow());
+            assertEquals(6000.0, config.getMaxTransfer(), 0.001);
+            assertNull(reloader.getLastError());
+        }
+    }
+
+    @Test
+    public void testReloadDropsKeysRemovedFromFile() throws IOException {
+        write("max.transfer=5000\naudit.enabled=false\ncustom.key=valeur\n");
+        try (ConfigurationReloader reloader = new ConfigurationReloader(config, file)) {
+            assertEquals("valeur", config.getProperty("custom.key"));
+            assertFalse(config.isAuditEnabled());
+
+            write("max.transfer=5000\n");
+            assertTrue(reloader.reloadNow());
+            assertNull(config.getProperty("custom.key"));
+            assertTrue(config.isAuditEnabled());
+            assertEquals(5000.0, config.getMaxTransfer(), 0.001);
+        }
+    }
+
+    @Test
+    public void testRuntimeChangesOverrideFile() throws IOException {
+        try (ConfigurationReloader reloader = new ConfigurationReloader(config, file)) {
+            config.setProperty("max.transfer", "1234");
+            write("max.transfer=8000\n");
+            assertTrue(reloader.reloadNow());
+            assertEquals(1234.0, config.getMaxTransfer(), 0.001);
+        }
+    }
+
+    @Test
+    public void testConcurrentUpdatesNotifyInPublicationOrder() throws InterruptedException {
+        List<ConfigurationSnapshot[]> notifications = Collections.synchronizedList(new ArrayList<>());
+        config.addListener((previous, current) -> notifications.add(
+                new ConfigurationSnapshot[] {previous, current}));
+        ConfigurationSnapshot initial = config.getSnapshot();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 50; i++) {
+                    config.setProperty("max.transfer", String.valueOf(i * 10 + offset));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Chaque notification part de l'instantané publié par la précédente
+        assertEquals(200, notifications.size());
+        ConfigurationSnapshot expectedPrevious = initial;
+        for (ConfigurationSnapshot[] pair : notifications) {
+            assertSame(expectedPrevious, pair[0]);
+            expectedPrevious = pair[1];
+        }
+        assertSame(config.getSnapshot(), expectedPrevious);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingFile() throws IOException {
+        new ConfigurationReloader(config, folder.getRoot().toPath().resolve("absent.properties"));
+    }
+
+    @Test
+    public void testWatchIfConfigured() throws IOException {
+        System.clearProperty(ConfigurationReloader.CONFIG_FILE_PROPERTY);
+        assertNull(ConfigurationReloader.watchIfConfigured(config));
+
+        System.setProperty(ConfigurationReloader.CONFIG_FILE_PROPERTY, file.toString());
+        try (ConfigurationReloader reloader = ConfigurationReloader.watchIfConfigured(config)) {
+            assertNotNull(reloader);
+            assertEquals(5000.0, config.getMaxTransfer(), 0.001);
+        } finally {
+            System.clearProperty(ConfigurationReloader.CONFIG_FILE_PROPERTY);
+        }
+    }
+
+    @Test
+    public void testListenerErrorsAreIsolated() {
+        AtomicReference<ConfigurationSnapshot> received = new AtomicReference<>();
+        config.addListener((previous, current) -> {
+            throw new IllegalStateException("listener en échec");
+        });
+        config.addListener((previous, current) -> received.set(current));
+
+        config.setProperty("max.transfer", "4000");
+
+        assertEquals(4000.0, received.get().getMaxTransfer(), 0.001);
+    }
+
+    @Test
+    public void testBankingServiceFollowsObserverFlags() {
+        BankingService service = new BankingService(new AuditLogger(), new NotificationService());
+        config.addListener(service);
+        try {
+            config.setProperty("audit.enabled", "false");
+            assertFalse(service.isAuditEnabled());
+            assertTrue(service.isNotificationsEnabled());
+
+            config.setProperty("notifications.enabled", "false");
+            config.setProperty("audit.enabled", "true");
+            assertTrue(service.isAuditEnabled());
+            assertFalse(service.isNotificationsEnabled());
+
+            // Une modification sans rapport ne touche pas aux observers
+            service.setAuditEnabled(false);
+            config.setProperty("max.transfer", "3000");
+            assertFalse(service.isAuditEnabled());
+        } finally {
+            config.removeListener(service);
+        }
+    }
+
+    @Test
+    public void testBankingServiceWithoutObserversIgnoresFlags() {
+        BankingService service = new BankingService(null, null);
+        config.addListener(service);
+        config.setProperty("audit.enabled", "false");
+        config.setProperty("audit.enabled", "true");
+        assertFalse(service.isAuditEnabled());
+    }
+}
@@ -0,0 +1,150 @@
+package com.university.finance.http;
+
+import com.university.finance.service.BankingService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'API HTTP (serveur sur localhost, port libre).
+ */
+public class BankingHttpServerTest {
+
+    private ExecutorService executor;
+    private BankingHttpServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        server = new BankingHttpServer(new BankingService(null, null),
+                new InetSocketAddress("127.0.0.1", 0), executor);
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+        executor.shutdownNow();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String createAccount(String username, double deposit) throws Exception {
+        HttpResponse<String> user = post("/users", "{\"username\":\"" + username
+                + "\",\"password\":\"password123\",\"email\":\"" + username + "@test.com\"}");
+        assertEquals(201, user.statusCode());
+        String userId = (String) JsonReader.parseObject(user.body()).get("id");
+        HttpResponse<String> account = post("/accounts",
+                "{\"userId\":\"" + userId + "\",\"initialDeposit\":" + deposit + "}");
+        assertEquals(201, account.statusCode());
+        return (String) JsonReader.parseObject(account.body()).get("id");
+    }
+
+    @Test
+    public void testUserLifecycle() throws Exception {
+        HttpResponse<String> created = post("/users",
+                "{\"username\":\"alice\",\"password\":\"password123\",\"email\":\"alice@test.com\"}");
+        assertEquals(201, created.statusCode());
+        assertTrue(created.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        Map<String, Object> user = JsonReader.parseObject(created.body());
+        assertEquals("alice", user.get("username"));
+        assertFalse(created.body().contains("password123"));
+
+        HttpResponse<String> found = get("/users/" + user.get("id"));
+        assertEquals(200, found.statusCode());
+        assertEquals(404, get("/users/inconnu").statusCode());
+    }
+
+    @Test
+    public void testPrometheusMetrics() throws Exception {
+        String accountId = createAccount("carol", 100.0);
+        post("/accounts/" + accountId + "/deposit", "{\"amount\": 25}");
+
+        HttpResponse<String> metrics = get("/metrics");
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+        assertTrue(metrics.body().contains("banking_transactions_total{type=\"deposit\"} 1\n"));
+        assertTrue(metrics.body().contains("banking_accounts 1\n"));
+        assertEquals(405, post("/metrics", "").statusCode());
+    }
+
+    @Test
+    public void testDepositWithdrawAndBalance() throws Exception {
+        String accountId = createAccount("bob", 100.0);
+
+        HttpResponse<String> deposit = post("/accounts/" + accountId + "/deposit", "{\"amount\": 50}");
+        assertEquals(200, deposit.statusCode());
+        assertEquals("DEPOSIT", JsonReader.parseObject(deposit.body()).get("type"));
+
+        assertEquals(200, post("/accounts/" + accountId + "/withdraw", "{\"amount\": 30}").statusCode());
+        assertEquals(422, post("/accounts/" + accountId + "/withdraw", "{\"amount\": 1000}").statusCode());
+
+        Map<String, Object> balance = JsonReader.parseObject(get("/accounts/" + accountId + "/balance").body());
+        assertEquals(120.0, (Double) balance.get("balance"), 0.001);
+        Map<String, Object> account = JsonReader.parseObject(get("/accounts/" + accountId).body());
+        assertEquals(accountId, account.get("id"));
+    }
+
+    @Test
+    public void testTransferAndPagedHistory() throws Exception {
+        String from = createAccount("carol", 1000.0);
+        String to = createAccount("dave", 0.0);
+        for (int i = 0; i < 5; i++) {
+            HttpResponse<String> transfer = post("/transfers", "{\"fromAccountId\":\"" + from
+                    + "\",\"toAccountId\":\"" + to + "\",\"amount\":10}");
+            assertEquals(200, transfer.statusCode());
+        }
+
+        Map<String, Object> page = JsonReader.parseObject(
+                get("/accounts/" + to + "/transactions?offset=1&limit=3").body());
+        assertEquals(5.0, (Double) page.get("total"), 0.001);
+        assertEquals(3, ((List<?>) page.get("items")).size());
+        Map<String, Object> last = JsonReader.parseObject(
+                get("/accounts/" + to + "/transactions?offset=4").body());
+        assertEquals(1, ((List<?>) last.get("items")).size());
+        Map<String, Object> balance = JsonReader.parseObject(get("/accounts/" + to + "/balance").body());
+        assertEquals(50.0, (Double) balance.get("balance"), 0.001);
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        String accountId = createAccount("erin", 10.0);
+        assertEquals(400, post("/accounts/" + accountId + "/deposit", "{\"amount\": \"dix\"}").statusCode());
+        assertEquals(400, post("/accounts/" + accountId + "/deposit", "{pas du json").statusCode());
+        assertEquals(400, post("/users", "{\"username\":\"erin\",\"password\":\"password123\","
+                + "\"email\":\"erin@test.com\"}").statusCode());
+        assertEquals(404, get("/accounts/ACC-INCONNU/balance").statusCode());
+        assertEquals(404, get("/accounts/" + accountId + "/inconnue").statusCode());
+        assertEquals(405, get("/transfers").statusCode());
+        HttpResponse<String> error = post("/transfers", "{\"fromAccountId\":\"" + accountId
+                + "\",\"toAccountId\":\"ACC-INCONNU\",\"amount\":1}");
+        assertEquals(404, error.statusCode());
+        assertNotNull(JsonReader.parseObject(error.body()).get("error"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.university.finance.http;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'encodeur et du lecteur JSON.
+ */
+public class JsonWriterTest {
+
+    @Test
+    public void testObjectsAndArrays() {
+        JsonWriter json = new JsonWriter(16);
+        json.beginObject()
+                .name("a").value(1)
+                .name("b").beginArray().value("x").value(true).nullValue().beginObject().endObject().endArray()
+                .name("c").value(-42)
+                .endObject();
+        assertEquals("{\"a\":1,\"b\":[\"x\",true,null,{}],\"c\":-42}", json.toString());
+    }
+
+    @Test
+    public void testAmountsAreRoundedToCents() {
+        JsonWriter json = new JsonWriter();
+        json.beginArray().amount(0.0).amount(12.5).amount(-3.456).amount(1000000.0).amount(Double.NaN).endArray();
+        assertEquals("[0.00,12.50,-3.46,1000000.00,null]", json.toString());
+    }
+
+    @Test
+    public void testStringEscaping() {
+        JsonWriter json = new JsonWriter();
+        json.value("é \"q\" \\ \n\u0001 €");
+        assertEquals("\"é \\\"q\\\" \\\\ \\n\\u0001 €\"", json.toString());
+    }
+
+    @Test
+    public void testTimestamp() {
+        JsonWriter json = new JsonWriter();
+        json.value(LocalDateTime.of(2024, 3, 7, 9, 5, 1));
+        assertEquals("\"2024-03-07T09:05:01\"", json.toString());
+    }
+
+    @Test
+    public void testResetReusesBuffer() {
+        JsonWriter json = new JsonWriter();
+        json.value("premier");
+        json.reset().value(7);
+        assertEquals("7", json.toString());
+        assertEquals(1, json.size());
+    }
+
+    @Test
+    public void testDomainObjectsRoundTrip() {
+        User owner = new User("USR-1", "alice", "secret123", "alice@test.com");
+        Account from = new Account("ACC-1", owner, 100.0);
+        Account to = new Account("ACC-2", owner, 0.0);
+        Transaction transaction = new Transaction("TX-1", TransactionType.TRANSFER, 25.0, from, to, "Loyer");
+
+        JsonWriter json = new JsonWriter();
+        json.beginObject()
+                .name("user").user(owner)
+                .name("account").account(from)
+                .name("transaction").transaction(transaction)
+                .endObject();
+        assertFalse(json.toString().contains("secret123"));
+
+        Map<String, Object> parsed = JsonReader.parseObject(json.toString());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parsedTransaction = (Map<String, Object>) parsed.get("transaction");
+        assertEquals("TRANSFER", parsedTransaction.get("type"));
+        assertEquals(25.0, (Double) parsedTransaction.get("amount"), 0.001);
+        assertEquals("ACC-2", parsedTransaction.get("toAccount"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parsedAccount = (Map<String, Object>) parsed.get("account");
+        assertEquals(100.0, (Double) parsedAccount.get("balance"), 0.001);
+    }
+
+    @Test
+    public void testReaderValues() {
+        Map<String, Object> parsed = JsonReader.parseObject(
+                " { \"s\" : \"a\\u00e9\\n\", \"n\": -1.5e2, \"t\": true, \"f\": false, \"z\": null, \"l\": [1, [2]] } ");
+        assertEquals("aé\n", parsed.get("s"));
+        assertEquals(-150.0, (Double) parsed.get("n"), 0.001);
+        assertEquals(Boolean.TRUE, parsed.get("t"));
+        assertEquals(Boolean.FALSE, parsed.get("f"));
+        assertTrue(parsed.containsKey("z"));
+        assertNull(parsed.get("z"));
+        assertEquals(2, ((List<?>) parsed.get("l")).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReaderRejectsTrailingData() {
+        JsonReader.parseObject("{} {}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReaderRejectsNonObject() {
+        JsonReader.parseObject("[1, 2]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReaderRejectsUnterminatedString() {
+        JsonReader.parseObject("{\"a\": \"b");
+    }
+}
@@ -0,0 +1,155 @@
+package com.university.finance.load;
+
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.service.BankingService;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du générateur de charge et du tirage de Zipf.
+ */
+public class LoadGeneratorTest {
+
+    @Test
+    public void testZipfFavoursLowRanks() {
+        ZipfGenerator zipf = new ZipfGenerator(100, 1.2);
+        Random random = new Random(1);
+        int[] hits = new int[100];
+        for (int i = 0; i < 50_000; i++) {
+            hits[zipf.next(random)]++;
+        }
+        assertTrue(hits[0] > hits[1]);
+        assertTrue(hits[1] > hits[50]);
+        assertEquals(zipf.probability(0) * 50_000, hits[0], 50_000 * 0.02);
+        assertEquals(100, zipf.size());
+    }
+
+    @Test
+    public void testZipfWithZeroExponentIsUniform() {
+        ZipfGenerator zipf = new ZipfGenerator(4, 0.0);
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, zipf.probability(rank), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZipfRejectsEmptyRange() {
+        new ZipfGenerator(0, 1.0);
+    }
+
+    @Test
+    public void testRunConservesMoney() throws InterruptedException {
+        BankingService service = new BankingService(null, null);
+        LoadConfig config = new LoadConfig()
+                .setUsers(20)
+                .setThreads(3)
+                .setOperations(3_000)
+                .setMix(30, 40, 30)
+                .setInitialBalance(50.0)
+                .setAmount(10.0)
+                .setReportIntervalMillis(50);
+        LoadGenerator generator = new LoadGenerator(service, config);
+        LoadReport report = generator.run();
+
+        assertEquals(3_000, report.getOperations());
+        assertFalse(report.getIntervals().isEmpty());
+        long deposits = report.getLatencies(TransactionType.DEPOSIT).getCount();
+        long withdrawals = report.getLatencies(TransactionType.WITHDRAWAL).getCount()
+                - report.getRefused(TransactionType.WITHDRAWAL);
+        double total = 0.0;
+        for (String accountId : generator.getAccountIds()) {
+            total += service.getBalance(accountId);
+        }
+        assertEquals(20 * 50.0 + (deposits - withdrawals) * 10.0, total, 0.001);
+        assertEquals(report.getOperations(), report.getTotalLatencies().getCount());
+        assertTrue(report.getThroughput() > 0);
+    }
+
+    @Test
+    public void testServiceExceptionsAreCountedAsErrors() throws InterruptedException {
+        // Chaque transfert dépasse la limite de transfert: le service lève une exception
+        LoadConfig config = new LoadConfig()
+                .setUsers(5)
+                .setThreads(2)
+                .setOperations(400)
+                .setMix(50, 0, 50)
+                .setInitialBalance(100_000.0)
+                .setAmount(20_000.0)
+                .setReportIntervalMillis(50);
+        LoadReport report = new LoadGenerator(new BankingService(null, null), config).run();
+
+        long transfers = report.getErrors(TransactionType.TRANSFER);
+        assertTrue(transfers > 0);
+        assertEquals(0, report.getLatencies(TransactionType.TRANSFER).getCount());
+        assertEquals(0, report.getErrors(TransactionType.DEPOSIT));
+        assertEquals(transfers, report.getTotalErrors());
+        assertEquals(400, report.getOperations() + report.getTotalErrors());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        report.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("Erreurs"));
+    }
+
+    @Test
+    public void testOutputs() throws InterruptedException, IOException {
+        LoadConfig config = LoadConfig.fromArgs(new String[]{
+                "--users", "5", "--threads", "1", "--operations", "200", "--mix", "100,0,0", "--zipf", "0.8"});
+        LoadReport report = new LoadGenerator(new BankingService(null, null), config).run();
+
+        StringWriter csv = new StringWriter();
+        report.writeCsv(csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals("elapsed_ms,operations,throughput_ops_s,p50_us,p99_us,p999_us,max_us", lines[0]);
+        assertEquals(report.getIntervals().size() + 1, lines.length);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        report.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("Total"));
+        assertEquals(0, report.getLatencies(TransactionType.TRANSFER).getCount());
+    }
+
+    @Test
+    public void testAllOptionsAreParsed() {
+        LoadConfig config = LoadConfig.fromArgs(new String[]{
+                "--users", "7", "--threads", "2", "--duration", "3", "--operations", "50",
+                "--mix", "20, 30, 50", "--zipf", "1.5", "--initial-balance", "200", "--amount", "5",
+                "--interval", "250", "--seed", "9", "--csv", "out.csv", "--observers"});
+        assertEquals(7, config.getUsers());
+        assertEquals(2, config.getThreads());
+        assertEquals(3, config.getDurationSeconds());
+        assertEquals(50, config.getOperations());
+        assertEquals(20, config.getDepositPercent());
+        assertEquals(30, config.getWithdrawPercent());
+        assertEquals(50, config.getTransferPercent());
+        assertEquals(1.5, config.getZipfExponent(), 0.0);
+        assertEquals(200.0, config.getInitialBalance(), 0.0);
+        assertEquals(5.0, config.getAmount(), 0.0);
+        assertEquals(250, config.getReportIntervalMillis());
+        assertEquals(9, config.getSeed());
+        assertEquals("out.csv", config.getCsvPath());
+        assertTrue(config.isObservers());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNumberIsRejected() {
+        LoadConfig.fromArgs(new String[]{"--users", "beaucoup"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMixIsRejected() {
+        LoadConfig.fromArgs(new String[]{"--mix", "50,50,50"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownOptionIsRejected() {
+        LoadConfig.fromArgs(new String[]{"--speed", "11"});
+    }
+}
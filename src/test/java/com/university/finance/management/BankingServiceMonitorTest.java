@@ -0,0 +1,139 @@
+package com.university.finance.management;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.IsolationPolicy;
+import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.service.BankingService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du MBean du service bancaire.
+ */
+public class BankingServiceMonitorTest {
+
+    private BankingService bankingService;
+    private AuditLogger auditLogger;
+    private BankingServiceMonitor monitor;
+    private Account alice;
+    private Account bob;
+
+    @Before
+    public void setUp() {
+        ConfigurationManager.resetInstance();
+        auditLogger = new AuditLogger();
+        bankingService = new BankingService(auditLogger, null);
+        monitor = BankingServiceMonitor.register(bankingService, "test");
+        alice = bankingService.createUserWithAccount("alice", "password123", "alice@test.com", 1000.0);
+        bob = bankingService.createUserWithAccount("bob", "password123", "bob@test.com", 1000.0);
+    }
+
+    @After
+    public void tearDown() {
+        monitor.close();
+        ConfigurationManager.resetInstance();
+    }
+
+    @Test
+    public void testStatisticsThroughMBeanServer() throws Exception {
+        bankingService.deposit(alice.getId(), 100.0);
+        bankingService.withdraw(alice.getId(), 50_000.0);
+        bankingService.transfer(alice.getId(), bob.getId(), 10.0);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = monitor.getObjectName();
+        assertEquals(2, server.getAttribute(name, "UserCount"));
+        assertEquals(2, server.getAttribute(name, "AccountCount"));
+        assertEquals(3L, server.getAttribute(name, "TransactionCount"));
+        assertEquals(1L, server.getAttribute(name, "FailureCount"));
+        assertTrue((Double) server.getAttribute(name, "LatencyMaxMicros") > 0);
+        TabularData deliveries = (TabularData) server.getAttribute(name, "ObserverDeliveryP99Micros");
+        assertEquals(1, deliveries.size());
+        assertEquals(0, server.getAttribute(name, "ObserverQueueDepth"));
+    }
+
+    @Test
+    public void testMaxTransferIsAppliedLive() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.setAttribute(monitor.getObjectName(), new Attribute("MaxTransfer", 50.0));
+
+        assertEquals(50.0, monitor.getMaxTransfer(), 0.001);
+        try {
+            bankingService.transfer(alice.getId(), bob.getId(), 60.0);
+            fail("La nouvelle limite doit s'appliquer sans redémarrage");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(1000.0, bankingService.getBalance(alice.getId()), 0.001);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxTransferIsRejected() {
+        monitor.setMaxTransfer(-1.0);
+    }
+
+    @Test
+    public void testObserverToggles() {
+        assertTrue(monitor.isAuditEnabled());
+        monitor.setAuditEnabled(false);
+        bankingService.deposit(alice.getId(), 100.0);
+        assertEquals(0, auditLogger.getLogCount());
+
+        monitor.setAuditEnabled(true);
+        bankingService.deposit(alice.getId(), 100.0);
+        assertEquals(1, auditLogger.getLogCount());
+
+        assertFalse(monitor.isNotificationsEnabled());
+        monitor.setNotificationsEnabled(false);
+    }
+
+    @Test
+    public void testIsolatedQueueSizes() throws Exception {
+        assertTrue(monitor.getIsolatedQueueSizes().isEmpty());
+        bankingService.isolateObservers(new IsolationPolicy());
+        try {
+            assertEquals(Integer.valueOf(0), monitor.getIsolatedQueueSizes().get("AuditLogger"));
+            assertEquals(Long.valueOf(0), monitor.getIsolatedSpillSizes().get("AuditLogger"));
+            TabularData sizes = (TabularData) ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(monitor.getObjectName(), "IsolatedQueueSizes");
+            assertEquals(1, sizes.size());
+        } finally {
+            bankingService.setAuditEnabled(false);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEnablingMissingObserverFails() {
+        monitor.setNotificationsEnabled(true);
+    }
+
+    @Test
+    public void testResetMetrics() {
+        bankingService.deposit(alice.getId(), 100.0);
+        assertTrue(monitor.getLatencyMaxMicros() > 0);
+        monitor.resetMetrics();
+        assertEquals(0, monitor.getDepositCount());
+        assertEquals(0.0, monitor.getTransactionRate(), 0.0);
+        assertEquals(0.0, monitor.getLatencyMaxMicros(), 0.0);
+    }
+
+    @Test
+    public void testTogglesOnDefaultService() {
+        BankingService service = new BankingService(new AuditLogger(), new NotificationService());
+        BankingServiceMonitor standalone = new BankingServiceMonitor(service);
+        standalone.setNotificationsEnabled(false);
+        assertFalse(service.isNotificationsEnabled());
+        assertEquals(1, standalone.getObserverCount());
+        standalone.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.pattern.observer.IsolationPolicy;
+import com.university.finance.service.TransactionService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests des événements Java Flight Recorder.
+ */
+public class FlightRecorderEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventsAreRecordedWithoutThreshold() throws Exception {
+        TransactionService service = new TransactionService();
+        service.addObserver(new AuditLogger());
+        User owner = new User("USR-JFR", "jfr", "password", "jfr@example.com");
+        Account source = new Account("ACC-JFR-1", owner, 1000.0);
+        Account target = new Account("ACC-JFR-2", owner, 0.0);
+
+        Path file = folder.newFile("banking.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable(TransactionExecutionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(ObserverDispatchEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            service.transfer(source, target, 250.0);
+            service.withdraw(target, 5000.0);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> executions = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.university.finance.TransactionExecution"))
+                .collect(Collectors.toList());
+        assertEquals(2, executions.size());
+        RecordedEvent transfer = executions.get(0);
+        assertEquals("TRANSFER", transfer.getString("type"));
+        assertEquals(1000L, transfer.getLong("amountBucket"));
+        assertEquals("ACC-JFR-1", transfer.getString("accountId"));
+        assertEquals("ACC-JFR-2", transfer.getString("targetAccountId"));
+        assertTrue(transfer.getBoolean("success"));
+        assertFalse(executions.get(1).getBoolean("success"));
+
+        List<RecordedEvent> dispatches = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.university.finance.ObserverDispatch"))
+                .collect(Collectors.toList());
+        assertEquals(1, dispatches.size());
+        assertEquals("AuditLogger", dispatches.get(0).getString("observer"));
+        assertEquals("TRANSFER", dispatches.get(0).getString("transactionType"));
+    }
+
+    @Test
+    public void testIsolatedDeliveryIsRecorded() throws Exception {
+        TransactionService service = new TransactionService();
+        IsolatedObserver isolated = service.addIsolatedObserver(new AuditLogger(), new IsolationPolicy());
+        User owner = new User("USR-JFR", "jfr", "password", "jfr@example.com");
+        Account account = new Account("ACC-JFR-3", owner, 0.0);
+
+        Path file = folder.newFile("isolated.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable(ObserverDispatchEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            service.deposit(account, 10.0);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (service.getMetrics().getDelivery("AuditLogger") == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            recording.stop();
+            recording.dump(file);
+        } finally {
+            isolated.close();
+        }
+
+        List<RecordedEvent> dispatches = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.university.finance.ObserverDispatch"))
+                .collect(Collectors.toList());
+        assertEquals(1, dispatches.size());
+        assertEquals("AuditLogger", dispatches.get(0).getString("observer"));
+        assertEquals("DEPOSIT", dispatches.get(0).getString("transactionType"));
+    }
+
+    @Test
+    public void testAmountBucket() {
+        assertEquals(1, TransactionExecutionEvent.amountBucket(0.5));
+        assertEquals(10, TransactionExecutionEvent.amountBucket(1.0));
+        assertEquals(100, TransactionExecutionEvent.amountBucket(99.99));
+        assertEquals(1_000_000_000_000L, TransactionExecutionEvent.amountBucket(1e15));
+    }
+}
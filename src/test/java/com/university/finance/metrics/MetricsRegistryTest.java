@@ -0,0 +1,112 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Transaction.TransactionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du registre de métriques.
+ */
+public class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Test
+    public void testOperationsArePerType() {
+        registry.recordOperation(TransactionType.DEPOSIT, 100.0, 1_000, true);
+        registry.recordOperation(TransactionType.DEPOSIT, 50.0, 3_000, true);
+        registry.recordOperation(TransactionType.WITHDRAWAL, 900.0, 2_000, false);
+
+        MetricsRegistry.OperationStats deposits = registry.getOperation(TransactionType.DEPOSIT);
+        assertEquals(2, deposits.getCount());
+        assertEquals(0, deposits.getFailures());
+        assertEquals(150.0, deposits.getAmount(), 0.001);
+        assertEquals(2_000.0, deposits.getLatencies().getMean(), 0.001);
+
+        MetricsRegistry.OperationStats withdrawals = registry.getOperation(TransactionType.WITHDRAWAL);
+        assertEquals(1, withdrawals.getFailures());
+        assertEquals(0.0, withdrawals.getAmount(), 0.001);
+        assertEquals(0, registry.getOperation(TransactionType.TRANSFER).getCount());
+        assertEquals(3, registry.getTotalCount());
+    }
+
+    @Test
+    public void testDeliveriesArePerObserver() {
+        registry.recordDelivery("AuditLogger", 500, false);
+        registry.recordDelivery("AuditLogger", 700, true);
+        registry.recordDelivery("NotificationService", 100, false);
+
+        assertEquals(2, registry.getDelivery("AuditLogger").getCount());
+        assertEquals(1, registry.getDelivery("AuditLogger").getErrors());
+        assertEquals(700, registry.getDelivery("AuditLogger").getLatencies().getMax());
+        assertNull(registry.getDelivery("Inconnu"));
+        assertEquals("[AuditLogger, NotificationService]", registry.getObserverNames().toString());
+    }
+
+    @Test
+    public void testReset() {
+        registry.recordOperation(TransactionType.TRANSFER, 10.0, 100, true);
+        registry.recordDelivery("AuditLogger", 100, false);
+        registry.reset();
+
+        assertEquals(0, registry.getTotalCount());
+        assertEquals(0.0, registry.getOperation(TransactionType.TRANSFER).getAmount(), 0.0);
+        assertTrue(registry.getObserverNames().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    registry.recordOperation(TransactionType.DEPOSIT, 1.0, i, true);
+                    registry.recordDelivery("Observer", i, false);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(20_000, registry.getOperation(TransactionType.DEPOSIT).getCount());
+        assertEquals(20_000.0, registry.getOperation(TransactionType.DEPOSIT).getAmount(), 0.001);
+        assertEquals(20_000, registry.getDelivery("Observer").getCount());
+    }
+
+    @Test
+    public void testResetDuringRecordingKeepsStatsConsistent() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    registry.recordOperation(TransactionType.DEPOSIT, 1.0, i, true);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (int i = 0; i < 200; i++) {
+            registry.reset();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Chaque opération est comptée entièrement dans une seule génération
+        MetricsRegistry.OperationStats stats = registry.getOperation(TransactionType.DEPOSIT);
+        assertEquals(stats.getCount(), stats.getLatencies().getCount());
+        assertEquals(stats.getCount(), stats.getAmount(), 0.001);
+    }
+}
@@ -0,0 +1,129 @@
+package com.university.finance.metrics;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.pattern.observer.IsolationPolicy;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.BankingService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'encodeur et de l'export au format Prometheus.
+ */
+public class PrometheusExporterTest {
+
+    private BankingService bankingService;
+    private PrometheusExporter exporter;
+    private PrometheusWriter writer;
+
+    @Before
+    public void setUp() {
+        bankingService = new BankingService(null, null);
+        exporter = new PrometheusExporter(bankingService);
+        writer = new PrometheusWriter(64);
+    }
+
+    @Test
+    public void testWriterFormat() {
+        writer.family("requests_total", "counter", "Requêtes \\ servies")
+                .sample("requests_total").label("path", "/a\"b").label("code", "200").value(-42);
+        writer.sample("latency", "_sum").seconds(1_500_000_000L);
+        writer.sample("amount").decimal(-12.346);
+
+        assertEquals("# HELP requests_total Requêtes \\\\ servies\n"
+                + "# TYPE requests_total counter\n"
+                + "requests_total{path=\"/a\\\"b\",code=\"200\"} -42\n"
+                + "latency_sum 1.500000000\n"
+                + "amount -12.35\n", writer.toString());
+
+        byte[] copy = writer.toByteArray();
+        writer.reset();
+        assertEquals(0, writer.size());
+        assertTrue(new String(copy, StandardCharsets.UTF_8).endsWith("amount -12.35\n"));
+    }
+
+    @Test
+    public void testTransactionMetricsAreExported() {
+        Account alice = bankingService.createUserWithAccount("alice", "password123", "alice@test.com", 100.0);
+        bankingService.deposit(alice.getId(), 50.0);
+        bankingService.withdraw(alice.getId(), 1_000.0);
+
+        exporter.render(writer);
+        String text = writer.toString();
+        assertTrue(text.contains("banking_transactions_total{type=\"deposit\"} 1\n"));
+        assertTrue(text.contains("banking_transaction_failures_total{type=\"withdrawal\"} 1\n"));
+        assertTrue(text.contains("banking_transaction_amount_total{type=\"deposit\"} 50.00\n"));
+        assertTrue(text.contains("banking_transaction_duration_seconds_bucket{type=\"deposit\",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("banking_transaction_duration_seconds_bucket{type=\"deposit\",le=\"0.000001\"}"));
+        assertTrue(text.contains("banking_transaction_duration_seconds_count{type=\"transfer\"} 0\n"));
+        assertTrue(text.contains("banking_users 1\n"));
+        assertTrue(text.contains("jvm_memory_heap_used_bytes "));
+        assertTrue(text.contains("# TYPE jvm_gc_collections_total counter\n"));
+    }
+
+    @Test
+    public void testHistogramBucketsAreCumulative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(2_000);
+        histogram.record(2_000_000_000L);
+        long[] cumulative = new long[3];
+
+        long total = histogram.cumulativeCounts(new long[]{1_000, 10_000, 1_000_000_000}, cumulative);
+        assertArrayEquals(new long[]{1, 2, 2}, cumulative);
+        assertEquals(3, total);
+        assertEquals(2_000_002_500L, histogram.getSum());
+    }
+
+    @Test
+    public void testObserverDeliveriesAreExported() {
+        bankingService.getTransactionService().addObserver(new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                throw new IllegalStateException("panne");
+            }
+
+            @Override
+            public String getName() {
+                return "Défaillant";
+            }
+        });
+        Account bob = bankingService.createUserWithAccount("bob", "password123", "bob@test.com", 100.0);
+        bankingService.deposit(bob.getId(), 10.0);
+
+        exporter.render(writer.reset());
+        String text = writer.toString();
+        assertTrue(text.contains("banking_observer_errors_total{observer=\"Défaillant\"} 1\n"));
+        assertTrue(text.contains("banking_observer_delivery_seconds_count{observer=\"Défaillant\"} 1\n"));
+        assertTrue(text.contains("banking_observer_queue_depth 0\n"));
+    }
+
+    @Test
+    public void testIsolatedQueuesAreExported() {
+        IsolatedObserver isolated = bankingService.getTransactionService()
+                .addIsolatedObserver(new AuditLogger(), new IsolationPolicy());
+        try {
+            exporter.render(writer.reset());
+            String text = writer.toString();
+            assertTrue(text.contains("banking_observer_isolated_queue_size{observer=\"AuditLogger\"} 0\n"));
+            assertTrue(text.contains("banking_observer_spill_size{observer=\"AuditLogger\"} 0\n"));
+        } finally {
+            bankingService.getTransactionService().removeObserver(isolated.getDelegate());
+        }
+    }
+
+    @Test
+    public void testRenderWithoutMetrics() {
+        bankingService.getTransactionService().setMetrics(null);
+        exporter.render(writer);
+        assertFalse(writer.toString().contains("banking_transactions_total"));
+        assertTrue(writer.toString().contains("banking_accounts 0\n"));
+    }
+}
@@ -3,6 +3,8 @@ package com.university.finance.model;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 /**
@@ -98,6 +100,29 @@ public class AccountTest {
         assertEquals(tx, account.getTransactions().get(0));
     }
 
+    @Test
+    public void testTransactionPage() {
+        for (int i = 0; i < 5; i++) {
+            account.addTransaction(new Transaction("TX-" + i, Transaction.TransactionType.DEPOSIT,
+                    10.0, account, "Dépôt " + i));
+        }
+
+        List<Transaction> page = account.getTransactions(1, 2);
+        assertEquals(2, page.size());
+        assertEquals("TX-1", page.get(0).getId());
+        assertEquals("TX-2", page.get(1).getId());
+        assertEquals(1, account.getTransactions(4, 10).size());
+        assertTrue(account.getTransactions(7, 10).isEmpty());
+        assertTrue(account.getTransactions(0, 0).isEmpty());
+        assertEquals(1, account.getTransactions(4, Integer.MAX_VALUE).size());
+        assertEquals(5, account.getTransactionCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransactionPageRejectsNegativeOffset() {
+        account.getTransactions(-1, 10);
+    }
+
     @Test
     public void testEqualsWithSameId() {
         Account sameAccount = new Account("ACC-001", owner, 500.0);
@@ -1,6 +1,7 @@
 package com.university.finance.pattern.factory;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.AccountTier;
 import com.university.finance.model.User;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +54,7 @@ public class AccountFactoryTest {
         
         assertNotNull(account);
         assertTrue(account.getId().startsWith("PRM-"));
+        assertEquals(AccountTier.PREMIUM, account.getTier());
         assertEquals(5000.0, account.getBalance(), 0.001);
     }
 
@@ -0,0 +1,162 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la sortie console asynchrone.
+ */
+public class AsyncConsoleSinkTest {
+
+    private AsyncConsoleSink sink;
+
+    @After
+    public void tearDown() {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @Test
+    public void testLinesWrittenInOrder() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true);
+        sink = new AsyncConsoleSink(1000, () -> out);
+
+        for (int i = 0; i < 100; i++) {
+            sink.println("ligne " + i);
+        }
+
+        assertTrue(sink.flush(10_000));
+        String[] lines = bytes.toString(Charset.defaultCharset()).split(System.lineSeparator());
+        assertEquals(100, lines.length);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("ligne " + i, lines[i]);
+        }
+        assertEquals(100, sink.getWrittenCount());
+        assertEquals(0, sink.getDroppedCount());
+        assertTrue(sink.getBatchCount() <= 100);
+    }
+
+    @Test
+    public void testLinesAreBatched() throws InterruptedException {
+        List<Integer> writes = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream()) {
+            @Override
+            public void write(byte[] buf, int off, int len) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                writes.add(len);
+            }
+        };
+        sink = new AsyncConsoleSink(10_000, () -> out);
+
+        // La première écriture est retenue: les lignes suivantes s'accumulent dans la file
+        sink.println("première");
+        while (sink.getPendingCount() > 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            sink.println("ligne " + i);
+        }
+        release.countDown();
+
+        assertTrue(sink.flush(10_000));
+        assertEquals(1001, sink.getWrittenCount());
+        assertTrue("Écritures: " + writes.size(), writes.size() < 10);
+    }
+
+    @Test
+    public void testDropsWhenFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream()) {
+            @Override
+            public void write(byte[] buf, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        sink = new AsyncConsoleSink(10, () -> out);
+        // Le thread d'écriture reste bloqué sur la première ligne
+        assertTrue(sink.offer("première"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sink.offer("ligne " + i)) {
+                accepted++;
+            }
+        }
+
+        assertEquals(10, accepted);
+        assertEquals(90, sink.getDroppedCount());
+        release.countDown();
+        assertTrue(sink.flush(10_000));
+        assertEquals(11, sink.getWrittenCount());
+    }
+
+    @Test
+    public void testCloseWritesPendingLines() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true);
+        sink = new AsyncConsoleSink(1000, () -> out);
+        for (int i = 0; i < 10; i++) {
+            sink.println("ligne " + i);
+        }
+
+        sink.close();
+
+        assertEquals(10, sink.getWrittenCount());
+        assertFalse(sink.offer("après fermeture"));
+    }
+
+    @Test
+    public void testObserversUseConsole() {
+        List<String> lines = new ArrayList<>();
+        AuditLogger logger = new AuditLogger();
+        logger.setConsole(lines::add);
+        NotificationService notifications = new NotificationService(true, true, true);
+        notifications.setConsole(lines::add);
+
+        User owner = new User("USR-001", "user1", "password", "user1@example.com");
+        Account account = new Account("ACC-001", owner, 100.0);
+        Transaction tx = new Transaction("TX-001",
+                Transaction.TransactionType.DEPOSIT, 10.0, account, "Test");
+        logger.onTransaction(tx);
+        notifications.onTransaction(tx);
+
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("[AUDIT] "));
+        assertTrue(lines.get(1).startsWith("[NOTIFICATION] "));
+        assertTrue(lines.get(2).startsWith("[EMAIL -> user1@example.com] "));
+        assertTrue(lines.get(3).startsWith("[SMS -> user1] "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new AsyncConsoleSink(0);
+    }
+}
@@ -4,7 +4,16 @@ import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -13,6 +22,9 @@ import static org.junit.Assert.*;
  */
 public class AuditLoggerTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private AuditLogger logger;
     private User owner;
     private Account account;
@@ -108,5 +120,58 @@ public class AuditLoggerTest {
         
         assertEquals(1, fileLogger.getLogCount());
     }
-}
 
+    @Test
+    public void testTextFileWritesOneLinePerEntry() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("audit.log");
+        AuditLogger fileLogger = new AuditLogger(file.toString());
+        fileLogger.setConsoleEnabled(false);
+        fileLogger.onTransaction(new Transaction("TX-001", Transaction.TransactionType.DEPOSIT,
+                100.0, account, "Test"));
+        fileLogger.onTransaction(new Transaction("TX-002", Transaction.TransactionType.WITHDRAWAL,
+                50.0, account, "Test"));
+
+        // Le fichier reste ouvert: les entrées sont lisibles avant la fermeture
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(fileLogger.getAuditLog(), lines);
+
+        // Fermé puis rouvert en ajout à l'entrée suivante
+        fileLogger.close();
+        fileLogger.onTransaction(new Transaction("TX-003", Transaction.TransactionType.DEPOSIT,
+                10.0, account, "Test"));
+        fileLogger.close();
+        lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("TX-003"));
+    }
+
+    @Test
+    public void testWithoutHistoryOnlyCounts() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("audit.log");
+        List<String> console = new ArrayList<>();
+        try (AuditLogger fileLogger = new AuditLogger(file.toString())) {
+            fileLogger.setConsole(console::add);
+            fileLogger.setConsoleEnabled(false);
+            fileLogger.setKeepHistory(false);
+            fileLogger.onTransaction(new Transaction("TX-001", Transaction.TransactionType.DEPOSIT,
+                    100.0, account, "Test"));
+
+            assertEquals(1, fileLogger.getLogCount());
+            assertTrue(fileLogger.getAuditLog().isEmpty());
+            assertTrue(console.isEmpty());
+            // Le fichier texte reste écrit
+            assertTrue(Files.readAllLines(file, StandardCharsets.UTF_8).get(0).contains("TX-001"));
+        }
+    }
+
+    @Test
+    public void testConsoleLineMatchesHistory() {
+        List<String> console = new ArrayList<>();
+        logger.setConsole(console::add);
+        logger.onTransaction(new Transaction("TX-001", Transaction.TransactionType.DEPOSIT,
+                100.0, account, "Test"));
+
+        assertEquals(1, console.size());
+        assertEquals("[AUDIT] " + logger.getAuditLog().get(0), console.get(0));
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du formateur d'entrées d'audit.
+ */
+public class AuditRecordFormatterTest {
+
+    // 2024-03-01 12:34:56 UTC
+    private static final long NOW = 1709296496000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private AuditRecordFormatter formatter;
+    private Account account;
+    private Account other;
+
+    @Before
+    public void setUp() {
+        formatter = new AuditRecordFormatter(clock::get, ZoneOffset.UTC, Locale.ROOT);
+        User owner = new User("USR-001", "testuser", "password", "test@example.com");
+        account = new Account("ACC-001", owner, 1000.0);
+        other = new Account("ACC-002", owner, 1000.0);
+    }
+
+    @Test
+    public void testDepositEntry() {
+        Transaction tx = new Transaction("TX-001", Transaction.TransactionType.DEPOSIT, 100.0, account, "Test");
+
+        int length = formatter.format(tx);
+
+        assertEquals("[2024-03-01 12:34:56] TX_ID: TX-001 | TYPE: Dépôt | MONTANT: 100.00€ | COMPTE: ACC-001",
+                formatter.toString());
+        assertEquals(formatter.toString().getBytes(StandardCharsets.UTF_8).length, length);
+    }
+
+    @Test
+    public void testTransferEntry() {
+        Transaction tx = new Transaction("TX-002", Transaction.TransactionType.TRANSFER, 12.5, account, other, "T");
+
+        formatter.format(tx);
+
+        assertEquals("[2024-03-01 12:34:56] TX_ID: TX-002 | TYPE: Transfert | MONTANT: 12.50€ | DE: ACC-001 | VERS: ACC-002",
+                formatter.toString());
+    }
+
+    @Test
+    public void testAmountsMatchStringFormat() {
+        double[] amounts = {0.0, 0.01, 0.1, 0.99, 1.0, 9.99, 10.25, 123.45, 1000.0, 9999.99,
+                123456789.12, 0.004, 0.006, -5.5, -0.25, 1e12, 1.005, 2.675, 10.005, 0.125, 0.135,
+                -1.005, -0.001, -0.0, 0.005, 99999999.995};
+        for (double amount : amounts) {
+            Transaction tx = new Transaction("TX", Transaction.TransactionType.WITHDRAWAL, amount, account, "T");
+            formatter.format(tx);
+            String expected = String.format(Locale.ROOT, "MONTANT: %.2f€ |", amount);
+            assertTrue(formatter.toString() + " / " + expected, formatter.toString().contains(expected));
+        }
+    }
+
+    @Test
+    public void testMilliAmountsMatchStringFormat() {
+        // Toutes les demi-centimes de -20 à 20 et leurs voisines
+        for (int i = -20000; i <= 20000; i++) {
+            double amount = i / 1000.0;
+            Transaction tx = new Transaction("TX", Transaction.TransactionType.DEPOSIT, amount, account, "T");
+            formatter.format(tx);
+            String expected = String.format(Locale.ROOT, "MONTANT: %.2f€ |", amount);
+            assertTrue(formatter.toString() + " / " + expected, formatter.toString().contains(expected));
+        }
+    }
+
+    @Test
+    public void testAmountsFollowLocale() {
+        AuditRecordFormatter french = new AuditRecordFormatter(clock::get, ZoneOffset.UTC, Locale.FRANCE);
+        for (double amount : new double[]{12.5, -0.001, 1.005, 1e20}) {
+            Transaction tx = new Transaction("TX", Transaction.TransactionType.DEPOSIT, amount, account, "T");
+            french.format(tx);
+            String expected = String.format(Locale.FRANCE, "MONTANT: %.2f€ |", amount);
+            assertTrue(french.toString() + " / " + expected, french.toString().contains(expected));
+        }
+        assertTrue(french.toString().contains(","));
+    }
+
+    @Test
+    public void testHugeAmountFallsBack() {
+        Transaction tx = new Transaction("TX", Transaction.TransactionType.DEPOSIT, 1e20, account, "T");
+
+        formatter.format(tx);
+
+        assertTrue(formatter.toString().contains(String.format(Locale.ROOT, "%.2f€", 1e20)));
+    }
+
+    @Test
+    public void testTimestampFollowsClock() {
+        Transaction tx = new Transaction("TX", Transaction.TransactionType.DEPOSIT, 1.0, account, "T");
+        formatter.format(tx);
+        assertTrue(formatter.toString().startsWith("[2024-03-01 12:34:56] "));
+
+        clock.set(NOW + 999);
+        formatter.format(tx);
+        assertTrue(formatter.toString().startsWith("[2024-03-01 12:34:56] "));
+
+        clock.set(NOW + 1000);
+        formatter.format(tx);
+        assertTrue(formatter.toString().startsWith("[2024-03-01 12:34:57] "));
+    }
+
+    @Test
+    public void testBufferGrowsAndEncodesNonAscii() {
+        StringBuilder id = new StringBuilder("TX-é");
+        for (int i = 0; i < 500; i++) {
+            id.append('x');
+        }
+        Transaction tx = new Transaction(id.toString(), Transaction.TransactionType.DEPOSIT, 1.0, account, "T");
+
+        formatter.format(tx);
+        formatter.append((byte) '\n');
+
+        assertTrue(formatter.toString().contains("TX_ID: " + id + " | TYPE: "));
+        assertTrue(formatter.toString().endsWith("ACC-001\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullClock() {
+        new AuditRecordFormatter(null, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,92 @@
+package com.university.finance.pattern.observer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du disjoncteur des observers.
+ */
+public class CircuitBreakerTest {
+
+    private long now;
+    private List<CircuitBreaker.State> transitions;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        transitions = new ArrayList<>();
+        breaker = new CircuitBreaker(3, 1000, transitions::add, () -> now);
+    }
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(List.of(CircuitBreaker.State.OPEN), transitions);
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testProbeClosesAfterSuccess() {
+        tripBreaker();
+        now += TimeUnit.MILLISECONDS.toNanos(999);
+        assertFalse(breaker.allowRequest());
+
+        now += TimeUnit.MILLISECONDS.toNanos(1);
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // Une seule livraison de test à la fois
+        assertFalse(breaker.allowRequest());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN,
+                CircuitBreaker.State.CLOSED), transitions);
+    }
+
+    @Test
+    public void testFailedProbeReopens() {
+        tripBreaker();
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        new CircuitBreaker(0, 1000, null);
+    }
+
+    private void tripBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.metrics.MetricsRegistry;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'isolation des observers (file propre, budget de temps, disjoncteur).
+ */
+public class IsolatedObserverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MetricsRegistry metrics;
+    private Transaction transaction;
+    private IsolatedObserver isolated;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricsRegistry();
+        User owner = new User("USR-001", "user1", "password", "user1@example.com");
+        Account account = new Account("ACC-001", owner, 1000.0);
+        transaction = new Transaction("TX-001", Transaction.TransactionType.DEPOSIT, 10.0, account, "Dépôt");
+    }
+
+    @After
+    public void tearDown() {
+        if (isolated != null) {
+            isolated.close();
+        }
+    }
+
+    private static TransactionObserver observer(String name, Consumer<Transaction> action) {
+        return new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                action.accept(transaction);
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition non atteinte à temps", System.nanoTime() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testDeliversOnOwnThread() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(3);
+        isolated = new IsolatedObserver(observer("audit", t -> delivered.countDown()),
+                new IsolationPolicy(), () -> metrics);
+
+        for (int i = 0; i < 3; i++) {
+            isolated.onTransaction(transaction);
+        }
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        await(() -> metrics.getDelivery("audit") != null && metrics.getDelivery("audit").getCount() == 3);
+        assertEquals("audit", isolated.getName());
+        assertEquals(CircuitBreaker.State.CLOSED, isolated.getState());
+    }
+
+    @Test
+    public void testStalledObserverDoesNotBlockProducer() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+        isolated = new IsolatedObserver(observer("notifications", t -> {
+            started.set(true);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), new IsolationPolicy().setTimeBudgetMillis(20).setFailureThreshold(1).setOpenMillis(60_000),
+                () -> metrics);
+
+        isolated.onTransaction(transaction);
+        await(started::get);
+        Thread.sleep(50);
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            isolated.onTransaction(transaction);
+        }
+        assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(1));
+
+        // Le blocage est détecté sans attendre la fin de la livraison
+        assertEquals(CircuitBreaker.State.OPEN, isolated.getState());
+        assertEquals(1, isolated.getTimeoutCount());
+        assertEquals(100, isolated.getRejectedCount());
+        MetricsRegistry.DeliveryStats stats = metrics.getDelivery("notifications");
+        assertEquals(1, stats.getTimeouts());
+        assertEquals(100, stats.getRejected());
+        assertEquals(1, stats.getTransitions(CircuitBreaker.State.OPEN));
+        assertEquals(CircuitBreaker.State.OPEN, stats.getCircuitState());
+        release.countDown();
+    }
+
+    @Test
+    public void testFailingObserverIsDetachedThenProbed() throws InterruptedException {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger calls = new AtomicInteger();
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            calls.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("panne");
+            }
+        }), new IsolationPolicy().setFailureThreshold(2).setOpenMillis(100), () -> metrics);
+
+        isolated.onTransaction(transaction);
+        isolated.onTransaction(transaction);
+        await(() -> isolated.getState() == CircuitBreaker.State.OPEN);
+        isolated.onTransaction(transaction);
+        assertEquals(1, isolated.getRejectedCount());
+        assertEquals(2, calls.get());
+
+        failing.set(false);
+        Thread.sleep(150);
+        isolated.onTransaction(transaction);
+        await(() -> isolated.getState() == CircuitBreaker.State.CLOSED);
+        assertEquals(3, calls.get());
+        MetricsRegistry.DeliveryStats stats = metrics.getDelivery("audit");
+        assertEquals(2, stats.getErrors());
+        assertEquals(1, stats.getTransitions(CircuitBreaker.State.HALF_OPEN));
+        assertEquals(1, stats.getTransitions(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testFullQueueRejects() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            started.set(true);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), new IsolationPolicy().setQueueCapacity(2).setTimeBudgetMillis(60_000), null);
+
+        isolated.onTransaction(transaction);
+        await(started::get);
+        isolated.onTransaction(transaction);
+        isolated.onTransaction(transaction);
+        isolated.onTransaction(transaction);
+
+        assertEquals(2, isolated.getQueueSize());
+        assertEquals(1, isolated.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testFullQueueSpillsToDiskInOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            started.set(true);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(t.getDescription());
+        }), new IsolationPolicy().setQueueCapacity(4).setTimeBudgetMillis(60_000)
+                .setSpillDirectory(folder.getRoot().toPath()), () -> metrics);
+
+        isolated.onTransaction(withDescription(0));
+        await(started::get);
+        for (int i = 1; i < 50; i++) {
+            isolated.onTransaction(withDescription(i));
+        }
+        assertEquals(45, isolated.getSpilledCount());
+        assertEquals(45, isolated.getSpillSize());
+        assertEquals(0, isolated.getRejectedCount());
+        assertEquals(45, metrics.getDelivery("audit").getSpilled());
+        assertTrue(Files.exists(folder.getRoot().toPath().resolve("observer-audit.spill")));
+
+        release.countDown();
+        await(() -> received.size() == 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals("T" + i, received.get(i));
+        }
+        assertEquals(0, isolated.getSpillSize());
+        assertEquals(CircuitBreaker.State.CLOSED, isolated.getState());
+    }
+
+    @Test
+    public void testOpenBreakerSpillsInsteadOfRejecting() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            if (failing.get()) {
+                throw new IllegalStateException("panne");
+            }
+            received.add(t.getDescription());
+        }), new IsolationPolicy().setQueueCapacity(4).setFailureThreshold(2).setOpenMillis(100)
+                .setSpillDirectory(folder.getRoot().toPath()), () -> metrics);
+
+        isolated.onTransaction(withDescription(0));
+        await(() -> isolated.getState() == CircuitBreaker.State.OPEN);
+        for (int i = 1; i < 20; i++) {
+            isolated.onTransaction(withDescription(i));
+        }
+        assertEquals(0, isolated.getRejectedCount());
+        assertTrue(isolated.getSpilledCount() > 0);
+
+        // La première transaction, en échec jusqu'au seuil, part au rebut;
+        // les suivantes attendent la fin de la panne
+        failing.set(false);
+        await(() -> received.size() == 19);
+        for (int i = 1; i < 20; i++) {
+            assertEquals("T" + i, received.get(i - 1));
+        }
+        assertEquals(1, isolated.getDeadLetterCount());
+        assertEquals(CircuitBreaker.State.CLOSED, isolated.getState());
+    }
+
+    @Test
+    public void testPoisonTransactionIsDeadLetteredAndDeliveryContinues() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            if (t.getId().equals("TX-3")) {
+                throw new IllegalStateException("transaction refusée");
+            }
+            received.add(t.getDescription());
+        }), new IsolationPolicy().setFailureThreshold(3).setOpenMillis(20)
+                .setSpillDirectory(folder.getRoot().toPath()), () -> metrics);
+
+        for (int i = 0; i < 10; i++) {
+            isolated.onTransaction(withDescription(i));
+        }
+        await(() -> received.size() == 9);
+        assertEquals(Arrays.asList("T0", "T1", "T2", "T4", "T5", "T6", "T7", "T8", "T9"), received);
+        assertEquals(1, isolated.getDeadLetterCount());
+        assertEquals(3, metrics.getDelivery("audit").getErrors());
+        await(() -> isolated.getState() == CircuitBreaker.State.CLOSED);
+        isolated.close();
+        isolated = null;
+
+        try (SpillQueue deadLetters = new SpillQueue(
+                folder.getRoot().toPath().resolve(IsolatedObserver.deadLetterFileName("audit")))) {
+            assertEquals("TX-3", deadLetters.poll().getId());
+            assertNull(deadLetters.poll());
+        }
+    }
+
+    @Test
+    public void testCloseKeepsQueuedTransactionsOnDisk() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+        IsolationPolicy policy = new IsolationPolicy().setQueueCapacity(4).setTimeBudgetMillis(60_000)
+                .setSpillDirectory(folder.getRoot().toPath());
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            started.set(true);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                // Fermeture: la livraison est abandonnée
+                throw new IllegalStateException("interrompu");
+            }
+        }), policy, () -> metrics);
+
+        for (int i = 0; i < 10; i++) {
+            isolated.onTransaction(withDescription(i));
+            if (i == 0) {
+                await(started::get);
+            }
+        }
+        isolated.close();
+        isolated = null;
+
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        isolated = new IsolatedObserver(observer("audit", t -> received.add(t.getDescription())), policy,
+                () -> metrics);
+        await(() -> received.size() == 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals("T" + i, received.get(i));
+        }
+    }
+
+    @Test
+    public void testCloseDeliversQueuedTransactionsWithoutSpill() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        isolated = new IsolatedObserver(observer("audit", t -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(t.getDescription());
+        }), new IsolationPolicy().setTimeBudgetMillis(60_000), () -> metrics);
+
+        for (int i = 0; i < 5; i++) {
+            isolated.onTransaction(withDescription(i));
+        }
+        release.countDown();
+        isolated.close();
+        assertEquals(5, received.size());
+        assertEquals(0, isolated.getRejectedCount());
+    }
+
+    private Transaction withDescription(int i) {
+        return new Transaction("TX-" + i, Transaction.TransactionType.DEPOSIT, 10.0,
+                transaction.getFromAccount(), "T" + i);
+    }
+
+    @Test
+    public void testSpillFileName() {
+        assertEquals("observer-Audit_Logger.spill", IsolatedObserver.spillFileName("Audit Logger"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDelegateRequired() {
+        new IsolatedObserver(null, new IsolationPolicy(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolicy() {
+        new IsolationPolicy().setTimeBudgetMillis(0);
+    }
+}
@@ -0,0 +1,142 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du registre d'observers à copie sur écriture.
+ */
+public class ObserverRegistryTest {
+
+    private ObserverRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new ObserverRegistry();
+    }
+
+    private static TransactionObserver observer(String name) {
+        return new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    @Test
+    public void testEmptyRegistry() {
+        assertEquals(0, registry.size());
+        for (TransactionType type : TransactionType.values()) {
+            assertEquals(0, registry.observersFor(type).length);
+        }
+    }
+
+    @Test
+    public void testSubscribeAllTypesKeepsOrder() {
+        TransactionObserver first = observer("first");
+        TransactionObserver second = observer("second");
+        assertTrue(registry.subscribe(first));
+        assertTrue(registry.subscribe(second));
+        assertFalse(registry.subscribe(first));
+
+        assertEquals(2, registry.size());
+        assertArrayEquals(new TransactionObserver[]{first, second}, registry.observersFor(TransactionType.DEPOSIT));
+        assertEquals(EnumSet.allOf(TransactionType.class), registry.getTypes(first));
+    }
+
+    @Test
+    public void testTypeFilter() {
+        TransactionObserver audit = observer("audit");
+        registry.subscribe(audit, EnumSet.of(TransactionType.WITHDRAWAL, TransactionType.TRANSFER));
+
+        assertEquals(0, registry.observersFor(TransactionType.DEPOSIT).length);
+        assertSame(audit, registry.observersFor(TransactionType.TRANSFER)[0]);
+
+        // Un nouvel abonnement remplace les types reçus
+        registry.subscribe(audit, EnumSet.of(TransactionType.DEPOSIT));
+        assertEquals(1, registry.observersFor(TransactionType.DEPOSIT).length);
+        assertEquals(0, registry.observersFor(TransactionType.TRANSFER).length);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        TransactionObserver audit = observer("audit");
+        registry.subscribe(audit);
+        assertTrue(registry.unsubscribe(audit));
+        assertFalse(registry.unsubscribe(audit));
+        assertFalse(registry.contains(audit));
+        assertTrue(registry.getTypes(audit).isEmpty());
+        assertEquals(0, registry.observersFor(TransactionType.DEPOSIT).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullObserverRejected() {
+        registry.subscribe(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyTypesRejected() {
+        registry.subscribe(observer("audit"), EnumSet.noneOf(TransactionType.class));
+    }
+
+    @Test
+    public void testSnapshotUnaffectedByLaterChanges() {
+        TransactionObserver first = observer("first");
+        registry.subscribe(first);
+        TransactionObserver[] snapshot = registry.observersFor(TransactionType.DEPOSIT);
+
+        registry.subscribe(observer("second"));
+        registry.unsubscribe(first);
+
+        assertArrayEquals(new TransactionObserver[]{first}, snapshot);
+        assertEquals(1, registry.observersFor(TransactionType.DEPOSIT).length);
+    }
+
+    @Test
+    public void testConcurrentRegistrationDuringIteration() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread reader = new Thread(() -> {
+            started.countDown();
+            try {
+                while (running.get()) {
+                    for (TransactionObserver o : registry.observersFor(TransactionType.TRANSFER)) {
+                        assertNotNull(o);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        started.await();
+        for (int i = 0; i < 500; i++) {
+            TransactionObserver o = observer("o" + i);
+            registry.subscribe(o);
+            if (i % 2 == 0) {
+                registry.unsubscribe(o);
+            }
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(250, registry.size());
+    }
+}
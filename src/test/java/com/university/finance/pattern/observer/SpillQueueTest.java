@@ -0,0 +1,152 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
+import com.university.finance.model.User;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la file de débordement sur disque.
+ */
+public class SpillQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private Account from;
+    private Account to;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("spill").resolve("observer-audit.spill");
+        User owner = new User("USR-001", "user1", "secret", "user1@example.com");
+        from = new Account("ACC-001", owner, 900.0);
+        to = new Account("ACC-002", new User("USR-002", "user2", "secret", "user2@example.com"), 600.0);
+    }
+
+    private Transaction transfer(int i) {
+        return new Transaction("TX-" + i, TransactionType.TRANSFER, 100.0 + i, from, to, "Transfert " + i);
+    }
+
+    @Test
+    public void testRoundTripKeepsOrderAndContent() throws IOException {
+        Transaction original = transfer(0);
+        try (SpillQueue queue = new SpillQueue(file)) {
+            assertTrue(queue.isEmpty());
+            for (int i = 0; i < 3; i++) {
+                queue.append(transfer(i));
+            }
+            assertEquals(3, queue.size());
+
+            Transaction first = queue.poll();
+            assertEquals("TX-0", first.getId());
+            assertEquals(TransactionType.TRANSFER, first.getType());
+            assertEquals(100.0, first.getAmount(), 0.001);
+            assertEquals(original.getTimestamp().toLocalDate(), first.getTimestamp().toLocalDate());
+            assertEquals("ACC-001", first.getFromAccount().getId());
+            assertEquals(900.0, first.getFromAccount().getBalance(), 0.001);
+            assertEquals("user1", first.getFromAccount().getOwner().getUsername());
+            assertNull(first.getFromAccount().getOwner().getPassword());
+            assertEquals("ACC-002", first.getToAccount().getId());
+            assertEquals("Transfert 0", first.getDescription());
+
+            assertEquals("TX-1", queue.poll().getId());
+            assertEquals("TX-2", queue.poll().getId());
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    public void testFileTruncatedWhenDrained() throws IOException {
+        try (SpillQueue queue = new SpillQueue(file)) {
+            queue.append(transfer(0));
+            assertTrue(Files.size(file) > 0);
+            queue.poll();
+            assertEquals(0, Files.size(file));
+
+            queue.append(transfer(1));
+            assertEquals("TX-1", queue.poll().getId());
+        }
+    }
+
+    @Test
+    public void testPendingRecordsSurviveReopen() throws IOException {
+        try (SpillQueue queue = new SpillQueue(file)) {
+            queue.append(transfer(0));
+            queue.append(transfer(1));
+        }
+        // Enregistrement incomplet en fin de fichier (arrêt pendant une écriture)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 50, 1, 2}));
+        }
+
+        try (SpillQueue queue = new SpillQueue(file)) {
+            assertEquals(2, queue.size());
+            queue.append(transfer(2));
+            assertEquals("TX-0", queue.poll().getId());
+            assertEquals("TX-1", queue.poll().getId());
+            assertEquals("TX-2", queue.poll().getId());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testFileIsCompactedWhileNeverEmpty() throws IOException {
+        try (SpillQueue queue = new SpillQueue(file, 1024)) {
+            int next = 0;
+            for (; next < 10; next++) {
+                queue.append(transfer(next));
+            }
+            long initialSize = Files.size(file);
+            // La file ne se vide jamais: sans compactage, le fichier grossirait sans fin
+            for (int i = 0; i < 500; i++) {
+                assertEquals("TX-" + i, queue.poll().getId());
+                queue.append(transfer(next++));
+            }
+            assertEquals(10, queue.size());
+            assertTrue(Files.size(file) < 3 * initialSize);
+            assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+        }
+        // Réouverture: le fichier compacté est relu (avec au plus la partie consommée depuis)
+        try (SpillQueue queue = new SpillQueue(file)) {
+            assertTrue(queue.size() >= 10 && queue.size() < 100);
+            String last = null;
+            while (!queue.isEmpty()) {
+                last = queue.poll().getId();
+            }
+            assertEquals("TX-509", last);
+        }
+    }
+
+    @Test
+    public void testPrependKeepsOrder() throws IOException {
+        try (SpillQueue queue = new SpillQueue(file)) {
+            queue.append(transfer(2));
+            queue.append(transfer(3));
+            assertEquals("TX-2", queue.poll().getId());
+            queue.prepend(Arrays.asList(transfer(0), transfer(1)));
+            queue.append(transfer(4));
+
+            assertEquals(4, queue.size());
+            for (int i : new int[]{0, 1, 3, 4}) {
+                assertEquals("TX-" + i, queue.poll().getId());
+            }
+            assertTrue(queue.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.university.finance.replication;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la réplication primaire / réplicas sur localhost.
+ */
+public class ReplicationTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @After
+    public void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+    }
+
+    private ReplicationPrimary primary(BankingService service, ReplicationMode mode, int quorum,
+                                       long ackTimeoutMillis) throws IOException {
+        ReplicationPrimary primary = new ReplicationPrimary(service,
+                new InetSocketAddress("127.0.0.1", 0), mode, quorum, ackTimeoutMillis);
+        resources.add(primary);
+        return primary;
+    }
+
+    private ReplicationFollower follower(ReplicationPrimary primary, BankingService standby)
+            throws IOException, InterruptedException {
+        int expected = primary.getFollowerCount() + 1;
+        ReplicationFollower follower = new ReplicationFollower(standby,
+                new InetSocketAddress("127.0.0.1", primary.getPort()));
+        resources.add(follower);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (primary.getFollowerCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return follower;
+    }
+
+    @Test
+    public void testAsyncReplicationReproducesState() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+
+        Account alice = primary.createUserWithAccount("alice", "password123", "alice@test.com", 1000.0);
+        Account bob = primary.createUserWithAccount("bob", "password123", "bob@test.com", 100.0);
+        service.deposit(alice.getId(), 200.0);
+        service.withdraw(alice.getId(), 50.0);
+        service.transfer(alice.getId(), bob.getId(), 300.0);
+
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(850.0, standby.getBalance(alice.getId()), 0.001);
+        assertEquals(400.0, standby.getBalance(bob.getId()), 0.001);
+        assertEquals(3, standby.getTransactionHistory(alice.getId()).size());
+        assertEquals(1, standby.getTransactionHistory(bob.getId()).size());
+        assertEquals(alice.getOwner().getId(), standby.findUserByUsername("alice").getId());
+        assertEquals(2, standby.getUserCount());
+        assertEquals(2, standby.getAccountCount());
+    }
+
+    @Test
+    public void testQuorumCommitWaitsForFollower() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.QUORUM, 1, TIMEOUT_MILLIS);
+        ReplicationFollower follower = follower(primary, new BankingService(null, null));
+
+        Account account = primary.createUserWithAccount("carol", "password123", "carol@test.com", 0.0);
+        for (int i = 0; i < 20; i++) {
+            service.deposit(account.getId(), 10.0);
+            // Chaque dépôt validé est déjà appliqué sur le réplica
+            assertEquals(primary.getLastSequence(), follower.getLastAppliedSequence());
+        }
+        assertEquals(0, primary.getAckTimeoutCount());
+        assertEquals(0, primary.getReplicationLag());
+        assertTrue(primary.getAverageReplicationNanos() > 0);
+        assertTrue(primary.getMaxReplicationNanos() >= primary.getAverageReplicationNanos());
+    }
+
+    @Test
+    public void testQuorumWithoutFollowerTimesOut() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.QUORUM, 1, 20);
+
+        User user = primary.createUser("dave", "password123", "dave@test.com");
+        assertNotNull(user);
+        assertEquals(1, primary.getAckTimeoutCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuorumMustBePositive() throws Exception {
+        primary(new BankingService(null, null), ReplicationMode.QUORUM, 0, 10);
+    }
+
+    @Test
+    public void testLateFollowerCatchesUp() throws Exception {
+        BankingService service = new BankingService(null, null);
+        Account existing = service.createUserWithAccount("erin", "password123", "erin@test.com", 500.0);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        service.deposit(existing.getId(), 25.0);
+
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(525.0, standby.getBalance(existing.getId()), 0.001);
+    }
+
+    @Test
+    public void testPromoteStandby() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        ReplicationFollower follower = follower(primary, new BankingService(null, null));
+
+        Account account = primary.createUserWithAccount("frank", "password123", "frank@test.com", 100.0);
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        primary.close();
+
+        BankingService promoted = follower.promote();
+        assertFalse(follower.isConnected());
+        assertNotNull(promoted.deposit(account.getId(), 50.0));
+        assertEquals(150.0, promoted.getBalance(account.getId()), 0.001);
+    }
+
+    @Test
+    public void testPromotedStandbyKeepsCommitTimestamps() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        ReplicationFollower follower = follower(primary, new BankingService(null, null));
+
+        Account account = service.createUserWithAccount("ines", "password123", "ines@test.com", 100.0);
+        service.deposit(account.getId(), 10.0);
+        service.withdraw(account.getId(), 5.0);
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        // L'application sur le réplica est postérieure: seule la copie de l'horodatage les égalise
+        Thread.sleep(20);
+        primary.close();
+
+        BankingService promoted = follower.promote();
+        List<Transaction> expected = service.getTransactionHistory(account.getId());
+        List<Transaction> actual = promoted.getTransactionHistory(account.getId());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+        }
+    }
+
+    @Test
+    public void testSilentPeerDoesNotBlockFollowers() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        // Connexion qui n'envoie jamais sa séquence
+        Socket silent = new Socket("127.0.0.1", primary.getPort());
+        resources.add(silent);
+
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+        assertEquals(1, primary.getFollowerCount());
+        Account account = service.createUserWithAccount("jade", "password123", "jade@test.com", 40.0);
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(40.0, standby.getBalance(account.getId()), 0.001);
+    }
+
+    @Test
+    public void testBogusAckDisconnectsFollower() throws Exception {
+        BankingService service = new BankingService(null, null);
+        service.createUserWithAccount("karl", "password123", "karl@test.com", 10.0);
+        ReplicationPrimary primary = primary(service, ReplicationMode.QUORUM, 1, 200);
+        Socket peer = new Socket("127.0.0.1", primary.getPort());
+        resources.add(peer);
+        DataOutputStream out = new DataOutputStream(peer.getOutputStream());
+        out.writeLong(0);
+        out.flush();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (primary.getFollowerCount() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, primary.getFollowerCount());
+
+        // Acquittement au-delà du journal: la connexion est coupée au lieu de tuer le thread
+        out.writeLong(primary.getLastSequence() + 1000);
+        out.flush();
+        while (primary.getFollowerCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, primary.getFollowerCount());
+
+        // Le primaire ferme la socket: le flux se termine après le journal déjà envoyé
+        peer.setSoTimeout((int) TIMEOUT_MILLIS);
+        byte[] buffer = new byte[1 << 16];
+        while (peer.getInputStream().read(buffer) >= 0) {
+            // enregistrements envoyés avant la déconnexion
+        }
+    }
+
+    @Test
+    public void testLogIsBoundedAndFollowersKeepUp() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = new ReplicationPrimary(service, new InetSocketAddress("127.0.0.1", 0),
+                ReplicationMode.QUORUM, 1, TIMEOUT_MILLIS, 8);
+        resources.add(primary);
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+
+        Account alice = primary.createUserWithAccount("alice", "password123", "alice@test.com", 0.0);
+        for (int i = 0; i < 100; i++) {
+            service.deposit(alice.getId(), 1.0);
+        }
+
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(102, primary.getLastSequence());
+        assertTrue(primary.getFirstRetainedSequence() > 90);
+        assertEquals(100.0, standby.getBalance(alice.getId()), 0.001);
+        assertEquals(0, primary.getAckTimeoutCount());
+    }
+
+    @Test
+    public void testCatchUpOutsideRetainedLogIsRejected() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = new ReplicationPrimary(service, new InetSocketAddress("127.0.0.1", 0),
+                ReplicationMode.ASYNC, 0, 0, 8);
+        resources.add(primary);
+        Account alice = primary.createUserWithAccount("alice", "password123", "alice@test.com", 0.0);
+        for (int i = 0; i < 20; i++) {
+            service.deposit(alice.getId(), 1.0);
+        }
+        assertTrue(primary.getFirstRetainedSequence() > 1);
+
+        // Un réplica vide devrait rejouer des entrées supprimées: il est refusé
+        ReplicationFollower follower = new ReplicationFollower(new BankingService(null, null),
+                new InetSocketAddress("127.0.0.1", primary.getPort()));
+        resources.add(follower);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (follower.isConnected() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(follower.isConnected());
+        assertEquals(0, follower.getLastAppliedSequence());
+        assertEquals(0, primary.getFollowerCount());
+    }
+
+    @Test
+    public void testDirectServiceCreationsAreReplicated() throws Exception {
+        BankingService service = new BankingService(null, null);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+
+        // Créations faites sur le service (HTTP, traitement par lots), pas sur le primaire
+        Account account = service.createUserWithAccount("gina", "password123", "gina@test.com", 75.0);
+        Account premium = service.createPremiumAccount(account.getOwner(), 2000.0);
+        service.transfer(premium.getId(), account.getId(), 25.0);
+
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(100.0, standby.getBalance(account.getId()), 0.001);
+        assertEquals(1975.0, standby.getBalance(premium.getId()), 0.001);
+        User replicated = standby.findUserByUsername("gina");
+        assertNull(replicated.getPassword());
+        assertNull(standby.authenticate("gina", "password123"));
+    }
+
+    @Test
+    public void testConcurrentOperationsReplicateInCommitOrder() throws Exception {
+        BankingService service = new BankingService(null, null);
+        Account account = service.createUserWithAccount("hugo", "password123", "hugo@test.com", 0.0);
+        ReplicationPrimary primary = primary(service, ReplicationMode.ASYNC, 0, 0);
+        BankingService standby = new BankingService(null, null);
+        ReplicationFollower follower = follower(primary, standby);
+
+        // Chaque retrait n'est possible qu'après un dépôt: un journal désordonné le refuserait
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    service.deposit(account.getId(), 10.0);
+                    service.withdraw(account.getId(), 10.0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(follower.awaitSequence(primary.getLastSequence(), TIMEOUT_MILLIS));
+        assertEquals(0.0, standby.getBalance(account.getId()), 0.001);
+        assertEquals(ids(service.getTransactionHistory(account.getId())),
+                ids(standby.getTransactionHistory(account.getId())));
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+    }
+}
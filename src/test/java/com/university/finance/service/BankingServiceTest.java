@@ -4,6 +4,7 @@ import com.university.finance.config.ConfigurationManager;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
+import com.university.finance.pattern.observer.IsolationPolicy;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -163,6 +164,86 @@ public class BankingServiceTest {
         service.transfer("NONEXISTENT", account.getId(), 100.0);
     }
 
+    @Test
+    public void testPremiumTransferLimit() {
+        ConfigurationManager.getInstance().setProperty("tier.premium.max.transfer", "50000");
+        User user = service.createUser("premium", "password123", "premium@example.com");
+        Account premium = service.createPremiumAccount(user, 100000.0);
+        Account standard = service.createUserWithAccount("user2", "password456",
+                "user2@example.com", 100000.0);
+
+        assertNotNull(service.transfer(premium.getId(), standard.getId(), 30000.0));
+        try {
+            service.transfer(standard.getId(), premium.getId(), 30000.0);
+            fail("La limite standard aurait dû s'appliquer");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("10000"));
+        }
+
+        // La nouvelle limite s'applique dès sa publication
+        ConfigurationManager.getInstance().setProperty("tier.premium.max.transfer", "20000");
+        try {
+            service.transfer(premium.getId(), standard.getId(), 30000.0);
+            fail("La nouvelle limite premium aurait dû s'appliquer");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("20000"));
+        }
+    }
+
+    @Test
+    public void testMinimumBalanceIsEnforced() {
+        ConfigurationManager.getInstance().setProperty("tier.premium.min.balance", "500");
+        User user = service.createUser("premium", "password123", "premium@example.com");
+        Account premium = service.createPremiumAccount(user, 1000.0);
+        Account standard = service.createUserWithAccount("user2", "password456",
+                "user2@example.com", 1000.0);
+
+        assertNull(service.withdraw(premium.getId(), 600.0));
+        assertNull(service.transfer(premium.getId(), standard.getId(), 600.0));
+        assertNotNull(service.withdraw(premium.getId(), 300.0));
+        assertNotNull(service.transfer(premium.getId(), standard.getId(), 200.0));
+        assertEquals(500.0, premium.getBalance(), 0.001);
+        // Le minimum global (0) reste celui des comptes standard
+        assertNotNull(service.withdraw(standard.getId(), 1200.0));
+
+        // Un minimum par compte s'applique dès sa publication
+        ConfigurationManager.getInstance().setProperty("account." + premium.getId() + ".min.balance", "100");
+        assertNotNull(service.withdraw(premium.getId(), 400.0));
+        assertEquals(100.0, premium.getBalance(), 0.001);
+    }
+
+    @Test
+    public void testIsolatedObserversKeepToggles() {
+        service.isolateObservers(new IsolationPolicy());
+        assertTrue(service.isAuditEnabled());
+        assertEquals(2, service.getTransactionService().getObserverCount());
+
+        service.setAuditEnabled(false);
+        assertFalse(service.isAuditEnabled());
+        service.setAuditEnabled(true);
+        assertTrue(service.isAuditEnabled());
+        assertEquals(2, service.getTransactionService().getObserverCount());
+
+        Account account = service.createUserWithAccount("user1", "password123", "user1@example.com", 1000.0);
+        assertNotNull(service.deposit(account.getId(), 100.0));
+        service.setAuditEnabled(false);
+        service.setNotificationsEnabled(false);
+    }
+
+    @Test
+    public void testAuditCanStayDirectWhileNotificationsAreIsolated() {
+        service.isolateObservers(null, new IsolationPolicy());
+        assertEquals(1, service.getTransactionService().getIsolatedObservers().size());
+        assertEquals("NotificationService",
+                service.getTransactionService().getIsolatedObservers().iterator().next().getName());
+
+        // Réactiver l'audit ne l'isole pas
+        service.setAuditEnabled(false);
+        service.setAuditEnabled(true);
+        assertEquals(1, service.getTransactionService().getIsolatedObservers().size());
+        service.setNotificationsEnabled(false);
+    }
+
     @Test
     public void testGetTransactionHistory() {
         User user = service.createUser("testuser", "password123", "test@example.com");
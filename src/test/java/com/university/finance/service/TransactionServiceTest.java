@@ -1,8 +1,12 @@
 package com.university.finance.service;
 
+import com.university.finance.metrics.MetricsRegistry;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.Transaction.TransactionType;
 import com.university.finance.model.User;
+import com.university.finance.pattern.observer.IsolatedObserver;
+import com.university.finance.pattern.observer.IsolationPolicy;
 import com.university.finance.pattern.observer.TransactionObserver;
 import org.junit.Before;
 import org.junit.Test;
@@ -153,6 +157,63 @@ public class TransactionServiceTest {
         assertEquals(0, observer.getNotificationCount());
     }
 
+    @Test
+    public void testTypeFilteredObserver() {
+        TestObserver transfers = new TestObserver();
+        TestObserver all = new TestObserver();
+        service.addObserver(transfers, TransactionType.TRANSFER);
+        service.addObserver(all);
+
+        service.deposit(account1, 100.0);
+        service.withdraw(account1, 50.0);
+        service.transfer(account1, account2, 10.0);
+
+        assertEquals(1, transfers.getNotificationCount());
+        assertEquals(TransactionType.TRANSFER, transfers.notifications.get(0).getType());
+        assertEquals(3, all.getNotificationCount());
+        assertEquals(2, service.getObserverCount());
+    }
+
+    @Test
+    public void testIsolatedObserver() throws InterruptedException {
+        TestObserver observer = new TestObserver();
+        service.addObserver(observer);
+        IsolatedObserver isolated = service.addIsolatedObserver(observer, new IsolationPolicy());
+
+        assertSame(isolated, service.addIsolatedObserver(observer, new IsolationPolicy()));
+        assertTrue(service.hasObserver(observer));
+        assertEquals(1, service.getObserverCount());
+
+        service.deposit(account1, 100.0);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (service.getMetrics().getDelivery("TestObserver") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, observer.getNotificationCount());
+
+        service.removeObserver(observer);
+        assertFalse(service.hasObserver(observer));
+        assertEquals(0, service.getObserverCount());
+    }
+
+    @Test
+    public void testIsolationKeepsTypeFilter() throws InterruptedException {
+        TestObserver observer = new TestObserver();
+        service.addObserver(observer, TransactionType.TRANSFER);
+        IsolatedObserver isolated = service.addIsolatedObserver(observer, new IsolationPolicy());
+
+        service.deposit(account1, 100.0);
+        service.transfer(account1, account2, 10.0);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (service.getMetrics().getDelivery("TestObserver") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, observer.getNotificationCount());
+        assertEquals(TransactionType.TRANSFER, observer.notifications.get(0).getType());
+        assertTrue(service.getIsolatedObservers().contains(isolated));
+        service.removeObserver(observer);
+    }
+
     @Test
     public void testGetStrategies() {
         assertNotNull(service.getDepositStrategy());
@@ -160,6 +221,29 @@ public class TransactionServiceTest {
         assertNotNull(service.getTransferStrategy());
     }
 
+    @Test
+    public void testMetricsAreRecorded() {
+        service.addObserver(new TestObserver());
+        service.deposit(account1, 100.0);
+        service.withdraw(account1, 5000.0);
+        service.transfer(account1, account2, 50.0);
+
+        MetricsRegistry metrics = service.getMetrics();
+        assertEquals(1, metrics.getOperation(TransactionType.DEPOSIT).getCount());
+        assertEquals(100.0, metrics.getOperation(TransactionType.DEPOSIT).getAmount(), 0.001);
+        assertEquals(1, metrics.getOperation(TransactionType.WITHDRAWAL).getFailures());
+        assertEquals(0.0, metrics.getOperation(TransactionType.WITHDRAWAL).getAmount(), 0.001);
+        assertEquals(1, metrics.getOperation(TransactionType.TRANSFER).getLatencies().getCount());
+        assertEquals(2, metrics.getDelivery("TestObserver").getCount());
+    }
+
+    @Test
+    public void testMetricsCanBeDisabled() {
+        service.setMetrics(null);
+        assertNotNull(service.deposit(account1, 100.0));
+        assertNull(service.getMetrics());
+    }
+
     /**
      * Observer de test pour vérifier les notifications.
      */
@@ -0,0 +1,197 @@
+package com.university.finance.service.sequencer;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.TransactionService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour le mode séquenceur du service de transactions.
+ */
+public class SequencedTransactionServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TransactionService transactionService;
+    private SequencedTransactionService sequencer;
+    private Account account1;
+    private Account account2;
+
+    @Before
+    public void setUp() {
+        transactionService = new TransactionService();
+        User owner = new User("USR-001", "testuser", "password", "test@example.com");
+        account1 = new Account("ACC-001", owner, 1000.0);
+        account2 = new Account("ACC-002", owner, 500.0);
+    }
+
+    @After
+    public void tearDown() {
+        if (sequencer != null) {
+            sequencer.close();
+        }
+    }
+
+    @Test
+    public void testDepositWithdrawTransfer() {
+        sequencer = new SequencedTransactionService(transactionService, 8);
+        sequencer.start();
+
+        assertNotNull(sequencer.deposit(account1, 100.0));
+        assertNotNull(sequencer.withdraw(account1, 50.0));
+        Transaction transfer = sequencer.transfer(account1, account2, 250.0);
+
+        assertNotNull(transfer);
+        assertEquals(Transaction.TransactionType.TRANSFER, transfer.getType());
+        assertEquals(800.0, account1.getBalance(), 0.001);
+        assertEquals(750.0, account2.getBalance(), 0.001);
+    }
+
+    @Test
+    public void testFailedOperationReturnsNull() {
+        sequencer = new SequencedTransactionService(transactionService, 8);
+        sequencer.start();
+
+        assertNull(sequencer.withdraw(account1, 5000.0));
+        assertNull(sequencer.deposit(account1, -10.0));
+        assertEquals(1000.0, account1.getBalance(), 0.001);
+    }
+
+    @Test
+    public void testObserversNotifiedByFanOutStage() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        transactionService.addObserver(new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                latch.countDown();
+            }
+
+            @Override
+            public String getName() {
+                return "LatchObserver";
+            }
+        });
+        sequencer = new SequencedTransactionService(transactionService, 8);
+        sequencer.start();
+
+        sequencer.deposit(account1, 10.0);
+        sequencer.deposit(account1, 10.0);
+        sequencer.withdraw(account1, 5000.0); // échec: pas de notification
+        sequencer.deposit(account1, 10.0);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRingWrapsWithManyConcurrentProducers() throws Exception {
+        sequencer = new SequencedTransactionService(transactionService, 4);
+        sequencer.start();
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    sequencer.submitDeposit(account1, 1.0);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        sequencer.close();
+
+        assertEquals(3000.0, account1.getBalance(), 0.001);
+        assertEquals(0, sequencer.getBacklog());
+    }
+
+    @Test
+    public void testSubmitRacingCloseAlwaysCompletes() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            SequencedTransactionService racing = new SequencedTransactionService(transactionService, 4);
+            racing.start();
+            List<CompletableFuture<Transaction>> futures = new CopyOnWriteArrayList<>();
+            CountDownLatch started = new CountDownLatch(4);
+            Thread[] producers = new Thread[4];
+            for (int t = 0; t < producers.length; t++) {
+                producers[t] = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            futures.add(racing.submitDeposit(account1, 1.0));
+                        }
+                    } catch (IllegalStateException e) {
+                        // Séquenceur fermé: plus aucune soumission acceptée
+                    }
+                });
+                producers[t].start();
+            }
+            started.await();
+            racing.close();
+            for (Thread producer : producers) {
+                producer.join(5000);
+                assertFalse(producer.isAlive());
+            }
+
+            // Toute commande acceptée a été exécutée avant l'arrêt des étages
+            for (CompletableFuture<Transaction> future : futures) {
+                assertNotNull(future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(0, racing.getBacklog());
+        }
+    }
+
+    @Test
+    public void testJournalReplayRebuildsBalances() throws Exception {
+        Path journal = folder.getRoot().toPath().resolve("sequencer.journal");
+        sequencer = new SequencedTransactionService(transactionService, 16, journal);
+        sequencer.start();
+
+        sequencer.submitDeposit(account1, 100.0);
+        sequencer.submitTransfer(account1, account2, 300.0);
+        sequencer.submitWithdraw(account2, 5000.0);
+        CompletableFuture<Transaction> last = sequencer.submitWithdraw(account2, 50.0);
+        last.join();
+        sequencer.close();
+
+        User owner = new User("USR-001", "testuser", "password", "test@example.com");
+        Map<String, Account> rebuilt = new HashMap<>();
+        rebuilt.put("ACC-001", new Account("ACC-001", owner, 1000.0));
+        rebuilt.put("ACC-002", new Account("ACC-002", owner, 500.0));
+
+        int replayed = CommandJournal.replay(journal, new TransactionService(), rebuilt::get);
+
+        assertEquals(4, replayed);
+        assertEquals(account1.getBalance(), rebuilt.get("ACC-001").getBalance(), 0.001);
+        assertEquals(account2.getBalance(), rebuilt.get("ACC-002").getBalance(), 0.001);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSubmitBeforeStart() {
+        sequencer = new SequencedTransactionService(transactionService, 8);
+        sequencer.submitDeposit(account1, 10.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRingSizeMustBePowerOfTwo() {
+        new SequencedTransactionService(transactionService, 10);
+    }
+}
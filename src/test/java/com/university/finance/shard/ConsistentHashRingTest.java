@@ -0,0 +1,74 @@
+package com.university.finance.shard;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour l'anneau de hachage cohérent.
+ */
+public class ConsistentHashRingTest {
+
+    private ConsistentHashRing<String> ring;
+
+    @Before
+    public void setUp() {
+        ring = new ConsistentHashRing<>();
+        ring.addNode("shard-0", "A");
+        ring.addNode("shard-1", "B");
+        ring.addNode("shard-2", "C");
+    }
+
+    @Test
+    public void testSameKeyAlwaysSameNode() {
+        String node = ring.nodeFor("ACC-12345678");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(node, ring.nodeFor("ACC-12345678"));
+        }
+    }
+
+    @Test
+    public void testKeysSpreadAcrossNodes() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(ring.nodeFor("ACC-" + i), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        for (int count : counts.values()) {
+            assertTrue("Répartition déséquilibrée: " + counts, count > 600);
+        }
+    }
+
+    @Test
+    public void testRemovingNodeOnlyMovesItsKeys() {
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            before.put("ACC-" + i, ring.nodeFor("ACC-" + i));
+        }
+
+        ring.removeNode("shard-2");
+
+        assertEquals(2, ring.size());
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            if (!entry.getValue().equals("C")) {
+                assertEquals(entry.getValue(), ring.nodeFor(entry.getKey()));
+            } else {
+                assertNotEquals("C", ring.nodeFor(entry.getKey()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEmptyRing() {
+        new ConsistentHashRing<String>().nodeFor("key");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVirtualNodes() {
+        new ConsistentHashRing<String>(0);
+    }
+}
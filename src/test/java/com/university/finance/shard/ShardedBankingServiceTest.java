@@ -0,0 +1,402 @@
+package com.university.finance.shard;
+
+import com.university.finance.config.ConfigurationManager;
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour le service bancaire partitionné.
+ */
+public class ShardedBankingServiceTest {
+
+    private List<LocalBankingShard> shards;
+    private ShardedBankingService service;
+    private User user;
+
+    @Before
+    public void setUp() {
+        ConfigurationManager.resetInstance();
+        shards = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            shards.add(new LocalBankingShard("shard-" + i, new BankingService(null, null)));
+        }
+        service = new ShardedBankingService(shards);
+        user = service.createUser("testuser", "password123", "test@example.com");
+    }
+
+    @Test
+    public void testAccountsSpreadAcrossShards() {
+        for (int i = 0; i < 40; i++) {
+            service.createAccount(user, 100.0);
+        }
+
+        assertEquals(40, service.getAccountCount());
+        int usedShards = 0;
+        for (LocalBankingShard shard : shards) {
+            if (shard.getAccountCount() > 0) {
+                usedShards++;
+            }
+        }
+        assertTrue(usedShards > 1);
+        assertEquals(40, service.findAccountsByUser(user).size());
+    }
+
+    @Test
+    public void testAccountLivesOnRoutedShard() {
+        Account account = service.createAccount(user, 100.0);
+
+        BankingShard shard = service.shardForAccount(account.getId());
+        assertSame(account, shard.findAccountById(account.getId()));
+        assertSame(account, service.findAccountById(account.getId()));
+    }
+
+    @Test
+    public void testUsersRoutedByUsername() {
+        assertEquals(1, service.getUserCount());
+        assertEquals(user, service.findUserByUsername("testuser"));
+        assertEquals(user, service.findUserById(user.getId()));
+        assertEquals(user, service.authenticate("testuser", "password123"));
+        assertNull(service.authenticate("testuser", "wrong"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateUsernameRejected() {
+        service.createUser("testuser", "password456", "other@example.com");
+    }
+
+    @Test
+    public void testDepositWithdrawRoutedToOneShard() {
+        Account account = service.createAccount(user, 100.0);
+
+        assertNotNull(service.deposit(account.getId(), 50.0));
+        assertNotNull(service.withdraw(account.getId(), 30.0));
+
+        assertEquals(120.0, service.getBalance(account.getId()), 0.001);
+        assertEquals(2, service.getTransactionHistory(account.getId()).size());
+    }
+
+    @Test
+    public void testCrossShardTransferCommitsOnBothShards() {
+        Account[] pair = crossShardPair();
+
+        Transaction tx = service.transfer(pair[0].getId(), pair[1].getId(), 40.0);
+
+        assertNotNull(tx);
+        assertEquals(60.0, pair[0].getBalance(), 0.001);
+        assertEquals(140.0, pair[1].getBalance(), 0.001);
+        assertEquals(tx, service.getTransactionHistory(pair[0].getId()).get(0));
+        assertEquals(tx, service.getTransactionHistory(pair[1].getId()).get(0));
+        for (LocalBankingShard shard : shards) {
+            assertEquals(0, shard.getPreparedCount());
+        }
+    }
+
+    @Test
+    public void testCrossShardTransferInsufficientFunds() {
+        Account[] pair = crossShardPair();
+
+        assertNull(service.transfer(pair[0].getId(), pair[1].getId(), 500.0));
+
+        assertEquals(100.0, pair[0].getBalance(), 0.001);
+        assertEquals(100.0, pair[1].getBalance(), 0.001);
+    }
+
+    @Test
+    public void testMinimumBalanceAppliesOnEveryPath() {
+        ConfigurationManager.getInstance().setProperty("min.balance", "30");
+        Account[] pair = crossShardPair();
+
+        assertNull(service.transfer(pair[0].getId(), pair[1].getId(), 80.0));
+        assertNull(service.withdraw(pair[1].getId(), 80.0));
+        assertEquals(100.0, pair[0].getBalance(), 0.001);
+        for (LocalBankingShard shard : shards) {
+            assertEquals(0, shard.getPreparedCount());
+        }
+
+        assertNotNull(service.transfer(pair[0].getId(), pair[1].getId(), 70.0));
+        assertEquals(30.0, pair[0].getBalance(), 0.001);
+        assertNotNull(service.withdraw(pair[1].getId(), 140.0));
+        assertEquals(30.0, pair[1].getBalance(), 0.001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCrossShardTransferExceedsLimit() {
+        Account[] pair = crossShardPair();
+        service.transfer(pair[0].getId(), pair[1].getId(), 20000.0);
+    }
+
+    @Test
+    public void testAbortRefundsPreparedDebit() {
+        Account[] pair = crossShardPair();
+        LocalBankingShard fromShard = (LocalBankingShard) service.shardForAccount(pair[0].getId());
+
+        assertTrue(fromShard.prepareDebit("TX-1", pair[0].getId(), 30.0));
+        assertEquals(70.0, pair[0].getBalance(), 0.001);
+
+        fromShard.abort("TX-1");
+        assertEquals(100.0, pair[0].getBalance(), 0.001);
+        assertEquals(0, fromShard.getPreparedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCommitWithoutPrepare() {
+        shards.get(0).commit("TX-INCONNU", null);
+    }
+
+    @Test
+    public void testSameShardTransfer() {
+        Account from = service.createAccount(user, 100.0);
+        Account to;
+        do {
+            to = service.createAccount(user, 100.0);
+        } while (service.shardForAccount(to.getId()) != service.shardForAccount(from.getId()));
+
+        assertNotNull(service.transfer(from.getId(), to.getId(), 25.0));
+        assertEquals(75.0, from.getBalance(), 0.001);
+        assertEquals(125.0, to.getBalance(), 0.001);
+    }
+
+    @Test
+    public void testCommitIsIdempotent() {
+        Account[] pair = crossShardPair();
+        Transaction tx = service.transfer(pair[0].getId(), pair[1].getId(), 40.0);
+        LocalBankingShard toShard = (LocalBankingShard) service.shardForAccount(pair[1].getId());
+
+        toShard.commit(tx.getId(), tx);
+
+        assertEquals(140.0, pair[1].getBalance(), 0.001);
+        assertEquals(1, service.getTransactionHistory(pair[1].getId()).size());
+    }
+
+    @Test
+    public void testFailedCommitIsRetried() {
+        FlakyShard[] flaky = flakyPair();
+        flaky[1].failingCommits = 2;
+
+        Transaction tx = service.transfer(flaky[0].account.getId(), flaky[1].account.getId(), 40.0);
+
+        assertNotNull(tx);
+        assertEquals(60.0, flaky[0].account.getBalance(), 0.001);
+        assertEquals(140.0, flaky[1].account.getBalance(), 0.001);
+        assertEquals(0, service.getInDoubtCount());
+    }
+
+    @Test
+    public void testUnreachableParticipantLeavesTransferInDoubt() {
+        FlakyShard[] flaky = flakyPair();
+        flaky[1].failingCommits = Integer.MAX_VALUE;
+
+        Transaction tx = service.transfer(flaky[0].account.getId(), flaky[1].account.getId(), 40.0);
+
+        // La décision est prise: la source est débitée, la destination le sera à la reprise
+        assertNotNull(tx);
+        assertEquals(60.0, flaky[0].account.getBalance(), 0.001);
+        assertEquals(100.0, flaky[1].account.getBalance(), 0.001);
+        assertEquals(1, service.getInDoubtCount());
+        assertEquals(1, service.resolveInDoubt());
+
+        flaky[1].failingCommits = 0;
+        assertEquals(0, service.resolveInDoubt());
+        assertEquals(140.0, flaky[1].account.getBalance(), 0.001);
+        assertEquals(0, flaky[0].delegate.getPreparedCount());
+        assertEquals(0, flaky[1].delegate.getPreparedCount());
+    }
+
+    @Test
+    public void testFailedPrepareDebitIsAborted() {
+        FlakyShard[] flaky = flakyPair();
+        flaky[0].failAfterPrepare = true;
+
+        try {
+            service.transfer(flaky[0].account.getId(), flaky[1].account.getId(), 40.0);
+            fail("L'échec de la préparation doit être propagé");
+        } catch (IllegalStateException expected) {
+            // Délai dépassé simulé: le débit a été appliqué avant l'erreur
+        }
+
+        assertEquals(100.0, flaky[0].account.getBalance(), 0.001);
+        assertEquals(0, flaky[0].delegate.getPreparedCount());
+        assertEquals(0, service.getInDoubtCount());
+    }
+
+    @Test
+    public void testFailedPrepareCreditAbortsBothParticipants() {
+        FlakyShard[] flaky = flakyPair();
+        flaky[1].failAfterPrepare = true;
+
+        try {
+            service.transfer(flaky[0].account.getId(), flaky[1].account.getId(), 40.0);
+            fail("L'échec de la préparation doit être propagé");
+        } catch (IllegalStateException expected) {
+            // attendu
+        }
+
+        assertEquals(100.0, flaky[0].account.getBalance(), 0.001);
+        assertEquals(100.0, flaky[1].account.getBalance(), 0.001);
+        assertEquals(0, flaky[0].delegate.getPreparedCount());
+        assertEquals(0, flaky[1].delegate.getPreparedCount());
+    }
+
+    /**
+     * Crée un service à deux partitions dont les participants peuvent échouer,
+     * avec un compte sur chacune.
+     */
+    private FlakyShard[] flakyPair() {
+        FlakyShard first = new FlakyShard(new LocalBankingShard("flaky-0", new BankingService(null, null)));
+        FlakyShard second = new FlakyShard(new LocalBankingShard("flaky-1", new BankingService(null, null)));
+        service = new ShardedBankingService(Arrays.asList(first, second));
+        User owner = service.createUser("flaky", "password123", "flaky@example.com");
+        while (first.account == null || second.account == null) {
+            Account account = service.createAccount(owner, 100.0);
+            FlakyShard shard = (FlakyShard) service.shardForAccount(account.getId());
+            if (shard.account == null) {
+                shard.account = account;
+            }
+        }
+        return new FlakyShard[]{first, second};
+    }
+
+    /**
+     * Partition dont la validation ou la préparation échoue sur demande
+     * (panne réseau simulée).
+     */
+    private static final class FlakyShard implements BankingShard {
+        final LocalBankingShard delegate;
+        Account account;
+        volatile int failingCommits;
+        volatile boolean failAfterPrepare;
+
+        FlakyShard(LocalBankingShard delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getShardId() {
+            return delegate.getShardId();
+        }
+
+        @Override
+        public User createUser(String username, String password, String email) {
+            return delegate.createUser(username, password, email);
+        }
+
+        @Override
+        public User findUserById(String userId) {
+            return delegate.findUserById(userId);
+        }
+
+        @Override
+        public User findUserByUsername(String username) {
+            return delegate.findUserByUsername(username);
+        }
+
+        @Override
+        public User authenticate(String username, String password) {
+            return delegate.authenticate(username, password);
+        }
+
+        @Override
+        public Account createAccount(String accountId, User owner, double initialDeposit) {
+            return delegate.createAccount(accountId, owner, initialDeposit);
+        }
+
+        @Override
+        public Account findAccountById(String accountId) {
+            return delegate.findAccountById(accountId);
+        }
+
+        @Override
+        public List<Account> findAccountsByUser(User user) {
+            return delegate.findAccountsByUser(user);
+        }
+
+        @Override
+        public double getBalance(String accountId) {
+            return delegate.getBalance(accountId);
+        }
+
+        @Override
+        public List<Transaction> getTransactionHistory(String accountId) {
+            return delegate.getTransactionHistory(accountId);
+        }
+
+        @Override
+        public Transaction deposit(String accountId, double amount) {
+            return delegate.deposit(accountId, amount);
+        }
+
+        @Override
+        public Transaction withdraw(String accountId, double amount) {
+            return delegate.withdraw(accountId, amount);
+        }
+
+        @Override
+        public Transaction transfer(String fromAccountId, String toAccountId, double amount) {
+            return delegate.transfer(fromAccountId, toAccountId, amount);
+        }
+
+        @Override
+        public boolean prepareDebit(String txId, String accountId, double amount) {
+            boolean prepared = delegate.prepareDebit(txId, accountId, amount);
+            if (failAfterPrepare) {
+                throw new IllegalStateException("Délai dépassé");
+            }
+            return prepared;
+        }
+
+        @Override
+        public boolean prepareCredit(String txId, String accountId, double amount) {
+            boolean prepared = delegate.prepareCredit(txId, accountId, amount);
+            if (failAfterPrepare) {
+                throw new IllegalStateException("Délai dépassé");
+            }
+            return prepared;
+        }
+
+        @Override
+        public void commit(String txId, Transaction transaction) {
+            if (failingCommits > 0) {
+                failingCommits--;
+                throw new IllegalStateException("Connexion perdue");
+            }
+            delegate.commit(txId, transaction);
+        }
+
+        @Override
+        public void abort(String txId) {
+            delegate.abort(txId);
+        }
+
+        @Override
+        public int getUserCount() {
+            return delegate.getUserCount();
+        }
+
+        @Override
+        public int getAccountCount() {
+            return delegate.getAccountCount();
+        }
+    }
+
+    /**
+     * Crée deux comptes placés sur des partitions différentes.
+     */
+    private Account[] crossShardPair() {
+        Account from = service.createAccount(user, 100.0);
+        Account to;
+        do {
+            to = service.createAccount(user, 100.0);
+        } while (service.shardForAccount(to.getId()) == service.shardForAccount(from.getId()));
+        return new Account[]{from, to};
+    }
+}
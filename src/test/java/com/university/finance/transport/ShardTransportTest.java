@@ -0,0 +1,192 @@
+package com.university.finance.transport;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.service.BankingService;
+import com.university.finance.shard.BankingShard;
+import com.university.finance.shard.LocalBankingShard;
+import com.university.finance.shard.ShardedBankingService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du transport TCP entre routeur et partitions (serveurs sur localhost).
+ */
+public class ShardTransportTest {
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private LocalBankingShard localShard;
+    private RemoteBankingShard remote;
+
+    @Before
+    public void setUp() throws IOException {
+        localShard = new LocalBankingShard("shard-a", new BankingService(null, null));
+        remote = connect(localShard);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+    }
+
+    private RemoteBankingShard connect(BankingShard shard) throws IOException {
+        ShardServer server = new ShardServer(shard, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        resources.add(server);
+        RemoteBankingShard client = new RemoteBankingShard(new InetSocketAddress("127.0.0.1", server.getPort()));
+        resources.add(client);
+        return client;
+    }
+
+    @Test
+    public void testShardIdFromServer() {
+        assertEquals("shard-a", remote.getShardId());
+    }
+
+    @Test
+    public void testAccountOperations() {
+        User user = remote.createUser("alice", "password123", "alice@test.com");
+        assertNotNull(user.getId());
+        assertEquals(user.getId(), remote.findUserByUsername("alice").getId());
+
+        Account account = remote.createAccount("ACC-REMOTE-1", user, 100.0);
+        assertEquals("ACC-REMOTE-1", account.getId());
+        assertEquals(100.0, account.getBalance(), 0.001);
+
+        assertNotNull(remote.deposit("ACC-REMOTE-1", 50.0));
+        assertNotNull(remote.withdraw("ACC-REMOTE-1", 30.0));
+        assertNull(remote.withdraw("ACC-REMOTE-1", 1000.0));
+
+        assertEquals(120.0, remote.getBalance("ACC-REMOTE-1"), 0.001);
+        assertEquals(120.0, localShard.getBalance("ACC-REMOTE-1"), 0.001);
+        assertEquals(2, remote.getTransactionHistory("ACC-REMOTE-1").size());
+        assertEquals(1, remote.findAccountsByUser(user).size());
+        assertEquals(1, remote.getUserCount());
+        assertEquals(1, remote.getAccountCount());
+        assertNull(remote.findAccountById("ACC-UNKNOWN"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalArgumentIsPropagated() {
+        remote.getBalance("ACC-UNKNOWN");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalStateIsPropagated() {
+        remote.commit("tx-inconnu", null);
+    }
+
+    @Test
+    public void testPipelinedRequests() throws Exception {
+        User user = remote.createUser("bob", "password123", "bob@test.com");
+        remote.createAccount("ACC-PIPE", user, 0.0);
+
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(remote.depositAsync("ACC-PIPE", 1.0));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Transaction> future : futures) {
+            assertNotNull(future.get());
+        }
+        assertEquals(500.0, remote.getBalanceAsync("ACC-PIPE").get(5, TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    public void testCrossShardTransferOverTcp() throws IOException {
+        LocalBankingShard otherShard = new LocalBankingShard("shard-b", new BankingService(null, null));
+        RemoteBankingShard otherRemote = connect(otherShard);
+        ShardedBankingService sharded = new ShardedBankingService(Arrays.asList(remote, otherRemote));
+
+        User user = sharded.createUser("carol", "password123", "carol@test.com");
+        Account first = sharded.createAccount(user, 1000.0);
+        Account second = sharded.createAccount(user, 0.0);
+        while (sharded.shardForAccount(first.getId()) == sharded.shardForAccount(second.getId())) {
+            second = sharded.createAccount(user, 0.0);
+        }
+
+        assertNotNull(sharded.transfer(first.getId(), second.getId(), 250.0));
+        assertEquals(750.0, sharded.getBalance(first.getId()), 0.001);
+        assertEquals(250.0, sharded.getBalance(second.getId()), 0.001);
+        assertEquals(0, localShard.getPreparedCount());
+        assertEquals(0, otherShard.getPreparedCount());
+        assertNull(sharded.transfer(first.getId(), second.getId(), 5000.0));
+    }
+
+    @Test
+    public void testSnapshotsDoNotCarryPasswords() {
+        User user = remote.createUser("dave", "password123", "dave@test.com");
+        remote.createAccount("ACC-DAVE", user, 100.0);
+
+        assertNull(user.getPassword());
+        assertNull(remote.findAccountById("ACC-DAVE").getOwner().getPassword());
+        assertFalse(remote.findUserByUsername("dave").checkPassword("password123"));
+        assertEquals(user.getId(), remote.authenticate("dave", "password123").getId());
+        assertNull(remote.authenticate("dave", "wrong"));
+    }
+
+    @Test
+    public void testHistoryKeepsRemoteTimestamp() throws InterruptedException {
+        User user = remote.createUser("erin", "password123", "erin@test.com");
+        remote.createAccount("ACC-ERIN", user, 0.0);
+        Transaction local = localShard.deposit("ACC-ERIN", 10.0);
+        Thread.sleep(5);
+
+        Transaction received = remote.getTransactionHistory("ACC-ERIN").get(0);
+        assertEquals(local.getId(), received.getId());
+        assertEquals(local.getTimestamp(), received.getTimestamp());
+    }
+
+    @Test
+    public void testTimedOutRequestIsForgotten() throws IOException {
+        LocalBankingShard slowShard = new LocalBankingShard("shard-slow", new BankingService(null, null)) {
+            @Override
+            public int getUserCount() {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getUserCount();
+            }
+        };
+        ShardServer server = new ShardServer(slowShard, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        resources.add(server);
+        RemoteBankingShard client = new RemoteBankingShard(new InetSocketAddress("127.0.0.1", server.getPort()), 50);
+        resources.add(client);
+
+        try {
+            client.getUserCount();
+            fail("Le délai doit être dépassé");
+        } catch (ShardTransportException expected) {
+            // attendu
+        }
+        assertEquals(0, client.getPendingCount());
+    }
+
+    @Test
+    public void testCloseFailsFurtherCalls() {
+        remote.close();
+        try {
+            remote.getUserCount();
+            fail("Une exception était attendue");
+        } catch (ShardTransportException expected) {
+            // attendu
+        }
+    }
+}